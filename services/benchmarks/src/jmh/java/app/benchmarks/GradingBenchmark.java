@@ -0,0 +1,54 @@
+package app.benchmarks;
+
+import app.controllers.StudentExamSupport;
+import app.grading.AnswerKey;
+import app.models.ExamQuestion;
+import app.models.Question;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Grades a submitted exam of ten questions, once from the questions as received from the
+ * course microservice and once from answer keys that have been built before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradingBenchmark {
+
+    private final transient StudentExamSupport support = new StudentExamSupport(null);
+    private transient List<Question> questions;
+    private transient List<ExamQuestion> examQuestions;
+    private transient AnswerKey[] answerKeys;
+
+    /**
+     * Builds the exam and its answer keys once per trial.
+     */
+    @Setup
+    public void setUp() {
+        ModelFixtures fixtures = new ModelFixtures();
+        questions = fixtures.examQuestions();
+        examQuestions = fixtures.studentExam(1, questions).getExamQuestions();
+        answerKeys = new AnswerKey[questions.size()];
+        for (int i = 0; i < answerKeys.length; i++) {
+            answerKeys[i] = AnswerKey.of(questions.get(i), 0);
+        }
+    }
+
+    @Benchmark
+    public int gradeFromQuestions() {
+        return support.countCorrectQuestions(examQuestions, questions);
+    }
+
+    @Benchmark
+    public int gradeFromAnswerKeys() {
+        return support.countCorrectQuestions(examQuestions, answerKeys);
+    }
+}
@@ -0,0 +1,193 @@
+package app.benchmarks;
+
+import app.models.Answer;
+import app.models.Course;
+import app.models.Enrollment;
+import app.models.Exam;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.models.Topic;
+import app.models.User;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds models with the sizes they have in production: a course has 10 topics of 50 questions
+ * with 4 answers each, and an exam has 10 questions.
+ */
+public final class ModelFixtures {
+
+    public static final int TOPICS = 10;
+    public static final int QUESTIONS_PER_TOPIC = 50;
+    public static final int ANSWERS_PER_QUESTION = 4;
+    public static final int EXAM_QUESTIONS = 10;
+    public static final int STUDENT_EXAMS = 100;
+
+    private static final String TEXT = "Which of the following statements about the \"observer\" "
+        + "pattern is correct?";
+
+    private final transient Random random = new Random(42);
+    private transient int nextId = 1;
+
+    public Answer answer(int questionId, int order) {
+        return new Answer(nextId++, null, questionId, order, "Answer " + order + " to " + TEXT,
+            order == 0);
+    }
+
+    /**
+     * Creates a question with its answers.
+     *
+     * @param topicId The topic the question belongs to.
+     * @return the question.
+     */
+    public Question question(int topicId) {
+        Question question = new Question();
+        question.setId(nextId++);
+        question.setTopicId(topicId);
+        question.setTitle("Question " + question.getId());
+        question.setDescription(TEXT);
+        List<Answer> answers = new ArrayList<>(ANSWERS_PER_QUESTION);
+        for (int i = 0; i < ANSWERS_PER_QUESTION; i++) {
+            answers.add(answer(question.getId(), i));
+        }
+        question.setAnswers(answers);
+        return question;
+    }
+
+    /**
+     * Creates a topic with its questions.
+     *
+     * @param courseId The course the topic belongs to.
+     * @return the topic.
+     */
+    public Topic topic(int courseId) {
+        Topic topic = new Topic();
+        topic.setId(nextId++);
+        topic.setName("Topic " + topic.getId());
+        topic.setCourseId(courseId);
+        List<Question> questions = new ArrayList<>(QUESTIONS_PER_TOPIC);
+        for (int i = 0; i < QUESTIONS_PER_TOPIC; i++) {
+            questions.add(question(topic.getId()));
+        }
+        topic.setQuestions(questions);
+        return topic;
+    }
+
+    public Enrollment enrollment(int courseId) {
+        return new Enrollment(nextId++, "student" + random.nextInt(1000), courseId, null);
+    }
+
+    /**
+     * Creates a course with its topics and a few enrollments.
+     *
+     * @return the course.
+     */
+    public Course course() {
+        Course course = new Course();
+        course.setId(nextId++);
+        course.setCourseCode("CSE2115");
+        course.setName("Software Engineering Methods");
+        course.setYear("2020");
+        List<Topic> topics = new ArrayList<>(TOPICS);
+        for (int i = 0; i < TOPICS; i++) {
+            topics.add(topic(course.getId()));
+        }
+        course.setTopicList(topics);
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            enrollments.add(enrollment(course.getId()));
+        }
+        course.setEnrollmentList(enrollments);
+        return course;
+    }
+
+    public StudentAnswer studentAnswer(int examQuestionId, int answer) {
+        return new StudentAnswer(nextId++, examQuestionId, answer, random.nextBoolean(), null);
+    }
+
+    /**
+     * Creates an exam question that has been answered by a student.
+     *
+     * @param studentExamId The student exam the question belongs to.
+     * @param question      The question that was asked.
+     * @return the exam question.
+     */
+    public ExamQuestion examQuestion(int studentExamId, Question question) {
+        ExamQuestion examQuestion = new ExamQuestion();
+        examQuestion.setId(nextId++);
+        examQuestion.setStudentExamId(studentExamId);
+        examQuestion.setQuestion(question.getId());
+        examQuestion.setCorrect(random.nextBoolean());
+        List<StudentAnswer> studentAnswers = new ArrayList<>(ANSWERS_PER_QUESTION);
+        for (Answer answer : question.getAnswers()) {
+            studentAnswers.add(studentAnswer(examQuestion.getId(), answer.getId()));
+        }
+        examQuestion.setStudentAnswers(studentAnswers);
+        return examQuestion;
+    }
+
+    /**
+     * Creates a submitted student exam with ten answered questions.
+     *
+     * @param examId    The exam the student took.
+     * @param questions The questions of the exam.
+     * @return the student exam.
+     */
+    public StudentExam studentExam(int examId, List<Question> questions) {
+        StudentExam studentExam = new StudentExam();
+        studentExam.setId(nextId++);
+        studentExam.setCorrectQuestions(random.nextInt(EXAM_QUESTIONS + 1));
+        studentExam.setGrade(1 + random.nextFloat() * 9);
+        studentExam.setExtraTime(0);
+        studentExam.setUser("student" + random.nextInt(1000));
+        studentExam.setExamId(examId);
+        studentExam.setStartingTime(new Timestamp(1_600_000_000_000L));
+        List<ExamQuestion> examQuestions = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            examQuestions.add(examQuestion(studentExam.getId(), question));
+        }
+        studentExam.setExamQuestions(examQuestions);
+        return studentExam;
+    }
+
+    /**
+     * Creates an exam that has been taken by a hundred students.
+     *
+     * @param questions The questions of the exam.
+     * @return the exam.
+     */
+    public Exam exam(List<Question> questions) {
+        Exam exam = new Exam();
+        exam.setId(nextId++);
+        exam.setCourseId(1);
+        exam.setStart(new Timestamp(1_600_000_000_000L));
+        exam.setEnd(new Timestamp(1_600_001_200_000L));
+        List<StudentExam> studentExams = new ArrayList<>(STUDENT_EXAMS);
+        for (int i = 0; i < STUDENT_EXAMS; i++) {
+            studentExams.add(studentExam(exam.getId(), questions));
+        }
+        exam.setStudentExamList(studentExams);
+        return exam;
+    }
+
+    public User user() {
+        return new User("student" + random.nextInt(1000), "$2a$10$" + TEXT, 0, 10);
+    }
+
+    /**
+     * Creates the ten questions of an exam.
+     *
+     * @return the questions.
+     */
+    public List<Question> examQuestions() {
+        List<Question> questions = new ArrayList<>(EXAM_QUESTIONS);
+        for (int i = 0; i < EXAM_QUESTIONS; i++) {
+            questions.add(question(1));
+        }
+        return questions;
+    }
+}
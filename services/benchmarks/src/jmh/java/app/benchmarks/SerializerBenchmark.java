@@ -0,0 +1,84 @@
+package app.benchmarks;
+
+import app.json.JsonSerializer;
+import app.json.StreamingJsonSerializer;
+import app.serializerfactory.Serializer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serializes and deserializes every model with both serializer implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializerBenchmark {
+
+    @Param({"Answer", "Course", "Enrollment", "Exam", "ExamQuestion", "Question",
+        "StudentAnswer", "StudentExam", "Topic", "User"})
+    public transient String model;
+
+    @Param({"streaming", "reflection"})
+    public transient String implementation;
+
+    private transient Serializer serializer;
+    private transient Object object;
+    private transient Class<?> type;
+    private transient String json;
+
+    /**
+     * Builds the model and its JSON text once per trial.
+     */
+    @Setup
+    public void setUp() {
+        serializer = "streaming".equals(implementation)
+            ? new StreamingJsonSerializer() : new JsonSerializer();
+        object = createModel(new ModelFixtures(), model);
+        type = object.getClass();
+        json = serializer.serialize(object);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return serializer.serialize(object);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(json, type);
+    }
+
+    private static Object createModel(ModelFixtures fixtures, String model) {
+        switch (model) {
+            case "Answer":
+                return fixtures.answer(1, 0);
+            case "Course":
+                return fixtures.course();
+            case "Enrollment":
+                return fixtures.enrollment(1);
+            case "Exam":
+                return fixtures.exam(fixtures.examQuestions());
+            case "ExamQuestion":
+                return fixtures.examQuestion(1, fixtures.question(1));
+            case "Question":
+                return fixtures.question(1);
+            case "StudentAnswer":
+                return fixtures.studentAnswer(1, 1);
+            case "StudentExam":
+                return fixtures.studentExam(1, fixtures.examQuestions());
+            case "Topic":
+                return fixtures.topic(1);
+            case "User":
+                return fixtures.user();
+            default:
+                throw new IllegalArgumentException("Unknown model " + model);
+        }
+    }
+}
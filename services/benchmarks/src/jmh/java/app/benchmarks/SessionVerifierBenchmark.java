@@ -0,0 +1,67 @@
+package app.benchmarks;
+
+import app.authorisation.AuthorisationMode;
+import app.authorisation.ClaimsCache;
+import app.authorisation.ServiceToken;
+import app.authorisation.SessionVerifier;
+import app.constants.Constants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures how long it takes to check a session token: parsing it with jjwt directly, and
+ * verifying it with a {@link SessionVerifier} with and without a {@link ClaimsCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionVerifierBenchmark {
+
+    private static final long VALIDITY_MILLIS = 60 * 60 * 1000L;
+
+    private transient String token;
+    private transient JwtParser parser;
+    private transient SessionVerifier cached;
+    private transient SessionVerifier uncached;
+
+    /**
+     * Issues the token and warms the cache once per trial.
+     */
+    @Setup
+    public void setUp() {
+        token = new ServiceToken("benchmark", VALIDITY_MILLIS).get();
+        parser = Jwts.parserBuilder()
+            .requireSubject(Constants.SESSIONHEADERKEY)
+            .setSigningKey(Constants.SECRET_KEY)
+            .build();
+        cached = new SessionVerifier(
+            new ClaimsCache(SessionVerifier.DEFAULT_CACHE_SIZE, VALIDITY_MILLIS),
+            AuthorisationMode.LOCAL);
+        cached.verify(token);
+        uncached = new SessionVerifier(new ClaimsCache(0, 0), AuthorisationMode.LOCAL);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncached.verify(token);
+    }
+}
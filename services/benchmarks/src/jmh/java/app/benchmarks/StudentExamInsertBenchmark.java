@@ -0,0 +1,163 @@
+package app.benchmarks;
+
+import app.models.Exam;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentAnswerRepository;
+import app.repositories.StudentExamRepository;
+import app.services.StudentExamWriter;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Inserts a new student exam of ten questions with four answers each into an in-memory H2
+ * database, the way createStudentExam does:
+ * <ul>
+ *     <li>"identity": the ids come from identity columns and the StudentExam is saved with a
+ *     cascade to its questions and answers, which is how exam-service used to insert them.</li>
+ *     <li>"sequence": the ids come from pooled sequences and {@link StudentExamWriter} saves
+ *     the exam one level at a time, so that the inserts of a level are sent as one batch.</li>
+ * </ul>
+ *
+ * <p>At the end of every trial the amount of JDBC statements per exam is printed. H2 runs in
+ * the benchmark process, so every statement costs far less than a round trip to MySQL does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentExamInsertBenchmark {
+
+    private static final String IDENTITY = "identity";
+
+    @Param({IDENTITY, "sequence"})
+    public transient String ids;
+
+    private transient LocalContainerEntityManagerFactoryBean factoryBean;
+    private transient EntityManager entityManager;
+    private transient Statistics statistics;
+    private transient StudentExamRepository studentExamRepository;
+    private transient StudentExamWriter writer;
+    private transient ModelFixtures fixtures;
+    private transient List<Question> questions;
+    private transient int examId;
+    private transient long inserted;
+
+    /**
+     * Creates the database and an exam to take once per trial.
+     */
+    @Setup
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        properties.setProperty("hibernate.generate_statistics", "true");
+        properties.setProperty("hibernate.jdbc.batch_size", "50");
+        properties.setProperty("hibernate.order_inserts", "true");
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(
+            new SingleConnectionDataSource("jdbc:h2:mem:" + ids + ";DB_CLOSE_DELAY=-1", true));
+        factoryBean.setPackagesToScan("app.models");
+        // Only the tables of a student exam are needed
+        factoryBean.setPersistenceUnitPostProcessors(unit -> unit.getManagedClassNames()
+            .retainAll(Stream.of(Exam.class, StudentExam.class, ExamQuestion.class,
+                StudentAnswer.class).map(Class::getName).collect(Collectors.toList())));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaProperties(properties);
+        if (IDENTITY.equals(ids)) {
+            factoryBean.setMappingResources("identity-ids.orm.xml");
+        }
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        studentExamRepository = repositories.getRepository(StudentExamRepository.class);
+        writer = new StudentExamWriter(studentExamRepository,
+            repositories.getRepository(ExamQuestionRepository.class),
+            repositories.getRepository(StudentAnswerRepository.class));
+
+        fixtures = new ModelFixtures();
+        questions = fixtures.examQuestions();
+        Exam exam = new Exam();
+        exam.setCourseId(1);
+        exam.setStart(new Timestamp(1_600_000_000_000L));
+        exam.setEnd(new Timestamp(1_600_001_200_000L));
+        inTransaction(() -> entityManager.persist(exam));
+        examId = exam.getId();
+        statistics.clear();
+    }
+
+    /**
+     * Prints the amount of statements per exam and drops the database.
+     */
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s: %.1f JDBC statements per exam (%d exams)%n", ids,
+            (double) statistics.getPrepareStatementCount() / inserted, inserted);
+        entityManager.close();
+        factoryBean.destroy();
+    }
+
+    /**
+     * Inserts one student exam with its questions and answers, and commits.
+     *
+     * @return the inserted student exam.
+     */
+    @Benchmark
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public StudentExam insert() {
+        StudentExam studentExam = newStudentExam();
+        StudentExam[] saved = new StudentExam[1];
+        inTransaction(() -> saved[0] = IDENTITY.equals(ids)
+            ? studentExamRepository.save(studentExam) : writer.create(studentExam));
+        entityManager.clear();
+        inserted++;
+        return saved[0];
+    }
+
+    private StudentExam newStudentExam() {
+        StudentExam studentExam = fixtures.studentExam(examId, questions);
+        studentExam.setId(null);
+        for (ExamQuestion examQuestion : studentExam.getExamQuestions()) {
+            examQuestion.setId(null);
+            examQuestion.setStudentExamId(null);
+            for (StudentAnswer studentAnswer : examQuestion.getStudentAnswers()) {
+                studentAnswer.setId(null);
+                studentAnswer.setExamQuestionId(null);
+            }
+        }
+        return studentExam;
+    }
+
+    private void inTransaction(Runnable work) {
+        EntityTransaction transaction = entityManager.getTransaction();
+        transaction.begin();
+        work.run();
+        transaction.commit();
+    }
+}
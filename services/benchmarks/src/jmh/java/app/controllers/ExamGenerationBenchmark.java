@@ -0,0 +1,59 @@
+package app.controllers;
+
+import app.benchmarks.ModelFixtures;
+import app.models.Course;
+import app.models.Question;
+import app.models.StudentExam;
+import app.models.Topic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generates the questions of a student exam from a course of 10 topics with 50 questions each,
+ * the way {@link ExamApiController} does for every student that starts an exam.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExamGenerationBenchmark {
+
+    private final transient ExamApiController controller = new ExamApiController(null, null);
+    private transient List<Topic> topics;
+    private transient List<Question> examQuestions;
+
+    /**
+     * Builds the course once per trial.
+     */
+    @Setup
+    public void setUp() {
+        ModelFixtures fixtures = new ModelFixtures();
+        Course course = fixtures.course();
+        topics = course.getTopicList();
+        examQuestions = fixtures.examQuestions();
+    }
+
+    /**
+     * Picks the ten questions of an exam.
+     *
+     * @return the picked questions.
+     */
+    @Benchmark
+    public List<Question> generateQuestions() {
+        List<Question> questions = new ArrayList<>(ModelFixtures.EXAM_QUESTIONS);
+        controller.generateQuestions(questions, topics);
+        return questions;
+    }
+
+    @Benchmark
+    public StudentExam questionsToStudentExam() {
+        return controller.questionsToStudentExam(examQuestions);
+    }
+}
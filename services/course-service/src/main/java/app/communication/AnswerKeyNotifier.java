@@ -0,0 +1,47 @@
+package app.communication;
+
+import app.authorisation.ServiceToken;
+import java.util.Collection;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells exam-service that questions or their answers have changed, so that it stops grading
+ * with the answer keys it cached for those questions. The notification is sent in the
+ * background; a failed notification is logged, and the cached keys stay in use until
+ * exam-service is restarted or notified again.
+ */
+@Component
+public class AnswerKeyNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerKeyNotifier.class);
+    private static final long SERVICE_TOKEN_VALIDITY = 60 * 60 * 1000L;
+
+    private final transient ServiceToken serviceToken =
+        new ServiceToken("course-service", SERVICE_TOKEN_VALIDITY);
+
+    /**
+     * Invalidates the answer keys of the given questions in exam-service.
+     *
+     * @param questionIds The questions that were changed.
+     */
+    public void answerKeysChanged(Collection<Integer> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        JSONObject request = new JSONObject();
+        request.put("questionIds", new JSONArray(questionIds));
+        ServiceClient.getInstance()
+            .postAsync(request.toString(), "8083/exam_service/invalidateAnswerKeys",
+                serviceToken.get())
+            .whenComplete((response, failure) -> {
+                if (failure != null) {
+                    logger.warn("Could not invalidate answer keys of questions {}: {}",
+                        questionIds, failure.toString());
+                }
+            });
+    }
+}
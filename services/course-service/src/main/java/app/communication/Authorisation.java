@@ -1,11 +1,15 @@
 package app.communication;
 
+import app.authorisation.AuthorisationMode;
+import app.authorisation.SessionVerifier;
 import org.json.JSONObject;
 
 public class Authorisation {
     /**
-     * This method sends a HTTP-request to the authorisation microservice to check if a certain
-     * action is allowed.
+     * Checks if a certain action is allowed. By default the session token is verified in-process
+     * by the shared {@link SessionVerifier}, which caches sessions it has seen before. When
+     * authorisation.mode is set to "remote", a HTTP-request is sent to the authorisation
+     * microservice instead.
      *
      * @param sessionToken The Java Web Token that the microservice
      *                     (should have) received as a parameter.
@@ -15,6 +19,11 @@ public class Authorisation {
      */
 
     public static Boolean getAuthorisation(String sessionToken, int requiredRole) {
+        SessionVerifier verifier = SessionVerifier.getInstance();
+        if (verifier.getMode() == AuthorisationMode.LOCAL) {
+            return verifier.isAuthorised(sessionToken, requiredRole);
+        }
+
         String response = CourseServiceCommunication
             .getRequest("8081/authorisation/getAuthorisation/"
                 + requiredRole, sessionToken);
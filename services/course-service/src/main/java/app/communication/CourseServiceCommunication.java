@@ -1,14 +1,13 @@
 package app.communication;
 
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 
+/**
+ * Sends requests to the other microservices through the shared {@link ServiceClient}, which
+ * applies the configured timeouts, retries, concurrency limits and base URLs.
+ */
 public class CourseServiceCommunication {
 
-    private static final HttpClient client = HttpClient.newBuilder().build();
-
     /**
      * creates and sends an http get-request to the desired endpoint.
      *
@@ -16,14 +15,7 @@ public class CourseServiceCommunication {
      * @return returns null if there has been an error. Else, returns the response in JSON format.
      */
     public static String getRequest(String portControllerMethodPathvariables, String sessionToken) {
-        HttpRequest request = HttpRequest.newBuilder()
-            .GET()
-            .uri(URI.create("http://localhost:" + portControllerMethodPathvariables))
-            .header("session", sessionToken)
-            .header("Content-Type", "application/json")
-            .build();
-
-        return serverRequest(request);
+        return ServiceClient.getInstance().get(portControllerMethodPathvariables, sessionToken);
     }
 
     /**
@@ -34,13 +26,8 @@ public class CourseServiceCommunication {
      */
     public static String postRequest(String dataInJson, String portControllerMethodPathvariables,
                                      String sessionToken) {
-        HttpRequest request = HttpRequest.newBuilder()
-            .POST(HttpRequest.BodyPublishers.ofString(dataInJson))
-            .uri(URI.create("http://localhost:" + portControllerMethodPathvariables))
-            .header("Session", sessionToken)
-            .header("Content-Type", "application/json")
-            .build();
-        return serverRequest(request);
+        return ServiceClient.getInstance()
+            .post(dataInJson, portControllerMethodPathvariables, sessionToken);
     }
 
     /**
@@ -50,20 +37,6 @@ public class CourseServiceCommunication {
      * @return The body of the server response.
      */
     static String serverRequest(HttpRequest request) {
-        try {
-            int desiredStatusCode = 200;
-            HttpResponse<String> response =
-                client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != desiredStatusCode) {
-                System.out.println("Status: " + response.statusCode());
-                System.out.println(response.body());
-                return null;
-            }
-            return response.body();
-        } catch (Exception e) {
-            System.out.println("Communication with other microservice failed");
-            return null;
-        }
+        return ServiceClient.getInstance().send(request);
     }
 }
@@ -5,6 +5,7 @@ import app.json.JsonSerializerFactory;
 import app.models.Answer;
 import app.serializerfactory.Serializer;
 import app.services.AnswerService;
+import app.services.Paging;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -54,7 +55,8 @@ public class AnswerController {
      * Redirects HTTP-requests from other microservices
      * to the logic of retrieving a answer from the database.
      *
-     * @param data         JSON-String with "id" key and a QuestionId as a value.
+     * @param data         JSON-String with "id" key and a QuestionId as a value, and optionally
+     *                     "page" and "size".
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
      * @return a responseEntity containing a statuscode and the
@@ -65,8 +67,9 @@ public class AnswerController {
     public ResponseEntity<String> getAnswersByQuestionId(@RequestBody String data,
                                                          @RequestHeader(Constants.SESSIONHEADERKEY)
                                                              String sessionToken) {
+        JSONObject json = new JSONObject(data);
         return answerService
-            .getAnswersByQuestion(new JSONObject(data).getInt("id"), sessionToken);
+            .getAnswersByQuestion(json.getInt("id"), Paging.of(json), sessionToken);
     }
 
     /**
@@ -5,6 +5,7 @@ import app.json.JsonSerializerFactory;
 import app.models.Enrollment;
 import app.serializerfactory.Serializer;
 import app.services.EnrollmentService;
+import app.services.Paging;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -57,7 +58,8 @@ public class EnrollmentController {
      * Redirects HTTP-requests from other microservices to the
      * logic of retrieving an enrollment from the database.
      *
-     * @param data         Takes an JSON String with one key 'id' and as value the courseId.
+     * @param data         Takes an JSON String with one key 'id' and as value the courseId, and
+     *                     optionally the keys 'page' and 'size'.
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
      * @return a responseEntity containing a statuscode and the
@@ -68,15 +70,17 @@ public class EnrollmentController {
     public ResponseEntity<String> getEnrollmentByCourse(@RequestBody String data,
                                                         @RequestHeader(Constants.SESSIONHEADERKEY)
                                                             String sessionToken) {
+        JSONObject json = new JSONObject(data);
         return enrollmentService
-            .getEnrollmentByCourse(new JSONObject(data).getInt("id"), sessionToken);
+            .getEnrollmentByCourse(json.getInt("id"), Paging.of(json), sessionToken);
     }
 
     /**
      * Redirects HTTP-requests from other microservices to
      * the logic of retrieving an enrollment from the database.
      *
-     * @param data         Takes an JSON String with one key 'net_id' and as value the UserId.
+     * @param data         Takes an JSON String with one key 'net_id' and as value the UserId,
+     *                     and optionally the keys 'page' and 'size'.
      * @param sessionToken Takes the session-jws that the client
      *                     received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
@@ -88,8 +92,9 @@ public class EnrollmentController {
     public ResponseEntity<String> getEnrollmentByUser(@RequestBody String data,
                                                       @RequestHeader(Constants.SESSIONHEADERKEY)
                                                           String sessionToken) {
+        JSONObject json = new JSONObject(data);
         return enrollmentService
-            .getEnrollmentByUser(new JSONObject(data).getString("net_id"), sessionToken);
+            .getEnrollmentByUser(json.getString("net_id"), Paging.of(json), sessionToken);
     }
 
     /**
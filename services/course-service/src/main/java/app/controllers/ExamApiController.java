@@ -68,21 +68,80 @@ public class ExamApiController {
         }
 
         List<Question> questions = new ArrayList<>(10);
+        ResponseEntity<String> error = generateQuestions(questions, topics);
+        if (error != null) {
+            return error;
+        }
+
+        return questionsToResponseEntity(questions);
+    }
+
+    /**
+     * Generate several StudentExams for the same course at once, so that the topics, questions
+     * and answers of the course only have to be loaded once. Used by exam-service to fill its
+     * pools of exams ahead of the start of an exam.
+     *
+     * @param data         JSON String with "courseId" and "count" keys.
+     * @param sessionToken session token.
+     * @return JSONObject with "studentExams" key and JSONArray of StudentExams as value.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    @PostMapping("examQuestionSetsByCourseId")
+    public ResponseEntity<String> examQuestionSetsByCourseId(@RequestBody String data,
+                                                             @RequestHeader(
+                                                                 Constants.SESSIONHEADERKEY)
+                                                                 String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 1)) {
+            String errorMessage = Constants.NOT_AUTHORIZED_STRING;
+            return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
+        }
+
+        JSONObject json = new JSONObject(data);
+        int maxCount = 100;
+        int count = Math.min(json.getInt("count"), maxCount);
+        List<Topic> topics = topicRepository.findByCourseId(json.getInt("courseId"));
+        int upperLimitTopics = 10;
+        if (topics.size() > upperLimitTopics) {
+            return new ResponseEntity<String>(
+                "There are more than 10 topics related to this course", HttpStatus.CONFLICT);
+        }
+
+        JSONArray studentExams = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            List<Question> questions = new ArrayList<>(10);
+            ResponseEntity<String> error = generateQuestions(questions, topics);
+            if (error != null) {
+                return error;
+            }
+            studentExams.put(serializer.serialize(questionsToStudentExam(questions)));
+        }
+        JSONObject response = new JSONObject();
+        response.put("studentExams", studentExams);
+        return new ResponseEntity<String>(response.toString(), HttpStatus.OK);
+    }
 
-        // Next two lines fix a stupid PMD error
-        questions.add(new Question());
-        questions.remove(0);
+    /**
+     * Picks one random question of every topic and fills up to ten questions with random
+     * questions of any topic. The topics themselves are not modified.
+     *
+     * @param questions The list the picked questions are added to.
+     * @param topics    The topics of the course.
+     * @return null if ten questions were picked, else the response explaining why not.
+     */
+    ResponseEntity<String> generateQuestions(List<Question> questions, List<Topic> topics) {
+        List<List<Question>> questionsPerTopic = topics.stream()
+            .map(t -> new ArrayList<>(t.getQuestions()))
+            .collect(Collectors.toList());
 
-        if (!addOneQuestionFromEachTopic(questions, topics)) {
+        if (!addOneQuestionFromEachTopic(questions, questionsPerTopic)) {
             return new ResponseEntity<String>(
                 "There are topics without questions", HttpStatus.CONFLICT);
         }
-        if (!fillQuestionsToTen(questions, topics)) {
+        if (!fillQuestionsToTen(questions, questionsPerTopic)) {
             return new ResponseEntity<String>(
                 "There are not enough questions", HttpStatus.NOT_FOUND);
         }
-
-        return questionsToResponseEntity(questions);
+        return null;
     }
 
     private Integer getCourseIdFromData(String data) {
@@ -107,7 +166,9 @@ public class ExamApiController {
                                                    @RequestHeader(Constants.SESSIONHEADERKEY)
                                                        String sessionToken) {
         JSONObject json = new JSONObject(data);
-        JSONArray jsonIds = new JSONArray((String) json.get("questionIds"));
+        Object questionIds = json.get("questionIds");
+        JSONArray jsonIds = questionIds instanceof JSONArray
+            ? (JSONArray) questionIds : new JSONArray(questionIds.toString());
         List<Integer> ids = new ArrayList<>();
         for (int i = 0; i < jsonIds.length(); i++) {
             ids.add((int) jsonIds.get(i));
@@ -149,9 +210,9 @@ public class ExamApiController {
         return exam;
     }
 
-    private boolean addOneQuestionFromEachTopic(List<Question> questions, List<Topic> topics) {
-        for (Topic t : topics) {
-            List<Question> temp = t.getQuestions();
+    private boolean addOneQuestionFromEachTopic(List<Question> questions,
+                                                List<List<Question>> topics) {
+        for (List<Question> temp : topics) {
             if (temp.isEmpty()) {
                 return false;
             }
@@ -160,9 +221,10 @@ public class ExamApiController {
         return true;
     }
 
-    private boolean fillQuestionsToTen(List<Question> questions, List<Topic> topics) {
+    private boolean fillQuestionsToTen(List<Question> questions,
+                                       List<List<Question>> topics) {
         List<Question> poll = topics.stream()
-            .flatMap(x -> x.getQuestions().stream())
+            .flatMap(List::stream)
             .collect(Collectors.toList());
         Collections.shuffle(poll);
         while (questions.size() < 10) {
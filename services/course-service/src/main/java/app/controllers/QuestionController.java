@@ -4,6 +4,7 @@ import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Question;
 import app.serializerfactory.Serializer;
+import app.services.Paging;
 import app.services.QuestionService;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,7 +56,8 @@ public class QuestionController {
      * Redirects HTTP-requests from other microservices
      * to the logic of retrieving a question from the database.
      *
-     * @param data         JSON String with "id" as key and a topicId as a value.
+     * @param data         JSON String with "id" as key and a topicId as a value, and optionally
+     *                     "page" and "size".
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
      * @return a responseEntity containing a statuscode and the
@@ -66,8 +68,9 @@ public class QuestionController {
     public ResponseEntity<String> getQuestionsByTopic(@RequestBody String data,
                                                       @RequestHeader(Constants.SESSIONHEADERKEY)
                                                           String sessionToken) {
+        JSONObject json = new JSONObject(data);
         return questionService
-            .getQuestionsByTopic(new JSONObject(data).getInt("id"), sessionToken);
+            .getQuestionsByTopic(json.getInt("id"), Paging.of(json), sessionToken);
     }
 
     /**
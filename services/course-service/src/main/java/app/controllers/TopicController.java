@@ -4,6 +4,7 @@ import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Topic;
 import app.serializerfactory.Serializer;
+import app.services.Paging;
 import app.services.TopicService;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,7 +54,8 @@ public class TopicController {
      * Redirects HTTP-requests from other microservices
      * to the logic of retrieving a topic from the database.
      *
-     * @param data         Json String with "id" as key and a courseId as value.
+     * @param data         Json String with "id" as key and a courseId as value, and optionally
+     *                     "page" and "size".
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
      * @return a responseEntity containing a statuscode and the topics
@@ -64,7 +66,8 @@ public class TopicController {
     public ResponseEntity<String> getTopicsByCourseId(@RequestBody String data,
                                                       @RequestHeader(Constants.SESSIONHEADERKEY)
                                                           String sessionToken) {
-        return topicService.getTopicsByCourse(new JSONObject(data).getInt("id"), sessionToken);
+        JSONObject json = new JSONObject(data);
+        return topicService.getTopicsByCourse(json.getInt("id"), Paging.of(json), sessionToken);
     }
 
     /**
@@ -1,8 +1,10 @@
 package app.repositories;
 
 import app.models.Answer;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface AnswerRepository extends JpaRepository<Answer, Integer> {
-
-}
\ No newline at end of file
+    List<Answer> findByQuestionId(Integer questionId, Pageable pageable);
+}
@@ -2,8 +2,21 @@ package app.repositories;
 
 import app.models.Enrollment;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
     List<Enrollment> findEnrollmentByCourseIdAndUserId(Integer courseId, String userId);
-}
\ No newline at end of file
+
+    List<Enrollment> findByCourseId(Integer courseId, Pageable pageable);
+
+    List<Enrollment> findByUserId(String userId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Enrollment e where e.userId = ?1 and e.courseId = ?2")
+    int deleteByUserIdAndCourseId(String userId, Integer courseId);
+}
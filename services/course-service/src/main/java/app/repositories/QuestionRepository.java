@@ -1,8 +1,12 @@
 package app.repositories;
 
 import app.models.Question;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface QuestionRepository extends JpaRepository<Question, Integer> {
+    List<Question> findByTopicId(Integer topicId, Pageable pageable);
 
-}
\ No newline at end of file
+    long countByTopicId(Integer topicId);
+}
@@ -2,8 +2,11 @@ package app.repositories;
 
 import app.models.Topic;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface TopicRepository extends JpaRepository<Topic, Integer> {
     List<Topic> findByCourseId(int courseId);
-}
\ No newline at end of file
+
+    List<Topic> findByCourseId(Integer courseId, Pageable pageable);
+}
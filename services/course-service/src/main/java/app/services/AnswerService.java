@@ -1,14 +1,21 @@
 package app.services;
 
+import app.communication.AnswerKeyNotifier;
 import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Answer;
 import app.repositories.AnswerRepository;
 import app.serializerfactory.Serializer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -23,11 +30,20 @@ import org.springframework.stereotype.Service;
 public class AnswerService {
 
     public final transient AnswerRepository answerRepository;
+    private final transient AnswerKeyNotifier answerKeyNotifier;
     private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
 
+    /**
+     * Autowired constructor.
+     *
+     * @param answerRepository  AnswerRepository.
+     * @param answerKeyNotifier Notifies exam-service when the answers of a question change.
+     */
     @Autowired
-    public AnswerService(AnswerRepository answerRepository) {
+    public AnswerService(AnswerRepository answerRepository,
+                         AnswerKeyNotifier answerKeyNotifier) {
         this.answerRepository = answerRepository;
+        this.answerKeyNotifier = answerKeyNotifier;
     }
 
     /**
@@ -57,8 +73,8 @@ public class AnswerService {
 
     /**
      * Given a questionId this method returns a ResponseEntity containing a string representation of
-     * a JSONObject containing a JSONArray containing json representations of all Answers with that
-     * questionId.
+     * a JSONObject containing a JSONArray containing json representations of all
+     * Answers with that questionId.
      *
      * @param questionId   Integer of the questionId
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
@@ -66,21 +82,34 @@ public class AnswerService {
      * @return ResponseEntity containing a string representation of the answers in JSONArray format.
      */
     public ResponseEntity<String> getAnswersByQuestion(Integer questionId, String sessionToken) {
+        return getAnswersByQuestion(questionId, Paging.ALL, sessionToken);
+    }
+
+    /**
+     * Given a questionId this method returns a ResponseEntity containing a string representation of
+     * a JSONObject containing a JSONArray containing json representations of one page of Answers
+     * with that questionId.
+     *
+     * @param questionId   Integer of the questionId
+     * @param page         The page of answers to return.
+     * @param sessionToken Takes the session-jws that the client received when logging in. It has
+     *                     to be supplied in the header of the HTTP-request, with 'session' as key.
+     * @return ResponseEntity containing a string representation of the answers in JSONArray format.
+     */
+    public ResponseEntity<String> getAnswersByQuestion(Integer questionId, Pageable page,
+                                                       String sessionToken) {
         if (!Authorisation.getAuthorisation(sessionToken, 0)) {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
 
         try {
-            Object[] answers = answerRepository.findAll().stream()
-                .filter(answer -> answer.getQuestionId() == questionId)
-                .toArray();
-            if (answers.length == 0) {
+            List<Answer> answers = answerRepository.findByQuestionId(questionId, page);
+            if (answers.isEmpty()) {
                 throw new IllegalArgumentException();
             }
             JSONArray jsonArrayAnswers = new JSONArray();
-            for (Object a : answers) {
-                Answer answer = (Answer) a;
+            for (Answer answer : answers) {
                 jsonArrayAnswers.put(serializer.serialize(answer));
             }
             JSONObject jsonObjectAnswers = new JSONObject();
@@ -108,6 +137,7 @@ public class AnswerService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
         answerRepository.save(answer);
+        answerKeysChanged(answer.getQuestionId());
         return new ResponseEntity<>(serializer.serialize(answer), HttpStatus.OK);
     }
 
@@ -127,10 +157,12 @@ public class AnswerService {
         }
 
         try {
-            if (answerRepository.findById(answer.getId()).isEmpty()) {
+            Optional<Answer> previous = answerRepository.findById(answer.getId());
+            if (previous.isEmpty()) {
                 throw new IllegalArgumentException("Answer with this id doesn't exists");
             }
             answerRepository.save(answer);
+            answerKeysChanged(previous.get().getQuestionId(), answer.getQuestionId());
             return new ResponseEntity<String>("Update was successful", HttpStatus.OK);
         } catch (Exception exception) {
             String errorMessage = "There exists no answer with that id";
@@ -155,10 +187,12 @@ public class AnswerService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
         try {
-            if (answerRepository.findById(answerId).isEmpty()) {
+            Optional<Answer> previous = answerRepository.findById(answerId);
+            if (previous.isEmpty()) {
                 throw new IllegalArgumentException();
             }
             answerRepository.deleteById(answerId);
+            answerKeysChanged(previous.get().getQuestionId());
             return new ResponseEntity<String>("Deletion was successful", HttpStatus.OK);
         } catch (Exception exception) {
             String errorMessage = "There exists no answer with that id";
@@ -166,4 +200,15 @@ public class AnswerService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Notifies exam-service that the answers of the given questions have changed.
+     *
+     * @param questionIds The ids of the questions, which may be null or repeated.
+     */
+    private void answerKeysChanged(Integer... questionIds) {
+        answerKeyNotifier.answerKeysChanged(Arrays.stream(questionIds)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+    }
+}
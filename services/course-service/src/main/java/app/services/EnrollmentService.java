@@ -1,5 +1,6 @@
 package app.services;
 
+import app.authorisation.SessionVerifier;
 import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
@@ -7,12 +8,11 @@ import app.models.Enrollment;
 import app.repositories.EnrollmentRepository;
 import app.serializerfactory.Serializer;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
 import java.util.List;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -69,31 +69,40 @@ public class EnrollmentService {
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
      * @return ResponseEntity containing a string
-     *     representation of the enrollments in JSONArray format
+     *     representation of all enrollments in JSONArray format
      */
     public ResponseEntity<String> getEnrollmentByCourse(Integer courseId, String sessionToken) {
+        return getEnrollmentByCourse(courseId, Paging.ALL, sessionToken);
+    }
+
+    /**
+     * Given a courseId this method returns a ResponseEntity containing a string representation
+     * of a JSONObject containing a JSONArray containing json representations of one page of the
+     * enrollments with that courseId.
+     *
+     * @param courseId     Integer of the courseId
+     * @param page         The page of enrollments to return.
+     * @param sessionToken Takes the session-jws that the client received when logging in. It has
+     *                     to be supplied in the header of the HTTP-request, with 'session' as key.
+     * @return ResponseEntity containing a string
+     *     representation of the enrollments in JSONArray format
+     */
+    public ResponseEntity<String> getEnrollmentByCourse(Integer courseId, Pageable page,
+                                                        String sessionToken) {
         if (!Authorisation.getAuthorisation(sessionToken, 0)) {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
 
-        Object[] enrollments = enrollmentRepository.findAll().stream()
-            .filter(enrollment -> enrollment.getCourseId() == courseId).toArray();
+        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId, page);
 
-        if (enrollments.length == 0) {
+        if (enrollments.isEmpty()) {
             String errorMessage = "There exist no enrollments with that courseId";
             System.out.println(errorMessage);
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
 
-        JSONArray jsonArrayEnrollments = new JSONArray();
-        for (Object e : enrollments) {
-            Enrollment enrollment = (Enrollment) e;
-            jsonArrayEnrollments.put(serializer.serialize(enrollment));
-        }
-        JSONObject jsonObjectEnrollments = new JSONObject();
-        jsonObjectEnrollments.put("enrollments", jsonArrayEnrollments);
-        return new ResponseEntity<String>(jsonObjectEnrollments.toString(), HttpStatus.OK);
+        return new ResponseEntity<String>(enrollmentsToJson(enrollments), HttpStatus.OK);
     }
 
     /**
@@ -107,32 +116,40 @@ public class EnrollmentService {
      * @param sessionToken Takes the session-jws that the client received when logging in. It has
      *                     to be supplied in the header of the HTTP-request, with 'session' as key.
      * @return ResponseEntity containing a string
-     *     representation of the enrollments in JSONArray format
+     *     representation of all enrollments in JSONArray format
      */
     public ResponseEntity<String> getEnrollmentByUser(String netId, String sessionToken) {
+        return getEnrollmentByUser(netId, Paging.ALL, sessionToken);
+    }
+
+    /**
+     * Given a netId this method returns a ResponseEntity containing a string representation
+     * of a JSONObject containing a JSONArray containing json representations of one page of the
+     * enrollments with that netId.
+     *
+     * @param netId        String of netId
+     * @param page         The page of enrollments to return.
+     * @param sessionToken Takes the session-jws that the client received when logging in. It has
+     *                     to be supplied in the header of the HTTP-request, with 'session' as key.
+     * @return ResponseEntity containing a string
+     *     representation of the enrollments in JSONArray format
+     */
+    public ResponseEntity<String> getEnrollmentByUser(String netId, Pageable page,
+                                                      String sessionToken) {
         if (!Authorisation.getAuthorisation(sessionToken, 0)) {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
 
+        List<Enrollment> enrollments = enrollmentRepository.findByUserId(netId, page);
 
-        Object[] enrollments = enrollmentRepository.findAll().stream()
-            .filter(enrollment -> enrollment.getUserId().contentEquals(netId)).toArray();
-
-        if (enrollments.length == 0) {
+        if (enrollments.isEmpty()) {
             String errorMessage = "There exist no enrollments with that userId";
             System.out.println(errorMessage);
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
 
-        JSONArray jsonArrayEnrollments = new JSONArray();
-        for (Object e : enrollments) {
-            Enrollment enrollment = (Enrollment) e;
-            jsonArrayEnrollments.put(serializer.serialize(enrollment));
-        }
-        JSONObject jsonObjectEnrollments = new JSONObject();
-        jsonObjectEnrollments.put("enrollments", jsonArrayEnrollments);
-        return new ResponseEntity<String>(jsonObjectEnrollments.toString(), HttpStatus.OK);
+        return new ResponseEntity<String>(enrollmentsToJson(enrollments), HttpStatus.OK);
     }
 
     /**
@@ -152,11 +169,8 @@ public class EnrollmentService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
 
-        Jws<Claims> jwsObject = Jwts.parserBuilder()
-            .setSigningKey(Constants.SECRET_KEY)
-            .build()
-            .parseClaimsJws(sessionToken);
-        String netId = jwsObject.getBody().get(Constants.NET_ID_KEY, String.class);
+        Claims claims = SessionVerifier.getInstance().verify(sessionToken);
+        String netId = claims.get(Constants.NET_ID_KEY, String.class);
         if (!netId.contentEquals(enrollment.getUserId())) {
             return new ResponseEntity<String>("You can only enroll yourself", HttpStatus.FORBIDDEN);
         }
@@ -184,11 +198,8 @@ public class EnrollmentService {
      */
     public ResponseEntity<String> updateEnrollment(Enrollment enrollment,
                                                    String sessionToken) {
-        Jws<Claims> jwsObject = Jwts.parserBuilder()
-            .setSigningKey(Constants.SECRET_KEY)
-            .build()
-            .parseClaimsJws(sessionToken);
-        String netId = jwsObject.getBody().get(Constants.NET_ID_KEY, String.class);
+        Claims claims = SessionVerifier.getInstance().verify(sessionToken);
+        String netId = claims.get(Constants.NET_ID_KEY, String.class);
         if (!Authorisation.getAuthorisation(sessionToken, 0)
             || !netId.contentEquals(enrollment.getUserId())) {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
@@ -226,11 +237,8 @@ public class EnrollmentService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
 
-        Jws<Claims> jwsObject = Jwts.parserBuilder()
-            .setSigningKey(Constants.SECRET_KEY)
-            .build()
-            .parseClaimsJws(sessionToken);
-        String netId = jwsObject.getBody().get(Constants.NET_ID_KEY, String.class);
+        Claims claims = SessionVerifier.getInstance().verify(sessionToken);
+        String netId = claims.get(Constants.NET_ID_KEY, String.class);
 
         if (!netId
             .contentEquals(enrollmentRepository.findById(enrollmentId).get().getUserId())) {
@@ -255,11 +263,8 @@ public class EnrollmentService {
      */
     public ResponseEntity<String> deleteEnrollmentByUserAndCourse(String userId, Integer courseId,
                                                                   String sessionToken) {
-        Jws<Claims> jwsObject = Jwts.parserBuilder()
-            .setSigningKey(Constants.SECRET_KEY)
-            .build()
-            .parseClaimsJws(sessionToken);
-        String netId = jwsObject.getBody().get(Constants.NET_ID_KEY, String.class);
+        Claims claims = SessionVerifier.getInstance().verify(sessionToken);
+        String netId = claims.get(Constants.NET_ID_KEY, String.class);
 
         if (!Authorisation.getAuthorisation(sessionToken, 0)
             || !userId.contentEquals(netId)) {
@@ -267,21 +272,12 @@ public class EnrollmentService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
 
-        Object[] enrollments = enrollmentRepository.findAll().stream()
-            .filter(enrollment -> enrollment.getUserId().contentEquals(userId))
-            .filter(enrollment -> enrollment.getCourseId() == courseId)
-            .map(Enrollment::getId)
-            .toArray();
-
-        if (enrollments.length == 0) {
+        if (enrollmentRepository.deleteByUserIdAndCourseId(userId, courseId) == 0) {
             String errorMessage = "There exists no enrollment with that userId and courseId";
             System.out.println(errorMessage);
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
 
-        for (Object id : enrollments) {
-            enrollmentRepository.deleteById((Integer) id);
-        }
         return new ResponseEntity<String>("Deletion was successful", HttpStatus.OK);
     }
 
@@ -315,4 +311,14 @@ public class EnrollmentService {
 
         return new ResponseEntity<String>(serializer.serialize(enrollments.get(0)), HttpStatus.OK);
     }
+
+    private String enrollmentsToJson(List<Enrollment> enrollments) {
+        JSONArray jsonArrayEnrollments = new JSONArray();
+        for (Enrollment enrollment : enrollments) {
+            jsonArrayEnrollments.put(serializer.serialize(enrollment));
+        }
+        JSONObject jsonObjectEnrollments = new JSONObject();
+        jsonObjectEnrollments.put("enrollments", jsonArrayEnrollments);
+        return jsonObjectEnrollments.toString();
+    }
 }
\ No newline at end of file
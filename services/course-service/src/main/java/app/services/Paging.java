@@ -0,0 +1,52 @@
+package app.services;
+
+import org.json.JSONObject;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Reads the optional paging parameters of the list endpoints. A request can contain a key
+ * 'page' with the zero-based page number and a key 'size' with the amount of items per page.
+ * Pages are always ordered by id, so that consecutive pages do not overlap. A request with
+ * neither key gets all items, so that callers that do not know about paging get the complete
+ * list as before.
+ */
+public final class Paging {
+
+    public static final String PAGE_KEY = "page";
+    public static final String SIZE_KEY = "size";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final Pageable ALL = Pageable.unpaged();
+
+    private Paging() {
+    }
+
+    /**
+     * Creates the page to return, clamping the values to the allowed range.
+     *
+     * @param page The zero-based page number.
+     * @param size The amount of items per page.
+     * @return the page, ordered by id.
+     */
+    public static Pageable of(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+            Sort.by("id"));
+    }
+
+    /**
+     * Reads the page to return from the body of a request.
+     *
+     * @param data The body of the request.
+     * @return the requested page, or all items if the request contains neither 'page' nor
+     *     'size'.
+     */
+    public static Pageable of(JSONObject data) {
+        if (!data.has(PAGE_KEY) && !data.has(SIZE_KEY)) {
+            return ALL;
+        }
+        return of(data.optInt(PAGE_KEY, 0), data.optInt(SIZE_KEY, DEFAULT_PAGE_SIZE));
+    }
+}
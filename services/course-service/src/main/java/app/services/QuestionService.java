@@ -1,15 +1,18 @@
 package app.services;
 
+import app.communication.AnswerKeyNotifier;
 import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Question;
 import app.repositories.QuestionRepository;
 import app.serializerfactory.Serializer;
+import java.util.List;
 import java.util.Random;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -23,12 +26,21 @@ import org.springframework.stereotype.Service;
 public class QuestionService {
 
     private final transient QuestionRepository questionRepository;
+    private final transient AnswerKeyNotifier answerKeyNotifier;
     private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
     private final transient String errorMessage = "There exist no questions with that topicId";
 
+    /**
+     * Autowired constructor.
+     *
+     * @param questionRepository QuestionRepository.
+     * @param answerKeyNotifier  Notifies exam-service when the answers of a question change.
+     */
     @Autowired
-    public QuestionService(QuestionRepository questionRepository) {
+    public QuestionService(QuestionRepository questionRepository,
+                           AnswerKeyNotifier answerKeyNotifier) {
         this.questionRepository = questionRepository;
+        this.answerKeyNotifier = answerKeyNotifier;
     }
 
     /**
@@ -62,20 +74,32 @@ public class QuestionService {
      * @return ResponseEntity
      */
     public ResponseEntity<String> getQuestionsByTopic(Integer topicId, String sessionToken) {
+        return getQuestionsByTopic(topicId, Paging.ALL, sessionToken);
+    }
+
+    /**
+     * Given a topicId this method returns a ResponseEntity containing a string representation of
+     * a JSONObject containing a JSONArray containing json
+     * representations of one page of Questions with that topicId.
+     *
+     * @param topicId      topicId
+     * @param page         page of questions to return
+     * @param sessionToken sessionToken
+     * @return ResponseEntity
+     */
+    public ResponseEntity<String> getQuestionsByTopic(Integer topicId, Pageable page,
+                                                      String sessionToken) {
         if (!Authorisation.getAuthorisation(sessionToken, 0)) {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
-        Object[] questions = questionRepository.findAll().stream()
-            .filter(question -> question.getTopicId() == topicId)
-            .toArray();
-        if (questions.length == 0) {
+        List<Question> questions = questionRepository.findByTopicId(topicId, page);
+        if (questions.isEmpty()) {
             return new ResponseEntity<>(errorMessage,
                 HttpStatus.NOT_FOUND);
         }
         JSONArray jsonArrayQuestions = new JSONArray();
-        for (Object q : questions) {
-            Question question = (Question) q;
+        for (Question question : questions) {
             jsonArrayQuestions.put(serializer.serialize(question));
         }
         JSONObject jsonObjectQuestions = new JSONObject();
@@ -96,13 +120,17 @@ public class QuestionService {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
-        Object[] questions = questionRepository.findAll().stream()
-            .filter(question -> question.getTopicId() == topicId)
-            .toArray();
-        if (questions.length == 0) {
+        long count = questionRepository.countByTopicId(topicId);
+        if (count == 0) {
+            return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
+        }
+        // Load only the randomly picked question, as a page containing a single question.
+        List<Question> questions = questionRepository.findByTopicId(topicId,
+            Paging.of(new Random().nextInt((int) Math.min(count, Integer.MAX_VALUE)), 1));
+        if (questions.isEmpty()) {
             return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
         }
-        Question question = (Question) questions[new Random().nextInt(questions.length)];
+        Question question = questions.get(0);
         System.out.println(question.toString());
         return new ResponseEntity<>(serializer.serialize(question), HttpStatus.OK);
     }
@@ -142,6 +170,7 @@ public class QuestionService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
         questionRepository.save(question);
+        answerKeyNotifier.answerKeysChanged(List.of(question.getId()));
         return new ResponseEntity<String>("Update was successful", HttpStatus.OK);
     }
 
@@ -162,6 +191,7 @@ public class QuestionService {
             return new ResponseEntity<String>(errorMessage, HttpStatus.NOT_FOUND);
         }
         questionRepository.deleteById(questionId);
+        answerKeyNotifier.answerKeysChanged(List.of(questionId));
         return new ResponseEntity<String>("Deletion was successful", HttpStatus.OK);
     }
 }
\ No newline at end of file
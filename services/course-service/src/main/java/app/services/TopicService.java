@@ -6,9 +6,11 @@ import app.json.JsonSerializerFactory;
 import app.models.Topic;
 import app.repositories.TopicRepository;
 import app.serializerfactory.Serializer;
+import java.util.List;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -57,29 +59,41 @@ public class TopicService {
 
     /**
      * Given a courseId this method returns a ResponseEntity containing a string representation of
-     * a JSONObject containing a JSONArray containing json representations of all Topics with that
-     * courseId.
+     * a JSONObject containing a JSONArray containing json representations of all
+     * Topics with that courseId.
      *
      * @param courseId     courseId
      * @param sessionToken sessionToken
      * @return ResponseEntity
      */
     public ResponseEntity<String> getTopicsByCourse(Integer courseId, String sessionToken) {
+        return getTopicsByCourse(courseId, Paging.ALL, sessionToken);
+    }
+
+    /**
+     * Given a courseId this method returns a ResponseEntity containing a string representation of
+     * a JSONObject containing a JSONArray containing json representations of one page of Topics
+     * with that courseId.
+     *
+     * @param courseId     courseId
+     * @param page         page of topics to return
+     * @param sessionToken sessionToken
+     * @return ResponseEntity
+     */
+    public ResponseEntity<String> getTopicsByCourse(Integer courseId, Pageable page,
+                                                    String sessionToken) {
         if (!Authorisation.getAuthorisation(sessionToken, 0)) {
             String errorMessage = Constants.NOT_AUTHORIZED_STRING;
             return new ResponseEntity<String>(errorMessage, HttpStatus.FORBIDDEN);
         }
 
         try {
-            Object[] topics = topicRepository.findAll().stream()
-                .filter(topic -> topic.getCourseId() == courseId)
-                .toArray();
-            if (topics.length == 0) {
+            List<Topic> topics = topicRepository.findByCourseId(courseId, page);
+            if (topics.isEmpty()) {
                 throw new IllegalArgumentException();
             }
             JSONArray jsonArrayTopics = new JSONArray();
-            for (Object t : topics) {
-                Topic topic = (Topic) t;
+            for (Topic topic : topics) {
                 jsonArrayTopics.put(serializer.serialize(topic));
             }
             JSONObject jsonObjectTopics = new JSONObject();
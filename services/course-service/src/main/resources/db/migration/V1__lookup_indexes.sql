@@ -0,0 +1,6 @@
+-- Indexes for the lookups by course, topic and question that the entities declare.
+create index idx_enrollment_course on enrollment (course);
+create index idx_enrollment_user_course on enrollment (user, course);
+create index idx_topic_course on topic (course);
+create index idx_questions_topic on questions (topic);
+create index idx_answers_question on answers (question);
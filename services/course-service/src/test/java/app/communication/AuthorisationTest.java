@@ -7,6 +7,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 
+import app.authorisation.AuthorisationMode;
+import app.authorisation.ClaimsCache;
+import app.authorisation.SessionVerifier;
 import app.constants.Constants;
 import org.json.JSONObject;
 import org.junit.jupiter.api.AfterEach;
@@ -27,11 +30,15 @@ class AuthorisationTest {
     @BeforeEach
     void setUp() {
         mockServer = ClientAndServer.startClientAndServer(Constants.PORT8081);
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(10, 60_000L), AuthorisationMode.REMOTE));
     }
 
     @AfterEach
     void tearDown() {
         mockServer.stop();
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(10, 60_000L), AuthorisationMode.LOCAL));
 
         authorisedJson.remove("authorised");
     }
@@ -113,5 +120,30 @@ class AuthorisationTest {
         assertNull(Authorisation.getAuthorisation(Constants.TEST_SESSION_TOKEN, 0));
     }
 
+    /**
+     * Tests whether a valid session is authorised locally, without contacting the
+     * authorisation microservice.
+     */
+    @Test
+    void localAuthorizedTest() {
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(10, 60_000L), AuthorisationMode.LOCAL));
 
+        assertTrue(Authorisation.getAuthorisation(Constants.SESSION_ID_TEACHER, 1));
+        assertTrue(Authorisation.getAuthorisation(Constants.SESSION_ID_STUDENT, 0));
+        assertFalse(Authorisation.getAuthorisation(Constants.SESSION_ID_STUDENT, 1));
+    }
+
+    /**
+     * Tests whether invalid sessions are rejected locally.
+     */
+    @Test
+    void localUnAuthorizedTest() {
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(10, 60_000L), AuthorisationMode.LOCAL));
+
+        assertFalse(Authorisation.getAuthorisation(Constants.TEST_SESSION_TOKEN, 0));
+        assertFalse(Authorisation.getAuthorisation(Constants.SESSION_EXPIRED, 0));
+        assertFalse(Authorisation.getAuthorisation(Constants.SESSION_ID_WRONG_SUBJECT, 0));
+    }
 }
@@ -5,6 +5,7 @@ import app.json.JsonSerializerFactory;
 import app.models.Answer;
 import app.serializerfactory.Serializer;
 import app.services.AnswerService;
+import app.services.Paging;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,7 +45,7 @@ class AnswerControllerTest {
                 new ResponseEntity<>(serializer.serialize(answer), HttpStatus.OK);
         when(answerService.getAnswer(1, Constants.SESSION_ID_TEACHER))
                 .thenReturn(responseEntity);
-        when(answerService.getAnswersByQuestion(1,
+        when(answerService.getAnswersByQuestion(1, Paging.ALL,
                 Constants.SESSION_ID_TEACHER)).thenReturn(responseEntity);
         when(answerService
                 .updateAnswer(answer, Constants.SESSION_ID_TEACHER))
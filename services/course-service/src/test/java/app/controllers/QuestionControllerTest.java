@@ -4,6 +4,7 @@ import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Question;
 import app.serializerfactory.Serializer;
+import app.services.Paging;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,7 +40,7 @@ class QuestionControllerTest {
     void setup() {
         ResponseEntity<String> responseEntity =
                 new ResponseEntity<>(serializer.serialize(question), HttpStatus.OK);
-        when(questionService.getQuestionsByTopic(1,
+        when(questionService.getQuestionsByTopic(1, Paging.ALL,
                 Constants.SESSION_ID_TEACHER)).thenReturn(responseEntity);
         when(questionService
                 .addQuestion(
@@ -4,6 +4,7 @@ import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Topic;
 import app.serializerfactory.Serializer;
+import app.services.Paging;
 import app.services.TopicService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,7 +49,7 @@ class TopicControllerTest {
         when(topicService.updateTopic(topic,
                 Constants.SESSION_ID_TEACHER))
                 .thenReturn(responseEntity);
-        when(topicService.getTopicsByCourse(1, Constants.SESSION_ID_TEACHER))
+        when(topicService.getTopicsByCourse(1, Paging.ALL, Constants.SESSION_ID_TEACHER))
                 .thenReturn(responseEntity);
     }
 
@@ -82,6 +83,24 @@ class TopicControllerTest {
         }
     }
 
+    @Test
+    void getTopicsByCourseIdPage() {
+        ResponseEntity<String> responseEntity = new ResponseEntity<>("page", HttpStatus.OK);
+        when(topicService.getTopicsByCourse(1, Paging.of(2, 5), Constants.SESSION_ID_TEACHER))
+                .thenReturn(responseEntity);
+        try {
+            mockMvc.perform(post("/courseService/topic/getTopicsByCourseId")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, Constants.SESSION_ID_TEACHER)
+                    .content("{\"id\":1,\"page\":2,\"size\":5}")
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200))
+                    .andExpect(content().string("page"));
+        } catch (Exception exception) {
+            fail(Constants.EXCEPTION_MESSAGE);
+        }
+    }
+
     @Test
     void updateTopic() {
         try {
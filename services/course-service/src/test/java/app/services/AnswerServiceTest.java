@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 
+import app.communication.AnswerKeyNotifier;
 import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
@@ -14,6 +15,7 @@ import app.serializerfactory.Serializer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +42,8 @@ public class AnswerServiceTest {
 
     @MockBean
     private transient AnswerRepository answerRepository;
+    @MockBean
+    private transient AnswerKeyNotifier answerKeyNotifier;
 
     private transient AnswerService answerService;
     private transient List<Answer> answerListQuestion1;
@@ -51,7 +55,7 @@ public class AnswerServiceTest {
 
     @BeforeEach
     void setup() {
-        answerService = new AnswerService(answerRepository);
+        answerService = new AnswerService(answerRepository, answerKeyNotifier);
 
         answerListQuestion1 = new ArrayList<>();
         answerListAll = new ArrayList<>();
@@ -81,7 +85,7 @@ public class AnswerServiceTest {
 
         Optional<Answer> optional1 = Optional.of(answer1);
         doReturn(optional1).when(answerRepository).findById(1);
-        doReturn(answerListAll).when(answerRepository).findAll();
+        doReturn(answerListAll).when(answerRepository).findByQuestionId(1, Paging.ALL);
         doNothing().when(answerRepository).deleteById(1);
         doReturn(answerNotYetAdded).when(answerRepository).save(answerNotYetAdded);
     }
@@ -207,6 +211,7 @@ public class AnswerServiceTest {
             ResponseEntity<String> res = answerService.updateAnswer(answer1, "");
 
             assertEquals(HttpStatus.OK, res.getStatusCode());
+            Mockito.verify(answerKeyNotifier).answerKeysChanged(Set.of(answer1.getQuestionId()));
         }
     }
 
@@ -244,6 +249,7 @@ public class AnswerServiceTest {
             ResponseEntity<String> res = answerService.deleteAnswer(answer1.getId(), "");
 
             assertEquals(HttpStatus.OK, res.getStatusCode());
+            Mockito.verify(answerKeyNotifier).answerKeysChanged(Set.of(answer1.getQuestionId()));
         }
     }
 
@@ -67,7 +67,11 @@ public class EnrollmentServiceTest {
         allEnrollments.add(enrollment1);
 
         doReturn(Optional.of(enrollment1)).when(enrollmentRepository).findById(1);
-        doReturn(allEnrollments).when(enrollmentRepository).findAll();
+        doReturn(allEnrollments).when(enrollmentRepository)
+            .findByCourseId(courseId1, Paging.ALL);
+        doReturn(allEnrollments).when(enrollmentRepository)
+            .findByUserId(userId1, Paging.ALL);
+        doReturn(1).when(enrollmentRepository).deleteByUserIdAndCourseId(userId1, courseId1);
         doReturn(allEnrollments).when(enrollmentRepository)
             .findEnrollmentByCourseIdAndUserId(1, "netIdStudent");
     }
@@ -129,6 +133,20 @@ public class EnrollmentServiceTest {
         }
     }
 
+    @Test
+    void getEnrollmentByCourseTestSecondPage() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation(Constants.SESSION_ID_STUDENT, 0))
+                .thenReturn(true);
+
+            ResponseEntity<String> res = enrollmentService
+                .getEnrollmentByCourse(courseId1, Paging.of(1, 1), Constants.SESSION_ID_STUDENT);
+
+            assertEquals(HttpStatus.NOT_FOUND, res.getStatusCode());
+            Mockito.verify(enrollmentRepository).findByCourseId(courseId1, Paging.of(1, 1));
+        }
+    }
+
     @Test
     void getEnrollmentByCourseTestFailure() throws Exception {
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
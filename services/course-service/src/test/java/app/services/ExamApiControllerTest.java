@@ -22,6 +22,7 @@ import app.serializerfactory.Serializer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -179,6 +180,50 @@ class ExamApiControllerTest {
         }
     }
 
+    @Test
+    void examQuestionSetsByCourseIdTest() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            when(topicRepository.findByCourseId(1))
+                .thenReturn(topics);
+            String response = mockMvc.perform(post("/course_service/examQuestionSetsByCourseId")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"courseId\":1,\"count\":3}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andReturn().getResponse().getContentAsString();
+
+            JSONArray studentExams = new JSONObject(response).getJSONArray("studentExams");
+            Assertions.assertEquals(3, studentExams.length());
+            for (int i = 0; i < studentExams.length(); i++) {
+                StudentExam generated = (StudentExam) serializer
+                    .deserialize(studentExams.getString(i), StudentExam.class);
+                Assertions.assertEquals(10, generated.getExamQuestions().size());
+            }
+            Assertions.assertEquals(1, topics.get(0).getQuestions().size());
+        }
+    }
+
+    @Test
+    void examQuestionSetsByCourseIdNotEnoughQuestions() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            topics.remove(0);
+            when(topicRepository.findByCourseId(1))
+                .thenReturn(topics);
+            mockMvc.perform(post("/course_service/examQuestionSetsByCourseId")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"courseId\":1,\"count\":3}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(404))
+                .andExpect(content().string(containsString(Constants.NOT_ENOUGH_Q)));
+        }
+    }
+
     @Test
     void questionsToStudentExamTest() {
         Question q = new Question();
@@ -219,4 +264,21 @@ class ExamApiControllerTest {
                 .andExpect(content().string(containsString(Constants.QUESTION_STRING)));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void getQuestionsByIdArrayTest() throws Exception {
+        List<Integer> ids = List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        List<Question> questionList = topics.stream()
+            .flatMap(x -> x.getQuestions().stream())
+            .collect(Collectors.toList());
+        when(questionRepository.findAllById(ids))
+            .thenReturn(questionList);
+        mockMvc.perform(post("/course_service/getQuestionsById")
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(Constants.SESSIONHEADERKEY, "")
+            .content("{\"questionIds\":[0,1,2,3,4,5,6,7,8,9]}")
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().is(200))
+            .andExpect(content().string(containsString(Constants.QUESTION_STRING)));
+    }
+}
@@ -0,0 +1,43 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class PagingTest {
+
+    @Test
+    void unpagedWithoutPagingKeys() {
+        Pageable all = Paging.of(new JSONObject().put("id", 1));
+        assertEquals(Paging.ALL, all);
+        assertTrue(all.isUnpaged());
+    }
+
+    @Test
+    void defaultPageSize() {
+        Pageable page = Paging.of(new JSONObject().put("page", 2));
+        assertEquals(2, page.getPageNumber());
+        assertEquals(Paging.DEFAULT_PAGE_SIZE, page.getPageSize());
+        assertEquals(Sort.by("id"), page.getSort());
+        assertEquals(0, Paging.of(new JSONObject().put("size", 5)).getPageNumber());
+    }
+
+    @Test
+    void requestedPage() {
+        Pageable page = Paging.of(new JSONObject().put("page", 3).put("size", 20));
+        assertEquals(3, page.getPageNumber());
+        assertEquals(20, page.getPageSize());
+    }
+
+    @Test
+    void clampsPage() {
+        Pageable page = Paging.of(-1, Paging.MAX_PAGE_SIZE + 1);
+        assertEquals(0, page.getPageNumber());
+        assertEquals(Paging.MAX_PAGE_SIZE, page.getPageSize());
+        assertEquals(1, Paging.of(0, 0).getPageSize());
+    }
+}
@@ -3,6 +3,7 @@ package app.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doReturn;
 
+import app.communication.AnswerKeyNotifier;
 import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
@@ -39,6 +40,8 @@ public class QuestionServiceTest {
     private transient MockMvc mockMvc;
     @MockBean
     private transient QuestionRepository questionRepository;
+    @MockBean
+    private transient AnswerKeyNotifier answerKeyNotifier;
     private transient QuestionService questionService;
     private transient Topic topic1;
     private transient Question question1;
@@ -51,7 +54,7 @@ public class QuestionServiceTest {
 
     @BeforeEach
     void setup() {
-        questionService = new QuestionService(questionRepository);
+        questionService = new QuestionService(questionRepository, answerKeyNotifier);
 
         q1a1 = new Answer();
         q1a2 = new Answer();
@@ -102,7 +105,9 @@ public class QuestionServiceTest {
         topic1.setQuestions(questions);
 
         doReturn(Optional.of(question1)).when(questionRepository).findById(question1.getId());
-        doReturn(allQuestions).when(questionRepository).findAll();
+        doReturn(allQuestions).when(questionRepository).findByTopicId(1, Paging.ALL);
+        doReturn(allQuestions).when(questionRepository).findByTopicId(1, Paging.of(0, 1));
+        doReturn((long) allQuestions.size()).when(questionRepository).countByTopicId(1);
         doReturn(question1).when(questionRepository).save(question1);
         doReturn(questionNotYetAdded).when(questionRepository).save(questionNotYetAdded);
     }
@@ -248,6 +253,7 @@ public class QuestionServiceTest {
             ResponseEntity<String> res = questionService.updateQuestion(question1, "");
 
             assertEquals(HttpStatus.OK, res.getStatusCode());
+            Mockito.verify(answerKeyNotifier).answerKeysChanged(List.of(question1.getId()));
         }
     }
 
@@ -284,6 +290,7 @@ public class QuestionServiceTest {
             ResponseEntity<String> res = questionService.deleteQuestion(question1.getId(), "");
 
             assertEquals(HttpStatus.OK, res.getStatusCode());
+            Mockito.verify(answerKeyNotifier).answerKeysChanged(List.of(question1.getId()));
         }
     }
 
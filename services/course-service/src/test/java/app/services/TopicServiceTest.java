@@ -86,7 +86,7 @@ public class TopicServiceTest {
         course1.setYear("2020");
 
         doReturn(Optional.of(topic1)).when(topicRepository).findById(1);
-        doReturn(allTopics).when(topicRepository).findAll();
+        doReturn(allTopics).when(topicRepository).findByCourseId(1, Paging.ALL);
         doReturn(topic1).when(topicRepository).save(topic1);
         doReturn(topicNotYetAdded).when(topicRepository).save(topicNotYetAdded);
     }
@@ -1,5 +1,7 @@
 package app.config;
 
+import app.database.PooledDataSource;
+import app.database.SchemaMigrations;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -7,7 +9,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 
@@ -21,15 +22,15 @@ public class DataBaseConfig {
     private Environment environment;
 
     /**
-     * Set up the connection to the database.
+     * Set up the pool of connections to the database, and bring the schema up to date when
+     * jdbc.migrate is set.
      */
-    @Bean
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(environment.getProperty("jdbc.driverClassName"));
-        dataSource.setUrl(environment.getProperty("jdbc.url"));
-        dataSource.setUsername(environment.getProperty("jdbc.user"));
-        dataSource.setPassword(environment.getProperty("jdbc.pass"));
+        DataSource dataSource = PooledDataSource.create(environment, "exam-service");
+        if (environment.getProperty("jdbc.migrate", Boolean.class, false)) {
+            SchemaMigrations.migrate(dataSource);
+        }
         return dataSource;
     }
 
@@ -0,0 +1,114 @@
+package app.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    private static final String SHUTDOWN = "shutdown";
+
+    @Value("${exam.fan-out.threads:32}")
+    private transient int threads;
+
+    @Value("${exam.fan-out.queue:256}")
+    private transient int queue;
+
+    @Value("${exam.grading.threads:2}")
+    private transient int gradingThreads;
+
+    @Value("${exam.grading.queue:1024}")
+    private transient int gradingQueue;
+
+    @Value("${exam.scheduling.threads:5}")
+    private transient int schedulingThreads;
+
+    /**
+     * Threads that run the @Scheduled tasks: the deadlines, the answer flush, the exam pool
+     * refill, the statistics and the attempt counter eviction. Spring runs them on a single
+     * thread by default, so a slow pass of one would delay all the others; with a thread each,
+     * a submission of expired attempts that waits on course-service does not hold back the
+     * answer flush.
+     */
+    @Bean(destroyMethod = SHUTDOWN)
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulingThreads);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    /**
+     * Thread pool on which the independent steps of a request run concurrently. When the pool
+     * and its queue are full, the request thread runs the step itself.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    @Bean(destroyMethod = SHUTDOWN)
+    public ExecutorService fanOutExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+            60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queue), runnable -> {
+                Thread thread = new Thread(runnable, "fan-out-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Single background thread that refills the pools of pre-generated exams. Refills that are
+     * requested while the queue is full are dropped, the next scheduled refill picks them up.
+     */
+    @Bean(destroyMethod = SHUTDOWN)
+    public ExecutorService poolRefillExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queue),
+            runnable -> {
+                Thread thread = new Thread(runnable, "exam-pool-refill");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Single background thread that writes full answer buffers to the database. A flush that is
+     * requested while another one is waiting is dropped, the waiting one writes both.
+     */
+    @Bean(destroyMethod = SHUTDOWN)
+    public ExecutorService answerFlushExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "answer-flush");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Background threads that grade the questions of which an answer was saved. Questions that
+     * are queued while the queue is full are rejected, and graded on submission instead.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    @Bean(destroyMethod = SHUTDOWN)
+    public ExecutorService gradingExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(gradingThreads, gradingThreads,
+            60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(gradingQueue), runnable -> {
+                Thread thread = new Thread(runnable, "grading-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,66 @@
+package app.controllers;
+
+import app.communication.Authorisation;
+import app.constants.Constants;
+import app.services.AnswerKeyCache;
+import app.services.ExamQuestionPool;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@RestController
+@RequestMapping("exam_service")
+public class AnswerKeyController {
+
+    private final transient AnswerKeyCache answerKeyCache;
+    private final transient ExamQuestionPool examQuestionPool;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param answerKeyCache   Cache of the answer keys of questions.
+     * @param examQuestionPool Pools of pre-generated question sets.
+     */
+    @Autowired
+    public AnswerKeyController(AnswerKeyCache answerKeyCache,
+                               ExamQuestionPool examQuestionPool) {
+        this.answerKeyCache = answerKeyCache;
+        this.examQuestionPool = examQuestionPool;
+    }
+
+    /**
+     * Invalidates the cached answer keys of questions that have been changed in course-service.
+     * Pre-generated question sets are discarded as well, since they may contain the old
+     * questions.
+     *
+     * @param data         JSONObject with "questionIds" key and JSONArray of ids as value.
+     * @param sessionToken session token.
+     * @return "Invalidated" with the amount of invalidated questions.
+     */
+    @PostMapping("invalidateAnswerKeys")
+    public ResponseEntity<String> invalidateAnswerKeys(@RequestBody String data,
+                                                       @RequestHeader(Constants.SESSIONHEADERKEY)
+                                                           String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 1)) {
+            throw new SecurityException();
+        }
+        JSONArray ids = new JSONObject(data).getJSONArray("questionIds");
+        List<Integer> questionIds = new ArrayList<>(ids.length());
+        for (int i = 0; i < ids.length(); i++) {
+            questionIds.add(ids.getInt(i));
+        }
+        answerKeyCache.invalidate(questionIds);
+        examQuestionPool.clear();
+        return new ResponseEntity<>("Invalidated " + questionIds.size(), HttpStatus.OK);
+    }
+}
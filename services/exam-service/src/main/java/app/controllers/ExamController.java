@@ -4,15 +4,16 @@ import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Exam;
-import app.models.StudentExam;
 import app.repositories.ExamRepository;
-import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
-import java.util.List;
+import app.services.ExamCache;
+import app.statistics.ExamStatistics;
+import app.statistics.ExamSummary;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -25,21 +26,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExamController {
 
     private final transient ExamRepository examRepository;
-    private final transient StudentExamRepository studentExamRepository;
+    private final transient ExamStatistics statistics;
+    private final transient ExamCache examCache;
     private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
 
 
     /**
      * Autowired constructor.
      *
-     * @param examRepository        ExamRepository.
-     * @param studentExamRepository StudentExamRepository.
+     * @param examRepository ExamRepository.
+     * @param examStatistics Statistics of the exams.
+     * @param examCache      Cache of the exams.
      */
     @Autowired
-    public ExamController(ExamRepository examRepository,
-                          StudentExamRepository studentExamRepository) {
+    public ExamController(ExamRepository examRepository, ExamStatistics examStatistics,
+                          ExamCache examCache) {
         this.examRepository = examRepository;
-        this.studentExamRepository = studentExamRepository;
+        this.statistics = examStatistics;
+        this.examCache = examCache;
     }
 
     /**
@@ -57,7 +61,7 @@ public class ExamController {
             throw new SecurityException();
         }
         JSONObject json = new JSONObject(data);
-        Exam exam = examRepository.findById((int) json.get("id"));
+        Exam exam = examCache.get((int) json.get("id"));
         if (exam == null) {
             return new ResponseEntity<>("Entity not found", HttpStatus.NOT_FOUND);
         }
@@ -81,6 +85,7 @@ public class ExamController {
         JSONObject json = new JSONObject(data);
         Exam exam = (Exam) serializer.deserialize(json.toString(), Exam.class);
         exam = examRepository.save(exam);
+        examCache.invalidate(exam.getId());
         return new ResponseEntity<>(serializer.serialize(exam), HttpStatus.OK);
     }
 
@@ -101,6 +106,7 @@ public class ExamController {
         JSONObject json = new JSONObject(data);
         int id = (int) json.get("id");
         examRepository.deleteById(id);
+        examCache.invalidate(id);
         return new ResponseEntity<>("Success", HttpStatus.OK);
     }
 
@@ -121,12 +127,7 @@ public class ExamController {
         }
         JSONObject json = new JSONObject(data);
         int examId = (int) json.get("examId");
-        List<StudentExam> exams = studentExamRepository.findByExamId(examId);
-        float avg = (float) exams.stream()
-            .filter(x -> x.getGrade() > 0)
-            .mapToDouble(StudentExam::getGrade)
-            .average()
-            .orElse(0);
+        float avg = (float) statistics.summary(examId).getAverageGrade();
         JSONObject res = new JSONObject();
         res.put("avgGrade", avg);
         return new ResponseEntity<>(res.toString(), HttpStatus.OK);
@@ -147,16 +148,51 @@ public class ExamController {
             throw new SecurityException();
         }
         int examId = new JSONObject(data).getInt("examId");
-        if (examRepository.findById(examId) == null) {
+        if (examCache.get(examId) == null) {
             return new ResponseEntity<>("There exists no exam with that id", HttpStatus.NOT_FOUND);
         }
-        List<StudentExam> studentExams = studentExamRepository.findByExamId(examId);
-        Object[] uniqueUsers = studentExams.stream()
-            .map(StudentExam::getUser)
-            .distinct().toArray();
+        ExamSummary summary = statistics.summary(examId);
         return new ResponseEntity<>(
-            new JSONObject().put("amount", uniqueUsers.length).toString(),
+            new JSONObject().put("amount", summary.getStudents()).toString(),
             HttpStatus.OK);
     }
 
+    /**
+     * Get the statistics of an exam: the amount of attempts and distinct students, the average
+     * and median grade, a histogram of the grades and the error rate of every question.
+     *
+     * @param data         JSONObject with "examId" key.
+     * @param sessionToken session token.
+     * @return JSONObject with the statistics.
+     */
+    @PostMapping("examStatistics")
+    public ResponseEntity<String> examStatistics(@RequestBody String data,
+                                                 @RequestHeader(Constants.SESSIONHEADERKEY)
+                                                     String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 1)) {
+            throw new SecurityException();
+        }
+        int examId = new JSONObject(data).getInt("examId");
+        if (examCache.get(examId) == null) {
+            return new ResponseEntity<>("There exists no exam with that id", HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(statistics.statistics(examId).toString(), HttpStatus.OK);
+    }
+
+    /**
+     * Get the counters of the exam cache.
+     *
+     * @param sessionToken session token.
+     * @return JSONObject with the size of the cache and its hits, misses, evictions and
+     *     invalidations.
+     */
+    @GetMapping("examCacheMetrics")
+    public ResponseEntity<String> examCacheMetrics(@RequestHeader(Constants.SESSIONHEADERKEY)
+                                                       String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 1)) {
+            throw new SecurityException();
+        }
+        return new ResponseEntity<>(examCache.toJson().toString(), HttpStatus.OK);
+    }
+
 }
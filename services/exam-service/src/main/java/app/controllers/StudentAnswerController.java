@@ -5,10 +5,19 @@ import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.StudentAnswer;
 import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
 import app.repositories.StudentAnswerRepository;
 import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
+import app.services.ExamDeadlines;
+import app.services.IncrementalGrader;
+import app.services.StudentAnswerBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,23 +33,42 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("exam_service")
 public class StudentAnswerController {
 
+    private static final String EXAM_OVER = "The exam is over.";
+    private static final String NOT_IN_EXAM = "The answers are not part of this exam.";
+
     private final transient StudentAnswerRepository studentAnswerRepository;
     private final transient StudentExamRepository studentExamRepository;
+    private final transient ExamQuestionRepository examQuestionRepository;
     private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
     private final transient StudentExamSupport support;
+    private final transient IncrementalGrader grader;
+    private final transient StudentAnswerBuffer buffer;
+    private final transient ExamDeadlines deadlines;
 
     /**
      * Autowired constructor.
      *
      * @param studentAnswerRepository StudentAnswerRepository.
      * @param studentExamRepository   StudentExamRepository.
+     * @param examQuestionRepository  ExamQuestionRepository.
+     * @param grader                  Grades the questions while the exam is taken.
+     * @param buffer                  Buffer of the answers that are not written yet.
+     * @param deadlines               Deadlines of the attempts that are not submitted.
      */
     @Autowired
     public StudentAnswerController(StudentAnswerRepository studentAnswerRepository,
-                                   StudentExamRepository studentExamRepository) {
+                                   StudentExamRepository studentExamRepository,
+                                   ExamQuestionRepository examQuestionRepository,
+                                   IncrementalGrader grader,
+                                   StudentAnswerBuffer buffer,
+                                   ExamDeadlines deadlines) {
         this.studentAnswerRepository = studentAnswerRepository;
         this.studentExamRepository = studentExamRepository;
+        this.examQuestionRepository = examQuestionRepository;
         this.support = new StudentExamSupport(studentExamRepository);
+        this.grader = grader;
+        this.buffer = buffer;
+        this.deadlines = deadlines;
     }
 
     /**
@@ -58,7 +86,11 @@ public class StudentAnswerController {
             throw new SecurityException();
         }
         JSONObject jsonObject = new JSONObject(data);
-        StudentAnswer studentAnswer = studentAnswerRepository.findById((int) jsonObject.get("id"));
+        int id = (int) jsonObject.get("id");
+        StudentAnswer studentAnswer = buffer.get(id);
+        if (studentAnswer == null) {
+            studentAnswer = studentAnswerRepository.findById(id);
+        }
         return (studentAnswer != null)
             ? new ResponseEntity<>(serializer.serialize(studentAnswer), HttpStatus.OK) :
             new ResponseEntity<>("Entity not found", HttpStatus.NOT_FOUND);
@@ -79,8 +111,8 @@ public class StudentAnswerController {
             throw new SecurityException();
         }
         JSONObject jsonObject = new JSONObject(data);
-        List<StudentAnswer> studentAnswerList =
-            studentAnswerRepository.findByExamQuestion((int) jsonObject.get("examQuestionId"));
+        List<StudentAnswer> studentAnswerList = buffer.overlay(
+            studentAnswerRepository.findByExamQuestion((int) jsonObject.get("examQuestionId")));
         JSONArray jsonArray = new JSONArray();
         for (StudentAnswer s : studentAnswerList) {
             jsonArray.put(serializer.serialize(s));
@@ -132,7 +164,10 @@ public class StudentAnswerController {
     }
 
     /**
-     * Update and save StudentAnswer database if exam has not ended yet.
+     * Update and save StudentAnswer database if exam has not ended yet. Answers that already
+     * exist are written to the database in batches, see {@link StudentAnswerBuffer}. The question
+     * of the answer is graded again in the background, so that submitting the exam does not
+     * have to.
      *
      * @param data         JSONObject with StudentAnswer and "studentExamId" key.
      * @param sessionToken session token.
@@ -146,17 +181,116 @@ public class StudentAnswerController {
             throw new SecurityException();
         }
         JSONObject jsonObject = new JSONObject(data);
-        int studentExamId = (int) jsonObject.get("studentExamId");
+        if (hasExamEnded((int) jsonObject.get("studentExamId"))) {
+            return new ResponseEntity<>(EXAM_OVER, HttpStatus.FORBIDDEN);
+        }
+        StudentAnswer s = (StudentAnswer) serializer.deserialize(data, StudentAnswer.class);
+        if (s.getId() == null) {
+            s = studentAnswerRepository.save(s);
+        } else {
+            buffer.write(s);
+        }
+        grader.gradeLater(s.getExamQuestionId(), sessionToken);
+        return new ResponseEntity<>(serializer.serialize(s), HttpStatus.OK);
+    }
 
-        StudentExam studentExam = studentExamRepository.findById(studentExamId);
+    /**
+     * Update and save several StudentAnswers of the same StudentExam if the exam has not ended
+     * yet. The deadline is checked once for all of them. New answers are inserted together, and
+     * answers that already exist are buffered together, so that they are written to the database
+     * in the same transaction. Every question of which an answer changed is graded again once, in
+     * the background.
+     *
+     * @param data         JSONObject with "studentExamId" key and "studentAnswers" key with a
+     *                     JSONArray of StudentAnswer as value.
+     * @param sessionToken session token.
+     * @return JSONObject with "studentAnswers" key and JSONArray of the saved StudentAnswers as
+     *      value, in the order of the request.
+     */
+    @PostMapping(path = "updateStudentAnswers")
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public ResponseEntity<String> updateStudentAnswers(@RequestBody String data,
+                                                       @RequestHeader(Constants.SESSIONHEADERKEY)
+                                                           String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 0)) {
+            throw new SecurityException();
+        }
+        JSONObject jsonObject = new JSONObject(data);
+        final int studentExamId = (int) jsonObject.get("studentExamId");
+        if (hasExamEnded(studentExamId)) {
+            return new ResponseEntity<>(EXAM_OVER, HttpStatus.FORBIDDEN);
+        }
+        JSONArray studentAnswers = jsonObject.getJSONArray("studentAnswers");
+        List<StudentAnswer> saved = new ArrayList<>(studentAnswers.length());
+        List<Integer> newPositions = new ArrayList<>();
+        List<StudentAnswer> newAnswers = new ArrayList<>();
+        List<StudentAnswer> changedAnswers = new ArrayList<>();
+        for (int i = 0; i < studentAnswers.length(); i++) {
+            StudentAnswer s = (StudentAnswer) serializer
+                .deserialize(studentAnswers.get(i).toString(), StudentAnswer.class);
+            if (s.getId() == null) {
+                newPositions.add(i);
+                newAnswers.add(s);
+            } else {
+                changedAnswers.add(s);
+            }
+            saved.add(s);
+        }
+        if (!belongToAttempt(studentExamId, saved, !changedAnswers.isEmpty())) {
+            return new ResponseEntity<>(NOT_IN_EXAM, HttpStatus.FORBIDDEN);
+        }
+        if (!newAnswers.isEmpty()) {
+            List<StudentAnswer> inserted = studentAnswerRepository.saveAll(newAnswers);
+            for (int i = 0; i < newPositions.size(); i++) {
+                saved.set(newPositions.get(i), inserted.get(i));
+            }
+        }
+        buffer.writeAll(changedAnswers);
 
-        //Tests if the exam is over
-        if (support.hasExamEnded(studentExam.getStartingTime(), studentExam.getExtraTime())) {
-            return new ResponseEntity<>("The exam is over.",
-                HttpStatus.FORBIDDEN);
+        Set<Integer> examQuestionIds = new LinkedHashSet<>();
+        JSONArray jsonArray = new JSONArray();
+        for (StudentAnswer s : saved) {
+            examQuestionIds.add(s.getExamQuestionId());
+            jsonArray.put(serializer.serialize(s));
         }
-        StudentAnswer s = studentAnswerRepository
-            .save((StudentAnswer) serializer.deserialize(data, StudentAnswer.class));
-        return new ResponseEntity<>(serializer.serialize(s), HttpStatus.OK);
+        for (Integer examQuestionId : examQuestionIds) {
+            grader.gradeLater(examQuestionId, sessionToken);
+        }
+        JSONObject studentAnswerJson = new JSONObject();
+        studentAnswerJson.put("studentAnswers", jsonArray);
+        return new ResponseEntity<>(studentAnswerJson.toString(), HttpStatus.OK);
+    }
+
+    /**
+     * Tests if all answers are for questions of a StudentExam, and if the answers that already
+     * exist are answers of that StudentExam, so that they are not moved away from another one.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private boolean belongToAttempt(int studentExamId, List<StudentAnswer> answers,
+                                    boolean anyExisting) {
+        Set<Integer> questions =
+            new HashSet<>(examQuestionRepository.findIdsByStudentExamId(studentExamId));
+        Set<Integer> existing = anyExisting
+            ? new HashSet<>(studentAnswerRepository.findIdsByStudentExamId(studentExamId))
+            : Set.of();
+        for (StudentAnswer answer : answers) {
+            if (!questions.contains(answer.getExamQuestionId())
+                || answer.getId() != null && !existing.contains(answer.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests if the exam is over, from the database only if its deadline is not tracked.
+     */
+    private boolean hasExamEnded(int studentExamId) {
+        OptionalLong deadline = deadlines.deadline(studentExamId);
+        if (deadline.isPresent()) {
+            return System.currentTimeMillis() > deadline.getAsLong();
+        }
+        StudentExam studentExam = studentExamRepository.findById(studentExamId);
+        return support.hasExamEnded(studentExam.getStartingTime(), studentExam.getExtraTime());
     }
 }
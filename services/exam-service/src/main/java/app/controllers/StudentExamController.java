@@ -1,61 +1,130 @@
 package app.controllers;
 
+import app.authorisation.SessionVerifier;
 import app.communication.Authorisation;
 import app.communication.ExamServiceCommunication;
+import app.communication.ServiceUnavailableException;
 import app.constants.Constants;
+import app.fanout.FanOut;
 import app.json.JsonSerializerFactory;
 import app.models.Exam;
 import app.models.ExamQuestion;
-import app.models.Question;
 import app.models.StudentExam;
-import app.repositories.ExamRepository;
 import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
 import app.serializerfactory.SerializerFactory;
+import app.services.AttemptCounter;
+import app.services.ExamCache;
+import app.services.ExamDeadlines;
+import app.services.ExamQuestionPool;
+import app.services.IncrementalGrader;
+import app.services.StudentAnswerBuffer;
+import app.services.StudentExamExporter;
+import app.services.StudentExamFetcher;
+import app.services.StudentExamWriter;
+import app.statistics.QuestionDifficulty;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("exam_service")
 public class StudentExamController {
 
+    private static final Logger logger = LoggerFactory.getLogger(StudentExamController.class);
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String EXAM_NOT_FOUND = "Exam not found";
+    private static final String ANSWERS_RETRY_AFTER = "1";
+
     private final transient StudentExamRepository studentExamRepository;
-    private final transient ExamRepository examRepository;
+    private final transient ExamCache examCache;
     private final transient SerializerFactory serializerFactory = new JsonSerializerFactory();
     private final transient Serializer serializer = serializerFactory.createSerializer();
     private final transient StudentExamSupport support;
+    private final transient Executor fanOutExecutor;
+    private final transient ExamQuestionPool examQuestionPool;
+    private final transient IncrementalGrader grader;
+    private final transient StudentAnswerBuffer buffer;
+    private final transient QuestionDifficulty questionDifficulty;
+    private final transient StudentExamWriter writer;
+    private final transient ExamDeadlines deadlines;
+    private final transient AttemptCounter attemptCounter;
+    private final transient StudentExamExporter exporter;
+    private final transient StudentExamFetcher fetcher;
+
+    @Value("${exam.create.deadline.enrollment:2000}")
+    private transient long enrollmentDeadline;
+    @Value("${exam.create.deadline.local:1000}")
+    private transient long localDeadline;
+    @Value("${exam.create.deadline.questions:3000}")
+    private transient long questionsDeadline;
+    @Value("${exam.create.deadline.extra-time:2000}")
+    private transient long extraTimeDeadline;
+    @Value("${exam.statistics.least-answered:2}")
+    private transient int leastAnswered = 2;
 
     /**
      * Autowired constructor.
      *
      * @param studentExamRepository StudentExamRepository.
-     * @param examRepository        ExamRepository.
+     * @param examCache             Cache of the exams.
+     * @param fanOutExecutor        Executor on which independent steps run concurrently.
+     * @param examQuestionPool      Pools of pre-generated question sets.
+     * @param grader                Grades the questions while the exam is taken.
+     * @param buffer                Buffer of the answers that are not written yet.
+     * @param questionDifficulty    Counts how often every question was answered incorrectly.
+     * @param writer                Inserts new StudentExams in batches.
+     * @param deadlines             Deadlines of the attempts that are not submitted.
+     * @param attemptCounter        Counts the attempts of every student at every exam.
+     * @param exporter              Streams all StudentExams of an exam.
+     * @param fetcher               Loads lists of StudentExams with their questions and answers.
      */
     @Autowired
     public StudentExamController(StudentExamRepository studentExamRepository,
-                                 ExamRepository examRepository) {
+                                 ExamCache examCache,
+                                 @Qualifier("fanOutExecutor") Executor fanOutExecutor,
+                                 ExamQuestionPool examQuestionPool,
+                                 IncrementalGrader grader,
+                                 StudentAnswerBuffer buffer,
+                                 QuestionDifficulty questionDifficulty,
+                                 StudentExamWriter writer,
+                                 ExamDeadlines deadlines,
+                                 AttemptCounter attemptCounter,
+                                 StudentExamExporter exporter,
+                                 StudentExamFetcher fetcher) {
         this.studentExamRepository = studentExamRepository;
-        this.examRepository = examRepository;
+        this.examCache = examCache;
         this.support = new StudentExamSupport(studentExamRepository);
+        this.fanOutExecutor = fanOutExecutor;
+        this.examQuestionPool = examQuestionPool;
+        this.grader = grader;
+        this.buffer = buffer;
+        this.questionDifficulty = questionDifficulty;
+        this.writer = writer;
+        this.deadlines = deadlines;
+        this.attemptCounter = attemptCounter;
+        this.exporter = exporter;
+        this.fetcher = fetcher;
     }
 
     /**
@@ -77,19 +146,14 @@ public class StudentExamController {
         if (!new JSONObject(data).has(Constants.USER_ID_STRING)) {
             return new ResponseEntity<>(Constants.NOT_FOUND, HttpStatus.NOT_FOUND);
         }
-        Jws<Claims> jwsObject = Jwts.parserBuilder()
-            .requireSubject("session")
-            .setSigningKey(Constants.SECRET_KEY)
-            .build()
-            .parseClaimsJws(jwtToken);
-        if (!jwsObject.getBody().get("netId", String.class)
+        Claims claims = SessionVerifier.getInstance().verify(jwtToken);
+        if (!claims.get("netId", String.class)
             .equals(new JSONObject(data).get(Constants.USER_ID_STRING))) {
             throw new SecurityException();
         }
 
         List<StudentExam> studentExams =
-            studentExamRepository
-                .findByUser((String) new JSONObject(data).get(Constants.USER_ID_STRING));
+            fetcher.byUser((String) new JSONObject(data).get(Constants.USER_ID_STRING));
 
         JSONArray jsonArray = new JSONArray();
         for (StudentExam studentExam : studentExams) {
@@ -140,7 +204,7 @@ public class StudentExamController {
         }
 
         List<StudentExam> studentExams =
-            studentExamRepository.findByExamId((int) new JSONObject(data).get("examId"));
+            fetcher.byExamId((int) new JSONObject(data).get("examId"));
 
         JSONArray jsonArray = new JSONArray();
         for (StudentExam s : studentExams) {
@@ -153,6 +217,45 @@ public class StudentExamController {
             new ResponseEntity<>(studentAnswerJson.toString(), HttpStatus.OK);
     }
 
+    /**
+     * Export all StudentExams of an exam, as one JSON object per line ("ndjson", the default) or
+     * as CSV with one row per StudentExam ("csv"). The StudentExams are read a page at a time
+     * and written to the response while it is being sent, so the export does not have to fit
+     * in memory.
+     *
+     * @param data         JSONObject with "examId" key and optionally "format" key.
+     * @param sessionToken session token.
+     * @return The StudentExams in the requested format.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    @PostMapping(path = "exportStudentExams")
+    public ResponseEntity<StreamingResponseBody> exportStudentExams(
+        @RequestBody String data, @RequestHeader(Constants.SESSIONHEADERKEY) String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 1)) {
+            throw new SecurityException();
+        }
+        JSONObject json = new JSONObject(data);
+        int examId = json.getInt(Constants.EXAM_ID);
+        String format = json.optString("format", StudentExamExporter.NDJSON);
+        String contentType = StudentExamExporter.CONTENT_TYPES.get(format);
+        if (contentType == null) {
+            return message("Unknown format", HttpStatus.BAD_REQUEST);
+        }
+        if (examCache.get(examId) == null) {
+            return message(EXAM_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(contentType))
+            .body(out -> exporter.export(examId, format, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> message(String message,
+                                                                 HttpStatus status) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
     /**
      * Delete StudentExam by id.
      *
@@ -168,12 +271,19 @@ public class StudentExamController {
             throw new SecurityException();
         }
         JSONObject jsonObject = new JSONObject(data);
-        studentExamRepository.deleteById((int) jsonObject.get("id"));
+        int id = (int) jsonObject.get("id");
+        StudentExam studentExam = studentExamRepository.findById(id);
+        studentExamRepository.deleteById(id);
+        if (studentExam != null) {
+            attemptCounter.release(studentExam.getExamId(), studentExam.getUser());
+            questionDifficulty.invalidate(studentExam.getExamId());
+        }
         return new ResponseEntity<>("Deletion was successful", HttpStatus.OK);
     }
 
     /**
      * Generate StudentExam with random questions based on user and exam ids.
+     * The time every step took is returned in the Server-Timing header.
      *
      * @param data         JSONObject with "examId" and "userId" keys.
      * @param sessionToken session token.
@@ -190,49 +300,110 @@ public class StudentExamController {
         JSONObject json = new JSONObject(data);
         int exId = (int) json.get(Constants.EXAM_ID);
         String userId = (String) json.get(Constants.USER_ID_STRING);
-        Exam exam = examRepository.findById(exId);
+        Exam exam = examCache.get(exId);
         String userAndCourseId =
             "{\"userId\":" + userId + ",\"courseId\":" + exam.getCourseId() + "}";
+
+        // The steps below only depend on the exam, so they run concurrently. The first one that
+        // fails cancels the others; failures are reported in the order of the steps.
+        FanOut fanOut = new FanOut(fanOutExecutor);
         // Check if user is enrolled
-        String enrollmentString =
-            ExamServiceCommunication
+        final FanOut.Step<String> enrollment = fanOut.step("enrollment", enrollmentDeadline,
+            () -> ExamServiceCommunication
                 .postRequest(userAndCourseId,
                     "8082/course_service/getEnrollmentByCourseAndUser/",
-                    sessionToken);
+                    sessionToken),
+            enrollmentString -> new JSONObject(enrollmentString).has("id"));
+        // Check whether exam was already taken 3 times
+        final FanOut.Step<Boolean> attempts = fanOut.step("attempts", localDeadline,
+            () -> attemptCounter.isLimitReached(exId, userId, exam.getEnd()),
+            limitReached -> !limitReached);
+        //Check whether deadline passed or exam hasn't started yet
+        final FanOut.Step<Boolean> time = fanOut.step("time", localDeadline,
+            () -> support.isExamTimeCorrect(exam), timeCorrect -> timeCorrect);
+        //A pre-generated StudentExam is only claimed once the checks passed, so that rejected
+        //requests do not use it up. Without one, course-service creates one in the meantime.
+        final FanOut.Step<StudentExam> questions = examQuestionPool.hasSets(exam) ? null
+            : fanOut.step("questions", questionsDeadline,
+                () -> support.studentExamFromCourseService(exam.getCourseId(), sessionToken));
+        //Ask for extra time
+        final FanOut.Step<Integer> extraTime = fanOut.step("extraTime", extraTimeDeadline,
+            () -> support.studentExamExtraTime(userId, sessionToken));
+        fanOut.await();
 
-        if (enrollmentString == null || !new JSONObject(enrollmentString).has("id")) {
-            return new ResponseEntity<>("The user is not enrolled in this course.",
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(SERVER_TIMING, fanOut.serverTiming());
+        logger.debug("createStudentExam timings: {}", fanOut.serverTiming());
+        // A step that could not reach another microservice says nothing about the student
+        ServiceUnavailableException unavailable = unavailable(enrollment, questions, extraTime);
+        if (unavailable != null) {
+            headers.set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(unavailable.getRetryAfterSeconds()));
+            return new ResponseEntity<>("Service unavailable", headers,
+                HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (enrollment.failed()) {
+            return new ResponseEntity<>("The user is not enrolled in this course.", headers,
                 HttpStatus.FORBIDDEN);
         }
-        // Check whether exam was already taken 3 times
-        if (support.isExamLimitReached(exId, userId)) {
-            return new ResponseEntity<>("The maximum amount of tries has been reached.",
+        if (attempts.failed()) {
+            return new ResponseEntity<>("The maximum amount of tries has been reached.", headers,
                 HttpStatus.FORBIDDEN);
         }
-        //Check whether deadline passed or exam hasn't started yet
-        if (!support.isExamTimeCorrect(exam)) {
-            return new ResponseEntity<>("The exam is not available at this time.",
+        if (time.failed()) {
+            return new ResponseEntity<>("The exam is not available at this time.", headers,
                 HttpStatus.FORBIDDEN);
         }
-        //Request course-service to create StudentExam
-        StudentExam s = support.studentExamFromCourseService(exam.getCourseId(), sessionToken);
-        if (s == null) {
-            return new ResponseEntity<>("Exam not found", HttpStatus.NOT_FOUND);
+        if (questions != null && questions.failed()) {
+            return new ResponseEntity<>(EXAM_NOT_FOUND, headers, HttpStatus.NOT_FOUND);
         }
-        //Ask for extra time
-        Integer extraTime = support.studentExamExtraTime(userId, sessionToken);
-        if (extraTime == null) {
-            return new ResponseEntity<>("User not found", HttpStatus.NOT_FOUND);
+        if (extraTime.failed()) {
+            return new ResponseEntity<>("User not found", headers, HttpStatus.NOT_FOUND);
+        }
+        // Two requests of the same student can both pass the check above, so the attempt is
+        // reserved atomically before it is inserted
+        if (!attemptCounter.tryAcquire(exId, userId, exam.getEnd())) {
+            return new ResponseEntity<>("The maximum amount of tries has been reached.", headers,
+                HttpStatus.FORBIDDEN);
+        }
+        StudentExam s;
+        try {
+            s = questions == null ? claimQuestions(exam, sessionToken) : questions.getResult();
+        } catch (ServiceUnavailableException e) {
+            attemptCounter.release(exId, userId);
+            throw e;
+        }
+        if (s == null) {
+            attemptCounter.release(exId, userId);
+            return new ResponseEntity<>(EXAM_NOT_FOUND, headers, HttpStatus.NOT_FOUND);
         }
         //Setup StudentExam
         s.setGrade(0F);
         s.setCorrectQuestions(0);
         s.setExamId(exId);
         s.setStartingTime(new Timestamp(System.currentTimeMillis()));
-        s.setExtraTime(extraTime);
+        s.setExtraTime(extraTime.getResult());
         s.setUser(userId);
-        StudentExam studentExam = studentExamRepository.save(s);
-        return new ResponseEntity<>(serializer.serialize(studentExam), HttpStatus.OK);
+        StudentExam studentExam = null;
+        try {
+            studentExam = writer.create(s);
+        } finally {
+            if (studentExam == null) {
+                attemptCounter.release(exId, userId);
+            }
+        }
+        deadlines.register(studentExam);
+        return new ResponseEntity<>(serializer.serialize(studentExam), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Claims a pre-generated StudentExam, or requests course-service to create one if the pool
+     * was emptied in the meantime.
+     */
+    private StudentExam claimQuestions(Exam exam, String sessionToken) {
+        StudentExam pooled = examQuestionPool.claim(exam);
+        return pooled != null ? pooled
+            : support.studentExamFromCourseService(exam.getCourseId(), sessionToken);
     }
 
     /**
@@ -251,35 +422,104 @@ public class StudentExamController {
             throw new SecurityException();
         }
         StudentExam studentExam = (StudentExam) serializer.deserialize(data, StudentExam.class);
-        //Check if exam has ended
-        if (support.hasExamEnded(studentExam.getStartingTime(), studentExam.getExtraTime())) {
+        //Check if exam has ended, trusting the submitted times only if the deadline is not tracked
+        OptionalLong deadline = studentExam.getId() == null
+            ? OptionalLong.empty() : deadlines.deadline(studentExam.getId());
+        if (deadline.isPresent() ? System.currentTimeMillis() > deadline.getAsLong()
+            : support.hasExamEnded(studentExam.getStartingTime(), studentExam.getExtraTime())) {
             return new ResponseEntity<>("The exam is over.",
                 HttpStatus.FORBIDDEN);
         }
-        //Request questions with correct answers from course service
+        //Write the buffered answers first, so that they cannot overwrite the submitted ones
+        if (!buffer.flush()) {
+            return answersNotWritten();
+        }
+        //Use the grades of the questions that were graded while the exam was taken, and
+        //grade the others with the answer keys from cache or from course service
         List<ExamQuestion> studentQuestions = studentExam.getExamQuestions();
-        List<Question> correctQuestions =
-            support.getCorrectQuestionsFromCourse(studentQuestions, sessionToken);
-        if (correctQuestions == null) {
+        int correctAnswers = grader.grade(studentQuestions, sessionToken);
+        if (correctAnswers < 0) {
             return new ResponseEntity<>("Could not retrieve correct answers.",
                 HttpStatus.NOT_FOUND);
         }
-
-        //Calculate grade and number of correctly answered questions
-        int correctAnswers = support.countCorrectQuestions(studentQuestions, correctQuestions);
-        float grade = (float) correctAnswers / studentQuestions.size() * 9 + 1;
+        float grade = IncrementalGrader.toGrade(correctAnswers, studentQuestions.size());
         //Set fields and save to database
         studentExam.setExamQuestions(studentQuestions);
         studentExam.setCorrectQuestions(correctAnswers);
         studentExam.setGrade(grade);
         StudentExam e = studentExamRepository.save(studentExam);
+        if (e.getId() != null) {
+            deadlines.cancel(e.getId());
+        }
+        // Only an attempt whose deadline was still tracked is submitted for the first time
+        if (deadline.isPresent()) {
+            questionDifficulty.record(e);
+        }
         return new ResponseEntity<>(serializer.serialize(e), HttpStatus.OK);
     }
 
     /**
-     * Return 2 least answered questions based on exam id.
+     * Grades a StudentExam again from scratch, with freshly fetched answer keys, and reports
+     * where the stored results differ from the new ones. If "repair" is true, the stored results
+     * are replaced by the new ones.
      *
-     * @param data         JSONObject with "examId" key.
+     * @param data         JSONObject with "studentExamId" key and optional "repair" key.
+     * @param sessionToken session token.
+     * @return JSONObject with the stored and the new "correctQuestions" and "grade", and a
+     *     "drift" array with every question whose result differs.
+     */
+    @PostMapping(path = "regradeStudentExam")
+    public ResponseEntity<String> regradeStudentExam(@RequestBody String data,
+                                                     @RequestHeader(Constants.SESSIONHEADERKEY)
+                                                         String sessionToken) {
+        if (!Authorisation.getAuthorisation(sessionToken, 1)) {
+            throw new SecurityException();
+        }
+        if (!buffer.flush()) {
+            return answersNotWritten();
+        }
+        JSONObject json = new JSONObject(data);
+        StudentExam studentExam = studentExamRepository.findById(json.getInt("studentExamId"));
+        if (studentExam == null || studentExam.getExamQuestions() == null
+            || studentExam.getExamQuestions().isEmpty()) {
+            return new ResponseEntity<>(Constants.NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        List<ExamQuestion> studentQuestions = studentExam.getExamQuestions();
+        boolean[] correct = grader.regrade(studentQuestions, sessionToken);
+        if (correct == null) {
+            return new ResponseEntity<>("Could not retrieve correct answers.",
+                HttpStatus.NOT_FOUND);
+        }
+        int correctAnswers = 0;
+        for (boolean c : correct) {
+            correctAnswers += c ? 1 : 0;
+        }
+        float grade = IncrementalGrader.toGrade(correctAnswers, studentQuestions.size());
+        JSONObject result = new JSONObject();
+        result.put("studentExamId", studentExam.getId());
+        result.put("storedCorrectQuestions", studentExam.getCorrectQuestions());
+        result.put("correctQuestions", correctAnswers);
+        result.put("storedGrade", studentExam.getGrade());
+        result.put("grade", grade);
+        result.put("drift", IncrementalGrader.drift(studentQuestions, correct));
+        if (json.optBoolean("repair")) {
+            for (int i = 0; i < correct.length; i++) {
+                studentQuestions.get(i).setCorrect(correct[i]);
+            }
+            studentExam.setCorrectQuestions(correctAnswers);
+            studentExam.setGrade(grade);
+            studentExamRepository.save(studentExam);
+            questionDifficulty.invalidate(studentExam.getExamId());
+        }
+        return new ResponseEntity<>(result.toString(), HttpStatus.OK);
+    }
+
+    /**
+     * Return the questions of an exam that were answered incorrectly most often, by default the
+     * 'exam.statistics.least-answered' (default 2) questions. The questions are ranked with
+     * counts that are kept up to date while attempts are graded, see {@link QuestionDifficulty}.
+     *
+     * @param data         JSONObject with "examId" key and optional "amount" key.
      * @param sessionToken session token.
      * @return JSONObject with "questions" key and JSONArray of Question as value.
      */
@@ -292,29 +532,16 @@ public class StudentExamController {
         }
         JSONObject json = new JSONObject(data);
         int id = (int) json.get("examId");
-        List<StudentExam> exams = studentExamRepository.findByExamId(id);
-        // Counting least answered questions
-        Set<Map.Entry<Integer, Long>> set = exams.stream()
-            .flatMap(x -> x.getExamQuestions().stream())
-            .filter(x -> x.getCorrect() != null && !x.getCorrect())
-            .map(ExamQuestion::getQuestion)
-            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
-            .entrySet();
-        List<Map.Entry<Integer, Long>> questions = new ArrayList<>(set);
-        int two = 2;
-        if (questions.size() < two) {
-            return new ResponseEntity<>("There was less than 2 incorrectly answered questions.",
-                HttpStatus.NOT_FOUND);
+        int amount = Math.max(1, json.optInt("amount", leastAnswered));
+        List<Integer> questions = questionDifficulty.mostIncorrectQuestions(id, amount);
+        if (questions.size() < amount) {
+            return new ResponseEntity<>("There was less than " + amount
+                + " incorrectly answered questions.", HttpStatus.NOT_FOUND);
         }
-        // Sorting in descending order and retrieving first two
-        questions.sort(Comparator.comparing(x -> -x.getValue()));
 
         // Retrieving questions from course service
         JSONObject jsonObject = new JSONObject();
-        JSONArray jsonArray = new JSONArray();
-        jsonArray.put(questions.get(0).getKey());
-        jsonArray.put(questions.get(1).getKey());
-        jsonObject.put("questionIds", jsonArray);
+        jsonObject.put("questionIds", new JSONArray(questions));
 
         String response =
             ExamServiceCommunication
@@ -326,4 +553,31 @@ public class StudentExamController {
         }
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the exception of the first step that failed because another microservice was not
+     * sent the request, or null if there is none.
+     */
+    private static ServiceUnavailableException unavailable(FanOut.Step<?>... steps) {
+        for (FanOut.Step<?> step : steps) {
+            if (step != null && step.failed()) {
+                ServiceUnavailableException unavailable =
+                    ServiceUnavailableException.find(step.getFailure());
+                if (unavailable != null) {
+                    return unavailable;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Answers a request that needs the buffered answers in the database while they cannot be
+     * written, so that it is not handled with answers that are out of date.
+     */
+    private static ResponseEntity<String> answersNotWritten() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, ANSWERS_RETRY_AFTER)
+            .body("Saved answers could not be written yet.");
+    }
+}
@@ -1,6 +1,7 @@
 package app.controllers;
 
 import app.communication.ExamServiceCommunication;
+import app.grading.AnswerKey;
 import app.json.JsonSerializerFactory;
 import app.models.Exam;
 import app.models.ExamQuestion;
@@ -9,6 +10,7 @@ import app.models.StudentExam;
 import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
 import app.serializerfactory.SerializerFactory;
+import app.services.ExamDeadlines;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,9 +38,7 @@ public class StudentExamSupport {
      * @return boolean.
      */
     public boolean isExamLimitReached(int exId, String userId) {
-        List<StudentExam> studentExams =
-            studentExamRepository.findByExamAndUser(exId, userId);
-        return (studentExams.size() >= three);
+        return studentExamRepository.countByExamIdAndUser(exId, userId) >= three;
     }
 
     /**
@@ -71,6 +71,11 @@ public class StudentExamSupport {
         if (response == null) {
             return null;
         }
+        // course-service wraps the serialized StudentExam in a "studentExam" field
+        JSONObject json = new JSONObject(response);
+        if (json.has("studentExam")) {
+            response = json.getString("studentExam");
+        }
         return (StudentExam) serializer.deserialize(response, StudentExam.class);
     }
 
@@ -102,10 +107,7 @@ public class StudentExamSupport {
      * @return boolean.
      */
     public boolean hasExamEnded(Timestamp startingTime, int extraTime) {
-        long time = ((long) extraTime * 60) * 1000 + (20 * 60) * 1000;
-        Timestamp end = new Timestamp(startingTime.getTime() + time);
-        Timestamp current = new Timestamp(System.currentTimeMillis());
-        return current.after(end);
+        return System.currentTimeMillis() > ExamDeadlines.deadlineOf(startingTime, extraTime);
     }
 
     /**
@@ -150,19 +152,31 @@ public class StudentExamSupport {
      */
     public Integer countCorrectQuestions(List<ExamQuestion> studentQuestions,
                                          List<Question> correctQuestions) {
+        AnswerKey[] answerKeys = new AnswerKey[correctQuestions.size()];
+        for (int i = 0; i < answerKeys.length; i++) {
+            answerKeys[i] = AnswerKey.of(correctQuestions.get(i), 0);
+        }
+        return countCorrectQuestions(studentQuestions, answerKeys);
+    }
+
+    /**
+     * Given questions answered by a student and the answer keys of those questions, count
+     * number of correct answers and mark every question as correct or incorrect.
+     *
+     * @param studentQuestions List of ExamQuestions.
+     * @param answerKeys       Answer keys in the same order as the questions.
+     * @return number of correctly answered questions.
+     */
+    public int countCorrectQuestions(List<ExamQuestion> studentQuestions,
+                                     AnswerKey[] answerKeys) {
         int correctAnswers = 0;
         for (int i = 0; i < studentQuestions.size(); i++) {
-            boolean correct = true;
-            for (int j = 0; j < studentQuestions.get(i).getStudentAnswers().size(); j++) {
-                if (studentQuestions.get(i).getStudentAnswers().get(j).getSelected()
-                    != correctQuestions.get(i).getAnswers().get(j).getCorrect()) {
-                    correct &= false;
-                }
-            }
+            ExamQuestion examQuestion = studentQuestions.get(i);
+            boolean correct = answerKeys[i].matches(examQuestion.getStudentAnswers());
             if (correct) {
                 correctAnswers += 1;
             }
-            studentQuestions.get(i).setCorrect(correct);
+            examQuestion.setCorrect(correct);
         }
         return correctAnswers;
     }
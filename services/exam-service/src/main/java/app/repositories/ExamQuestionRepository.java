@@ -1,11 +1,60 @@
 package app.repositories;
 
 import app.models.ExamQuestion;
+import app.statistics.QuestionErrorRate;
+import java.util.Collection;
 import java.util.List;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Integer> {
     ExamQuestion findById(int id);
 
     List<ExamQuestion> findExamQuestionsByStudentExamId(int studentExamId);
+
+    @Query("select eq.id from ExamQuestion eq where eq.studentExamId = ?1")
+    List<Integer> findIdsByStudentExamId(int studentExamId);
+
+    @Query("select new app.statistics.QuestionErrorRate(eq.question, count(eq.correct), "
+        + "sum(case when eq.correct = false then 1 else 0 end)) "
+        + "from ExamQuestion eq, StudentExam se "
+        + "where eq.studentExamId = se.id and se.examId = ?1 "
+        + "group by eq.question order by eq.question")
+    List<QuestionErrorRate> countErrorsByExamId(int examId);
+
+    @Query("select new app.statistics.QuestionErrorRate(eq.question, count(eq.correct), "
+        + "sum(case when eq.correct = false then 1 else 0 end)) "
+        + "from ExamQuestion eq, StudentExam se "
+        + "where eq.studentExamId = se.id and se.examId = ?1 and se.grade >= 1 "
+        + "group by eq.question order by eq.question")
+    List<QuestionErrorRate> countSubmittedErrorsByExamId(int examId);
+
+    /**
+     * Initializes the answers of the questions of all StudentExams of a student, which must
+     * already be loaded in the same persistence context.
+     */
+    @Query("select distinct eq from ExamQuestion eq left join fetch eq.studentAnswers, "
+        + "StudentExam se where eq.studentExamId = se.id and se.user = ?1")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<ExamQuestion> fetchAnswersByUser(String userId);
+
+    /**
+     * Initializes the answers of the questions of all StudentExams of an exam, which must
+     * already be loaded in the same persistence context.
+     */
+    @Query("select distinct eq from ExamQuestion eq left join fetch eq.studentAnswers, "
+        + "StudentExam se where eq.studentExamId = se.id and se.examId = ?1")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<ExamQuestion> fetchAnswersByExamId(int examId);
+
+    /**
+     * Initializes the answers of the questions of StudentExams, which must already be loaded in
+     * the same persistence context.
+     */
+    @Query("select distinct eq from ExamQuestion eq left join fetch eq.studentAnswers "
+        + "where eq.studentExamId in ?1")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<ExamQuestion> fetchAnswersByStudentExamIds(Collection<Integer> studentExamIds);
 }
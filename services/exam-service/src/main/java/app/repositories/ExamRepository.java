@@ -1,8 +1,12 @@
 package app.repositories;
 
 import app.models.Exam;
+import java.sql.Timestamp;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ExamRepository extends JpaRepository<Exam, Integer> {
     Exam findById(int id);
+
+    List<Exam> findByStartBeforeAndEndAfter(Timestamp startBefore, Timestamp endAfter);
 }
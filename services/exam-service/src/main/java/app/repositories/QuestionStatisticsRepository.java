@@ -0,0 +1,15 @@
+package app.repositories;
+
+import app.statistics.QuestionErrorRate;
+import app.statistics.QuestionStatistics;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface QuestionStatisticsRepository
+    extends JpaRepository<QuestionStatistics, QuestionStatistics.Key> {
+
+    @Query("select new app.statistics.QuestionErrorRate(qs.question, qs.answered, qs.incorrect) "
+        + "from QuestionStatistics qs where qs.examId = ?1")
+    List<QuestionErrorRate> findRatesByExamId(int examId);
+}
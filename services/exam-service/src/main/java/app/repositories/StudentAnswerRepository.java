@@ -3,10 +3,16 @@ package app.repositories;
 import app.models.StudentAnswer;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, Integer> {
     StudentAnswer findById(int id);
 
     List<StudentAnswer> findByExamQuestion(int examQuestionId);
 
+    List<StudentAnswer> findByExamQuestionIdOrderById(int examQuestionId);
+
+    @Query("select sa.id from StudentAnswer sa, ExamQuestion eq "
+        + "where sa.examQuestionId = eq.id and eq.studentExamId = ?1")
+    List<Integer> findIdsByStudentExamId(int studentExamId);
 }
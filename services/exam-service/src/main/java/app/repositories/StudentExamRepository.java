@@ -1,16 +1,70 @@
 package app.repositories;
 
 import app.models.StudentExam;
+import app.statistics.ExamSummary;
+import app.statistics.GradeBucket;
+import java.util.Collection;
 import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface StudentExamRepository extends JpaRepository<StudentExam, Integer> {
     StudentExam findById(int id);
 
     List<StudentExam> findByExamAndUser(int examId, String userId);
 
+    long countByExamIdAndUser(int examId, String userId);
+
+    /**
+     * Finds the StudentExams of a student with their questions, in one query. The answers of
+     * the questions are fetched by {@link ExamQuestionRepository#fetchAnswersByUser}. The
+     * distinct removes the duplicates of the join in memory; it is not sent to the database.
+     */
+    @Query("select distinct se from StudentExam se left join fetch se.examQuestions "
+        + "where se.user = ?1")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
     List<StudentExam> findByUser(String netId);
 
+    /**
+     * Finds the StudentExams of an exam with their questions, in one query. The answers of the
+     * questions are fetched by {@link ExamQuestionRepository#fetchAnswersByExamId}.
+     */
+    @Query("select distinct se from StudentExam se left join fetch se.examQuestions "
+        + "where se.examId = ?1")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
     List<StudentExam> findByExamId(int examId);
 
+    @Query("select se from StudentExam se where se.examId = ?1 and se.id > ?2 order by se.id")
+    List<StudentExam> findNextPageByExamId(int examId, int afterId, Pageable pageable);
+
+    /**
+     * Initializes the questions of StudentExams, which must already be loaded in the same
+     * persistence context, in one query.
+     */
+    @Query("select distinct se from StudentExam se left join fetch se.examQuestions "
+        + "where se.id in ?1")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<StudentExam> fetchQuestionsByIds(Collection<Integer> ids);
+
+    @Query("select se from StudentExam se where se.grade is null or se.grade < 1")
+    List<StudentExam> findUngraded();
+
+    @Query("select new app.statistics.ExamSummary(count(se), count(distinct se.user), "
+        + "sum(case when se.grade > 0 then 1 else 0 end), "
+        + "avg(case when se.grade > 0 then se.grade else null end)) "
+        + "from StudentExam se where se.examId = ?1")
+    ExamSummary summarizeByExamId(int examId);
+
+    @Query("select new app.statistics.GradeBucket(floor(se.grade), count(se)) "
+        + "from StudentExam se where se.examId = ?1 and se.grade > 0 "
+        + "group by floor(se.grade)")
+    List<GradeBucket> countGradesByExamId(int examId);
+
+    @Query("select se.grade from StudentExam se where se.examId = ?1 and se.grade > 0 "
+        + "order by se.grade")
+    List<Float> findGradesByExamId(int examId, Pageable pageable);
+
 }
@@ -0,0 +1,221 @@
+package app.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Append-only log of the writes that {@link StudentAnswerBuffer} has acknowledged but not yet
+ * written to the database. Every record is forced to disk before it is acknowledged; records
+ * that are appended while another thread forces the journal are forced together afterwards.
+ *
+ * <p>The journal consists of numbered segments. Before the buffer writes its contents to the
+ * database it seals the current segment and continues in a new one; once the write succeeds,
+ * every sealed segment is deleted. After a crash, the records of all segments that are left are
+ * replayed in order. The directory is forced whenever a segment is created, so that the
+ * segment survives a crash along with its records.
+ */
+class AnswerJournal {
+
+    private static final String PREFIX = "answers-";
+    private static final String SUFFIX = ".journal";
+    private static final boolean WINDOWS =
+        System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private final transient Path directory;
+    private final transient List<Path> sealed = new ArrayList<>();
+    private transient long sequence;
+    private final transient Object forceLock = new Object();
+    private transient long written;
+    private transient long forced;
+    private transient FileChannel current;
+
+    /**
+     * Opens the journal in a directory, creating the directory if needed. Segments that are left
+     * from a previous run are kept until they have been replayed and written to the database.
+     *
+     * @param directory The directory of the segments.
+     * @throws IOException if the directory cannot be used.
+     */
+    AnswerJournal(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        sealed.addAll(segments());
+        for (Path segment : sealed) {
+            sequence = Math.max(sequence, number(segment));
+        }
+        open();
+    }
+
+    /**
+     * Reads the records of every segment, oldest first.
+     *
+     * @return The records.
+     * @throws IOException if a segment cannot be read.
+     */
+    List<String> replay() throws IOException {
+        List<String> records = new ArrayList<>();
+        for (Path segment : segments()) {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                // A record that was only partly written before a crash was never acknowledged
+                if (!line.isBlank()) {
+                    records.add(line);
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Appends a record, without forcing it to disk.
+     *
+     * @param record The record, which must not contain line breaks.
+     * @return The position to pass to {@link #force(long)}.
+     */
+    long append(String record) {
+        return appendAll(List.of(record));
+    }
+
+    /**
+     * Appends several records, without forcing them to disk.
+     *
+     * @param records The records, which must not contain line breaks.
+     * @return The position to pass to {@link #force(long)}.
+     */
+    synchronized long appendAll(List<String> records) {
+        StringBuilder lines = new StringBuilder();
+        for (String record : records) {
+            lines.append(record).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (bytes.hasRemaining()) {
+                written += current.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    /**
+     * Forces the records up to a position to disk, unless another thread already did. Only one
+     * thread forces the journal at a time, and it forces everything that was appended before it
+     * started, so writes that arrive together share one force.
+     *
+     * @param position The position returned by the last append of the caller.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    void force(long position) {
+        synchronized (forceLock) {
+            if (forced >= position) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = written;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            forced = target;
+        }
+    }
+
+    /**
+     * Closes the current segment and continues in a new one.
+     */
+    void seal() {
+        synchronized (forceLock) {
+            synchronized (this) {
+                try {
+                    // Records that were appended but not forced yet move to a sealed segment
+                    current.force(false);
+                    forced = written;
+                    current.close();
+                    sealed.add(segment(sequence));
+                    open();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes all sealed segments, after their records have been written to the database.
+     */
+    synchronized void deleteSealed() {
+        try {
+            for (Path segment : sealed) {
+                Files.deleteIfExists(segment);
+            }
+            sealed.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the current segment. Its records are replayed when the journal is opened again.
+     */
+    synchronized void close() {
+        try {
+            current.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates the next segment. Forcing the file only makes its contents durable, so the
+     * directory is forced as well, before any record in the new segment is acknowledged;
+     * otherwise the segment itself could be missing after a crash.
+     */
+    private void open() throws IOException {
+        sequence++;
+        current = FileChannel.open(segment(sequence), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        forceDirectory();
+    }
+
+    private void forceDirectory() throws IOException {
+        if (WINDOWS) {
+            // Directories cannot be opened as a channel there, and NTFS makes the entry durable
+            // together with the file
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private Path segment(long number) {
+        return directory.resolve(PREFIX + number + SUFFIX);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+                 Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(number(a), number(b)));
+        return segments;
+    }
+
+    private static long number(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
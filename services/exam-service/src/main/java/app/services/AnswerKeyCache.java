@@ -0,0 +1,246 @@
+package app.services;
+
+import app.communication.ExamServiceCommunication;
+import app.grading.AnswerKey;
+import app.json.JsonSerializerFactory;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.serializerfactory.Serializer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches the answer key of every question that has been graded, so that submitting an exam does
+ * not have to fetch the questions and answers from course-service again. Course-service
+ * invalidates the keys of a question when it or one of its answers changes. Every invalidation
+ * increases the version of the cache; keys that were being fetched while an invalidation
+ * happened are used for the submission that fetched them, but are not cached. When the cache is
+ * full, the keys that were used least recently are evicted.
+ *
+ * <p>An invalidation that does not reach exam-service would leave an outdated key in the cache
+ * for good, so keys are also dropped 'exam.answer-keys.ttl' milliseconds (default 300000) after
+ * they were fetched.
+ */
+@Service
+public class AnswerKeyCache {
+
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+    private final transient Map<Integer, Entry> keys;
+    private transient volatile long version;
+
+    @Value("${exam.answer-keys.max-size:100000}")
+    private transient int maxSize = 100_000;
+
+    @Value("${exam.answer-keys.ttl:300000}")
+    private transient long timeToLiveMillis = 300_000;
+
+    /**
+     * Constructs an empty AnswerKeyCache.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public AnswerKeyCache() {
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the answer keys of the questions of an exam, fetching the ones that are not cached
+     * from course-service in a single request.
+     *
+     * @param examQuestions The questions of the exam.
+     * @param sessionToken  session token.
+     * @return The answer keys in the order of the questions, or null if they could not be
+     *     retrieved.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public AnswerKey[] getKeys(List<ExamQuestion> examQuestions, String sessionToken) {
+        AnswerKey[] result = new AnswerKey[examQuestions.size()];
+        JSONArray missing = new JSONArray();
+        long now = System.currentTimeMillis();
+        synchronized (keys) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = cached(examQuestions.get(i).getQuestion(), now);
+                if (result[i] == null) {
+                    missing.put(examQuestions.get(i).getQuestion());
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long fetchedAt = version;
+        List<AnswerKey> fetched = fetch(missing, fetchedAt, sessionToken);
+        if (fetched == null) {
+            return null;
+        }
+        Map<Integer, AnswerKey> fetchedById = new HashMap<>();
+        for (AnswerKey key : fetched) {
+            fetchedById.put(key.getQuestionId(), key);
+        }
+        store(fetchedById, fetchedAt, now + timeToLiveMillis);
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] == null) {
+                result[i] = fetchedById.get(examQuestions.get(i).getQuestion());
+                if (result[i] == null) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetches the answer keys of the questions of an exam from course-service, without looking
+     * at or updating the cache.
+     *
+     * @param examQuestions The questions of the exam.
+     * @param sessionToken  session token.
+     * @return The answer keys in the order of the questions, or null if they could not be
+     *     retrieved.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public AnswerKey[] fetchKeys(List<ExamQuestion> examQuestions, String sessionToken) {
+        JSONArray questionIds = new JSONArray();
+        examQuestions.forEach(examQuestion -> questionIds.put(examQuestion.getQuestion()));
+        List<AnswerKey> fetched = fetch(questionIds, version, sessionToken);
+        if (fetched == null) {
+            return null;
+        }
+        Map<Integer, AnswerKey> fetchedById = new HashMap<>();
+        for (AnswerKey key : fetched) {
+            fetchedById.put(key.getQuestionId(), key);
+        }
+        AnswerKey[] result = new AnswerKey[examQuestions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fetchedById.get(examQuestions.get(i).getQuestion());
+            if (result[i] == null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached answer key of a question, without fetching it.
+     *
+     * @param questionId The id of the question.
+     * @return The answer key, or null if it is not cached or has expired.
+     */
+    public AnswerKey peek(int questionId) {
+        long now = System.currentTimeMillis();
+        synchronized (keys) {
+            return cached(questionId, now);
+        }
+    }
+
+    /**
+     * Removes the answer keys of the given questions.
+     *
+     * @param questionIds The questions that were changed.
+     */
+    public void invalidate(Collection<Integer> questionIds) {
+        synchronized (keys) {
+            version++;
+            questionIds.forEach(keys::remove);
+        }
+    }
+
+    /**
+     * Removes all answer keys.
+     */
+    public void invalidateAll() {
+        synchronized (keys) {
+            version++;
+            keys.clear();
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the amount of cached answer keys.
+     *
+     * @return the size of the cache.
+     */
+    public int size() {
+        synchronized (keys) {
+            return keys.size();
+        }
+    }
+
+    /**
+     * Looks up a key while holding the lock of the cache, and removes it if it has expired.
+     */
+    private AnswerKey cached(int questionId, long now) {
+        Entry entry = keys.get(questionId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            keys.remove(questionId);
+            return null;
+        }
+        return entry.key;
+    }
+
+    /**
+     * Caches fetched keys until they expire, unless an invalidation happened while they were
+     * being fetched.
+     */
+    private void store(Map<Integer, AnswerKey> fetched, long fetchedAt, long expiresAt) {
+        synchronized (keys) {
+            if (version == fetchedAt && maxSize > 0 && timeToLiveMillis > 0) {
+                fetched.forEach((questionId, key) ->
+                    keys.put(questionId, new Entry(key, expiresAt)));
+            }
+        }
+    }
+
+    private List<AnswerKey> fetch(JSONArray questionIds, long fetchedAt, String sessionToken) {
+        JSONObject request = new JSONObject();
+        request.put("questionIds", questionIds);
+        String response = ExamServiceCommunication
+            .postRequest(request.toString(), "8082/course_service/getQuestionsById",
+                sessionToken);
+        if (response == null) {
+            return null;
+        }
+        Object questionsJson = new JSONObject(response).get("questions");
+        JSONArray questions = questionsJson instanceof JSONArray
+            ? (JSONArray) questionsJson : new JSONArray(questionsJson.toString());
+        List<AnswerKey> fetched = new ArrayList<>(questions.length());
+        for (int i = 0; i < questions.length(); i++) {
+            Question question = (Question) serializer
+                .deserialize(questions.get(i).toString(), Question.class);
+            fetched.add(AnswerKey.of(question, fetchedAt));
+        }
+        return fetched;
+    }
+
+    private static class Entry {
+        private final transient AnswerKey key;
+        private final transient long expiresAt;
+
+        Entry(AnswerKey key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package app.services;
+
+import app.repositories.StudentExamRepository;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts the attempts every student made at every exam, so that checking the limit of attempts
+ * does not have to query the database.
+ *
+ * <p>The count of a student and exam is loaded with a count query the first time it is needed,
+ * and from then on it is kept up to date by {@link #tryAcquire} and {@link #release}. An attempt
+ * is reserved with a compare-and-set before its StudentExam is inserted, so two requests of the
+ * same student that race cannot both take the last attempt.
+ *
+ * <p>No attempts can be started once an exam has ended, so the counts of an exam are evicted
+ * every 'exam.attempts.evict-interval' milliseconds (default 60000) after its end has passed.
+ *
+ * <p>The counts are only kept in this instance of the microservice: attempts created or deleted
+ * by another instance are not seen until {@link #clear} is called.
+ */
+@Service
+public class AttemptCounter {
+
+    /**
+     * The amount of times a student can take an exam.
+     */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final transient StudentExamRepository studentExamRepository;
+    private final transient Map<Integer, ExamAttempts> exams = new ConcurrentHashMap<>();
+
+    /**
+     * Autowired constructor.
+     *
+     * @param studentExamRepository StudentExamRepository.
+     */
+    @Autowired
+    public AttemptCounter(StudentExamRepository studentExamRepository) {
+        this.studentExamRepository = studentExamRepository;
+    }
+
+    /**
+     * Checks whether a student has used all of their attempts at an exam.
+     *
+     * @param examId The id of the exam.
+     * @param userId The id of the student.
+     * @param end    When the exam ends, or null if it does not end.
+     * @return true if no attempt is left.
+     */
+    public boolean isLimitReached(int examId, String userId, Timestamp end) {
+        return attempts(examId, userId, end).get() >= MAX_ATTEMPTS;
+    }
+
+    /**
+     * Reserves an attempt, if the student has one left.
+     *
+     * @param examId The id of the exam.
+     * @param userId The id of the student.
+     * @param end    When the exam ends, or null if it does not end.
+     * @return true if an attempt was reserved.
+     */
+    public boolean tryAcquire(int examId, String userId, Timestamp end) {
+        return attempts(examId, userId, end)
+            .getAndUpdate(count -> count < MAX_ATTEMPTS ? count + 1 : count) < MAX_ATTEMPTS;
+    }
+
+    /**
+     * Gives an attempt back, because its StudentExam was deleted or could not be inserted.
+     *
+     * @param examId The id of the exam.
+     * @param userId The id of the student.
+     */
+    public void release(int examId, String userId) {
+        ExamAttempts attempts = exams.get(examId);
+        AtomicInteger count = attempts == null ? null : attempts.counts.get(userId);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(0, current - 1));
+        }
+    }
+
+    /**
+     * Forgets all counts, so that they are loaded from the database again.
+     */
+    public void clear() {
+        exams.clear();
+    }
+
+    /**
+     * Forgets the counts of the exams that have ended.
+     */
+    @Scheduled(fixedDelayString = "${exam.attempts.evict-interval:60000}")
+    public void evictEnded() {
+        evictEnded(System.currentTimeMillis());
+    }
+
+    /**
+     * Forgets the counts of the exams that have ended at the given time.
+     *
+     * @param now The current time in milliseconds.
+     */
+    public void evictEnded(long now) {
+        exams.values().removeIf(attempts -> attempts.end < now);
+    }
+
+    /**
+     * Returns the amount of exams whose counts are kept.
+     *
+     * @return the amount of exams.
+     */
+    public int size() {
+        return exams.size();
+    }
+
+    private AtomicInteger attempts(int examId, String userId, Timestamp end) {
+        ExamAttempts attempts = exams.computeIfAbsent(examId,
+            id -> new ExamAttempts(end == null ? Long.MAX_VALUE : end.getTime()));
+        // The count is loaded while the key is locked, so every request sees the same counter
+        return attempts.counts.computeIfAbsent(userId, key ->
+            new AtomicInteger((int) studentExamRepository.countByExamIdAndUser(examId, userId)));
+    }
+
+    /**
+     * The counts of the students that took an exam, until the exam ends.
+     */
+    private static class ExamAttempts {
+        private final transient long end;
+        private final transient Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        ExamAttempts(long end) {
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package app.services;
+
+import app.models.Exam;
+import app.repositories.ExamRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Read-through cache of the Exams, so that starting an exam does not have to query the exam
+ * table every time. Only the id, course, start and end of an Exam are cached; its StudentExams
+ * are not.
+ *
+ * <p>At most 'exam.cache.size' Exams are kept (default 1000); when the cache is full the least
+ * recently used one is evicted. An Exam is loaded again after 'exam.cache.ttl' milliseconds
+ * (default 60000), so that changes made outside exam-service are picked up eventually.
+ * ExamController invalidates an Exam when it is updated or deleted. As in
+ * {@link AnswerKeyCache}, every invalidation increases the version of the cache, and an Exam
+ * that was being loaded while an invalidation happened is returned but not cached.
+ */
+@Service
+public class ExamCache {
+
+    private final transient ExamRepository examRepository;
+    private final transient Map<Integer, Entry> entries;
+    private final transient AtomicLong hits = new AtomicLong();
+    private final transient AtomicLong misses = new AtomicLong();
+    private final transient AtomicLong evictions = new AtomicLong();
+    private final transient AtomicLong invalidations = new AtomicLong();
+    private transient long version;
+
+    @Value("${exam.cache.size:1000}")
+    private transient int capacity = 1000;
+    @Value("${exam.cache.ttl:60000}")
+    private transient long timeToLiveMillis = 60_000;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param examRepository ExamRepository.
+     */
+    @Autowired
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public ExamCache(ExamRepository examRepository) {
+        this.examRepository = examRepository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                boolean full = size() > capacity;
+                if (full) {
+                    evictions.incrementAndGet();
+                }
+                return full;
+            }
+        };
+    }
+
+    /**
+     * Returns an Exam, loading it from the database if it is not cached or its entry expired.
+     * Every call returns a new copy, so callers may change it.
+     *
+     * @param examId The id of the exam.
+     * @return The id, course, start and end of the Exam, or null if it does not exist.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public Exam get(int examId) {
+        long now = System.currentTimeMillis();
+        long loadedAt;
+        synchronized (entries) {
+            Entry entry = entries.get(examId);
+            if (entry != null && entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return copy(entry.exam);
+            }
+            if (entry != null) {
+                entries.remove(examId);
+                evictions.incrementAndGet();
+            }
+            loadedAt = version;
+        }
+        misses.incrementAndGet();
+        Exam exam = examRepository.findById(examId);
+        if (exam == null) {
+            return null;
+        }
+        Exam metadata = copy(exam);
+        synchronized (entries) {
+            if (version == loadedAt && capacity > 0) {
+                entries.put(examId, new Entry(metadata, now + timeToLiveMillis));
+            }
+        }
+        return copy(metadata);
+    }
+
+    /**
+     * Removes an Exam, because it was changed or deleted.
+     *
+     * @param examId The id of the exam.
+     */
+    public void invalidate(int examId) {
+        synchronized (entries) {
+            version++;
+            entries.remove(examId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Removes all Exams.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            version++;
+            entries.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Returns the amount of cached Exams, including expired entries that have not been looked
+     * up since they expired.
+     *
+     * @return the amount of cached Exams.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the counters of the cache: lookups that were answered from the cache (hits) and
+     * from the database (misses), Exams that were dropped because the cache was full or their
+     * entry expired (evictions), and invalidations.
+     *
+     * @return JSONObject with one key per counter.
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("size", size());
+        json.put("capacity", capacity);
+        json.put("hits", hits.get());
+        json.put("misses", misses.get());
+        json.put("evictions", evictions.get());
+        json.put("invalidations", invalidations.get());
+        return json;
+    }
+
+    private static Exam copy(Exam exam) {
+        return new Exam(exam.getId(), exam.getCourseId(), exam.getStart(), exam.getEnd(), null);
+    }
+
+    private static class Entry {
+        private final transient Exam exam;
+        private final transient long expiresAt;
+
+        Entry(Exam exam, long expiresAt) {
+            this.exam = exam;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package app.services;
+
+import app.authorisation.ServiceToken;
+import app.communication.ServiceUnavailableException;
+import app.models.ExamQuestion;
+import app.models.StudentExam;
+import app.repositories.StudentExamRepository;
+import app.statistics.QuestionDifficulty;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the deadline of every StudentExam that has not been submitted in a {@link TimingWheel},
+ * so that checking whether an attempt is over does not have to load it from the database.
+ *
+ * <p>Attempts whose deadline has passed are submitted automatically: every
+ * 'exam.deadlines.tick' milliseconds (default 1000) the wheel is advanced, and all attempts that
+ * expired in the ticks that passed are graded together, in batches of at most
+ * 'exam.deadlines.batch-size' attempts (default 100). Attempts whose answer keys cannot be
+ * retrieved, or whose buffered answers cannot be written to the database, are tried again after
+ * 'exam.deadlines.retry-delay' milliseconds (default 10000). When no requests are sent to
+ * course-service at all, the attempts that are left are also tried again later, no sooner than
+ * its circuit breaker allows.
+ * When the microservice starts, the deadlines of all attempts that have not been graded yet are
+ * loaded from the database.
+ */
+@Service
+public class ExamDeadlines {
+
+    /**
+     * The time every student has for an exam, on top of their extra time.
+     */
+    public static final long EXAM_DURATION = 20 * 60 * 1000L;
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamDeadlines.class);
+    private static final long SERVICE_TOKEN_VALIDITY = 60 * 60 * 1000L;
+    private static final int WHEEL_TICKS = 4096;
+
+    private final transient StudentExamRepository studentExamRepository;
+    private final transient IncrementalGrader grader;
+    private final transient StudentAnswerBuffer buffer;
+    private final transient QuestionDifficulty questionDifficulty;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient ServiceToken serviceToken =
+        new ServiceToken("exam-service", SERVICE_TOKEN_VALIDITY);
+    private transient TimingWheel<Integer> wheel;
+
+    @Value("${exam.deadlines.tick:1000}")
+    private transient long tickMillis = 1000;
+    @Value("${exam.deadlines.batch-size:100}")
+    private transient int batchSize = 100;
+    @Value("${exam.deadlines.retry-delay:10000}")
+    private transient long retryDelay = 10_000;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param studentExamRepository StudentExamRepository.
+     * @param grader                Grades the attempts that are submitted automatically.
+     * @param buffer                Buffer of the answers that are not written yet.
+     * @param questionDifficulty    Counts how often every question was answered incorrectly.
+     * @param transactionManager    Transaction manager of the database.
+     */
+    @Autowired
+    public ExamDeadlines(StudentExamRepository studentExamRepository,
+                         IncrementalGrader grader,
+                         StudentAnswerBuffer buffer,
+                         QuestionDifficulty questionDifficulty,
+                         PlatformTransactionManager transactionManager) {
+        this.studentExamRepository = studentExamRepository;
+        this.grader = grader;
+        this.buffer = buffer;
+        this.questionDifficulty = questionDifficulty;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Computes when an attempt is over.
+     *
+     * @param startingTime The time the attempt started.
+     * @param extraTime    The extra time of the student in minutes.
+     * @return The deadline in milliseconds since the epoch.
+     */
+    public static long deadlineOf(Timestamp startingTime, int extraTime) {
+        return startingTime.getTime() + extraTime * 60 * 1000L + EXAM_DURATION;
+    }
+
+    /**
+     * Loads the deadlines of all attempts that have not been graded yet.
+     */
+    @PostConstruct
+    public void recover() {
+        wheel = new TimingWheel<>(tickMillis, WHEEL_TICKS, System.currentTimeMillis());
+        List<StudentExam> pending = studentExamRepository.findUngraded();
+        pending.forEach(this::register);
+        logger.info("Recovered the deadlines of {} attempts", pending.size());
+    }
+
+    /**
+     * Starts tracking the deadline of an attempt.
+     *
+     * @param studentExam The attempt, which must have an id, starting time and extra time.
+     */
+    public void register(StudentExam studentExam) {
+        if (studentExam.getId() == null || studentExam.getStartingTime() == null) {
+            return;
+        }
+        int extraTime = studentExam.getExtraTime() == null ? 0 : studentExam.getExtraTime();
+        wheel.schedule(studentExam.getId(), deadlineOf(studentExam.getStartingTime(), extraTime));
+    }
+
+    /**
+     * Returns the deadline of an attempt that has not been submitted.
+     *
+     * @param studentExamId The id of the attempt.
+     * @return The deadline in milliseconds since the epoch, or empty if the attempt is not
+     *     tracked, for example because it has been submitted.
+     */
+    public OptionalLong deadline(int studentExamId) {
+        return wheel.deadline(studentExamId);
+    }
+
+    /**
+     * Stops tracking an attempt, because it has been submitted.
+     *
+     * @param studentExamId The id of the attempt.
+     */
+    public void cancel(int studentExamId) {
+        wheel.cancel(studentExamId);
+    }
+
+    public int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Submits the attempts whose deadline has passed.
+     */
+    @Scheduled(fixedRateString = "${exam.deadlines.tick:1000}")
+    public void closeExpired() {
+        closeExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Submits the attempts whose deadline has passed at the given time.
+     *
+     * @param now The current time in milliseconds.
+     * @return The amount of attempts that were submitted.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public int closeExpired(long now) {
+        List<Integer> expired = wheel.advance(now);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        // Answers that were saved before the deadline have to be in the database first
+        if (!buffer.flush()) {
+            logger.warn("Could not write the buffered answers, retrying {} attempts later",
+                expired.size());
+            expired.forEach(id -> wheel.schedule(id, now + retryDelay));
+            return 0;
+        }
+        int closed = 0;
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Integer> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            List<StudentExam> submitted;
+            try {
+                submitted = transactionTemplate.execute(status -> submit(batch, now));
+            } catch (ServiceUnavailableException e) {
+                // The batch was rolled back; this and the later batches are tried again
+                List<Integer> remaining = expired.subList(from, expired.size());
+                long retryAt = now + Math.max(retryDelay, e.getRetryAfter().toMillis());
+                logger.warn("Course service is unavailable, retrying {} attempts later",
+                    remaining.size());
+                remaining.forEach(id -> wheel.schedule(id, retryAt));
+                break;
+            }
+            if (submitted != null) {
+                submitted.forEach(questionDifficulty::record);
+                closed += submitted.size();
+            }
+        }
+        logger.info("Submitted {} attempts whose time was up", closed);
+        return closed;
+    }
+
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private List<StudentExam> submit(List<Integer> studentExamIds, long now) {
+        List<StudentExam> attempts = studentExamRepository.findAllById(studentExamIds);
+        String sessionToken = serviceToken.get();
+        List<StudentExam> graded = new ArrayList<>(attempts.size());
+        for (StudentExam attempt : attempts) {
+            if (attempt.getGrade() != null && attempt.getGrade() >= 1) {
+                // Submitted by the student in the meantime
+                continue;
+            }
+            List<ExamQuestion> questions = attempt.getExamQuestions() == null
+                ? new ArrayList<>() : attempt.getExamQuestions();
+            int correctQuestions = grader.grade(questions, sessionToken);
+            if (correctQuestions < 0) {
+                wheel.schedule(attempt.getId(), now + retryDelay);
+                continue;
+            }
+            attempt.setCorrectQuestions(correctQuestions);
+            attempt.setGrade(IncrementalGrader.toGrade(correctQuestions,
+                Math.max(1, questions.size())));
+            graded.add(attempt);
+        }
+        studentExamRepository.saveAll(graded);
+        return graded;
+    }
+}
@@ -0,0 +1,213 @@
+package app.services;
+
+import app.authorisation.ServiceToken;
+import app.communication.ExamServiceCommunication;
+import app.communication.ServiceUnavailableException;
+import app.json.JsonSerializerFactory;
+import app.models.Exam;
+import app.models.StudentExam;
+import app.repositories.ExamRepository;
+import app.serializerfactory.Serializer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a pool of randomized question sets per exam, generated by course-service ahead of the
+ * start of the exam, so that starting an exam does not have to wait for course-service to load
+ * and shuffle all questions of the course. Pools are filled in the background for every exam that
+ * starts within the lead time or is running, and topped up whenever they drop below half of
+ * their size. Pools of exams that have ended are discarded.
+ */
+@Service
+public class ExamQuestionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamQuestionPool.class);
+    private static final long SERVICE_TOKEN_VALIDITY = 60 * 60 * 1000L;
+
+    private final transient ExamRepository examRepository;
+    private final transient Executor refillExecutor;
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+    private final transient ServiceToken serviceToken =
+        new ServiceToken("exam-service", SERVICE_TOKEN_VALIDITY);
+    private final transient Map<Integer, Pool> pools = new ConcurrentHashMap<>();
+
+    @Value("${exam.pool.size:50}")
+    private transient int poolSize;
+
+    @Value("${exam.pool.batch:25}")
+    private transient int batchSize;
+
+    @Value("${exam.pool.lead-time:1800000}")
+    private transient long leadTime;
+
+    @Value("${exam.pool.retry-delay:10000}")
+    private transient long retryDelay;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param examRepository ExamRepository.
+     * @param refillExecutor Executor on which pools are refilled.
+     */
+    @Autowired
+    public ExamQuestionPool(ExamRepository examRepository,
+                            @Qualifier("poolRefillExecutor") Executor refillExecutor) {
+        this.examRepository = examRepository;
+        this.refillExecutor = refillExecutor;
+    }
+
+    /**
+     * Takes a pre-generated question set for the exam out of its pool.
+     *
+     * @param exam The exam a student starts.
+     * @return A StudentExam with questions and unselected answers, or null if the pool is empty.
+     */
+    public StudentExam claim(Exam exam) {
+        Pool pool = pools.computeIfAbsent(exam.getId(), id -> new Pool(exam.getCourseId()));
+        StudentExam studentExam = pool.sets.poll();
+        if (studentExam != null) {
+            pool.size.decrementAndGet();
+        }
+        refillIfLow(exam.getId(), pool);
+        return studentExam;
+    }
+
+    /**
+     * Tells whether the pool of an exam holds a question set, without claiming it, so that a
+     * set is only taken once the student is known to be allowed to start the exam.
+     *
+     * @param exam The exam a student is about to start.
+     * @return true if a question set is waiting in the pool.
+     */
+    public boolean hasSets(Exam exam) {
+        Pool pool = pools.computeIfAbsent(exam.getId(), id -> new Pool(exam.getCourseId()));
+        refillIfLow(exam.getId(), pool);
+        return !pool.sets.isEmpty();
+    }
+
+    /**
+     * Returns the amount of question sets waiting in the pool of an exam.
+     *
+     * @param examId exam id.
+     * @return the size of the pool.
+     */
+    public int size(int examId) {
+        Pool pool = pools.get(examId);
+        return pool == null ? 0 : pool.size.get();
+    }
+
+    /**
+     * Discards all pre-generated question sets, for example because a question they contain has
+     * been changed. The pools are filled again on the next claim or scheduled refill.
+     */
+    public void clear() {
+        pools.clear();
+    }
+
+    /**
+     * Fills the pools of all exams that start within the lead time or are running, and discards
+     * the pools of exams that are not.
+     */
+    @Scheduled(fixedDelayString = "${exam.pool.refill-interval:10000}")
+    public void refillUpcoming() {
+        long now = System.currentTimeMillis();
+        List<Exam> exams = examRepository
+            .findByStartBeforeAndEndAfter(new Timestamp(now + leadTime), new Timestamp(now));
+        Set<Integer> examIds = exams.stream().map(Exam::getId).collect(Collectors.toSet());
+        pools.keySet().retainAll(examIds);
+        for (Exam exam : exams) {
+            Pool pool = pools.computeIfAbsent(exam.getId(), id -> new Pool(exam.getCourseId()));
+            if (now >= pool.retryAfter) {
+                refill(exam.getId(), pool);
+            }
+        }
+    }
+
+    private void refillIfLow(int examId, Pool pool) {
+        if (pool.size.get() < poolSize / 2 && System.currentTimeMillis() >= pool.retryAfter) {
+            refillExecutor.execute(() -> refill(examId, pool));
+        }
+    }
+
+    /**
+     * Tops up a pool. When course-service cannot generate question sets the pool is left alone
+     * for a while, without keeping the pools of other exams from being filled.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void refill(int examId, Pool pool) {
+        if (!pool.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (pool.size.get() < poolSize) {
+                List<StudentExam> generated =
+                    fetch(pool.courseId, Math.min(batchSize, poolSize - pool.size.get()));
+                if (generated.isEmpty()) {
+                    pool.retryAfter = System.currentTimeMillis() + retryDelay;
+                    return;
+                }
+                pool.sets.addAll(generated);
+                pool.size.addAndGet(generated.size());
+            }
+        } catch (ServiceUnavailableException e) {
+            pool.retryAfter = System.currentTimeMillis()
+                + Math.max(retryDelay, e.getRetryAfter().toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Could not refill the pool of exam {}", examId, e);
+            pool.retryAfter = System.currentTimeMillis() + retryDelay;
+        } finally {
+            pool.refilling.set(false);
+            logger.debug("Pool of exam {} holds {} question sets", examId, pool.size.get());
+        }
+    }
+
+    private List<StudentExam> fetch(int courseId, int count) {
+        JSONObject request = new JSONObject();
+        request.put("courseId", courseId);
+        request.put("count", count);
+        String response = ExamServiceCommunication
+            .postRequest(request.toString(), "8082/course_service/examQuestionSetsByCourseId",
+                serviceToken.get());
+        List<StudentExam> generated = new ArrayList<>();
+        if (response == null) {
+            return generated;
+        }
+        JSONArray studentExams = new JSONObject(response).getJSONArray("studentExams");
+        for (int i = 0; i < studentExams.length(); i++) {
+            generated.add((StudentExam) serializer
+                .deserialize(studentExams.getString(i), StudentExam.class));
+        }
+        return generated;
+    }
+
+    private static class Pool {
+        private final transient int courseId;
+        private final transient Queue<StudentExam> sets = new ConcurrentLinkedQueue<>();
+        private final transient AtomicInteger size = new AtomicInteger();
+        private final transient AtomicBoolean refilling = new AtomicBoolean();
+        private transient volatile long retryAfter;
+
+        Pool(int courseId) {
+            this.courseId = courseId;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package app.services;
+
+import app.communication.ServiceUnavailableException;
+import app.grading.AnswerKey;
+import app.models.ExamQuestion;
+import app.models.StudentAnswer;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentAnswerRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Grades the questions of an exam while the student answers them, so that submitting the exam
+ * only has to add up results that are already known.
+ *
+ * <p>Every time an answer is saved, the question it belongs to is graded in the background
+ * against its answer key and the result is written, through the {@link StudentAnswerBuffer},
+ * to the 'correct' column of the question. The grader also remembers which answers were
+ * selected when the question was graded and which answer key was used. On submission, a
+ * question keeps its result only if the submitted selection is the same and the answer key has
+ * not been invalidated since; all other questions are graded on the spot.
+ *
+ * <p>With 'exam.grading.consistency-check' enabled every submission is also graded from
+ * scratch with freshly fetched answer keys. Differences are logged and the result from scratch
+ * is used.
+ */
+@Service
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+public class IncrementalGrader {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalGrader.class);
+    private static final byte UNSELECTED = 0;
+    private static final byte SELECTED = 1;
+    private static final byte UNANSWERED = 2;
+
+    private final transient ExamQuestionRepository examQuestionRepository;
+    private final transient StudentAnswerRepository studentAnswerRepository;
+    private final transient AnswerKeyCache answerKeyCache;
+    private final transient StudentAnswerBuffer buffer;
+    private final transient Executor gradingExecutor;
+    private final transient Map<Integer, GradedQuestion> graded = new ConcurrentHashMap<>();
+    private final transient Map<Integer, String> pending = new ConcurrentHashMap<>();
+
+    @Value("${exam.grading.max-tracked:100000}")
+    private transient int maxTracked = 100_000;
+    @Value("${exam.grading.consistency-check:false}")
+    private transient boolean consistencyCheck;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param examQuestionRepository  ExamQuestionRepository.
+     * @param studentAnswerRepository StudentAnswerRepository.
+     * @param answerKeyCache          Cache of the answer keys of questions.
+     * @param buffer                  Buffer of the answers that are not written yet.
+     * @param gradingExecutor         Executor on which saved answers are graded.
+     */
+    @Autowired
+    public IncrementalGrader(ExamQuestionRepository examQuestionRepository,
+                             StudentAnswerRepository studentAnswerRepository,
+                             AnswerKeyCache answerKeyCache,
+                             StudentAnswerBuffer buffer,
+                             @Qualifier("gradingExecutor") Executor gradingExecutor) {
+        this.examQuestionRepository = examQuestionRepository;
+        this.studentAnswerRepository = studentAnswerRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.buffer = buffer;
+        this.gradingExecutor = gradingExecutor;
+    }
+
+    /**
+     * Computes the grade of an exam.
+     *
+     * @param correctQuestions The amount of correctly answered questions.
+     * @param questions        The amount of questions.
+     * @return the grade, between 1 and 10.
+     */
+    public static float toGrade(int correctQuestions, int questions) {
+        return (float) correctQuestions / questions * 9 + 1;
+    }
+
+    /**
+     * Grades a question in the background, so that saving an answer does not have to wait for
+     * the database and course-service. A question whose answers are saved again before it was
+     * graded is graded once, with the answers saved last. If too many questions are waiting,
+     * the question is graded on submission instead.
+     *
+     * @param examQuestionId The id of the question of which an answer was saved.
+     * @param sessionToken   session token.
+     */
+    public void gradeLater(Integer examQuestionId, String sessionToken) {
+        if (examQuestionId == null || pending.put(examQuestionId, sessionToken) != null) {
+            return;
+        }
+        try {
+            gradingExecutor.execute(() -> gradePending(examQuestionId));
+        } catch (RejectedExecutionException e) {
+            pending.remove(examQuestionId);
+        }
+    }
+
+    /**
+     * Grades a question with the answers that are currently saved for it, and stores the result.
+     * Grading is best effort: if the question or its answer key cannot be found, or course-service
+     * is unavailable, the question is graded on submission instead.
+     *
+     * @param examQuestionId The id of the question of which an answer was saved.
+     * @param sessionToken   session token.
+     * @return whether the question is answered correctly, or null if it could not be graded.
+     */
+    public Boolean gradeQuestion(Integer examQuestionId, String sessionToken) {
+        if (examQuestionId == null) {
+            return null;
+        }
+        ExamQuestion examQuestion = examQuestionRepository.findById((int) examQuestionId);
+        if (examQuestion == null || examQuestion.getQuestion() == null) {
+            return null;
+        }
+        List<StudentAnswer> answers = buffer.overlay(
+            studentAnswerRepository.findByExamQuestionIdOrderById(examQuestionId));
+        AnswerKey[] keys;
+        try {
+            keys = answerKeyCache.getKeys(List.of(examQuestion), sessionToken);
+        } catch (ServiceUnavailableException e) {
+            return null;
+        }
+        if (keys == null) {
+            return null;
+        }
+        boolean correct = keys[0].matches(answers);
+        buffer.writeCorrect(examQuestionId, correct);
+        if (graded.size() >= maxTracked) {
+            // Questions of exams that are never submitted would otherwise stay here forever
+            graded.clear();
+        }
+        graded.put(examQuestionId, new GradedQuestion(selections(answers), keys[0], correct));
+        return correct;
+    }
+
+    /**
+     * Grades the questions of a submitted exam, using the results that were computed while the
+     * exam was taken where possible. Every question is marked as correct or incorrect.
+     *
+     * @param examQuestions The submitted questions with the answers of the student.
+     * @param sessionToken  session token.
+     * @return the amount of correctly answered questions, or -1 if the answer keys of the
+     *     questions that still had to be graded could not be retrieved.
+     */
+    public int grade(List<ExamQuestion> examQuestions, String sessionToken) {
+        int correctQuestions = 0;
+        List<ExamQuestion> ungraded = new ArrayList<>();
+        for (ExamQuestion examQuestion : examQuestions) {
+            Boolean correct = gradedBefore(examQuestion);
+            if (correct == null) {
+                ungraded.add(examQuestion);
+            } else {
+                examQuestion.setCorrect(correct);
+                correctQuestions += correct ? 1 : 0;
+            }
+        }
+        if (!ungraded.isEmpty()) {
+            AnswerKey[] keys = answerKeyCache.getKeys(ungraded, sessionToken);
+            if (keys == null) {
+                return -1;
+            }
+            correctQuestions += mark(ungraded, keys);
+        }
+        if (consistencyCheck) {
+            correctQuestions = checkConsistency(examQuestions, correctQuestions, sessionToken);
+        }
+        examQuestions.forEach(examQuestion -> forget(examQuestion.getId()));
+        return correctQuestions;
+    }
+
+    /**
+     * Grades questions from scratch with freshly fetched answer keys, ignoring all stored and
+     * tracked results.
+     *
+     * @param examQuestions The questions with the answers of the student.
+     * @param sessionToken  session token.
+     * @return whether each question is answered correctly, in the order of the questions. Null
+     *     if the answer keys could not be retrieved.
+     */
+    public boolean[] regrade(List<ExamQuestion> examQuestions, String sessionToken) {
+        AnswerKey[] keys = answerKeyCache.fetchKeys(examQuestions, sessionToken);
+        if (keys == null) {
+            return null;
+        }
+        boolean[] correct = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            correct[i] = keys[i].matches(answersOf(examQuestions.get(i)));
+        }
+        return correct;
+    }
+
+    /**
+     * Lists the questions whose stored result differs from the result of grading them again.
+     *
+     * @param examQuestions The questions, with their stored results.
+     * @param correct       The results of grading the questions again.
+     * @return JSONArray with an object for every question whose result differs, holding the keys
+     *     "examQuestion", "question", "stored" and "actual".
+     */
+    public static JSONArray drift(List<ExamQuestion> examQuestions, boolean[] correct) {
+        JSONArray drift = new JSONArray();
+        for (int i = 0; i < correct.length; i++) {
+            ExamQuestion examQuestion = examQuestions.get(i);
+            Boolean stored = examQuestion.getCorrect();
+            if (stored == null || stored != correct[i]) {
+                drift.put(new JSONObject()
+                    .put("examQuestion", examQuestion.getId())
+                    .put("question", examQuestion.getQuestion())
+                    .put("stored", stored == null ? JSONObject.NULL : stored)
+                    .put("actual", correct[i]));
+            }
+        }
+        return drift;
+    }
+
+    /**
+     * Stops tracking a question, for example because its exam has been submitted.
+     *
+     * @param examQuestionId The id of the question.
+     */
+    public void forget(Integer examQuestionId) {
+        if (examQuestionId != null) {
+            graded.remove(examQuestionId);
+            pending.remove(examQuestionId);
+        }
+    }
+
+    public int size() {
+        return graded.size();
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void gradePending(int examQuestionId) {
+        String sessionToken = pending.remove(examQuestionId);
+        if (sessionToken == null) {
+            // The exam was submitted in the meantime
+            return;
+        }
+        try {
+            gradeQuestion(examQuestionId, sessionToken);
+        } catch (RuntimeException e) {
+            logger.warn("Could not grade question {}, it is graded on submission",
+                examQuestionId, e);
+        }
+    }
+
+    private int checkConsistency(List<ExamQuestion> examQuestions, int correctQuestions,
+                                 String sessionToken) {
+        boolean[] correct = regrade(examQuestions, sessionToken);
+        if (correct == null) {
+            logger.warn("Could not fetch the answer keys to check the grading");
+            return correctQuestions;
+        }
+        JSONArray drift = drift(examQuestions, correct);
+        if (!drift.isEmpty()) {
+            logger.warn("Incremental grading differs from grading from scratch: {}", drift);
+        }
+        int regraded = 0;
+        for (int i = 0; i < correct.length; i++) {
+            examQuestions.get(i).setCorrect(correct[i]);
+            regraded += correct[i] ? 1 : 0;
+        }
+        return regraded;
+    }
+
+    private Boolean gradedBefore(ExamQuestion examQuestion) {
+        if (examQuestion.getId() == null || examQuestion.getQuestion() == null) {
+            return null;
+        }
+        GradedQuestion gradedQuestion = graded.get(examQuestion.getId());
+        if (gradedQuestion == null
+            || gradedQuestion.key != answerKeyCache.peek(examQuestion.getQuestion())
+            || !Arrays.equals(gradedQuestion.selections,
+                selections(answersOf(examQuestion)))) {
+            return null;
+        }
+        return gradedQuestion.correct;
+    }
+
+    private static int mark(List<ExamQuestion> examQuestions, AnswerKey[] keys) {
+        int correctQuestions = 0;
+        for (int i = 0; i < keys.length; i++) {
+            ExamQuestion examQuestion = examQuestions.get(i);
+            boolean correct = keys[i].matches(answersOf(examQuestion));
+            examQuestion.setCorrect(correct);
+            correctQuestions += correct ? 1 : 0;
+        }
+        return correctQuestions;
+    }
+
+    private static List<StudentAnswer> answersOf(ExamQuestion examQuestion) {
+        List<StudentAnswer> answers = examQuestion.getStudentAnswers();
+        return answers == null ? List.of() : answers;
+    }
+
+    private static byte[] selections(List<StudentAnswer> answers) {
+        byte[] selections = new byte[answers.size()];
+        for (int i = 0; i < selections.length; i++) {
+            Boolean selected = answers.get(i).getSelected();
+            if (selected == null) {
+                selections[i] = UNANSWERED;
+            } else {
+                selections[i] = selected ? SELECTED : UNSELECTED;
+            }
+        }
+        return selections;
+    }
+
+    private static class GradedQuestion {
+        private final transient byte[] selections;
+        private final transient AnswerKey key;
+        private final transient boolean correct;
+
+        GradedQuestion(byte[] selections, AnswerKey key, boolean correct) {
+            this.selections = selections;
+            this.key = key;
+            this.correct = correct;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package app.services;
+
+import app.models.ExamQuestion;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for the answers that students save while taking an exam, and for the
+ * results of grading those answers. Writes to the same answer or question replace each other
+ * in the buffer, and the buffer is written to the database in JDBC batches, in one transaction:
+ * <ul>
+ *     <li>every 'exam.answers.flush-interval' milliseconds (default 1000),</li>
+ *     <li>as soon as 'exam.answers.batch-size' answers (default 500) are waiting,</li>
+ *     <li>when an exam is submitted, and when the microservice shuts down.</li>
+ * </ul>
+ *
+ * <p>If 'exam.answers.journal' is set to a directory, every write is also appended to a journal
+ * in that directory and forced to disk before it is acknowledged, so that answers survive a
+ * crash. The journal is replayed when the microservice starts. Writes that arrive while the
+ * journal is being forced are forced together afterwards.
+ *
+ * <p>If the database rejects a batch, for example because an answer violates a constraint, the
+ * writes are tried one by one, and the writes that the database keeps rejecting are logged and
+ * dropped so that they do not hold back the rest of the buffer.
+ */
+@Service
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+public class StudentAnswerBuffer {
+
+    static final String UPDATE_ANSWER =
+        "update student_answers set exam_question = ?, answer = ?, selected = ? where id = ?";
+    static final String UPDATE_CORRECT = "update exam_questions set correct = ? where id = ?";
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentAnswerBuffer.class);
+    private static final String ANSWER_RECORD = "studentAnswer";
+    private static final String CORRECT_RECORD = "correct";
+
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient Executor flushExecutor;
+    private final transient Object flushLock = new Object();
+    private transient Map<Integer, StudentAnswer> answers = new LinkedHashMap<>();
+    private transient Map<Integer, Boolean> corrects = new LinkedHashMap<>();
+    private transient AnswerJournal journal;
+    private transient boolean flushRequested;
+
+    @Value("${exam.answers.batch-size:500}")
+    private transient int batchSize = 500;
+    @Value("${exam.answers.journal:}")
+    private transient String journalDirectory = "";
+
+    /**
+     * Autowired constructor.
+     *
+     * @param jdbcTemplate       JdbcTemplate.
+     * @param transactionManager Transaction manager of the database.
+     * @param flushExecutor      Executor on which full buffers are written to the database.
+     */
+    @Autowired
+    public StudentAnswerBuffer(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("answerFlushExecutor") Executor flushExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushExecutor = flushExecutor;
+    }
+
+    /**
+     * Opens the journal, if one is configured, and writes the answers that were acknowledged
+     * before the previous run ended to the database.
+     *
+     * @throws IOException if the journal cannot be opened or read.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        if (journalDirectory == null || journalDirectory.isBlank()) {
+            return;
+        }
+        journal = new AnswerJournal(Path.of(journalDirectory));
+        int replayed = 0;
+        synchronized (this) {
+            for (String record : journal.replay()) {
+                replayed += replay(record) ? 1 : 0;
+            }
+        }
+        if (replayed > 0) {
+            logger.info("Replayed {} writes from the answer journal", replayed);
+            flush();
+        }
+    }
+
+    /**
+     * Buffers the new state of an answer that already exists in the database.
+     *
+     * @param answer The answer, which must have an id.
+     */
+    public void write(StudentAnswer answer) {
+        writeAll(List.of(answer));
+    }
+
+    /**
+     * Buffers the new state of several answers that already exist in the database. The answers
+     * are added at once, so they are written to the database by the same flush, in the same
+     * transaction, and are forced to the journal together.
+     *
+     * @param group The answers, which must all have an id.
+     */
+    public void writeAll(List<StudentAnswer> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        boolean full;
+        long position = 0;
+        synchronized (this) {
+            if (journal != null) {
+                List<String> records = new ArrayList<>(group.size());
+                for (StudentAnswer answer : group) {
+                    records.add(new JSONObject()
+                        .put(ANSWER_RECORD, answer.getId())
+                        .put("examQuestionId", nullable(answer.getExamQuestionId()))
+                        .put("answer", nullable(answer.getAnswer()))
+                        .put("selected", nullable(answer.getSelected()))
+                        .toString());
+                }
+                position = journal.appendAll(records);
+            }
+            for (StudentAnswer answer : group) {
+                answers.put(answer.getId(), answer);
+            }
+            full = answers.size() >= batchSize && !flushRequested;
+            flushRequested |= full;
+        }
+        force(position);
+        if (full) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Buffers whether a question is answered correctly.
+     *
+     * @param examQuestionId The id of the question.
+     * @param correct        Whether the question is answered correctly.
+     */
+    public void writeCorrect(int examQuestionId, boolean correct) {
+        long position = 0;
+        synchronized (this) {
+            if (journal != null) {
+                position = journal.append(new JSONObject()
+                    .put(CORRECT_RECORD, examQuestionId)
+                    .put("value", correct)
+                    .toString());
+            }
+            corrects.put(examQuestionId, correct);
+        }
+        force(position);
+    }
+
+    /**
+     * Replaces answers read from the database by the buffered state of those answers.
+     *
+     * @param stored The answers as stored in the database.
+     * @return The answers as they were last written.
+     */
+    public synchronized List<StudentAnswer> overlay(List<StudentAnswer> stored) {
+        List<StudentAnswer> result = new ArrayList<>(stored.size());
+        for (StudentAnswer answer : stored) {
+            StudentAnswer buffered = answer.getId() == null ? null : answers.get(answer.getId());
+            result.add(buffered == null ? answer : buffered);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the buffered answers and correctness of questions into StudentExams that were read
+     * from the database, so that listings show what was last written. The StudentExams should
+     * be read-only, as they are when loaded by the {@link StudentExamFetcher}, so that the
+     * copied values are not written to the database behind the buffer.
+     *
+     * @param studentExams The StudentExams with their questions and answers loaded.
+     */
+    public synchronized void overlayExams(List<StudentExam> studentExams) {
+        if (answers.isEmpty() && corrects.isEmpty()) {
+            return;
+        }
+        for (StudentExam studentExam : studentExams) {
+            if (studentExam.getExamQuestions() == null) {
+                continue;
+            }
+            for (ExamQuestion examQuestion : studentExam.getExamQuestions()) {
+                Boolean correct = corrects.get(examQuestion.getId());
+                if (correct != null) {
+                    examQuestion.setCorrect(correct);
+                }
+                if (examQuestion.getStudentAnswers() == null) {
+                    continue;
+                }
+                for (StudentAnswer answer : examQuestion.getStudentAnswers()) {
+                    StudentAnswer buffered = answers.get(answer.getId());
+                    if (buffered != null) {
+                        answer.setAnswer(buffered.getAnswer());
+                        answer.setSelected(buffered.getSelected());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the buffered state of an answer.
+     *
+     * @param id The id of the answer.
+     * @return The answer as it was last written, or null if it is not buffered.
+     */
+    public synchronized StudentAnswer get(int id) {
+        return answers.get(id);
+    }
+
+    /**
+     * Returns the amount of answers and questions that are waiting to be written.
+     *
+     * @return the amount of buffered writes.
+     */
+    public synchronized int size() {
+        return answers.size() + corrects.size();
+    }
+
+    /**
+     * Writes everything that is buffered to the database, and waits until it is written. If the
+     * database cannot be reached the writes stay buffered and are retried with the next flush.
+     *
+     * @return true if the buffer was written to the database, apart from writes that the
+     *     database rejected permanently.
+     */
+    public boolean flush() {
+        synchronized (flushLock) {
+            Map<Integer, StudentAnswer> flushedAnswers;
+            Map<Integer, Boolean> flushedCorrects;
+            synchronized (this) {
+                flushRequested = false;
+                if (answers.isEmpty() && corrects.isEmpty()) {
+                    return true;
+                }
+                flushedAnswers = answers;
+                flushedCorrects = corrects;
+                answers = new LinkedHashMap<>();
+                corrects = new LinkedHashMap<>();
+                if (journal != null) {
+                    journal.seal();
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(
+                    status -> writeBatches(flushedAnswers, flushedCorrects));
+            } catch (DataAccessException e) {
+                if (!isRejected(e)) {
+                    logger.warn("Could not write {} buffered answers, retrying later",
+                        flushedAnswers.size(), e);
+                    requeue(flushedAnswers, flushedCorrects);
+                    return false;
+                }
+                logger.warn("Database rejected a batch of buffered writes, writing them one by one",
+                    e);
+                if (!writeRows(flushedAnswers, flushedCorrects)) {
+                    return false;
+                }
+            } catch (TransactionException e) {
+                logger.warn("Could not write {} buffered answers, retrying later",
+                    flushedAnswers.size(), e);
+                requeue(flushedAnswers, flushedCorrects);
+                return false;
+            }
+            synchronized (this) {
+                if (journal != null) {
+                    journal.deleteSealed();
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes the buffer to the database at a fixed interval.
+     */
+    @Scheduled(fixedDelayString = "${exam.answers.flush-interval:1000}")
+    public void flushPeriodically() {
+        flush();
+    }
+
+    /**
+     * Writes the buffer to the database before the microservice stops.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+        synchronized (this) {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    private void writeBatches(Map<Integer, StudentAnswer> flushedAnswers,
+                              Map<Integer, Boolean> flushedCorrects) {
+        List<Object[]> answerRows = new ArrayList<>(flushedAnswers.size());
+        for (StudentAnswer answer : flushedAnswers.values()) {
+            answerRows.add(row(answer));
+        }
+        batchUpdate(UPDATE_ANSWER, answerRows);
+        List<Object[]> correctRows = new ArrayList<>(flushedCorrects.size());
+        for (Map.Entry<Integer, Boolean> correct : flushedCorrects.entrySet()) {
+            correctRows.add(row(correct));
+        }
+        batchUpdate(UPDATE_CORRECT, correctRows);
+    }
+
+    /**
+     * Writes the writes of a rejected batch one by one, outside a transaction. Writes that are
+     * rejected are dropped; when the database fails otherwise, the writes that are left are put
+     * back.
+     *
+     * @return true if every write was written or dropped.
+     */
+    private boolean writeRows(Map<Integer, StudentAnswer> flushedAnswers,
+                              Map<Integer, Boolean> flushedCorrects) {
+        Iterator<StudentAnswer> answerIterator = flushedAnswers.values().iterator();
+        while (answerIterator.hasNext()) {
+            if (!writeRow(UPDATE_ANSWER, row(answerIterator.next()))) {
+                requeue(flushedAnswers, flushedCorrects);
+                return false;
+            }
+            answerIterator.remove();
+        }
+        Iterator<Map.Entry<Integer, Boolean>> correctIterator =
+            flushedCorrects.entrySet().iterator();
+        while (correctIterator.hasNext()) {
+            if (!writeRow(UPDATE_CORRECT, row(correctIterator.next()))) {
+                requeue(flushedAnswers, flushedCorrects);
+                return false;
+            }
+            correctIterator.remove();
+        }
+        return true;
+    }
+
+    private boolean writeRow(String sql, Object[] row) {
+        try {
+            jdbcTemplate.update(sql, row);
+            return true;
+        } catch (DataAccessException e) {
+            if (!isRejected(e)) {
+                logger.warn("Could not write buffered answers one by one, retrying later", e);
+                return false;
+            }
+            logger.error("Dropping buffered write {} that the database rejected",
+                Arrays.toString(row), e);
+            return true;
+        }
+    }
+
+    /**
+     * Whether the database refused a statement, as opposed to not being reachable or failing
+     * temporarily, in which case the statement can succeed later.
+     */
+    private static boolean isRejected(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException
+            && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private static Object[] row(StudentAnswer answer) {
+        return new Object[] {answer.getExamQuestionId(), answer.getAnswer(), answer.getSelected(),
+            answer.getId()};
+    }
+
+    private static Object[] row(Map.Entry<Integer, Boolean> correct) {
+        return new Object[] {correct.getValue(), correct.getKey()};
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, rows.size());
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, to));
+        }
+    }
+
+    /**
+     * Puts writes that could not be flushed back, unless they have been overwritten since.
+     */
+    private synchronized void requeue(Map<Integer, StudentAnswer> flushedAnswers,
+                                      Map<Integer, Boolean> flushedCorrects) {
+        flushedAnswers.forEach(answers::putIfAbsent);
+        flushedCorrects.forEach(corrects::putIfAbsent);
+    }
+
+    private boolean replay(String record) {
+        try {
+            JSONObject json = new JSONObject(record);
+            if (json.has(ANSWER_RECORD)) {
+                StudentAnswer answer = new StudentAnswer();
+                answer.setId(json.getInt(ANSWER_RECORD));
+                if (!json.isNull("examQuestionId")) {
+                    answer.setExamQuestionId(json.getInt("examQuestionId"));
+                }
+                if (!json.isNull("answer")) {
+                    answer.setAnswer(json.getInt("answer"));
+                }
+                if (!json.isNull("selected")) {
+                    answer.setSelected(json.getBoolean("selected"));
+                }
+                answers.put(answer.getId(), answer);
+            } else {
+                corrects.put(json.getInt(CORRECT_RECORD), json.getBoolean("value"));
+            }
+            return true;
+        } catch (JSONException e) {
+            // The last record can be incomplete if the microservice crashed while writing it
+            logger.warn("Skipping unreadable record in the answer journal: {}", record);
+            return false;
+        }
+    }
+
+    private void force(long position) {
+        if (position > 0) {
+            journal.force(position);
+        }
+    }
+
+    private static Object nullable(Object value) {
+        return value == null ? JSONObject.NULL : value;
+    }
+}
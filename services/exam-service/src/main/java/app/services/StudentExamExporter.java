@@ -0,0 +1,175 @@
+package app.services;
+
+import app.json.JsonSerializerFactory;
+import app.models.StudentExam;
+import app.repositories.StudentExamRepository;
+import app.serializerfactory.Serializer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes all StudentExams of an exam to a stream, without holding all of them in memory.
+ *
+ * <p>The StudentExams are read in pages of 'exam.export.page-size' (default 200), ordered by id,
+ * and every page starts after the last id of the previous one. A page is read and formatted in
+ * its own read-only transaction and written to the stream after the transaction has ended, so
+ * no database connection is held while a slow client reads the response. Two formats are
+ * supported:
+ * <ul>
+ *     <li>"ndjson": every StudentExam with its questions and answers, serialized as one JSON
+ *     object per line. The questions and answers of a page are loaded by the
+ *     {@link StudentExamFetcher}, so a page takes three queries however large it is.</li>
+ *     <li>"csv": a header and one row per StudentExam, without questions and answers.</li>
+ * </ul>
+ */
+@Service
+public class StudentExamExporter {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    /**
+     * The content type of every format.
+     */
+    public static final Map<String, String> CONTENT_TYPES =
+        Map.of(NDJSON, "application/x-ndjson", CSV, "text/csv");
+
+    static final String CSV_HEADER =
+        "id,user,examId,startingTime,extraTime,correctQuestions,grade";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final transient StudentExamRepository studentExamRepository;
+    private final transient StudentExamFetcher fetcher;
+    private final transient EntityManager entityManager;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+
+    @Value("${exam.export.page-size:200}")
+    private transient int pageSize = 200;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param studentExamRepository StudentExamRepository.
+     * @param fetcher               Loads the questions and answers of a page.
+     * @param entityManager         EntityManager, cleared after every page.
+     * @param transactionManager    Transaction manager of the database.
+     */
+    @Autowired
+    public StudentExamExporter(StudentExamRepository studentExamRepository,
+                               StudentExamFetcher fetcher,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
+        this.studentExamRepository = studentExamRepository;
+        this.fetcher = fetcher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes all StudentExams of an exam to a stream.
+     *
+     * @param examId The id of the exam.
+     * @param format {@link #NDJSON} or {@link #CSV}.
+     * @param out    The stream to write to, which is flushed after every page but not closed.
+     * @return The amount of StudentExams that were written.
+     * @throws IOException if the stream could not be written.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public int export(int examId, String format, OutputStream out) throws IOException {
+        final boolean csv = CSV.equals(format);
+        Writer writer =
+            new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        int written = 0;
+        int afterId = 0;
+        while (true) {
+            final int from = afterId;
+            Page page = Objects.requireNonNull(
+                transactionTemplate.execute(status -> readPage(examId, from, csv)));
+            // The entities of the page are no longer needed, even if the persistence context
+            // lives as long as the request
+            entityManager.clear();
+            for (String line : page.lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+            writer.flush();
+            written += page.lines.size();
+            if (page.lines.size() < pageSize) {
+                return written;
+            }
+            afterId = page.lastId;
+        }
+    }
+
+    private Page readPage(int examId, int afterId, boolean csv) {
+        List<StudentExam> studentExams = studentExamRepository
+            .findNextPageByExamId(examId, afterId, PageRequest.of(0, pageSize));
+        if (!csv) {
+            fetcher.withQuestions(studentExams);
+        }
+        Page page = new Page(studentExams.size());
+        for (StudentExam studentExam : studentExams) {
+            page.lines.add(csv ? csvRow(studentExam) : serializer.serialize(studentExam));
+            page.lastId = studentExam.getId();
+        }
+        return page;
+    }
+
+    static String csvRow(StudentExam studentExam) {
+        return String.join(",",
+            csvField(studentExam.getId()),
+            csvField(studentExam.getUser()),
+            csvField(studentExam.getExamId()),
+            csvField(studentExam.getStartingTime()),
+            csvField(studentExam.getExtraTime()),
+            csvField(studentExam.getCorrectQuestions()),
+            csvField(studentExam.getGrade()));
+    }
+
+    /**
+     * Formats a value as a CSV field: empty for null, and quoted if it contains a separator,
+     * quote or line break.
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String field = value.toString();
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0
+            && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private static class Page {
+        private final transient List<String> lines;
+        private transient int lastId;
+
+        Page(int size) {
+            this.lines = new ArrayList<>(size);
+        }
+    }
+}
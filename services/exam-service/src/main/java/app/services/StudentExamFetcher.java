@@ -0,0 +1,102 @@
+package app.services;
+
+import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentExamRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads lists of StudentExams together with their questions and answers, which are lazy
+ * collections, so that serializing them does not query the database once per StudentExam and
+ * once per question.
+ *
+ * <p>Both collections are lists, which Hibernate cannot fetch in the same join. The
+ * StudentExams are therefore loaded with their questions first, and the answers of all those
+ * questions are loaded with a second query in the same persistence context, which fills in the
+ * collections of the questions that are already loaded. A listing takes two queries, however
+ * many StudentExams and questions it contains.
+ *
+ * <p>Answers and corrections that are still in the {@link StudentAnswerBuffer} are copied into
+ * the loaded StudentExams. They are loaded in a read-only transaction, so the copied values are
+ * never written back by Hibernate.
+ */
+@Service
+public class StudentExamFetcher {
+
+    private final transient StudentExamRepository studentExamRepository;
+    private final transient ExamQuestionRepository examQuestionRepository;
+    private final transient StudentAnswerBuffer buffer;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param studentExamRepository  StudentExamRepository.
+     * @param examQuestionRepository ExamQuestionRepository.
+     * @param buffer                 Buffer of the answers that are not written yet.
+     */
+    @Autowired
+    public StudentExamFetcher(StudentExamRepository studentExamRepository,
+                              ExamQuestionRepository examQuestionRepository,
+                              StudentAnswerBuffer buffer) {
+        this.studentExamRepository = studentExamRepository;
+        this.examQuestionRepository = examQuestionRepository;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Loads all StudentExams of a student, with their questions and answers.
+     *
+     * @param userId The id of the student.
+     * @return the StudentExams.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentExam> byUser(String userId) {
+        List<StudentExam> studentExams = studentExamRepository.findByUser(userId);
+        if (!studentExams.isEmpty()) {
+            examQuestionRepository.fetchAnswersByUser(userId);
+            buffer.overlayExams(studentExams);
+        }
+        return studentExams;
+    }
+
+    /**
+     * Loads all StudentExams of an exam, with their questions and answers.
+     *
+     * @param examId The id of the exam.
+     * @return the StudentExams.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentExam> byExamId(int examId) {
+        List<StudentExam> studentExams = studentExamRepository.findByExamId(examId);
+        if (!studentExams.isEmpty()) {
+            examQuestionRepository.fetchAnswersByExamId(examId);
+            buffer.overlayExams(studentExams);
+        }
+        return studentExams;
+    }
+
+    /**
+     * Loads the questions and answers of StudentExams that were read in the current
+     * transaction, such as a page of an export, with two queries keyed on their ids.
+     *
+     * @param studentExams The StudentExams, loaded in the current persistence context.
+     * @return the same StudentExams.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentExam> withQuestions(List<StudentExam> studentExams) {
+        if (!studentExams.isEmpty()) {
+            List<Integer> ids = new ArrayList<>(studentExams.size());
+            for (StudentExam studentExam : studentExams) {
+                ids.add(studentExam.getId());
+            }
+            studentExamRepository.fetchQuestionsByIds(ids);
+            examQuestionRepository.fetchAnswersByStudentExamIds(ids);
+            buffer.overlayExams(studentExams);
+        }
+        return studentExams;
+    }
+}
@@ -0,0 +1,92 @@
+package app.services;
+
+import app.models.ExamQuestion;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentAnswerRepository;
+import app.repositories.StudentExamRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Inserts a new StudentExam together with its questions and their answers.
+ *
+ * <p>The entities are saved one level at a time: first the StudentExam, then all of its
+ * questions, then all of their answers. Their ids come from sequences, so every level knows the
+ * ids of the level above it without a round trip, and Hibernate sends the inserts of a level as
+ * a single JDBC batch ('spring.jpa.properties.hibernate.jdbc.batch_size') when the transaction
+ * commits. Saving the StudentExam with a cascade instead would insert the questions before their
+ * foreign key is known.
+ */
+@Service
+public class StudentExamWriter {
+
+    private final transient StudentExamRepository studentExamRepository;
+    private final transient ExamQuestionRepository examQuestionRepository;
+    private final transient StudentAnswerRepository studentAnswerRepository;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param studentExamRepository   StudentExamRepository.
+     * @param examQuestionRepository  ExamQuestionRepository.
+     * @param studentAnswerRepository StudentAnswerRepository.
+     */
+    @Autowired
+    public StudentExamWriter(StudentExamRepository studentExamRepository,
+                             ExamQuestionRepository examQuestionRepository,
+                             StudentAnswerRepository studentAnswerRepository) {
+        this.studentExamRepository = studentExamRepository;
+        this.examQuestionRepository = examQuestionRepository;
+        this.studentAnswerRepository = studentAnswerRepository;
+    }
+
+    /**
+     * Inserts a StudentExam with its questions and answers as new rows. Ids that are already set
+     * on the questions and answers are replaced.
+     *
+     * @param studentExam The StudentExam to insert.
+     * @return The saved StudentExam, with its questions and answers.
+     */
+    @Transactional
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public StudentExam create(StudentExam studentExam) {
+        List<ExamQuestion> examQuestions = orEmpty(studentExam.getExamQuestions());
+        List<List<StudentAnswer>> studentAnswers = new ArrayList<>(examQuestions.size());
+        // Take the questions and answers out of the graph, so that saving a level does not
+        // cascade to the levels below it
+        studentExam.setExamQuestions(new ArrayList<>());
+        for (ExamQuestion examQuestion : examQuestions) {
+            studentAnswers.add(orEmpty(examQuestion.getStudentAnswers()));
+            examQuestion.setStudentAnswers(new ArrayList<>());
+        }
+
+        StudentExam saved = studentExamRepository.save(studentExam);
+        for (ExamQuestion examQuestion : examQuestions) {
+            examQuestion.setId(null);
+            examQuestion.setStudentExamId(saved.getId());
+        }
+        examQuestionRepository.saveAll(examQuestions);
+
+        List<StudentAnswer> allAnswers = new ArrayList<>();
+        for (int i = 0; i < examQuestions.size(); i++) {
+            for (StudentAnswer studentAnswer : studentAnswers.get(i)) {
+                studentAnswer.setId(null);
+                studentAnswer.setExamQuestionId(examQuestions.get(i).getId());
+                allAnswers.add(studentAnswer);
+            }
+            examQuestions.get(i).setStudentAnswers(studentAnswers.get(i));
+        }
+        studentAnswerRepository.saveAll(allAnswers);
+        saved.setExamQuestions(examQuestions);
+        return saved;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? new ArrayList<>() : list;
+    }
+}
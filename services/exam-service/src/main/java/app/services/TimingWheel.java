@@ -0,0 +1,123 @@
+package app.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel: a ring of slots, each holding the keys whose deadline falls in a tick
+ * that maps to the slot. Scheduling, cancelling and looking up the deadline of a key take
+ * constant time, and advancing the wheel only visits the slots of the ticks that have passed.
+ * Deadlines more than a full turn ahead share a slot with nearer ones and are skipped until
+ * their tick comes around.
+ *
+ * @param <K> The type of the keys.
+ */
+class TimingWheel<K> {
+
+    private final transient long tickMillis;
+    private final transient int mask;
+    private final transient List<Set<K>> slots;
+    private final transient Map<K, Long> deadlines = new HashMap<>();
+    private transient long currentTick;
+
+    /**
+     * Constructs an empty TimingWheel.
+     *
+     * @param tickMillis The length of a tick in milliseconds.
+     * @param ticks      The amount of slots, rounded up to a power of two.
+     * @param now        The current time in milliseconds.
+     */
+    TimingWheel(long tickMillis, int ticks, long now) {
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(Math.max(1, ticks - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+        this.currentTick = now / tickMillis;
+    }
+
+    /**
+     * Schedules a key, replacing its previous deadline. Deadlines that have passed expire in
+     * the next tick.
+     *
+     * @param key      The key.
+     * @param deadline The deadline in milliseconds since the epoch.
+     */
+    synchronized void schedule(K key, long deadline) {
+        cancel(key);
+        deadlines.put(key, deadline);
+        slots.get((int) (tickOf(deadline) & mask)).add(key);
+    }
+
+    /**
+     * Removes a key from the wheel.
+     *
+     * @param key The key.
+     * @return true if the key was scheduled.
+     */
+    synchronized boolean cancel(K key) {
+        Long deadline = deadlines.remove(key);
+        if (deadline == null) {
+            return false;
+        }
+        slots.get((int) (tickOf(deadline) & mask)).remove(key);
+        return true;
+    }
+
+    /**
+     * Returns the deadline of a key.
+     *
+     * @param key The key.
+     * @return The deadline in milliseconds since the epoch, or empty if the key is not scheduled.
+     */
+    synchronized OptionalLong deadline(K key) {
+        Long deadline = deadlines.get(key);
+        return deadline == null ? OptionalLong.empty() : OptionalLong.of(deadline);
+    }
+
+    /**
+     * Moves the wheel to the current time and removes every key whose tick has passed.
+     *
+     * @param now The current time in milliseconds.
+     * @return The expired keys, grouped by tick in the order of their ticks.
+     */
+    synchronized List<K> advance(long now) {
+        long nowTick = now / tickMillis;
+        List<K> expired = new ArrayList<>();
+        // After a full turn every slot has been visited, so the rest of the ticks can be skipped
+        long lastTick = Math.min(nowTick, currentTick + slots.size());
+        for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+            Iterator<K> keys = slots.get((int) (tick & mask)).iterator();
+            while (keys.hasNext()) {
+                K key = keys.next();
+                if (tickOf(deadlines.get(key)) <= nowTick) {
+                    keys.remove();
+                    deadlines.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return expired;
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * The tick in which a deadline is handled: the first tick that starts at or after it, but
+     * never one that has already been visited.
+     */
+    private long tickOf(long deadline) {
+        return Math.max((deadline + tickMillis - 1) / tickMillis, currentTick + 1);
+    }
+}
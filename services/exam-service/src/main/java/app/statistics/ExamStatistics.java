@@ -0,0 +1,142 @@
+package app.statistics;
+
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentExamRepository;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Computes the statistics of an exam with aggregate queries, so that the database only returns
+ * one row per exam, grade or question instead of every attempt with all its questions.
+ */
+@Service
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+public class ExamStatistics {
+
+    public static final int LOWEST_GRADE = 1;
+    public static final int HIGHEST_GRADE = 10;
+
+    private final transient StudentExamRepository studentExamRepository;
+    private final transient ExamQuestionRepository examQuestionRepository;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param studentExamRepository StudentExamRepository.
+     * @param examQuestionRepository ExamQuestionRepository.
+     */
+    @Autowired
+    public ExamStatistics(StudentExamRepository studentExamRepository,
+                          ExamQuestionRepository examQuestionRepository) {
+        this.studentExamRepository = studentExamRepository;
+        this.examQuestionRepository = examQuestionRepository;
+    }
+
+    /**
+     * Returns the totals over all attempts at an exam.
+     *
+     * @param examId The id of the exam.
+     * @return the summary, with all values 0 if nobody has taken the exam.
+     */
+    public ExamSummary summary(int examId) {
+        ExamSummary summary = studentExamRepository.summarizeByExamId(examId);
+        return summary == null ? new ExamSummary(0, 0, 0, 0) : summary;
+    }
+
+    /**
+     * Returns the median of the positive grades of an exam. Only the one or two grades in the
+     * middle are read from the database.
+     *
+     * @param examId         The id of the exam.
+     * @param gradedAttempts The amount of attempts with a positive grade.
+     * @return the median grade, or 0 if no attempt has been graded.
+     */
+    public float medianGrade(int examId, long gradedAttempts) {
+        if (gradedAttempts <= 0) {
+            return 0;
+        }
+        int lower = (int) ((gradedAttempts - 1) / 2);
+        int upper = (int) (gradedAttempts / 2);
+        List<Float> grades = studentExamRepository.findGradesByExamId(examId,
+            PageRequest.of(lower, 1));
+        if (grades.isEmpty()) {
+            return 0;
+        }
+        float median = grades.get(0);
+        if (upper != lower) {
+            grades = studentExamRepository.findGradesByExamId(examId, PageRequest.of(upper, 1));
+            if (!grades.isEmpty()) {
+                median = (median + grades.get(0)) / 2;
+            }
+        }
+        return median;
+    }
+
+    /**
+     * Returns the amount of graded attempts per whole grade.
+     *
+     * @param examId The id of the exam.
+     * @return the amounts, where the element at index i counts the grades in [i, i + 1). Index 0
+     *     is not used.
+     */
+    public long[] histogram(int examId) {
+        long[] histogram = new long[HIGHEST_GRADE + 1];
+        for (GradeBucket bucket : studentExamRepository.countGradesByExamId(examId)) {
+            int grade = Math.min(Math.max(bucket.getGrade(), LOWEST_GRADE), HIGHEST_GRADE);
+            histogram[grade] += bucket.getAmount();
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns how often every question of an exam was answered incorrectly.
+     *
+     * @param examId The id of the exam.
+     * @return the error rates, ordered by question id.
+     */
+    public List<QuestionErrorRate> questionErrorRates(int examId) {
+        return examQuestionRepository.countErrorsByExamId(examId);
+    }
+
+    /**
+     * Computes all statistics of an exam.
+     *
+     * @param examId The id of the exam.
+     * @return JSONObject with the totals, the average and median grade, a histogram of the
+     *     grades and the error rate of every question.
+     */
+    @Transactional(readOnly = true)
+    public JSONObject statistics(int examId) {
+        ExamSummary summary = summary(examId);
+        JSONObject json = new JSONObject();
+        json.put("examId", examId);
+        json.put("attempts", summary.getAttempts());
+        json.put("students", summary.getStudents());
+        json.put("gradedAttempts", summary.getGradedAttempts());
+        json.put("averageGrade", (float) summary.getAverageGrade());
+        json.put("medianGrade", medianGrade(examId, summary.getGradedAttempts()));
+
+        long[] histogram = histogram(examId);
+        JSONArray buckets = new JSONArray();
+        for (int grade = LOWEST_GRADE; grade <= HIGHEST_GRADE; grade++) {
+            buckets.put(new JSONObject().put("grade", grade).put("amount", histogram[grade]));
+        }
+        json.put("histogram", buckets);
+
+        JSONArray questions = new JSONArray();
+        for (QuestionErrorRate rate : questionErrorRates(examId)) {
+            questions.put(new JSONObject()
+                .put("question", rate.getQuestion())
+                .put("answered", rate.getAnswered())
+                .put("incorrect", rate.getIncorrect())
+                .put("errorRate", (float) rate.getErrorRate()));
+        }
+        json.put("questions", questions);
+        return json;
+    }
+}
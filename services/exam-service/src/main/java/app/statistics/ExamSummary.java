@@ -0,0 +1,47 @@
+package app.statistics;
+
+/**
+ * Totals over all attempts at an exam, computed by the database in a single aggregate query.
+ * Attempts without a positive grade have not been submitted yet and do not count towards the
+ * average grade.
+ */
+public final class ExamSummary {
+
+    private final transient long attempts;
+    private final transient long students;
+    private final transient long gradedAttempts;
+    private final transient double averageGrade;
+
+    /**
+     * Constructs an ExamSummary out of the columns of the aggregate query. Sums and averages
+     * over zero rows are null.
+     *
+     * @param attempts       The amount of attempts.
+     * @param students       The amount of distinct students that made an attempt.
+     * @param gradedAttempts The amount of attempts with a positive grade.
+     * @param averageGrade   The average positive grade.
+     */
+    public ExamSummary(Number attempts, Number students, Number gradedAttempts,
+                       Number averageGrade) {
+        this.attempts = attempts == null ? 0 : attempts.longValue();
+        this.students = students == null ? 0 : students.longValue();
+        this.gradedAttempts = gradedAttempts == null ? 0 : gradedAttempts.longValue();
+        this.averageGrade = averageGrade == null ? 0 : averageGrade.doubleValue();
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public long getGradedAttempts() {
+        return gradedAttempts;
+    }
+
+    public double getAverageGrade() {
+        return averageGrade;
+    }
+}
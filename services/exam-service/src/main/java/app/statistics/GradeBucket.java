@@ -0,0 +1,29 @@
+package app.statistics;
+
+/**
+ * The amount of graded attempts at an exam whose grade rounds down to the same whole number.
+ */
+public final class GradeBucket {
+
+    private final transient int grade;
+    private final transient long amount;
+
+    /**
+     * Constructs a GradeBucket out of the columns of the grouped query.
+     *
+     * @param grade  The grade, rounded down.
+     * @param amount The amount of attempts in the bucket.
+     */
+    public GradeBucket(Number grade, Number amount) {
+        this.grade = grade.intValue();
+        this.amount = amount.longValue();
+    }
+
+    public int getGrade() {
+        return grade;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,198 @@
+package app.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * How often every question of one exam was answered correctly and incorrectly. The counts are
+ * kept in an open-addressing table keyed by the id of the question, so that neither the keys
+ * nor the counts are boxed.
+ */
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+final class QuestionCounters {
+
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private transient int[] keys;
+    private transient long[] correct;
+    private transient long[] incorrect;
+    private transient int used;
+    private transient boolean changed;
+
+    /**
+     * Constructs the counters of an exam out of stored error rates.
+     *
+     * @param rates The error rates of the questions of the exam.
+     */
+    QuestionCounters(List<QuestionErrorRate> rates) {
+        allocate(Integer.highestOneBit(Math.max(4, rates.size()) * 2) * 2);
+        for (QuestionErrorRate rate : rates) {
+            int slot = slot(rate.getQuestion());
+            correct[slot] = rate.getAnswered() - rate.getIncorrect();
+            incorrect[slot] = rate.getIncorrect();
+        }
+    }
+
+    /**
+     * Counts a graded question.
+     *
+     * @param question   The id of the question.
+     * @param wasCorrect Whether the question was answered correctly.
+     */
+    synchronized void add(int question, boolean wasCorrect) {
+        int slot = slot(question);
+        if (wasCorrect) {
+            correct[slot]++;
+        } else {
+            incorrect[slot]++;
+        }
+        changed = true;
+    }
+
+    /**
+     * Returns the questions that were answered incorrectly most often, with a bounded heap
+     * instead of sorting all questions.
+     *
+     * @param amount The maximum amount of questions to return.
+     * @return the ids of the questions, most often answered incorrectly first and the lowest id
+     *     first on a tie. Questions that were never answered incorrectly are not included.
+     */
+    synchronized List<Integer> top(int amount) {
+        int[] heap = new int[Math.max(0, amount)];
+        int heapSize = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == FREE || incorrect[slot] == 0) {
+                continue;
+            }
+            if (heapSize < heap.length) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize++);
+            } else if (heapSize > 0 && ranksBefore(slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(heap, heapSize);
+            }
+        }
+        Integer[] questions = new Integer[heapSize];
+        // The root of the heap is the question that ranks last
+        while (heapSize > 0) {
+            questions[--heapSize] = keys[heap[0]];
+            heap[0] = heap[heapSize];
+            siftDown(heap, heapSize);
+        }
+        return Arrays.asList(questions);
+    }
+
+    /**
+     * Returns the counts, if they changed since they were last taken.
+     *
+     * @return the error rates of all questions, or null if nothing changed.
+     */
+    synchronized List<QuestionErrorRate> takeChanges() {
+        if (!changed) {
+            return null;
+        }
+        changed = false;
+        List<QuestionErrorRate> rates = new ArrayList<>(used);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                rates.add(new QuestionErrorRate(keys[slot], correct[slot] + incorrect[slot],
+                    incorrect[slot]));
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Marks the counts as changed again, because taking them did not lead to a write.
+     */
+    synchronized void markChanged() {
+        changed = true;
+    }
+
+    synchronized int size() {
+        return used;
+    }
+
+    private boolean ranksBefore(int slot, int other) {
+        return incorrect[slot] > incorrect[other]
+            || incorrect[slot] == incorrect[other] && keys[slot] < keys[other];
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (!ranksBefore(heap[parent], heap[child])) {
+                return;
+            }
+            swap(heap, parent, child);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        int parent = 0;
+        while (true) {
+            int last = parent;
+            int left = 2 * parent + 1;
+            if (left < heapSize && ranksBefore(heap[last], heap[left])) {
+                last = left;
+            }
+            if (left + 1 < heapSize && ranksBefore(heap[last], heap[left + 1])) {
+                last = left + 1;
+            }
+            if (last == parent) {
+                return;
+            }
+            swap(heap, parent, last);
+            parent = last;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int slot = heap[a];
+        heap[a] = heap[b];
+        heap[b] = slot;
+    }
+
+    private int slot(int question) {
+        int mask = keys.length - 1;
+        int hash = question * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (keys[slot] != FREE && keys[slot] != question) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == FREE) {
+            if ((used + 1) * 2 > keys.length) {
+                grow();
+                return slot(question);
+            }
+            keys[slot] = question;
+            used++;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        correct = new long[capacity];
+        incorrect = new long[capacity];
+        used = 0;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldCorrect = correct;
+        long[] oldIncorrect = incorrect;
+        allocate(oldKeys.length * 2);
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] != FREE) {
+                int slot = slot(oldKeys[old]);
+                correct[slot] = oldCorrect[old];
+                incorrect[slot] = oldIncorrect[old];
+            }
+        }
+    }
+}
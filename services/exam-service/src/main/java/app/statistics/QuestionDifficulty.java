@@ -0,0 +1,207 @@
+package app.statistics;
+
+import app.models.ExamQuestion;
+import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.QuestionStatisticsRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps count of how often every question of an exam was answered correctly and incorrectly in
+ * submitted attempts, so that the most difficult questions can be found without reading any
+ * attempt.
+ *
+ * <p>The counts of an exam are loaded the first time they are needed: from the
+ * question_statistics table if they were stored before, and otherwise with an aggregate query
+ * over the submitted attempts. From then on every graded attempt is added to them with
+ * {@link #record}. Changed counts are written to the question_statistics table every
+ * 'exam.statistics.persist-interval' milliseconds (default 10000) and when the microservice
+ * shuts down, so attempts graded shortly before a crash can be missing from the stored counts.
+ * {@link #invalidate} counts an exam again from its attempts.
+ */
+@Service
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+public class QuestionDifficulty {
+
+    static final String UPDATE =
+        "update question_statistics set answered = ?, incorrect = ? "
+            + "where exam_id = ? and question = ?";
+    static final String INSERT =
+        "insert into question_statistics (answered, incorrect, exam_id, question) "
+            + "values (?, ?, ?, ?)";
+    static final String DELETE = "delete from question_statistics where exam_id = ?";
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionDifficulty.class);
+
+    private final transient ExamQuestionRepository examQuestionRepository;
+    private final transient QuestionStatisticsRepository questionStatisticsRepository;
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient Map<Integer, QuestionCounters> exams = new ConcurrentHashMap<>();
+    private final transient Object persistLock = new Object();
+
+    /**
+     * Autowired constructor.
+     *
+     * @param examQuestionRepository       ExamQuestionRepository.
+     * @param questionStatisticsRepository QuestionStatisticsRepository.
+     * @param jdbcTemplate                 JdbcTemplate.
+     * @param transactionManager           Transaction manager of the database.
+     */
+    @Autowired
+    public QuestionDifficulty(ExamQuestionRepository examQuestionRepository,
+                              QuestionStatisticsRepository questionStatisticsRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.examQuestionRepository = examQuestionRepository;
+        this.questionStatisticsRepository = questionStatisticsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts the questions of a graded attempt, after it has been saved. Questions without a
+     * result are skipped.
+     *
+     * @param attempt The attempt, with its exam and graded questions.
+     */
+    public void record(StudentExam attempt) {
+        if (attempt.getExamId() == null || attempt.getExamQuestions() == null) {
+            return;
+        }
+        boolean[] counted = new boolean[1];
+        QuestionCounters counters = exams.computeIfAbsent(attempt.getExamId(), examId -> {
+            QuestionCounters stored = loadStored(examId);
+            counted[0] = stored == null;
+            return stored == null ? countAttempts(examId) : stored;
+        });
+        if (counted[0]) {
+            // The attempt was saved before the counts were loaded, so it is already counted
+            return;
+        }
+        for (ExamQuestion examQuestion : attempt.getExamQuestions()) {
+            if (examQuestion.getQuestion() != null && examQuestion.getCorrect() != null) {
+                counters.add(examQuestion.getQuestion(), examQuestion.getCorrect());
+            }
+        }
+    }
+
+    /**
+     * Returns the questions of an exam that were answered incorrectly most often.
+     *
+     * @param examId The id of the exam.
+     * @param amount The maximum amount of questions to return.
+     * @return the ids of the questions, most often answered incorrectly first. Questions that
+     *     were never answered incorrectly are not included.
+     */
+    public List<Integer> mostIncorrectQuestions(int examId, int amount) {
+        return counters(examId).top(amount);
+    }
+
+    /**
+     * Counts an exam again from its attempts the next time it is needed, because attempts were
+     * deleted or graded again.
+     *
+     * @param examId The id of the exam.
+     */
+    public void invalidate(int examId) {
+        synchronized (persistLock) {
+            exams.remove(examId);
+            jdbcTemplate.update(DELETE, examId);
+        }
+    }
+
+    /**
+     * Forgets all counts, so that they are loaded again.
+     */
+    public void clear() {
+        exams.clear();
+    }
+
+    /**
+     * Writes the counts of every exam that changed to the database, one transaction per exam.
+     * Counts that cannot be written are retried with the next write.
+     */
+    @Scheduled(fixedDelayString = "${exam.statistics.persist-interval:10000}")
+    public void persist() {
+        synchronized (persistLock) {
+            for (Map.Entry<Integer, QuestionCounters> exam : exams.entrySet()) {
+                List<QuestionErrorRate> rates = exam.getValue().takeChanges();
+                if (rates == null) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(
+                        status -> write(exam.getKey(), rates));
+                } catch (DataAccessException | TransactionException e) {
+                    logger.warn("Could not store the question statistics of exam {}",
+                        exam.getKey(), e);
+                    exam.getValue().markChanged();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the counts to the database before the microservice stops.
+     */
+    @PreDestroy
+    public void close() {
+        persist();
+    }
+
+    private QuestionCounters counters(int examId) {
+        return exams.computeIfAbsent(examId, this::load);
+    }
+
+    private QuestionCounters load(int examId) {
+        QuestionCounters stored = loadStored(examId);
+        return stored == null ? countAttempts(examId) : stored;
+    }
+
+    private QuestionCounters loadStored(int examId) {
+        List<QuestionErrorRate> rates = questionStatisticsRepository.findRatesByExamId(examId);
+        return rates.isEmpty() ? null : new QuestionCounters(rates);
+    }
+
+    private QuestionCounters countAttempts(int examId) {
+        QuestionCounters counters =
+            new QuestionCounters(examQuestionRepository.countSubmittedErrorsByExamId(examId));
+        if (counters.size() > 0) {
+            counters.markChanged();
+        }
+        return counters;
+    }
+
+    private void write(int examId, List<QuestionErrorRate> rates) {
+        List<Object[]> rows = new ArrayList<>(rates.size());
+        for (QuestionErrorRate rate : rates) {
+            rows.add(new Object[] {rate.getAnswered(), rate.getIncorrect(), examId,
+                rate.getQuestion()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE, rows);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                inserts.add(rows.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, inserts);
+        }
+    }
+}
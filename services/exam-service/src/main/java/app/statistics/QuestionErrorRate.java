@@ -0,0 +1,46 @@
+package app.statistics;
+
+/**
+ * How often a question was answered incorrectly over all attempts at an exam. Only questions
+ * that have been graded count as answered.
+ */
+public final class QuestionErrorRate {
+
+    private final transient int question;
+    private final transient long answered;
+    private final transient long incorrect;
+
+    /**
+     * Constructs a QuestionErrorRate out of the columns of the grouped query.
+     *
+     * @param question  The id of the question.
+     * @param answered  The amount of times the question was graded.
+     * @param incorrect The amount of times the question was answered incorrectly.
+     */
+    public QuestionErrorRate(Number question, Number answered, Number incorrect) {
+        this.question = question.intValue();
+        this.answered = answered == null ? 0 : answered.longValue();
+        this.incorrect = incorrect == null ? 0 : incorrect.longValue();
+    }
+
+    public int getQuestion() {
+        return question;
+    }
+
+    public long getAnswered() {
+        return answered;
+    }
+
+    public long getIncorrect() {
+        return incorrect;
+    }
+
+    /**
+     * Returns the fraction of the graded answers that was incorrect.
+     *
+     * @return the error rate, or 0 if the question has not been graded yet.
+     */
+    public double getErrorRate() {
+        return answered == 0 ? 0 : (double) incorrect / answered;
+    }
+}
@@ -0,0 +1,56 @@
+package app.statistics;
+
+import java.io.Serializable;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The stored counts of a question of an exam, written periodically by
+ * {@link QuestionDifficulty}.
+ */
+@Setter
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(QuestionStatistics.Key.class)
+@Table(name = "question_statistics")
+public class QuestionStatistics {
+
+    @Id
+    @Column(name = "exam_id")
+    private Integer examId;
+
+    @Id
+    @Column(name = "question")
+    private Integer question;
+
+    @Column(name = "answered")
+    private Long answered;
+
+    @Column(name = "incorrect")
+    private Long incorrect;
+
+    /**
+     * The primary key of QuestionStatistics.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Integer examId;
+        private Integer question;
+    }
+}
@@ -0,0 +1,11 @@
+-- StudentExam, ExamQuestion and StudentAnswer take their ids from sequences in blocks of 50.
+-- MySQL has no sequences, so Hibernate keeps the next value of each in a table of one row.
+-- The sequences start above the ids that AUTO_INCREMENT handed out, with a block to spare.
+create table student_exam_seq (next_val bigint not null);
+insert into student_exam_seq (next_val) select coalesce(max(id), 0) + 51 from student_exam;
+
+create table exam_questions_seq (next_val bigint not null);
+insert into exam_questions_seq (next_val) select coalesce(max(id), 0) + 51 from exam_questions;
+
+create table student_answers_seq (next_val bigint not null);
+insert into student_answers_seq (next_val) select coalesce(max(id), 0) + 51 from student_answers;
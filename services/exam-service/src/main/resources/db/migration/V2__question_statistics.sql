@@ -0,0 +1,8 @@
+-- Counts of answered and incorrectly answered questions per exam, kept by QuestionDifficulty.
+create table question_statistics (
+    exam_id int not null,
+    question int not null,
+    answered bigint not null default 0,
+    incorrect bigint not null default 0,
+    primary key (exam_id, question)
+);
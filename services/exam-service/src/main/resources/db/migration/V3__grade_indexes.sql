@@ -0,0 +1,3 @@
+-- Indexes for the grade statistics of an exam and the questions of an attempt.
+create index idx_student_exam_exam_grade on student_exam (exam, grade);
+create index idx_exam_questions_student_exam on exam_questions (student_exam);
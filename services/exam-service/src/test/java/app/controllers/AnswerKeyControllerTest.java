@@ -0,0 +1,66 @@
+package app.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import app.communication.Authorisation;
+import app.constants.Constants;
+import app.services.AnswerKeyCache;
+import app.services.ExamQuestionPool;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(AnswerKeyController.class)
+class AnswerKeyControllerTest {
+
+    @Autowired
+    private transient MockMvc mockMvc;
+    @MockBean
+    private transient AnswerKeyCache answerKeyCache;
+    @MockBean
+    private transient ExamQuestionPool examQuestionPool;
+
+    @Test
+    void invalidateAnswerKeys() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/invalidateAnswerKeys")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"questionIds\":[3,4]}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(content().string("Invalidated 2"));
+        }
+        Mockito.verify(answerKeyCache).invalidate(List.of(3, 4));
+        Mockito.verify(examQuestionPool).clear();
+    }
+
+    @Test
+    void invalidateAnswerKeysNotAuthorised() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(false);
+            mockMvc.perform(post("/exam_service/invalidateAnswerKeys")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"questionIds\":[3,4]}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403));
+        }
+        Mockito.verify(answerKeyCache, Mockito.never()).invalidate(Mockito.any());
+    }
+}
@@ -1,8 +1,12 @@
 package app.controllers;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -11,12 +15,17 @@ import app.communication.Authorisation;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Exam;
-import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
 import app.repositories.ExamRepository;
 import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
-import java.util.ArrayList;
+import app.services.ExamCache;
+import app.statistics.ExamStatistics;
+import app.statistics.ExamSummary;
+import app.statistics.GradeBucket;
+import app.statistics.QuestionErrorRate;
 import java.util.List;
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,13 +34,17 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(ExamController.class)
+@Import({ExamStatistics.class, ExamCache.class})
 class ExamControllerTest {
 
     @Autowired
@@ -40,30 +53,26 @@ class ExamControllerTest {
     private transient ExamRepository examRepository;
     @MockBean
     private transient StudentExamRepository studentExamRepository;
+    @MockBean
+    private transient ExamQuestionRepository examQuestionRepository;
+    @Autowired
+    private transient ExamCache examCache;
     private transient Exam exam;
     private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
 
 
     @BeforeEach
     void setup() {
+        examCache.invalidateAll();
         exam = new Exam();
         exam.setId(1);
 
-        StudentExam studentExam1 = new StudentExam();
-        StudentExam studentExam2 = new StudentExam();
-        StudentExam studentExam3 = new StudentExam();
-        studentExam1.setGrade(1.0f);
-        studentExam2.setGrade(10.0f);
-        studentExam3.setGrade(0.0f);
-        List<StudentExam> studentExams = new ArrayList<>();
-        studentExams.add(studentExam1);
-        studentExams.add(studentExam2);
-        studentExams.add(studentExam3);
-
         doReturn(exam).when(examRepository).findById(1);
         doReturn(exam).when(examRepository).save(exam);
         doNothing().when(examRepository).deleteById(5);
-        doReturn(studentExams).when(studentExamRepository).findByExamId(5);
+        // Grades 1.0, 10.0 and an attempt that has not been graded yet
+        doReturn(new ExamSummary(3, 3, 2, 5.5)).when(studentExamRepository)
+            .summarizeByExamId(5);
     }
 
     @Test
@@ -127,6 +136,51 @@ class ExamControllerTest {
         }
     }
 
+    @Test
+    void updateExamInvalidatesCache() throws Exception {
+        // The cache is shared by all tests, so only the counts of this test are compared
+        final long hits = examCache.getHits();
+        final long misses = examCache.getMisses();
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(post("/exam_service/examById")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content("{ \"id\": 1}")
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200));
+            }
+            verify(examRepository, times(1)).findById(1);
+
+            mockMvc.perform(post("/exam_service/updateExam")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(serializer.serialize(exam))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200));
+            mockMvc.perform(post("/exam_service/examById")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{ \"id\": 1}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200));
+            verify(examRepository, times(2)).findById(1);
+
+            MvcResult result = mockMvc.perform(get("/exam_service/examCacheMetrics")
+                .header(Constants.SESSIONHEADERKEY, ""))
+                .andExpect(status().is(200))
+                .andReturn();
+            JSONObject metrics = new JSONObject(result.getResponse().getContentAsString());
+            assertEquals(hits + 1, metrics.getLong("hits"));
+            assertEquals(misses + 2, metrics.getLong("misses"));
+            assertEquals(1, metrics.getInt("size"));
+        }
+    }
+
     @Test
     void updateExamNoAuth() throws Exception {
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
@@ -225,16 +279,10 @@ class ExamControllerTest {
 
             Exam exam2 = new Exam();
             exam2.setId(2);
-            StudentExam studentExamTim = new StudentExam();
-            studentExamTim.setUser("Tim");
-            List<StudentExam> list = new ArrayList<>();
-            list.add(studentExamTim);
-            list.add(studentExamTim);
-            list.add(studentExamTim);
-            exam2.setStudentExamList(list);
 
             doReturn(exam2).when(examRepository).findById(2);
-            doReturn(list).when(studentExamRepository).findByExamId(2);
+            doReturn(new ExamSummary(3, 1, 0, null)).when(studentExamRepository)
+                .summarizeByExamId(2);
 
             mockMvc.perform(post(Constants.GET_AMOUNT_OF_STUDENTS_STRING)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -254,20 +302,10 @@ class ExamControllerTest {
 
             Exam exam2 = new Exam();
             exam2.setId(2);
-            StudentExam studentExam1 = new StudentExam();
-            StudentExam studentExam2 = new StudentExam();
-            StudentExam studentExam3 = new StudentExam();
-            studentExam1.setUser("1");
-            studentExam2.setUser("2");
-            studentExam3.setUser("3");
-            List<StudentExam> list = new ArrayList<>();
-            list.add(studentExam1);
-            list.add(studentExam2);
-            list.add(studentExam3);
-            exam2.setStudentExamList(list);
 
             doReturn(exam2).when(examRepository).findById(2);
-            doReturn(list).when(studentExamRepository).findByExamId(2);
+            doReturn(new ExamSummary(3, 3, 0, null)).when(studentExamRepository)
+                .summarizeByExamId(2);
 
             mockMvc.perform(post(Constants.GET_AMOUNT_OF_STUDENTS_STRING)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -296,4 +334,74 @@ class ExamControllerTest {
                 .andExpect(content().string(containsString("There exists no exam with that id")));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void examStatistics() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            doReturn(exam).when(examRepository).findById(5);
+            doReturn(List.of(new GradeBucket(1, 1), new GradeBucket(10, 1)))
+                .when(studentExamRepository).countGradesByExamId(5);
+            doReturn(List.of(1.0f)).when(studentExamRepository)
+                .findGradesByExamId(5, PageRequest.of(0, 1));
+            doReturn(List.of(10.0f)).when(studentExamRepository)
+                .findGradesByExamId(5, PageRequest.of(1, 1));
+            doReturn(List.of(new QuestionErrorRate(7, 4, 1)))
+                .when(examQuestionRepository).countErrorsByExamId(5);
+
+            MvcResult result = mockMvc.perform(post("/exam_service/examStatistics")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":5}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andReturn();
+
+            JSONObject json = new JSONObject(result.getResponse().getContentAsString());
+            assertEquals(3, json.getInt("attempts"));
+            assertEquals(3, json.getInt("students"));
+            assertEquals(2, json.getInt("gradedAttempts"));
+            assertEquals(5.5, json.getDouble("averageGrade"));
+            assertEquals(5.5, json.getDouble("medianGrade"));
+            assertEquals(10, json.getJSONArray("histogram").length());
+            assertEquals(1, json.getJSONArray("histogram").getJSONObject(0).getInt("amount"));
+            assertEquals(0, json.getJSONArray("histogram").getJSONObject(4).getInt("amount"));
+            assertEquals(1, json.getJSONArray("histogram").getJSONObject(9).getInt("amount"));
+            JSONObject question = json.getJSONArray("questions").getJSONObject(0);
+            assertEquals(7, question.getInt("question"));
+            assertEquals(0.25, question.getDouble("errorRate"));
+        }
+    }
+
+    @Test
+    void examStatisticsNoAuth() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(false);
+            mockMvc.perform(post("/exam_service/examStatistics")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":5}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403))
+                .andExpect(content().string(Constants.NOT_AUTHORIZED_STRING_EXAM));
+        }
+    }
+
+    @Test
+    void examStatisticsNonExistingExamId() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            doReturn(null).when(examRepository).findById(3);
+            mockMvc.perform(post("/exam_service/examStatistics")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":3}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(404))
+                .andExpect(content().string(containsString("There exists no exam with that id")));
+        }
+    }
+}
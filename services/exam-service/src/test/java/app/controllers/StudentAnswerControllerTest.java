@@ -1,9 +1,14 @@
 package app.controllers;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -15,12 +20,17 @@ import app.json.JsonSerializerFactory;
 import app.models.Exam;
 import app.models.StudentAnswer;
 import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
 import app.repositories.StudentAnswerRepository;
 import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
+import app.services.ExamDeadlines;
+import app.services.IncrementalGrader;
+import app.services.StudentAnswerBuffer;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalLong;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +56,14 @@ class StudentAnswerControllerTest {
     private transient StudentAnswerRepository studentAnswerRepository;
     @MockBean
     private transient StudentExamRepository studentExamRepository;
+    @MockBean
+    private transient ExamQuestionRepository examQuestionRepository;
+    @MockBean
+    private transient IncrementalGrader grader;
+    @MockBean
+    private transient StudentAnswerBuffer buffer;
+    @MockBean
+    private transient ExamDeadlines deadlines;
     private transient StudentAnswer studentAnswer1;
     private transient StudentAnswer studentAnswer2;
     private transient JSONObject studentAnswerListJson;
@@ -96,6 +114,9 @@ class StudentAnswerControllerTest {
         doReturn(studentAnswer2).when(studentAnswerRepository).save(studentAnswer2);
         doReturn(studentAnswer1).when(studentAnswerRepository).save(studentAnswer3);
         doReturn(studentExam).when(studentExamRepository).findById(42);
+        when(examQuestionRepository.findIdsByStudentExamId(42)).thenReturn(List.of(1, 2, 3));
+        when(studentAnswerRepository.findIdsByStudentExamId(42)).thenReturn(List.of(0, 1));
+        when(buffer.overlay(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
@@ -243,10 +264,13 @@ class StudentAnswerControllerTest {
     void updateStudentAnswer() throws Exception {
         Timestamp timestamp = new Timestamp(System.currentTimeMillis() + 10000L);
         studentExam.setStartingTime(timestamp);
+        StudentAnswer updated = new StudentAnswer();
+        updated.setId(0);
+        updated.setExamQuestionId(2);
+        updated.setSelected(true);
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
             mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
                 .thenReturn(true);
-            when(studentAnswerRepository.save(any(StudentAnswer.class))).thenReturn(studentAnswer1);
             mockMvc.perform(post("/exam_service/updateStudentAnswer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(Constants.SESSIONHEADERKEY, "")
@@ -254,7 +278,52 @@ class StudentAnswerControllerTest {
                     "{\"studentExamId\":42,\"id\":0,\"answerId\":1,\"examQuestionId\":2,\"selected\":true}")
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(200))
+                .andExpect(content().string(containsString(serializer.serialize(updated))));
+            verify(buffer).write(argThat(answer -> answer.getId() == 0
+                && answer.getExamQuestionId() == 2 && answer.getSelected()));
+            verify(studentAnswerRepository, never()).save(any(StudentAnswer.class));
+            verify(grader).gradeLater(2, "");
+        }
+    }
+
+    @Test
+    void updateStudentAnswerWithoutId() throws Exception {
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis() + 10000L);
+        studentExam.setStartingTime(timestamp);
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            when(studentAnswerRepository.save(any(StudentAnswer.class))).thenReturn(studentAnswer1);
+            mockMvc.perform(post("/exam_service/updateStudentAnswer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":42,\"examQuestionId\":1,\"selected\":true}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
                 .andExpect(content().string(containsString(serializer.serialize(studentAnswer1))));
+            verify(buffer, never()).write(any(StudentAnswer.class));
+            verify(grader).gradeLater(1, "");
+        }
+    }
+
+    @Test
+    void studentAnswerByIdBuffered() throws Exception {
+        StudentAnswer buffered = new StudentAnswer();
+        buffered.setId(0);
+        buffered.setExamQuestionId(1);
+        buffered.setAnswer(2);
+        buffered.setSelected(false);
+        when(buffer.get(0)).thenReturn(buffered);
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/studentAnswerById")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{ \"id\": 0}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(content().string(containsString(serializer.serialize(buffered))));
         }
     }
 
@@ -276,6 +345,40 @@ class StudentAnswerControllerTest {
         }
     }
 
+    @Test
+    void updateStudentAnswerBeforeTrackedDeadline() throws Exception {
+        when(deadlines.deadline(42))
+            .thenReturn(OptionalLong.of(System.currentTimeMillis() + 10000L));
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/updateStudentAnswer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":42,\"id\":0,\"examQuestionId\":2,\"selected\":true}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200));
+        }
+        verify(studentExamRepository, never()).findById(42);
+    }
+
+    @Test
+    void updateStudentAnswerAfterTrackedDeadline() throws Exception {
+        when(deadlines.deadline(42)).thenReturn(OptionalLong.of(System.currentTimeMillis() - 1L));
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/updateStudentAnswer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":42,\"id\":0,\"examQuestionId\":2,\"selected\":true}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403))
+                .andExpect(content().string(containsString("The exam is over.")));
+        }
+        verify(buffer, never()).write(any(StudentAnswer.class));
+    }
+
     @Test
     void notAuthorizedExceptionUpdateStudentExam() throws Exception {
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
@@ -291,4 +394,107 @@ class StudentAnswerControllerTest {
                     Constants.NOT_AUTHORIZED_STRING_EXAM)));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateStudentAnswers() throws Exception {
+        when(deadlines.deadline(42))
+            .thenReturn(OptionalLong.of(System.currentTimeMillis() + 10000L));
+        StudentAnswer inserted = new StudentAnswer();
+        inserted.setId(7);
+        inserted.setExamQuestionId(3);
+        inserted.setSelected(true);
+        when(studentAnswerRepository.saveAll(any())).thenReturn(List.of(inserted));
+        JSONArray studentAnswers = new JSONArray()
+            .put(serializer.serialize(studentAnswer1))
+            .put(new JSONObject("{\"examQuestionId\":3,\"selected\":true}"))
+            .put(serializer.serialize(studentAnswer2));
+        JSONObject request = new JSONObject()
+            .put("studentExamId", 42)
+            .put("studentAnswers", studentAnswers);
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            String response = mockMvc.perform(post("/exam_service/updateStudentAnswers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(request.toString())
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andReturn().getResponse().getContentAsString();
+            JSONArray saved = new JSONObject(response).getJSONArray("studentAnswers");
+            assertEquals(serializer.serialize(studentAnswer1), saved.getString(0));
+            assertEquals(serializer.serialize(inserted), saved.getString(1));
+            assertEquals(serializer.serialize(studentAnswer2), saved.getString(2));
+        }
+        verify(deadlines, times(1)).deadline(42);
+        verify(studentAnswerRepository).saveAll(argThat(answers -> answers.iterator().hasNext()));
+        verify(buffer).writeAll(argThat(answers -> answers.size() == 2
+            && answers.get(0).getId() == 0 && answers.get(1).getId() == 1));
+        verify(grader).gradeLater(1, "");
+        verify(grader).gradeLater(2, "");
+        verify(grader).gradeLater(3, "");
+    }
+
+    @Test
+    void updateStudentAnswersAfterEnd() throws Exception {
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis() - 1000000000L);
+        studentExam.setStartingTime(timestamp);
+        JSONObject request = new JSONObject()
+            .put("studentExamId", 42)
+            .put("studentAnswers", new JSONArray().put(serializer.serialize(studentAnswer1)));
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/updateStudentAnswers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(request.toString())
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403))
+                .andExpect(content().string(containsString("The exam is over.")));
+        }
+        verify(buffer, never()).writeAll(any());
+        verify(grader, never()).gradeLater(any(), any());
+    }
+
+    private void rejected(StudentAnswer answer) throws Exception {
+        when(deadlines.deadline(42))
+            .thenReturn(OptionalLong.of(System.currentTimeMillis() + 10000L));
+        JSONObject request = new JSONObject()
+            .put("studentExamId", 42)
+            .put("studentAnswers", new JSONArray()
+                .put(serializer.serialize(studentAnswer1))
+                .put(serializer.serialize(answer)));
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/updateStudentAnswers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(request.toString())
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403))
+                .andExpect(content().string(containsString("not part of this exam")));
+        }
+        verify(studentAnswerRepository, never()).saveAll(any());
+        verify(buffer, never()).writeAll(any());
+        verify(grader, never()).gradeLater(any(), any());
+    }
+
+    @Test
+    void updateStudentAnswersOfOtherQuestion() throws Exception {
+        StudentAnswer foreign = new StudentAnswer();
+        foreign.setExamQuestionId(9);
+        foreign.setSelected(true);
+        rejected(foreign);
+    }
+
+    @Test
+    void updateStudentAnswersOfOtherAttempt() throws Exception {
+        StudentAnswer foreign = new StudentAnswer();
+        foreign.setId(8);
+        foreign.setExamQuestionId(2);
+        foreign.setSelected(true);
+        rejected(foreign);
+    }
+}
@@ -1,16 +1,27 @@
 package app.controllers;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import app.communication.Authorisation;
 import app.communication.ExamServiceCommunication;
+import app.communication.ServiceUnavailableException;
 import app.constants.Constants;
 import app.json.JsonSerializerFactory;
 import app.models.Answer;
@@ -20,12 +31,32 @@ import app.models.ExamQuestion;
 import app.models.Question;
 import app.models.StudentAnswer;
 import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
 import app.repositories.ExamRepository;
+import app.repositories.QuestionStatisticsRepository;
+import app.repositories.StudentAnswerRepository;
 import app.repositories.StudentExamRepository;
 import app.serializerfactory.Serializer;
+import app.services.AnswerKeyCache;
+import app.services.AttemptCounter;
+import app.services.ExamCache;
+import app.services.ExamDeadlines;
+import app.services.ExamQuestionPool;
+import app.services.IncrementalGrader;
+import app.services.StudentAnswerBuffer;
+import app.services.StudentExamExporter;
+import app.services.StudentExamFetcher;
+import app.services.StudentExamWriter;
+import app.statistics.QuestionDifficulty;
+import app.statistics.QuestionErrorRate;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Assertions;
@@ -36,15 +67,41 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(StudentExamController.class)
+@Import({AnswerKeyCache.class, IncrementalGrader.class, QuestionDifficulty.class,
+    StudentExamWriter.class, AttemptCounter.class, ExamCache.class, StudentExamFetcher.class})
 class StudentExamControllerTest {
 
+    /**
+     * Runs the steps of createStudentExam, and the grading of saved answers, on the test thread,
+     * where the static mocks are active.
+     */
+    @TestConfiguration
+    static class SameThreadExecutorConfig {
+        @Bean
+        Executor fanOutExecutor() {
+            return Runnable::run;
+        }
+
+        @Bean
+        Executor gradingExecutor() {
+            return Runnable::run;
+        }
+    }
+
     private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
 
     @Autowired
@@ -53,6 +110,32 @@ class StudentExamControllerTest {
     private transient StudentExamRepository studentExamRepository;
     @MockBean
     private transient ExamRepository examRepository;
+    @MockBean
+    private transient ExamQuestionPool examQuestionPool;
+    @MockBean
+    private transient ExamQuestionRepository examQuestionRepository;
+    @MockBean
+    private transient StudentAnswerRepository studentAnswerRepository;
+    @MockBean
+    private transient StudentAnswerBuffer studentAnswerBuffer;
+    @MockBean
+    private transient ExamDeadlines examDeadlines;
+    @MockBean
+    private transient StudentExamExporter exporter;
+    @MockBean
+    private transient QuestionStatisticsRepository questionStatisticsRepository;
+    @MockBean
+    private transient JdbcTemplate jdbcTemplate;
+    @MockBean
+    private transient PlatformTransactionManager transactionManager;
+    @Autowired
+    private transient AnswerKeyCache answerKeyCache;
+    @Autowired
+    private transient AttemptCounter attemptCounter;
+    @Autowired
+    private transient ExamCache examCache;
+    @Autowired
+    private transient QuestionDifficulty questionDifficulty;
     private transient StudentExamController controller;
     private transient StudentExam studentExam1;
     private transient StudentExam studentExam3;
@@ -66,7 +149,12 @@ class StudentExamControllerTest {
 
     @BeforeEach
     void setup() {
+        answerKeyCache.invalidateAll();
+        attemptCounter.clear();
+        examCache.invalidateAll();
+        questionDifficulty.clear();
         support = new StudentExamSupport(studentExamRepository);
+        when(studentAnswerBuffer.flush()).thenReturn(true);
         StudentAnswer studentAnswer1 = new StudentAnswer();
         StudentAnswer studentAnswer2 = new StudentAnswer();
         studentAnswer1.setSelected(true);
@@ -165,12 +253,6 @@ class StudentExamControllerTest {
         studentExams.add(studentExam1);
         studentExams.add(studentExam2);
 
-        List<StudentExam> studentExams1 = new ArrayList<>();
-        studentExams1.add(studentExam1);
-        studentExams1.add(studentExam1);
-        studentExams1.add(studentExam1);
-        studentExams1.add(studentExam1);
-
         JSONArray jsonArray2 = new JSONArray();
         jsonArray2.put(serializer.serialize(studentExam1));
         jsonArray2.put(serializer.serialize(studentExam2));
@@ -180,8 +262,8 @@ class StudentExamControllerTest {
         doReturn(studentExam1).when(studentExamRepository).findById(1);
         doReturn(studentExams).when(studentExamRepository).findByExamId(10);
         doNothing().when(studentExamRepository).deleteById(1);
-        doReturn(studentExams).when(studentExamRepository).findByExamAndUser(1, "1");
-        doReturn(studentExams1).when(studentExamRepository).findByExamAndUser(2, "2");
+        doReturn(2L).when(studentExamRepository).countByExamIdAndUser(1, "1");
+        doReturn(4L).when(studentExamRepository).countByExamIdAndUser(2, "2");
         doReturn(exam1).when(examRepository).findById(1);
         doReturn(exam1).when(examRepository).findById(2);
         doReturn(studentExams).when(studentExamRepository).findByUser("netIdStudent");
@@ -341,6 +423,53 @@ class StudentExamControllerTest {
         }
     }
 
+    @Test
+    void exportStudentExams() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class)
+                .write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1;
+        }).when(exporter).export(eq(1), eq("ndjson"), any());
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            MvcResult result = mockMvc.perform(post("/exam_service/exportStudentExams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":1}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(200))
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+        }
+    }
+
+    @Test
+    void exportStudentExamsUnknownFormatOrExam() throws Exception {
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            MvcResult result = mockMvc.perform(post("/exam_service/exportStudentExams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":1,\"format\":\"xml\"}"))
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(400));
+            result = mockMvc.perform(post("/exam_service/exportStudentExams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":7,\"format\":\"csv\"}"))
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(404))
+                .andExpect(content().string("Exam not found"));
+        }
+        verify(exporter, never()).export(anyInt(), anyString(), any());
+    }
+
     @Test
     void deleteStudentExamById() throws Exception {
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
@@ -356,6 +485,23 @@ class StudentExamControllerTest {
         }
     }
 
+    @Test
+    void deleteStudentExamReleasesAttempt() throws Exception {
+        Assertions.assertTrue(attemptCounter.tryAcquire(1, "1", null));
+        Assertions.assertTrue(attemptCounter.isLimitReached(1, "1", null));
+        try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
+            mockedStatic.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/deleteStudentExam")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(Constants.ID_1_EXAM)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200));
+        }
+        Assertions.assertFalse(attemptCounter.isLimitReached(1, "1", null));
+    }
+
     @Test
     void notAuthorizedExceptionDeleteStudent() throws Exception {
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
@@ -404,10 +550,151 @@ class StudentExamControllerTest {
                     .content(Constants.EXAM_QUESTION)
                     .accept(MediaType.APPLICATION_JSON))
                     .andExpect(status().is(200))
+                    .andExpect(header().string("Server-Timing", containsString("enrollment;dur=")))
                     .andExpect(content()
                         .string(containsString(serializer.serialize(studentExam3))));
+                verify(examDeadlines).register(studentExam3);
+            }
+        }
+    }
+
+    @Test
+    void createStudentExamFromPool() throws Exception {
+        exam1.setStart(new Timestamp(System.currentTimeMillis() - 100000L));
+        exam1.setEnd(new Timestamp(System.currentTimeMillis() + 100000L));
+        doReturn(true).when(examQuestionPool).hasSets(exam1);
+        doReturn(studentExam1).when(examQuestionPool).claim(exam1);
+        doReturn(studentExam3).when(studentExamRepository).save(any(StudentExam.class));
+
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+
+                mockedCommunication
+                    .when(() -> ExamServiceCommunication.postRequest(Constants.USER_1_COURSE_ID_5,
+                        Constants.GET_ENROLLMENT, ""))
+                    .thenReturn(Constants.ENROLLMENT_STRING);
+
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest(Constants.USER_ID_1, Constants.GET_EXTRA_TIME,
+                        "")).thenReturn(Constants.EXTRA_TIME_10);
+
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                    .thenReturn(true);
+                mockMvc.perform(post(Constants.CREATE_STUDENT_EXAM_STRING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content(Constants.EXAM_QUESTION)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200));
+                mockedCommunication.verify(Mockito.never(),
+                    () -> ExamServiceCommunication.postRequest(
+                        Constants.COURSE_ID_5, Constants.EXAM_QUESTION_BY_COURSE, ""));
+            }
+        }
+    }
+
+    @Test
+    void createStudentExamCountsAttempts() throws Exception {
+        exam1.setStart(new Timestamp(System.currentTimeMillis() - 100000L));
+        exam1.setEnd(new Timestamp(System.currentTimeMillis() + 100000L));
+        doReturn(true).when(examQuestionPool).hasSets(exam1);
+        doReturn(studentExam1).when(examQuestionPool).claim(exam1);
+        doReturn(studentExam3).when(studentExamRepository).save(any(StudentExam.class));
+        doReturn(2L).when(studentExamRepository).countByExamIdAndUser(2, "1");
+
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+
+                mockedCommunication
+                    .when(() -> ExamServiceCommunication.postRequest(Constants.USER_1_COURSE_ID_5,
+                        Constants.GET_ENROLLMENT, ""))
+                    .thenReturn(Constants.ENROLLMENT_STRING);
+
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest(Constants.USER_ID_1, Constants.GET_EXTRA_TIME,
+                        "")).thenReturn(Constants.EXTRA_TIME_10);
+
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                    .thenReturn(true);
+                // Two attempts were made before, so only one of these requests may succeed
+                mockMvc.perform(post(Constants.CREATE_STUDENT_EXAM_STRING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content(Constants.EXAM_QUESTION)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200));
+                mockMvc.perform(post(Constants.CREATE_STUDENT_EXAM_STRING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content(Constants.EXAM_QUESTION)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(403))
+                    .andExpect(content()
+                        .string(containsString("The maximum amount of tries has been reached.")));
+                verify(studentExamRepository).countByExamIdAndUser(2, "1");
+            }
+        }
+    }
+
+    @Test
+    void rejectedCreateStudentExamDoesNotClaimPooledSet() throws Exception {
+        exam1.setStart(new Timestamp(System.currentTimeMillis() + 100000000L));
+        exam1.setEnd(new Timestamp(System.currentTimeMillis() + 100000000L));
+        doReturn(true).when(examQuestionPool).hasSets(exam1);
+
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+                mockedCommunication
+                    .when(() -> ExamServiceCommunication.postRequest(Constants.USER_1_COURSE_ID_5,
+                        Constants.GET_ENROLLMENT, ""))
+                    .thenReturn(Constants.ENROLLMENT_STRING);
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest(Constants.USER_ID_1, Constants.GET_EXTRA_TIME,
+                        "")).thenReturn(Constants.EXTRA_TIME_10);
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                    .thenReturn(true);
+                mockMvc.perform(post(Constants.CREATE_STUDENT_EXAM_STRING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content(Constants.EXAM_QUESTION)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(403));
+            }
+        }
+        verify(examQuestionPool, never()).claim(any(Exam.class));
+    }
+
+    @Test
+    void createStudentExamCourseServiceUnavailable() throws Exception {
+        exam1.setStart(new Timestamp(System.currentTimeMillis() - 100000L));
+        exam1.setEnd(new Timestamp(System.currentTimeMillis() + 100000L));
+        doReturn(true).when(examQuestionPool).hasSets(exam1);
+
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+                mockedCommunication
+                    .when(() -> ExamServiceCommunication.postRequest(Constants.USER_1_COURSE_ID_5,
+                        Constants.GET_ENROLLMENT, ""))
+                    .thenThrow(new ServiceUnavailableException("open", Duration.ofSeconds(5)));
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest(Constants.USER_ID_1, Constants.GET_EXTRA_TIME,
+                        "")).thenReturn(Constants.EXTRA_TIME_10);
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                    .thenReturn(true);
+                mockMvc.perform(post(Constants.CREATE_STUDENT_EXAM_STRING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content(Constants.EXAM_QUESTION)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(503))
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
             }
         }
+        verify(examQuestionPool, never()).claim(any(Exam.class));
     }
 
     @Test
@@ -661,6 +948,87 @@ class StudentExamControllerTest {
                     .andExpect(status().is(200))
                     .andExpect(
                         content().string(containsString(serializer.serialize(studentExam4))));
+                verify(examDeadlines).cancel(1);
+            }
+        }
+    }
+
+    @Test
+    void submitStudentExamCountsQuestions() throws Exception {
+        when(examQuestionRepository.countSubmittedErrorsByExamId(1))
+            .thenReturn(List.of(new QuestionErrorRate(1, 2, 1), new QuestionErrorRate(3, 2, 1)));
+        assertEquals(List.of(1, 3), questionDifficulty.mostIncorrectQuestions(1, 3));
+        doReturn(OptionalLong.of(System.currentTimeMillis() + 100000L))
+            .when(examDeadlines).deadline(1);
+        doAnswer(invocation -> invocation.getArgument(0))
+            .when(studentExamRepository).save(any(StudentExam.class));
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest("{\"questionIds\":[1,2]}",
+                        "8082/course_service/getQuestionsById", ""))
+                    .thenReturn(questionListJson.toString());
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                    .thenReturn(true);
+                mockMvc.perform(post(Constants.SUBMIT_EXAM)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content(serializer.serialize(studentExam3))
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200));
+            }
+        }
+        // The second question was answered incorrectly
+        assertEquals(List.of(1, 2, 3), questionDifficulty.mostIncorrectQuestions(1, 3));
+    }
+
+    @Test
+    void submitStudentExamAfterTrackedDeadline() throws Exception {
+        // The submitted starting time is recent, but the tracked deadline has passed
+        studentExam3.setStartingTime(new Timestamp(System.currentTimeMillis()));
+        doReturn(OptionalLong.of(System.currentTimeMillis() - 1000L))
+            .when(examDeadlines).deadline(1);
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post(Constants.SUBMIT_EXAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(serializer.serialize(studentExam3))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403))
+                .andExpect(content().string(containsString("The exam is over.")));
+        }
+        verify(studentExamRepository, never()).save(any(StudentExam.class));
+    }
+
+    @Test
+    void submitStudentExamCachedAnswerKeys() throws Exception {
+        exam1.setStart(new Timestamp(System.currentTimeMillis() - 100000L));
+        exam1.setEnd(new Timestamp(System.currentTimeMillis() + 100000L));
+        doReturn(studentExam4).when(studentExamRepository).save(any(StudentExam.class));
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest("{\"questionIds\":[1,2]}",
+                        "8082/course_service/getQuestionsById", ""))
+                    .thenReturn(questionListJson.toString());
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                    .thenReturn(true);
+                for (int i = 0; i < 2; i++) {
+                    mockMvc.perform(post(Constants.SUBMIT_EXAM)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(Constants.SESSIONHEADERKEY, "")
+                        .content(serializer.serialize(studentExam3))
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().is(200));
+                }
+                mockedCommunication.verify(Mockito.times(1), () -> ExamServiceCommunication
+                    .postRequest("{\"questionIds\":[1,2]}",
+                        "8082/course_service/getQuestionsById", ""));
+                assertEquals(2, answerKeyCache.size());
             }
         }
     }
@@ -690,6 +1058,23 @@ class StudentExamControllerTest {
         }
     }
 
+    @Test
+    void submitStudentExamUnwrittenAnswers() throws Exception {
+        when(studentAnswerBuffer.flush()).thenReturn(false);
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 0))
+                .thenReturn(true);
+            mockMvc.perform(post(Constants.SUBMIT_EXAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content(serializer.serialize(studentExam3))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(503))
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        }
+        verify(studentExamRepository, never()).save(any(StudentExam.class));
+    }
+
     @Test
     void submitStudentExamAfterEnd() throws Exception {
         exam1.setStart(new Timestamp(System.currentTimeMillis() - 100000L));
@@ -709,6 +1094,130 @@ class StudentExamControllerTest {
         }
     }
 
+    @Test
+    void regradeStudentExam() throws Exception {
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest("{\"questionIds\":[1,2]}",
+                        "8082/course_service/getQuestionsById", ""))
+                    .thenReturn(questionListJson.toString());
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                    .thenReturn(true);
+                examQuestions.get(0).setCorrect(true);
+                examQuestions.get(1).setCorrect(true);
+                studentExam1.setCorrectQuestions(2);
+                studentExam1.setGrade(10.0f);
+                String response = mockMvc.perform(post("/exam_service/regradeStudentExam")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content("{\"studentExamId\":1}")
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200))
+                    .andReturn().getResponse().getContentAsString();
+
+                JSONObject json = new JSONObject(response);
+                assertEquals(2, json.getInt("storedCorrectQuestions"));
+                assertEquals(1, json.getInt("correctQuestions"));
+                assertEquals(5.5, json.getDouble("grade"));
+                assertEquals(1, json.getJSONArray("drift").length());
+                assertEquals(2, json.getJSONArray("drift").getJSONObject(0)
+                    .getInt("examQuestion"));
+                Mockito.verify(studentExamRepository, Mockito.never())
+                    .save(any(StudentExam.class));
+            }
+        }
+    }
+
+    @Test
+    void regradeStudentExamRepair() throws Exception {
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+                .mockStatic(ExamServiceCommunication.class)) {
+                mockedCommunication.when(() -> ExamServiceCommunication
+                    .postRequest("{\"questionIds\":[1,2]}",
+                        "8082/course_service/getQuestionsById", ""))
+                    .thenReturn(questionListJson.toString());
+                mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                    .thenReturn(true);
+                mockMvc.perform(post("/exam_service/regradeStudentExam")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(Constants.SESSIONHEADERKEY, "")
+                    .content("{\"studentExamId\":1,\"repair\":true}")
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200));
+
+                Mockito.verify(studentExamRepository).save(studentExam1);
+                assertEquals(1, studentExam1.getCorrectQuestions());
+                assertEquals(5.5f, studentExam1.getGrade());
+                assertEquals(true, examQuestions.get(0).getCorrect());
+                assertEquals(false, examQuestions.get(1).getCorrect());
+            }
+        }
+    }
+
+    @Test
+    void regradeStudentExamNoAnswerKeys() throws Exception {
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/regradeStudentExam")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":1}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(404))
+                .andExpect(content().string("Could not retrieve correct answers."));
+        }
+    }
+
+    @Test
+    void regradeStudentExamUnwrittenAnswers() throws Exception {
+        when(studentAnswerBuffer.flush()).thenReturn(false);
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/regradeStudentExam")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":1}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(503));
+        }
+        verify(studentExamRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void regradeStudentExamNotFound() throws Exception {
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            mockMvc.perform(post("/exam_service/regradeStudentExam")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":7}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(404))
+                .andExpect(content().string(Constants.NOT_FOUND));
+        }
+    }
+
+    @Test
+    void regradeStudentExamNoAuth() throws Exception {
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(false);
+            mockMvc.perform(post("/exam_service/regradeStudentExam")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"studentExamId\":1}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403))
+                .andExpect(content().string(Constants.NOT_AUTHORIZED_STRING_EXAM));
+        }
+    }
+
     @Test
     void notAuthorizedExceptionGetLeastAnsweredQuestions() throws Exception {
         try (MockedStatic<Authorisation> mockedStatic = Mockito.mockStatic(Authorisation.class)) {
@@ -729,7 +1238,7 @@ class StudentExamControllerTest {
         try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
             mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
                 .thenReturn(true);
-            when(studentExamRepository.findByExamId(1))
+            when(examQuestionRepository.countSubmittedErrorsByExamId(1))
                 .thenReturn(List.of());
             mockMvc.perform(post(Constants.GET_LEAST_ANSWERED)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -747,19 +1256,9 @@ class StudentExamControllerTest {
         try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
             mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
                 .thenReturn(true);
-            ExamQuestion q2 = new ExamQuestion();
-            ExamQuestion q3 = new ExamQuestion();
-            q2.setCorrect(true);
-            q2.setQuestion(2);
-            q3.setCorrect(false);
-            q3.setQuestion(3);
-            ExamQuestion q4 = new ExamQuestion();
-            q4.setCorrect(false);
-            q4.setQuestion(4);
-            StudentExam exam = new StudentExam();
-            ExamQuestion q1 = new ExamQuestion();
-            exam.setExamQuestions(List.of(q1, q2, q3, q4));
-            doReturn(List.of(exam)).when(studentExamRepository).findByExamId(1);
+            doReturn(List.of(new QuestionErrorRate(2, 1, 0), new QuestionErrorRate(3, 1, 1),
+                new QuestionErrorRate(4, 1, 1)))
+                .when(examQuestionRepository).countSubmittedErrorsByExamId(1);
 
             mockMvc.perform(post(Constants.GET_LEAST_ANSWERED)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -772,24 +1271,34 @@ class StudentExamControllerTest {
         }
     }
 
+    @Test
+    void getLeastAnsweredQuestionsAmount() throws Exception {
+        try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
+            mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
+                .thenReturn(true);
+            when(examQuestionRepository.countSubmittedErrorsByExamId(1))
+                .thenReturn(List.of(new QuestionErrorRate(1, 3, 3), new QuestionErrorRate(2, 2, 2),
+                    new QuestionErrorRate(3, 1, 1)));
+            mockMvc.perform(post(Constants.GET_LEAST_ANSWERED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(Constants.SESSIONHEADERKEY, "")
+                .content("{\"examId\":1,\"amount\":4}")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(404))
+                .andExpect(content().string(
+                    containsString("There was less than 4 incorrectly answered questions.")));
+        }
+        verify(examQuestionRepository).countSubmittedErrorsByExamId(1);
+    }
+
     @Test
     void getLeastAnsweredQuestions() throws Exception {
-        ExamQuestion q1 = new ExamQuestion();
-        q1.setCorrect(false);
-        q1.setQuestion(1);
-        ExamQuestion q2 = new ExamQuestion();
-        q2.setCorrect(false);
-        q2.setQuestion(2);
-        ExamQuestion q3 = new ExamQuestion();
-        q3.setCorrect(false);
-        q3.setQuestion(3);
-        StudentExam exam = new StudentExam();
-        exam.setExamQuestions(List.of(q3, q2, q2, q1, q1, q1));
         try (MockedStatic<Authorisation> mockedAuth = Mockito.mockStatic(Authorisation.class)) {
             mockedAuth.when(() -> Authorisation.getAuthorisation("", 1))
                 .thenReturn(true);
-            when(studentExamRepository.findByExamId(1))
-                .thenReturn(List.of(exam));
+            when(examQuestionRepository.countSubmittedErrorsByExamId(1))
+                .thenReturn(List.of(new QuestionErrorRate(1, 3, 3), new QuestionErrorRate(2, 2, 2),
+                    new QuestionErrorRate(3, 1, 1)));
             try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
                 .mockStatic(ExamServiceCommunication.class)) {
                 JSONArray a = new JSONArray();
@@ -815,11 +1324,9 @@ class StudentExamControllerTest {
 
     @Test
     void isExamLimitReachedTest() {
-        when(studentExamRepository.findByExamAndUser(1, "1"))
-            .thenReturn(List.of(new StudentExam(), new StudentExam(), new StudentExam()));
+        when(studentExamRepository.countByExamIdAndUser(1, "1")).thenReturn(3L);
         Assertions.assertTrue(support.isExamLimitReached(1, "1"));
-        when(studentExamRepository.findByExamAndUser(1, "1"))
-            .thenReturn(List.of(new StudentExam(), new StudentExam()));
+        when(studentExamRepository.countByExamIdAndUser(1, "1")).thenReturn(2L);
         Assertions.assertFalse(support.isExamLimitReached(1, "1"));
     }
 
@@ -909,6 +1416,21 @@ class StudentExamControllerTest {
         }
     }
 
+    @Test
+    void studentExamFromCourseServiceWrappedTest() {
+        try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+            .mockStatic(ExamServiceCommunication.class)) {
+            JSONObject response = new JSONObject();
+            response.put("studentExam", serializer.serialize(studentExam1));
+            mockedCommunication
+                .when(() -> ExamServiceCommunication.postRequest(Constants.COURSE_ID_5,
+                    Constants.EXAM_QUESTION_BY_COURSE,
+                    "")).thenReturn(response.toString());
+            StudentExam s = support.studentExamFromCourseService(5, "");
+            Assertions.assertEquals(s, studentExam1);
+        }
+    }
+
     @Test
     void studentExamExtraTimeTest() {
         try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
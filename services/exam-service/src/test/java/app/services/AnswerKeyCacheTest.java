@@ -0,0 +1,102 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import app.communication.ExamServiceCommunication;
+import app.json.JsonSerializerFactory;
+import app.models.Answer;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.serializerfactory.Serializer;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AnswerKeyCacheTest {
+
+    private static final String GET_QUESTIONS_BY_ID = "8082/course_service/getQuestionsById";
+
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+    private transient AnswerKeyCache answerKeyCache;
+
+    @BeforeEach
+    void setup() {
+        answerKeyCache = new AnswerKeyCache();
+        ReflectionTestUtils.setField(answerKeyCache, "maxSize", 2);
+    }
+
+    /**
+     * Answers a getQuestionsById request with the requested questions, each with one correct
+     * answer.
+     */
+    private String questions(String request) {
+        JSONArray questionIds = new JSONObject(request).getJSONArray("questionIds");
+        JSONArray questions = new JSONArray();
+        for (int i = 0; i < questionIds.length(); i++) {
+            Answer correct = new Answer();
+            correct.setCorrect(true);
+            Question question = new Question();
+            question.setId(questionIds.getInt(i));
+            question.setAnswers(List.of(correct));
+            questions.put(serializer.serialize(question));
+        }
+        return new JSONObject().put("questions", questions).toString();
+    }
+
+    private static List<ExamQuestion> examQuestions(int question) {
+        ExamQuestion examQuestion = new ExamQuestion();
+        examQuestion.setQuestion(question);
+        return List.of(examQuestion);
+    }
+
+    @Test
+    void leastRecentlyUsedKeyIsEvicted() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenAnswer(invocation -> questions(invocation.getArgument(0)));
+
+            assertNotNull(answerKeyCache.getKeys(examQuestions(1), ""));
+            assertNotNull(answerKeyCache.getKeys(examQuestions(2), ""));
+            // Using the key of question 1 makes the key of question 2 the eldest
+            assertNotNull(answerKeyCache.getKeys(examQuestions(1), ""));
+            assertNotNull(answerKeyCache.getKeys(examQuestions(3), ""));
+
+            mocked.verify(Mockito.times(3), () -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")));
+        }
+        assertEquals(2, answerKeyCache.size());
+        assertNotNull(answerKeyCache.peek(1));
+        assertNull(answerKeyCache.peek(2));
+        assertNotNull(answerKeyCache.peek(3));
+    }
+
+    @Test
+    void expiredKeyIsFetchedAgain() throws InterruptedException {
+        ReflectionTestUtils.setField(answerKeyCache, "timeToLiveMillis", 1L);
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenAnswer(invocation -> questions(invocation.getArgument(0)));
+
+            assertNotNull(answerKeyCache.getKeys(examQuestions(1), ""));
+            Thread.sleep(10);
+            assertNull(answerKeyCache.peek(1));
+            assertNotNull(answerKeyCache.getKeys(examQuestions(1), ""));
+
+            mocked.verify(Mockito.times(2), () -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.repositories.StudentExamRepository;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AttemptCounterTest {
+
+    private static final Timestamp END_1 = new Timestamp(1000L);
+    private static final Timestamp END_2 = new Timestamp(2000L);
+
+    private transient StudentExamRepository studentExamRepository;
+    private transient AttemptCounter attemptCounter;
+
+    @BeforeEach
+    void setup() {
+        studentExamRepository = mock(StudentExamRepository.class);
+        attemptCounter = new AttemptCounter(studentExamRepository);
+    }
+
+    @Test
+    void countIsLoadedOnce() {
+        when(studentExamRepository.countByExamIdAndUser(1, "a")).thenReturn(1L);
+        assertFalse(attemptCounter.isLimitReached(1, "a", END_1));
+        assertTrue(attemptCounter.tryAcquire(1, "a", END_1));
+        assertTrue(attemptCounter.tryAcquire(1, "a", END_1));
+        assertFalse(attemptCounter.tryAcquire(1, "a", END_1));
+        assertTrue(attemptCounter.isLimitReached(1, "a", END_1));
+        verify(studentExamRepository, times(1)).countByExamIdAndUser(1, "a");
+
+        attemptCounter.clear();
+        assertFalse(attemptCounter.isLimitReached(1, "a", END_1));
+        verify(studentExamRepository, times(2)).countByExamIdAndUser(1, "a");
+    }
+
+    @Test
+    void releaseGivesAnAttemptBack() {
+        when(studentExamRepository.countByExamIdAndUser(1, "a")).thenReturn(3L);
+        assertFalse(attemptCounter.tryAcquire(1, "a", END_1));
+        attemptCounter.release(1, "a");
+        assertTrue(attemptCounter.tryAcquire(1, "a", END_1));
+        // Other students and exams are counted separately
+        assertTrue(attemptCounter.tryAcquire(2, "a", END_2));
+        assertTrue(attemptCounter.tryAcquire(1, "b", END_1));
+    }
+
+    @Test
+    void countsOfEndedExamsAreEvicted() {
+        when(studentExamRepository.countByExamIdAndUser(1, "a")).thenReturn(1L);
+        assertTrue(attemptCounter.tryAcquire(1, "a", END_1));
+        assertTrue(attemptCounter.tryAcquire(2, "a", END_2));
+        assertTrue(attemptCounter.tryAcquire(1, "b", END_1));
+        assertEquals(2, attemptCounter.size());
+
+        attemptCounter.evictEnded(1000L);
+        assertEquals(2, attemptCounter.size());
+        attemptCounter.evictEnded(1500L);
+        assertEquals(1, attemptCounter.size());
+        // The count is loaded again if it is needed after all
+        assertFalse(attemptCounter.isLimitReached(1, "a", END_1));
+        verify(studentExamRepository, times(2)).countByExamIdAndUser(1, "a");
+    }
+
+    @Test
+    void racingRequestsCannotExceedTheLimit() throws Exception {
+        when(studentExamRepository.countByExamIdAndUser(1, "a")).thenReturn(1L);
+        final int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            requests.add(() -> {
+                start.await();
+                return attemptCounter.tryAcquire(1, "a", END_1);
+            });
+        }
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> request : requests) {
+            results.add(executor.submit(request));
+        }
+        start.countDown();
+        int acquired = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                acquired++;
+            }
+        }
+        executor.shutdown();
+        assertEquals(AttemptCounter.MAX_ATTEMPTS - 1, acquired);
+        verify(studentExamRepository, times(1)).countByExamIdAndUser(1, "a");
+    }
+}
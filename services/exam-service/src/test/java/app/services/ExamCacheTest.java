@@ -0,0 +1,105 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.models.Exam;
+import app.models.StudentExam;
+import app.repositories.ExamRepository;
+import java.sql.Timestamp;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ExamCacheTest {
+
+    private transient ExamRepository examRepository;
+    private transient ExamCache examCache;
+
+    @BeforeEach
+    void setup() {
+        examRepository = mock(ExamRepository.class);
+        examCache = new ExamCache(examRepository);
+        for (int id = 1; id <= 3; id++) {
+            when(examRepository.findById(id)).thenReturn(exam(id));
+        }
+    }
+
+    private static Exam exam(int id) {
+        return new Exam(id, 10 + id, new Timestamp(1000L * id), new Timestamp(2000L * id),
+            List.of(new StudentExam()));
+    }
+
+    @Test
+    void examsAreLoadedOnce() {
+        Exam first = examCache.get(1);
+        Exam second = examCache.get(1);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(11, second.getCourseId());
+        assertNull(second.getStudentExamList());
+        verify(examRepository, times(1)).findById(1);
+        assertEquals(1, examCache.getHits());
+        assertEquals(1, examCache.getMisses());
+    }
+
+    @Test
+    void missingExamsAreNotCached() {
+        assertNull(examCache.get(4));
+        assertNull(examCache.get(4));
+        verify(examRepository, times(2)).findById(4);
+        assertEquals(0, examCache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedExamIsEvicted() {
+        ReflectionTestUtils.setField(examCache, "capacity", 2);
+        examCache.get(1);
+        examCache.get(2);
+        examCache.get(1);
+        examCache.get(3);
+        assertEquals(2, examCache.size());
+        assertEquals(1, examCache.getEvictions());
+
+        examCache.get(1);
+        verify(examRepository, times(1)).findById(1);
+        examCache.get(2);
+        verify(examRepository, times(2)).findById(2);
+    }
+
+    @Test
+    void expiredExamsAreLoadedAgain() {
+        ReflectionTestUtils.setField(examCache, "timeToLiveMillis", -1L);
+        examCache.get(1);
+        examCache.get(1);
+        verify(examRepository, times(2)).findById(1);
+        assertEquals(1, examCache.getEvictions());
+        assertEquals(0, examCache.getHits());
+    }
+
+    @Test
+    void invalidatedExamsAreLoadedAgain() {
+        examCache.get(1);
+        examCache.invalidate(1);
+        examCache.get(1);
+        verify(examRepository, times(2)).findById(1);
+        assertEquals(2, examCache.toJson().getLong("misses"));
+        assertEquals(1, examCache.toJson().getLong("invalidations"));
+    }
+
+    @Test
+    void examsLoadedDuringAnInvalidationAreNotCached() {
+        when(examRepository.findById(1)).thenAnswer(invocation -> {
+            examCache.invalidate(1);
+            return exam(1);
+        });
+        assertEquals(11, examCache.get(1).getCourseId());
+        assertEquals(0, examCache.size());
+    }
+}
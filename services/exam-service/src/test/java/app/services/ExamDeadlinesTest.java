@@ -0,0 +1,180 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.communication.ServiceUnavailableException;
+import app.models.ExamQuestion;
+import app.models.StudentExam;
+import app.repositories.StudentExamRepository;
+import app.statistics.QuestionDifficulty;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+class ExamDeadlinesTest {
+
+    private transient StudentExamRepository studentExamRepository;
+    private transient IncrementalGrader grader;
+    private transient StudentAnswerBuffer buffer;
+    private transient QuestionDifficulty questionDifficulty;
+    private transient ExamDeadlines deadlines;
+    private transient long startingTime;
+
+    @BeforeEach
+    void setup() {
+        studentExamRepository = mock(StudentExamRepository.class);
+        grader = mock(IncrementalGrader.class);
+        buffer = mock(StudentAnswerBuffer.class);
+        when(buffer.flush()).thenReturn(true);
+        questionDifficulty = mock(QuestionDifficulty.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        deadlines = new ExamDeadlines(studentExamRepository, grader, buffer, questionDifficulty,
+            transactionManager);
+        ReflectionTestUtils.setField(deadlines, "batchSize", 2);
+        startingTime = System.currentTimeMillis();
+    }
+
+    private StudentExam attempt(int id, int extraTime) {
+        StudentExam studentExam = new StudentExam();
+        studentExam.setId(id);
+        studentExam.setExtraTime(extraTime);
+        studentExam.setStartingTime(new Timestamp(startingTime));
+        List<ExamQuestion> examQuestions = new ArrayList<>();
+        examQuestions.add(new ExamQuestion());
+        examQuestions.add(new ExamQuestion());
+        studentExam.setExamQuestions(examQuestions);
+        return studentExam;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<StudentExam>> saved(int amount) {
+        ArgumentCaptor<List<StudentExam>> captor = ArgumentCaptor.forClass(List.class);
+        verify(studentExamRepository, times(amount)).saveAll(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void recoverRegistersTheUngradedAttempts() {
+        when(studentExamRepository.findUngraded())
+            .thenReturn(List.of(attempt(1, 0), attempt(2, 5)));
+        deadlines.recover();
+
+        assertEquals(2, deadlines.size());
+        assertEquals(OptionalLong.of(startingTime + ExamDeadlines.EXAM_DURATION),
+            deadlines.deadline(1));
+        assertEquals(OptionalLong.of(startingTime + 5 * 60 * 1000L + ExamDeadlines.EXAM_DURATION),
+            deadlines.deadline(2));
+    }
+
+    @Test
+    void expiredAttemptsAreGradedInBatches() {
+        deadlines.recover();
+        List<StudentExam> attempts = List.of(attempt(1, 0), attempt(2, 0), attempt(3, 0));
+        attempts.forEach(deadlines::register);
+        deadlines.register(attempt(4, 10));
+        when(studentExamRepository.findAllById(List.of(1, 2))).thenReturn(attempts.subList(0, 2));
+        when(studentExamRepository.findAllById(List.of(3))).thenReturn(attempts.subList(2, 3));
+        when(grader.grade(anyList(), anyString())).thenReturn(1);
+
+        long now = startingTime + ExamDeadlines.EXAM_DURATION + 1000;
+        assertEquals(0, deadlines.closeExpired(startingTime));
+        assertEquals(3, deadlines.closeExpired(now));
+
+        verify(buffer).flush();
+        List<List<StudentExam>> batches = saved(2);
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        assertEquals(1, attempts.get(0).getCorrectQuestions());
+        assertEquals(5.5f, attempts.get(0).getGrade());
+        assertFalse(deadlines.deadline(1).isPresent());
+        assertTrue(deadlines.deadline(4).isPresent());
+        attempts.forEach(attempt -> verify(questionDifficulty).record(attempt));
+    }
+
+    @Test
+    void attemptsSubmittedInTheMeantimeAreSkipped() {
+        deadlines.recover();
+        StudentExam studentExam = attempt(1, 0);
+        deadlines.register(studentExam);
+        studentExam.setGrade(7f);
+        when(studentExamRepository.findAllById(List.of(1))).thenReturn(List.of(studentExam));
+
+        assertEquals(0, deadlines.closeExpired(startingTime + ExamDeadlines.EXAM_DURATION + 1000));
+        verify(grader, never()).grade(anyList(), anyString());
+        assertTrue(saved(1).get(0).isEmpty());
+        verify(questionDifficulty, never()).record(any());
+    }
+
+    @Test
+    void attemptsThatCannotBeGradedAreRetried() {
+        deadlines.recover();
+        StudentExam studentExam = attempt(1, 0);
+        deadlines.register(studentExam);
+        when(studentExamRepository.findAllById(List.of(1))).thenReturn(List.of(studentExam));
+        when(grader.grade(anyList(), anyString())).thenReturn(-1);
+
+        long now = startingTime + ExamDeadlines.EXAM_DURATION + 1000;
+        assertEquals(0, deadlines.closeExpired(now));
+        assertEquals(OptionalLong.of(now + 10_000), deadlines.deadline(1));
+    }
+
+    @Test
+    void attemptsAreRetriedWhenAnswersCannotBeWritten() {
+        deadlines.recover();
+        deadlines.register(attempt(1, 0));
+        when(buffer.flush()).thenReturn(false);
+
+        long now = startingTime + ExamDeadlines.EXAM_DURATION + 1000;
+        assertEquals(0, deadlines.closeExpired(now));
+        verify(grader, never()).grade(anyList(), anyString());
+        verify(studentExamRepository, never()).findAllById(any());
+        assertEquals(OptionalLong.of(now + 10_000), deadlines.deadline(1));
+    }
+
+    @Test
+    void attemptsAreRetriedWhenCourseServiceIsUnavailable() {
+        deadlines.recover();
+        List<StudentExam> attempts = List.of(attempt(1, 0), attempt(2, 0), attempt(3, 0));
+        attempts.forEach(deadlines::register);
+        when(studentExamRepository.findAllById(List.of(1, 2))).thenReturn(attempts.subList(0, 2));
+        when(grader.grade(anyList(), anyString()))
+            .thenThrow(new ServiceUnavailableException("open", Duration.ofSeconds(30)));
+
+        long now = startingTime + ExamDeadlines.EXAM_DURATION + 1000;
+        assertEquals(0, deadlines.closeExpired(now));
+        // The later batch is not tried, and every attempt waits as long as the breaker asks
+        verify(studentExamRepository, never()).findAllById(List.of(3));
+        for (int id = 1; id <= 3; id++) {
+            assertEquals(OptionalLong.of(now + 30_000), deadlines.deadline(id));
+        }
+    }
+
+    @Test
+    void cancelledAttemptsAreNotSubmitted() {
+        deadlines.recover();
+        deadlines.register(attempt(1, 0));
+        deadlines.cancel(1);
+
+        assertEquals(0, deadlines.closeExpired(startingTime + ExamDeadlines.EXAM_DURATION + 1000));
+        verify(studentExamRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,151 @@
+package app.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import app.communication.ExamServiceCommunication;
+import app.communication.ServiceUnavailableException;
+import app.json.JsonSerializerFactory;
+import app.models.Exam;
+import app.models.StudentExam;
+import app.repositories.ExamRepository;
+import app.serializerfactory.Serializer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ExamQuestionPoolTest {
+
+    private static final String EXAM_QUESTION_SETS =
+        "8082/course_service/examQuestionSetsByCourseId";
+
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+    private transient ExamRepository examRepository;
+    private transient ExamQuestionPool pool;
+    private transient Exam exam;
+    private transient String twoSets;
+
+    @BeforeEach
+    void setup() {
+        examRepository = mock(ExamRepository.class);
+        pool = new ExamQuestionPool(examRepository, Runnable::run);
+        ReflectionTestUtils.setField(pool, "poolSize", 4);
+        ReflectionTestUtils.setField(pool, "batchSize", 2);
+        ReflectionTestUtils.setField(pool, "leadTime", 60_000L);
+        ReflectionTestUtils.setField(pool, "retryDelay", 60_000L);
+
+        exam = new Exam();
+        exam.setId(1);
+        exam.setCourseId(5);
+        exam.setStart(new Timestamp(System.currentTimeMillis() + 10_000L));
+        exam.setEnd(new Timestamp(System.currentTimeMillis() + 100_000L));
+
+        StudentExam studentExam = new StudentExam();
+        studentExam.setUser("1");
+        JSONArray sets = new JSONArray();
+        sets.put(serializer.serialize(studentExam));
+        sets.put(serializer.serialize(studentExam));
+        twoSets = new JSONObject().put("studentExams", sets).toString();
+    }
+
+    @Test
+    void claimRefillsEmptyPool() {
+        try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+            .mockStatic(ExamServiceCommunication.class)) {
+            mockedCommunication.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(EXAM_QUESTION_SETS), anyString()))
+                .thenReturn(twoSets);
+
+            Assertions.assertNull(pool.claim(exam));
+            Assertions.assertEquals(4, pool.size(1));
+            Assertions.assertEquals("1", pool.claim(exam).getUser());
+            Assertions.assertEquals(3, pool.size(1));
+        }
+    }
+
+    @Test
+    void hasSetsRefillsWithoutClaiming() {
+        try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+            .mockStatic(ExamServiceCommunication.class)) {
+            mockedCommunication.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(EXAM_QUESTION_SETS), anyString()))
+                .thenReturn(twoSets);
+
+            Assertions.assertTrue(pool.hasSets(exam));
+            Assertions.assertTrue(pool.hasSets(exam));
+            Assertions.assertEquals(4, pool.size(1));
+        }
+    }
+
+    @Test
+    void claimDoesNotRetryFailedRefillImmediately() {
+        try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+            .mockStatic(ExamServiceCommunication.class)) {
+            Assertions.assertNull(pool.claim(exam));
+            Assertions.assertNull(pool.claim(exam));
+            mockedCommunication.verify(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(EXAM_QUESTION_SETS), anyString()));
+        }
+    }
+
+    @Test
+    void refillUpcomingFillsAndDiscardsPools() {
+        try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+            .mockStatic(ExamServiceCommunication.class)) {
+            mockedCommunication.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(EXAM_QUESTION_SETS), anyString()))
+                .thenReturn(twoSets);
+            when(examRepository.findByStartBeforeAndEndAfter(any(), any()))
+                .thenReturn(List.of(exam));
+
+            pool.refillUpcoming();
+            Assertions.assertEquals(4, pool.size(1));
+
+            when(examRepository.findByStartBeforeAndEndAfter(any(), any()))
+                .thenReturn(List.of());
+            pool.refillUpcoming();
+            Assertions.assertEquals(0, pool.size(1));
+        }
+    }
+
+    @Test
+    void refillUpcomingContinuesWhenCourseServiceIsUnavailable() {
+        Exam other = new Exam();
+        other.setId(2);
+        other.setCourseId(6);
+        other.setStart(exam.getStart());
+        other.setEnd(exam.getEnd());
+        try (MockedStatic<ExamServiceCommunication> mockedCommunication = Mockito
+            .mockStatic(ExamServiceCommunication.class)) {
+            mockedCommunication.when(() -> ExamServiceCommunication
+                .postRequest(contains("\"courseId\":5"), eq(EXAM_QUESTION_SETS), anyString()))
+                .thenThrow(new ServiceUnavailableException("open", Duration.ofSeconds(1)));
+            mockedCommunication.when(() -> ExamServiceCommunication
+                .postRequest(contains("\"courseId\":6"), eq(EXAM_QUESTION_SETS), anyString()))
+                .thenReturn(twoSets);
+            when(examRepository.findByStartBeforeAndEndAfter(any(), any()))
+                .thenReturn(List.of(exam, other));
+
+            pool.refillUpcoming();
+            Assertions.assertEquals(0, pool.size(1));
+            Assertions.assertEquals(4, pool.size(2));
+
+            // The pool of the first exam is not refilled again until the retry delay passed
+            pool.refillUpcoming();
+            mockedCommunication.verify(() -> ExamServiceCommunication
+                .postRequest(contains("\"courseId\":5"), eq(EXAM_QUESTION_SETS), anyString()));
+        }
+    }
+}
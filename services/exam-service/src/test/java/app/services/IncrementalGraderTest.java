@@ -0,0 +1,263 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.communication.ExamServiceCommunication;
+import app.communication.ServiceUnavailableException;
+import app.json.JsonSerializerFactory;
+import app.models.Answer;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.models.StudentAnswer;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentAnswerRepository;
+import app.serializerfactory.Serializer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IncrementalGraderTest {
+
+    private static final String GET_QUESTIONS_BY_ID = "8082/course_service/getQuestionsById";
+
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+    private transient ExamQuestionRepository examQuestionRepository;
+    private transient StudentAnswerRepository studentAnswerRepository;
+    private transient AnswerKeyCache answerKeyCache;
+    private transient StudentAnswerBuffer buffer;
+    private transient IncrementalGrader grader;
+    private transient ExamQuestion examQuestion1;
+    private transient ExamQuestion examQuestion2;
+    private transient String questions;
+    private final transient List<Runnable> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        examQuestionRepository = mock(ExamQuestionRepository.class);
+        studentAnswerRepository = mock(StudentAnswerRepository.class);
+        answerKeyCache = new AnswerKeyCache();
+        buffer = mock(StudentAnswerBuffer.class);
+        when(buffer.overlay(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        grader = new IncrementalGrader(examQuestionRepository, studentAnswerRepository,
+            answerKeyCache, buffer, tasks::add);
+
+        // The first answer of both questions is the only correct one
+        JSONArray questionArray = new JSONArray();
+        for (int id = 1; id <= 2; id++) {
+            Answer correct = new Answer();
+            correct.setCorrect(true);
+            Answer incorrect = new Answer();
+            incorrect.setCorrect(false);
+            Question question = new Question();
+            question.setId(id);
+            question.setAnswers(List.of(correct, incorrect));
+            questionArray.put(serializer.serialize(question));
+        }
+        questions = new JSONObject().put("questions", questionArray).toString();
+
+        examQuestion1 = examQuestion(11, 1, true, false);
+        examQuestion2 = examQuestion(12, 2, false, true);
+        when(examQuestionRepository.findById(11)).thenReturn(examQuestion1);
+        when(examQuestionRepository.findById(12)).thenReturn(examQuestion2);
+        when(studentAnswerRepository.findByExamQuestionIdOrderById(11))
+            .thenReturn(examQuestion1.getStudentAnswers());
+        when(studentAnswerRepository.findByExamQuestionIdOrderById(12))
+            .thenReturn(examQuestion2.getStudentAnswers());
+    }
+
+    private static ExamQuestion examQuestion(int id, int question, boolean... selected) {
+        StudentAnswer first = new StudentAnswer();
+        first.setSelected(selected[0]);
+        StudentAnswer second = new StudentAnswer();
+        second.setSelected(selected[1]);
+        ExamQuestion examQuestion = new ExamQuestion();
+        examQuestion.setId(id);
+        examQuestion.setQuestion(question);
+        examQuestion.setStudentAnswers(List.of(first, second));
+        return examQuestion;
+    }
+
+    @Test
+    void gradeQuestionStoresResult() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            assertTrue(grader.gradeQuestion(11, ""));
+            assertFalse(grader.gradeQuestion(12, ""));
+        }
+        verify(buffer).writeCorrect(11, true);
+        verify(buffer).writeCorrect(12, false);
+        assertEquals(2, grader.size());
+    }
+
+    @Test
+    void gradeLaterGradesRepeatedSavesOnce() {
+        grader.gradeLater(11, "");
+        grader.gradeLater(11, "");
+        grader.gradeLater(null, "");
+        assertEquals(1, tasks.size());
+        verify(examQuestionRepository, never()).findById(anyInt());
+
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            tasks.get(0).run();
+        }
+        verify(buffer).writeCorrect(11, true);
+        assertEquals(1, grader.size());
+    }
+
+    @Test
+    void gradeLaterSkipsForgottenQuestions() {
+        grader.gradeLater(11, "");
+        grader.forget(11);
+        tasks.get(0).run();
+
+        verify(examQuestionRepository, never()).findById(anyInt());
+        assertEquals(0, grader.size());
+    }
+
+    @Test
+    void gradeQuestionWithoutAnswerKey() {
+        assertNull(grader.gradeQuestion(11, ""));
+        assertNull(grader.gradeQuestion(13, ""));
+        assertNull(grader.gradeQuestion(null, ""));
+        verify(buffer, never()).writeCorrect(anyInt(), anyBoolean());
+        assertEquals(0, grader.size());
+    }
+
+    @Test
+    void submissionUsesGradedQuestions() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            grader.gradeQuestion(11, "");
+            grader.gradeQuestion(12, "");
+            mocked.clearInvocations();
+
+            assertEquals(1, grader.grade(List.of(examQuestion1, examQuestion2), ""));
+            mocked.verify(Mockito.never(), () -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")));
+        }
+        assertTrue(examQuestion1.getCorrect());
+        assertFalse(examQuestion2.getCorrect());
+        assertEquals(0, grader.size());
+    }
+
+    @Test
+    void submissionRegradesChangedSelection() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            grader.gradeQuestion(12, "");
+        }
+        // The submitted answers of question 2 differ from the ones that were graded
+        ExamQuestion submitted = examQuestion(12, 2, true, false);
+        assertEquals(1, grader.grade(List.of(submitted), ""));
+        assertTrue(submitted.getCorrect());
+    }
+
+    @Test
+    void submissionRegradesInvalidatedAnswerKey() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            grader.gradeQuestion(11, "");
+            answerKeyCache.invalidate(List.of(1));
+            mocked.clearInvocations();
+
+            assertEquals(1, grader.grade(List.of(examQuestion1), ""));
+            mocked.verify(() -> ExamServiceCommunication
+                .postRequest("{\"questionIds\":[1]}", GET_QUESTIONS_BY_ID, ""));
+        }
+    }
+
+    @Test
+    void gradeQuestionWhileCourseServiceIsUnavailable() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenThrow(new ServiceUnavailableException("open", Duration.ofSeconds(1)));
+            assertNull(grader.gradeQuestion(11, ""));
+        }
+        verify(buffer, never()).writeCorrect(anyInt(), anyBoolean());
+    }
+
+    @Test
+    void submissionWithoutAnswerKeys() {
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(null);
+            assertEquals(-1, grader.grade(List.of(examQuestion1), ""));
+        }
+    }
+
+    @Test
+    void regradeReportsDrift() {
+        examQuestion1.setCorrect(false);
+        examQuestion2.setCorrect(false);
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            List<ExamQuestion> examQuestions = List.of(examQuestion1, examQuestion2);
+            boolean[] correct = grader.regrade(examQuestions, "");
+            assertArrayEquals(new boolean[] {true, false}, correct);
+
+            JSONArray drift = IncrementalGrader.drift(examQuestions, correct);
+            assertEquals(1, drift.length());
+            assertEquals(11, drift.getJSONObject(0).getInt("examQuestion"));
+            assertFalse(drift.getJSONObject(0).getBoolean("stored"));
+            assertTrue(drift.getJSONObject(0).getBoolean("actual"));
+        }
+        assertEquals(0, answerKeyCache.size());
+    }
+
+    @Test
+    void consistencyCheckUsesResultFromScratch() {
+        ReflectionTestUtils.setField(grader, "consistencyCheck", true);
+        try (MockedStatic<ExamServiceCommunication> mocked =
+                 Mockito.mockStatic(ExamServiceCommunication.class)) {
+            mocked.when(() -> ExamServiceCommunication
+                .postRequest(anyString(), eq(GET_QUESTIONS_BY_ID), eq("")))
+                .thenReturn(questions);
+            assertEquals(1, grader.grade(List.of(examQuestion1, examQuestion2), ""));
+        }
+        assertTrue(examQuestion1.getCorrect());
+        assertFalse(examQuestion2.getCorrect());
+    }
+}
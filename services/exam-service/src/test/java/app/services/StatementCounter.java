@@ -0,0 +1,29 @@
+package app.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements that Hibernate prepares, so that tests can check that loading a
+ * list does not issue one query per element. Registered as the statement inspector of the
+ * session factory with the 'hibernate.session_factory.statement_inspector' property.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+    private static final AtomicInteger statements = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        statements.incrementAndGet();
+        return sql;
+    }
+
+    static void reset() {
+        statements.set(0);
+    }
+
+    static int count() {
+        return statements.get();
+    }
+}
@@ -0,0 +1,293 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.models.ExamQuestion;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+class StudentAnswerBufferTest {
+
+    private transient JdbcTemplate jdbcTemplate;
+    private transient PlatformTransactionManager transactionManager;
+    private transient List<Runnable> scheduled;
+    private transient StudentAnswerBuffer buffer;
+
+    @TempDir
+    transient Path journalDirectory;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        scheduled = new ArrayList<>();
+        buffer = new StudentAnswerBuffer(jdbcTemplate, transactionManager, scheduled::add);
+    }
+
+    private static StudentAnswer answer(int id, int examQuestionId, boolean selected) {
+        StudentAnswer answer = new StudentAnswer();
+        answer.setId(id);
+        answer.setExamQuestionId(examQuestionId);
+        answer.setAnswer(id + 100);
+        answer.setSelected(selected);
+        return answer;
+    }
+
+    private static long lines(Path segment) {
+        try {
+            return Files.readAllLines(segment).size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batches(String sql, int amount) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(amount)).batchUpdate(eq(sql), captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void writesToTheSameAnswerAreCoalesced() {
+        buffer.write(answer(1, 10, true));
+        buffer.write(answer(1, 10, false));
+        buffer.writeCorrect(10, true);
+        buffer.writeCorrect(10, false);
+        assertEquals(2, buffer.size());
+
+        assertTrue(buffer.flush());
+        List<Object[]> answers = batches(StudentAnswerBuffer.UPDATE_ANSWER, 1).get(0);
+        assertEquals(1, answers.size());
+        assertArrayEquals(new Object[] {10, 101, false, 1}, answers.get(0));
+        List<Object[]> corrects = batches(StudentAnswerBuffer.UPDATE_CORRECT, 1).get(0);
+        assertArrayEquals(new Object[] {false, 10}, corrects.get(0));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void flushWritesInBatches() {
+        ReflectionTestUtils.setField(buffer, "batchSize", 2);
+        for (int id = 1; id <= 5; id++) {
+            buffer.write(answer(id, 10, true));
+        }
+        assertTrue(buffer.flush());
+        List<List<Object[]>> batches = batches(StudentAnswerBuffer.UPDATE_ANSWER, 3);
+        assertEquals(2, batches.get(0).size());
+        assertEquals(2, batches.get(1).size());
+        assertEquals(1, batches.get(2).size());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void fullBufferIsFlushedOnce() {
+        ReflectionTestUtils.setField(buffer, "batchSize", 2);
+        buffer.write(answer(1, 10, true));
+        assertTrue(scheduled.isEmpty());
+        buffer.write(answer(2, 10, true));
+        buffer.write(answer(3, 10, true));
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        assertEquals(0, buffer.size());
+        buffer.write(answer(4, 10, true));
+        buffer.write(answer(5, 10, true));
+        assertEquals(2, scheduled.size());
+    }
+
+    @Test
+    void groupIsWrittenByTheSameFlush() throws IOException {
+        ReflectionTestUtils.setField(buffer, "batchSize", 3);
+        ReflectionTestUtils.setField(buffer, "journalDirectory", journalDirectory.toString());
+        buffer.recover();
+        buffer.write(answer(1, 10, true));
+        buffer.writeAll(List.of(answer(2, 11, true), answer(3, 12, false), answer(1, 10, false)));
+        assertEquals(3, buffer.size());
+        assertEquals(1, scheduled.size());
+        assertFalse(buffer.get(1).getSelected());
+
+        try (Stream<Path> segments = Files.list(journalDirectory)) {
+            assertEquals(4, segments.mapToLong(StudentAnswerBufferTest::lines).sum());
+        }
+
+        scheduled.get(0).run();
+        List<Object[]> answers = batches(StudentAnswerBuffer.UPDATE_ANSWER, 1).get(0);
+        assertEquals(3, answers.size());
+        verify(transactionManager).commit(any());
+        buffer.close();
+    }
+
+    @Test
+    void failedFlushKeepsNewerWrites() {
+        buffer.write(answer(1, 10, true));
+        buffer.write(answer(2, 10, true));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenAnswer(invocation -> {
+                // Written while the failing flush is in progress
+                buffer.write(answer(2, 10, false));
+                throw new QueryTimeoutException("timeout");
+            });
+        assertFalse(buffer.flush());
+        verify(transactionManager).rollback(any());
+        assertEquals(2, buffer.size());
+        assertTrue(buffer.get(1).getSelected());
+        assertFalse(buffer.get(2).getSelected());
+    }
+
+    @Test
+    void rejectedBatchIsWrittenRowByRow() {
+        buffer.write(answer(1, 10, true));
+        buffer.write(answer(2, 10, true));
+        buffer.writeCorrect(10, true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataIntegrityViolationException("constraint"));
+        when(jdbcTemplate.update(StudentAnswerBuffer.UPDATE_ANSWER, 10, 101, true, 1))
+            .thenThrow(new DataIntegrityViolationException("constraint"));
+
+        // The rejected answer is dropped, the others are written
+        assertTrue(buffer.flush());
+        verify(jdbcTemplate).update(StudentAnswerBuffer.UPDATE_ANSWER, 10, 102, true, 2);
+        verify(jdbcTemplate).update(StudentAnswerBuffer.UPDATE_CORRECT, true, 10);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void rowByRowWriteStopsWhenTheDatabaseFails() {
+        buffer.write(answer(1, 10, true));
+        buffer.write(answer(2, 10, true));
+        buffer.write(answer(3, 10, true));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataIntegrityViolationException("constraint"));
+        when(jdbcTemplate.update(StudentAnswerBuffer.UPDATE_ANSWER, 10, 102, true, 2))
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertFalse(buffer.flush());
+        verify(jdbcTemplate).update(StudentAnswerBuffer.UPDATE_ANSWER, 10, 101, true, 1);
+        verify(jdbcTemplate, never()).update(StudentAnswerBuffer.UPDATE_ANSWER, 10, 103, true, 3);
+        // The answer that was written is not written again
+        assertNull(buffer.get(1));
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void overlayReturnsBufferedAnswers() {
+        StudentAnswer buffered = answer(1, 10, false);
+        buffer.write(buffered);
+        StudentAnswer stored = answer(1, 10, true);
+        StudentAnswer other = answer(2, 10, true);
+        List<StudentAnswer> overlaid = buffer.overlay(List.of(stored, other, new StudentAnswer()));
+        assertSame(buffered, overlaid.get(0));
+        assertSame(other, overlaid.get(1));
+        assertNull(buffer.get(2));
+    }
+
+    @Test
+    void overlayExamsCopiesBufferedState() {
+        StudentAnswer stored = answer(1, 10, true);
+        ExamQuestion first = new ExamQuestion();
+        first.setId(10);
+        first.setStudentAnswers(List.of(stored));
+        ExamQuestion second = new ExamQuestion();
+        second.setId(11);
+        second.setCorrect(true);
+        final StudentAnswer other = answer(2, 11, true);
+        second.setStudentAnswers(List.of(other));
+        StudentExam studentExam = new StudentExam();
+        studentExam.setExamQuestions(List.of(first, second));
+
+        buffer.write(answer(1, 10, false));
+        buffer.writeCorrect(10, false);
+        buffer.overlayExams(List.of(studentExam, new StudentExam()));
+
+        assertFalse(stored.getSelected());
+        assertFalse(first.getCorrect());
+        assertTrue(other.getSelected());
+        assertTrue(second.getCorrect());
+    }
+
+    @Test
+    void flushWithoutWrites() {
+        assertTrue(buffer.flush());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void journalIsReplayedAfterCrash() throws IOException {
+        ReflectionTestUtils.setField(buffer, "journalDirectory", journalDirectory.toString());
+        buffer.recover();
+        buffer.write(answer(1, 10, true));
+        StudentAnswer unanswered = new StudentAnswer();
+        unanswered.setId(2);
+        buffer.write(unanswered);
+        buffer.writeCorrect(10, true);
+
+        // The microservice stops without flushing
+        JdbcTemplate restarted = mock(JdbcTemplate.class);
+        StudentAnswerBuffer recovered =
+            new StudentAnswerBuffer(restarted, transactionManager, scheduled::add);
+        ReflectionTestUtils.setField(recovered, "journalDirectory", journalDirectory.toString());
+        recovered.recover();
+
+        jdbcTemplate = restarted;
+        List<Object[]> answers = batches(StudentAnswerBuffer.UPDATE_ANSWER, 1).get(0);
+        assertArrayEquals(new Object[] {10, 101, true, 1}, answers.get(0));
+        assertArrayEquals(new Object[] {null, null, null, 2}, answers.get(1));
+        assertArrayEquals(new Object[] {true, 10},
+            batches(StudentAnswerBuffer.UPDATE_CORRECT, 1).get(0).get(0));
+        assertEquals(0, recovered.size());
+        recovered.close();
+    }
+
+    @Test
+    void journalIsDeletedAfterFlush() throws IOException {
+        ReflectionTestUtils.setField(buffer, "journalDirectory", journalDirectory.toString());
+        buffer.recover();
+        buffer.write(answer(1, 10, true));
+        assertTrue(buffer.flush());
+        buffer.close();
+
+        try (Stream<Path> segments = Files.list(journalDirectory)) {
+            // Only the empty segment that was opened after the flush is left
+            assertEquals(0, segments.mapToLong(segment -> segment.toFile().length()).sum());
+        }
+        StudentAnswerBuffer restarted =
+            new StudentAnswerBuffer(jdbcTemplate, transactionManager, scheduled::add);
+        ReflectionTestUtils.setField(restarted, "journalDirectory", journalDirectory.toString());
+        restarted.recover();
+        assertEquals(0, restarted.size());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        restarted.close();
+    }
+}
@@ -0,0 +1,101 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.models.StudentExam;
+import app.repositories.StudentExamRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+class StudentExamExporterTest {
+
+    private transient StudentExamRepository studentExamRepository;
+    private transient StudentExamFetcher fetcher;
+    private transient EntityManager entityManager;
+    private transient StudentExamExporter exporter;
+    private transient ByteArrayOutputStream out;
+
+    @BeforeEach
+    void setup() {
+        studentExamRepository = mock(StudentExamRepository.class);
+        fetcher = mock(StudentExamFetcher.class);
+        entityManager = mock(EntityManager.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        exporter = new StudentExamExporter(studentExamRepository, fetcher,
+            entityManager, transactionManager);
+        ReflectionTestUtils.setField(exporter, "pageSize", 2);
+        out = new ByteArrayOutputStream();
+    }
+
+    private static StudentExam studentExam(int id, String user) {
+        StudentExam studentExam = new StudentExam();
+        studentExam.setId(id);
+        studentExam.setUser(user);
+        studentExam.setExamId(5);
+        studentExam.setGrade(7.5f);
+        return studentExam;
+    }
+
+    private String[] lines() {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    void pagesStartAfterTheLastId() throws IOException {
+        when(studentExamRepository.findNextPageByExamId(eq(5), eq(0), any()))
+            .thenReturn(List.of(studentExam(3, "a"), studentExam(8, "b")));
+        when(studentExamRepository.findNextPageByExamId(eq(5), eq(8), any()))
+            .thenReturn(List.of(studentExam(9, "c")));
+
+        assertEquals(3, exporter.export(5, StudentExamExporter.NDJSON, out));
+        String[] lines = lines();
+        assertEquals(3, lines.length);
+        assertEquals(9, new JSONObject(lines[2]).getInt("id"));
+        verify(entityManager, times(2)).clear();
+        verify(fetcher, times(2)).withQuestions(anyList());
+    }
+
+    @Test
+    void fullLastPageIsFollowedByAnEmptyOne() throws IOException {
+        when(studentExamRepository.findNextPageByExamId(eq(5), eq(0), any()))
+            .thenReturn(List.of(studentExam(1, "a"), studentExam(2, "b")));
+        when(studentExamRepository.findNextPageByExamId(eq(5), eq(2), any()))
+            .thenReturn(List.of());
+
+        assertEquals(2, exporter.export(5, StudentExamExporter.NDJSON, out));
+        assertEquals(2, lines().length);
+    }
+
+    @Test
+    void csvHasHeaderAndQuotedFields() throws IOException {
+        StudentExam studentExam = studentExam(1, "doe, \"j\"");
+        studentExam.setStartingTime(new Timestamp(0));
+        when(studentExamRepository.findNextPageByExamId(eq(5), eq(0), any()))
+            .thenReturn(List.of(studentExam));
+
+        assertEquals(1, exporter.export(5, StudentExamExporter.CSV, out));
+        String[] lines = lines();
+        assertEquals(StudentExamExporter.CSV_HEADER, lines[0]);
+        assertEquals("1,\"doe, \"\"j\"\"\",5," + new Timestamp(0) + ",,,7.5", lines[1]);
+        verify(fetcher, never()).withQuestions(anyList());
+    }
+}
@@ -0,0 +1,197 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import app.json.JsonSerializerFactory;
+import app.models.Exam;
+import app.models.ExamQuestion;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.serializerfactory.Serializer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that listing and exporting StudentExams with their questions and answers takes a constant
+ * amount of SQL statements (per page of the export), however many StudentExams and questions
+ * there are.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+    + "=app.services.StatementCounter")
+@Import({StudentExamFetcher.class, StudentExamExporter.class})
+class StudentExamFetcherTest {
+
+    private static final int MAX_STATEMENTS = 2;
+
+    private final transient Serializer serializer = new JsonSerializerFactory().createSerializer();
+    @Autowired
+    private transient TestEntityManager entityManager;
+    @Autowired
+    private transient StudentExamFetcher fetcher;
+    @Autowired
+    private transient StudentExamExporter exporter;
+    @Autowired
+    private transient PlatformTransactionManager transactionManager;
+    @MockBean
+    private transient StudentAnswerBuffer buffer;
+
+    private int exam() {
+        return entityManager.persist(new Exam()).getId();
+    }
+
+    private void attempts(int examId, String userId, int amount, int questions) {
+        for (int i = 0; i < amount; i++) {
+            StudentExam studentExam = new StudentExam();
+            studentExam.setExamId(examId);
+            studentExam.setUser(userId);
+            studentExam = entityManager.persist(studentExam);
+            for (int q = 0; q < questions; q++) {
+                ExamQuestion examQuestion = new ExamQuestion();
+                examQuestion.setStudentExamId(studentExam.getId());
+                examQuestion.setQuestion(q);
+                examQuestion = entityManager.persist(examQuestion);
+                for (int a = 0; a < 2; a++) {
+                    StudentAnswer studentAnswer = new StudentAnswer();
+                    studentAnswer.setExamQuestionId(examQuestion.getId());
+                    studentAnswer.setAnswer(a);
+                    studentAnswer.setSelected(a == 0);
+                    entityManager.persist(studentAnswer);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.reset();
+    }
+
+    /**
+     * Serializes the StudentExams like the listing endpoints do, which reads every lazy
+     * collection.
+     */
+    private int serializedAnswers(List<StudentExam> studentExams) {
+        int answers = 0;
+        for (StudentExam studentExam : studentExams) {
+            String json = serializer.serialize(studentExam);
+            answers += json.split("selected", -1).length - 1;
+        }
+        return answers;
+    }
+
+    @Test
+    void listingByExamTakesConstantStatements() {
+        int examId = exam();
+        attempts(examId, "student", 5, 4);
+        attempts(exam(), "student", 1, 1);
+        List<StudentExam> studentExams = fetcher.byExamId(examId);
+        assertEquals(5, studentExams.size());
+        assertEquals(5 * 4 * 2, serializedAnswers(studentExams));
+        assertTrue(StatementCounter.count() <= MAX_STATEMENTS,
+            StatementCounter.count() + " statements");
+    }
+
+    @Test
+    void listingByUserTakesConstantStatements() {
+        int examId = exam();
+        attempts(exam(), "student", 3, 6);
+        attempts(examId, "student", 2, 2);
+        attempts(examId, "other", 4, 4);
+        List<StudentExam> studentExams = fetcher.byUser("student");
+        assertEquals(5, studentExams.size());
+        assertEquals((3 * 6 + 2 * 2) * 2, serializedAnswers(studentExams));
+        assertTrue(StatementCounter.count() <= MAX_STATEMENTS,
+            StatementCounter.count() + " statements");
+    }
+
+    @Test
+    void exportTakesConstantStatementsPerPage() throws IOException {
+        ReflectionTestUtils.setField(exporter, "pageSize", 2);
+        int examId = exam();
+        attempts(examId, "student", 5, 3);
+        attempts(exam(), "student", 1, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(5, exporter.export(examId, StudentExamExporter.NDJSON, out));
+        String export = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(5 * 3 * 2, export.split("selected", -1).length - 1);
+        // Three pages, each read with the page query and the two queries of the fetcher
+        assertTrue(StatementCounter.count() <= 3 * (MAX_STATEMENTS + 1),
+            StatementCounter.count() + " statements");
+    }
+
+    @Test
+    void emptyListingTakesOneStatement() {
+        StatementCounter.reset();
+        assertTrue(fetcher.byUser("nobody").isEmpty());
+        assertEquals(1, StatementCounter.count());
+    }
+
+    /**
+     * Runs outside of the transaction of the test, like the listing endpoints, so that the
+     * fetcher starts its own read-only transaction.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void bufferedStateIsShownButNotWritten() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int examId = transaction.execute(status -> {
+            int id = exam();
+            attempts(id, "buffered", 1, 1);
+            return id;
+        });
+        doAnswer(invocation -> {
+            List<StudentExam> loaded = invocation.getArgument(0);
+            ExamQuestion examQuestion = loaded.get(0).getExamQuestions().get(0);
+            examQuestion.setCorrect(true);
+            examQuestion.getStudentAnswers().forEach(answer -> answer.setSelected(true));
+            return null;
+        }).when(buffer).overlayExams(anyList());
+
+        List<StudentExam> studentExams = fetcher.byExamId(examId);
+        assertEquals(0, unselected(studentExams));
+
+        transaction.executeWithoutResult(status -> {
+            List<StudentExam> stored = List.of(
+                entityManager.find(StudentExam.class, studentExams.get(0).getId()));
+            assertNull(stored.get(0).getExamQuestions().get(0).getCorrect());
+            assertEquals(1, unselected(stored));
+        });
+    }
+
+    @Test
+    void emptyListingIsNotOverlaid() {
+        assertTrue(fetcher.byExamId(exam()).isEmpty());
+        verify(buffer, never()).overlayExams(anyList());
+    }
+
+    private int unselected(List<StudentExam> studentExams) {
+        int unselected = 0;
+        for (StudentExam studentExam : studentExams) {
+            for (ExamQuestion examQuestion : studentExam.getExamQuestions()) {
+                for (StudentAnswer answer : examQuestion.getStudentAnswers()) {
+                    if (!answer.getSelected()) {
+                        unselected++;
+                    }
+                }
+            }
+        }
+        return unselected;
+    }
+}
@@ -0,0 +1,120 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import app.models.ExamQuestion;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentAnswerRepository;
+import app.repositories.StudentExamRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class StudentExamWriterTest {
+
+    private transient StudentExamRepository studentExamRepository;
+    private transient ExamQuestionRepository examQuestionRepository;
+    private transient StudentAnswerRepository studentAnswerRepository;
+    private transient StudentExamWriter writer;
+    private transient int nextId;
+
+    @BeforeEach
+    void setup() {
+        studentExamRepository = mock(StudentExamRepository.class);
+        examQuestionRepository = mock(ExamQuestionRepository.class);
+        studentAnswerRepository = mock(StudentAnswerRepository.class);
+        writer = new StudentExamWriter(studentExamRepository, examQuestionRepository,
+            studentAnswerRepository);
+        nextId = 100;
+
+        // Like persist, every save assigns an id to an entity and does not cascade
+        when(studentExamRepository.save(any(StudentExam.class))).thenAnswer(invocation -> {
+            StudentExam studentExam = invocation.getArgument(0);
+            assertTrue(studentExam.getExamQuestions().isEmpty());
+            studentExam.setId(nextId++);
+            return studentExam;
+        });
+        when(examQuestionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ExamQuestion> examQuestions = invocation.getArgument(0);
+            for (ExamQuestion examQuestion : examQuestions) {
+                assertTrue(examQuestion.getStudentAnswers().isEmpty());
+                examQuestion.setId(nextId++);
+            }
+            return examQuestions;
+        });
+        when(studentAnswerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StudentAnswer> studentAnswers = invocation.getArgument(0);
+            studentAnswers.forEach(studentAnswer -> studentAnswer.setId(nextId++));
+            return studentAnswers;
+        });
+    }
+
+    private static StudentExam studentExam(int questions, int answers) {
+        List<ExamQuestion> examQuestions = new ArrayList<>();
+        for (int i = 0; i < questions; i++) {
+            List<StudentAnswer> studentAnswers = new ArrayList<>();
+            for (int j = 0; j < answers; j++) {
+                StudentAnswer studentAnswer = new StudentAnswer();
+                studentAnswer.setId(j);
+                studentAnswer.setAnswer(j);
+                studentAnswers.add(studentAnswer);
+            }
+            ExamQuestion examQuestion = new ExamQuestion();
+            examQuestion.setId(i);
+            examQuestion.setQuestion(i);
+            examQuestion.setStudentAnswers(studentAnswers);
+            examQuestions.add(examQuestion);
+        }
+        StudentExam studentExam = new StudentExam();
+        studentExam.setExamQuestions(examQuestions);
+        return studentExam;
+    }
+
+    @Test
+    void createSavesEachLevelSeparately() {
+        StudentExam studentExam = studentExam(2, 3);
+        List<ExamQuestion> examQuestions = studentExam.getExamQuestions();
+
+        final StudentExam saved = writer.create(studentExam);
+
+        InOrder order = inOrder(studentExamRepository, examQuestionRepository,
+            studentAnswerRepository);
+        order.verify(studentExamRepository).save(studentExam);
+        order.verify(examQuestionRepository).saveAll(examQuestions);
+        order.verify(studentAnswerRepository).saveAll(anyList());
+        assertEquals(100, saved.getId());
+        assertSame(examQuestions, saved.getExamQuestions());
+        for (ExamQuestion examQuestion : saved.getExamQuestions()) {
+            assertEquals(100, examQuestion.getStudentExamId());
+            assertEquals(3, examQuestion.getStudentAnswers().size());
+            for (StudentAnswer studentAnswer : examQuestion.getStudentAnswers()) {
+                assertEquals(examQuestion.getId(), studentAnswer.getExamQuestionId());
+            }
+        }
+        assertEquals(101, examQuestions.get(0).getId());
+        assertEquals(103, examQuestions.get(0).getStudentAnswers().get(0).getId());
+    }
+
+    @Test
+    void createWithoutQuestionsOrAnswers() {
+        StudentExam saved = writer.create(new StudentExam());
+        assertTrue(saved.getExamQuestions().isEmpty());
+
+        StudentExam studentExam = studentExam(1, 0);
+        studentExam.getExamQuestions().get(0).setStudentAnswers(null);
+        saved = writer.create(studentExam);
+        assertEquals(1, saved.getExamQuestions().size());
+        assertTrue(saved.getExamQuestions().get(0).getStudentAnswers().isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private transient TimingWheel<Integer> wheel;
+
+    @BeforeEach
+    void setup() {
+        // 8 slots of 100 ms
+        wheel = new TimingWheel<>(100, 8, START);
+    }
+
+    @Test
+    void keysExpireInTheTickOfTheirDeadline() {
+        wheel.schedule(1, START + 250);
+        wheel.schedule(2, START + 300);
+        wheel.schedule(3, START + 450);
+        assertEquals(OptionalLong.of(START + 250), wheel.deadline(1));
+
+        assertTrue(wheel.advance(START + 200).isEmpty());
+        assertEquals(List.of(1, 2), wheel.advance(START + 300));
+        assertTrue(wheel.advance(START + 400).isEmpty());
+        assertEquals(List.of(3), wheel.advance(START + 500));
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.deadline(1).isPresent());
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForTheirRound() {
+        // Same slot as START + 100, but two turns later
+        wheel.schedule(1, START + 1700);
+        wheel.schedule(2, START + 100);
+        assertEquals(List.of(2), wheel.advance(START + 100));
+        assertTrue(wheel.advance(START + 900).isEmpty());
+        assertTrue(wheel.advance(START + 1600).isEmpty());
+        assertEquals(List.of(1), wheel.advance(START + 1700));
+    }
+
+    @Test
+    void advancingMoreThanOneTurnExpiresEverything() {
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule(i, START + 100 + i * 100);
+        }
+        assertEquals(20, wheel.advance(START + 5000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void passedDeadlinesExpireInTheNextTick() {
+        wheel.advance(START + 1000);
+        wheel.schedule(1, START);
+        assertTrue(wheel.advance(START + 1050).isEmpty());
+        assertEquals(List.of(1), wheel.advance(START + 1100));
+    }
+
+    @Test
+    void cancelAndReschedule() {
+        wheel.schedule(1, START + 100);
+        wheel.schedule(2, START + 100);
+        assertTrue(wheel.cancel(1));
+        assertFalse(wheel.cancel(1));
+        wheel.schedule(2, START + 700);
+        assertTrue(wheel.advance(START + 600).isEmpty());
+        assertEquals(List.of(2), wheel.advance(START + 700));
+    }
+}
@@ -0,0 +1,80 @@
+package app.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.repositories.ExamQuestionRepository;
+import app.repositories.StudentExamRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class ExamStatisticsTest {
+
+    private transient StudentExamRepository studentExamRepository;
+    private transient ExamQuestionRepository examQuestionRepository;
+    private transient ExamStatistics statistics;
+
+    @BeforeEach
+    void setup() {
+        studentExamRepository = mock(StudentExamRepository.class);
+        examQuestionRepository = mock(ExamQuestionRepository.class);
+        statistics = new ExamStatistics(studentExamRepository, examQuestionRepository);
+    }
+
+    @Test
+    void summaryWithoutAttempts() {
+        when(studentExamRepository.summarizeByExamId(1))
+            .thenReturn(new ExamSummary(0, 0, null, null));
+        ExamSummary summary = statistics.summary(1);
+        assertEquals(0, summary.getAttempts());
+        assertEquals(0, summary.getGradedAttempts());
+        assertEquals(0, summary.getAverageGrade());
+    }
+
+    @Test
+    void medianOfOddAmountReadsOneGrade() {
+        when(studentExamRepository.findGradesByExamId(1, PageRequest.of(2, 1)))
+            .thenReturn(List.of(7.0f));
+        assertEquals(7.0f, statistics.medianGrade(1, 5));
+        verify(studentExamRepository).findGradesByExamId(any(Integer.class), any(Pageable.class));
+    }
+
+    @Test
+    void medianOfEvenAmountAveragesMiddleGrades() {
+        when(studentExamRepository.findGradesByExamId(1, PageRequest.of(1, 1)))
+            .thenReturn(List.of(4.0f));
+        when(studentExamRepository.findGradesByExamId(1, PageRequest.of(2, 1)))
+            .thenReturn(List.of(6.0f));
+        assertEquals(5.0f, statistics.medianGrade(1, 4));
+    }
+
+    @Test
+    void medianWithoutGrades() {
+        assertEquals(0f, statistics.medianGrade(1, 0));
+        verify(studentExamRepository, never())
+            .findGradesByExamId(any(Integer.class), any(Pageable.class));
+    }
+
+    @Test
+    void histogram() {
+        when(studentExamRepository.countGradesByExamId(1))
+            .thenReturn(List.of(new GradeBucket(1, 2), new GradeBucket(5.0, 3),
+                new GradeBucket(10, 1)));
+        assertArrayEquals(new long[] {0, 2, 0, 0, 0, 3, 0, 0, 0, 0, 1},
+            statistics.histogram(1));
+    }
+
+    @Test
+    void errorRate() {
+        assertEquals(0.25, new QuestionErrorRate(1, 4, 1).getErrorRate());
+        assertEquals(0, new QuestionErrorRate(1, 0, 0).getErrorRate());
+    }
+}
@@ -0,0 +1,155 @@
+package app.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.models.ExamQuestion;
+import app.models.StudentExam;
+import app.repositories.ExamQuestionRepository;
+import app.repositories.QuestionStatisticsRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+class QuestionDifficultyTest {
+
+    private transient ExamQuestionRepository examQuestionRepository;
+    private transient QuestionStatisticsRepository questionStatisticsRepository;
+    private transient JdbcTemplate jdbcTemplate;
+    private transient QuestionDifficulty difficulty;
+
+    @BeforeEach
+    void setup() {
+        examQuestionRepository = mock(ExamQuestionRepository.class);
+        questionStatisticsRepository = mock(QuestionStatisticsRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        difficulty = new QuestionDifficulty(examQuestionRepository, questionStatisticsRepository,
+            jdbcTemplate, transactionManager);
+        when(examQuestionRepository.countSubmittedErrorsByExamId(1))
+            .thenReturn(List.of(new QuestionErrorRate(1, 5, 1), new QuestionErrorRate(2, 5, 0),
+                new QuestionErrorRate(3, 5, 4), new QuestionErrorRate(4, 5, 1)));
+    }
+
+    private static StudentExam attempt(int examId, int question, boolean correct) {
+        ExamQuestion examQuestion = new ExamQuestion();
+        examQuestion.setQuestion(question);
+        examQuestion.setCorrect(correct);
+        List<ExamQuestion> examQuestions = new ArrayList<>();
+        examQuestions.add(examQuestion);
+        examQuestions.add(new ExamQuestion());
+        StudentExam studentExam = new StudentExam();
+        studentExam.setExamId(examId);
+        studentExam.setExamQuestions(examQuestions);
+        return studentExam;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batches(String sql, int amount) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(amount)).batchUpdate(eq(sql), captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void mostIncorrectQuestionsAreCountedOnce() {
+        assertEquals(List.of(3, 1), difficulty.mostIncorrectQuestions(1, 2));
+        assertEquals(List.of(3, 1, 4), difficulty.mostIncorrectQuestions(1, 5));
+        verify(examQuestionRepository, times(1)).countSubmittedErrorsByExamId(1);
+    }
+
+    @Test
+    void gradedAttemptsAreAdded() {
+        difficulty.mostIncorrectQuestions(1, 2);
+        difficulty.record(attempt(1, 4, false));
+        difficulty.record(attempt(1, 4, false));
+        difficulty.record(attempt(1, 2, true));
+        assertEquals(List.of(3, 4, 1), difficulty.mostIncorrectQuestions(1, 3));
+    }
+
+    @Test
+    void attemptThatLoadsTheCountsIsNotAddedTwice() {
+        // The attempt was saved before it was recorded, so the aggregate query counts it
+        difficulty.record(attempt(1, 2, false));
+        assertEquals(List.of(3, 1, 4), difficulty.mostIncorrectQuestions(1, 5));
+    }
+
+    @Test
+    void storedCountsArePreferred() {
+        when(questionStatisticsRepository.findRatesByExamId(1))
+            .thenReturn(List.of(new QuestionErrorRate(7, 2, 2)));
+        difficulty.record(attempt(1, 8, false));
+        assertEquals(List.of(7, 8), difficulty.mostIncorrectQuestions(1, 2));
+        verify(examQuestionRepository, never()).countSubmittedErrorsByExamId(1);
+    }
+
+    @Test
+    void manyQuestionsAreRanked() {
+        List<QuestionErrorRate> rates = new ArrayList<>();
+        for (int question = 1000; question > 0; question--) {
+            rates.add(new QuestionErrorRate(question, 2000, question % 100));
+        }
+        when(examQuestionRepository.countSubmittedErrorsByExamId(2)).thenReturn(rates);
+        assertEquals(List.of(99, 199, 299, 399), difficulty.mostIncorrectQuestions(2, 4));
+
+        assertEquals(List.of(), difficulty.mostIncorrectQuestions(3, 4));
+        for (int question = 1; question <= 100; question++) {
+            for (int i = 0; i < question % 7; i++) {
+                difficulty.record(attempt(3, question, false));
+            }
+        }
+        assertEquals(List.of(6, 13, 20), difficulty.mostIncorrectQuestions(3, 3));
+    }
+
+    @Test
+    void changedCountsArePersisted() {
+        when(jdbcTemplate.batchUpdate(eq(QuestionDifficulty.UPDATE), anyList()))
+            .thenReturn(new int[] {1, 0, 1, 1});
+        difficulty.mostIncorrectQuestions(1, 2);
+        difficulty.persist();
+        difficulty.persist();
+
+        List<Object[]> updates = batches(QuestionDifficulty.UPDATE, 1).get(0);
+        assertEquals(4, updates.size());
+        List<Object[]> inserts = batches(QuestionDifficulty.INSERT, 1).get(0);
+        assertEquals(1, inserts.size());
+        assertArrayEquals(updates.get(1), inserts.get(0));
+        assertEquals(1, inserts.get(0)[2]);
+    }
+
+    @Test
+    void countsThatCannotBePersistedAreRetried() {
+        when(jdbcTemplate.batchUpdate(eq(QuestionDifficulty.UPDATE), anyList()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(new int[] {1, 1, 1, 1});
+        difficulty.mostIncorrectQuestions(1, 2);
+        difficulty.persist();
+        difficulty.persist();
+        difficulty.persist();
+        batches(QuestionDifficulty.UPDATE, 2);
+    }
+
+    @Test
+    void invalidatedExamsAreCountedAgain() {
+        difficulty.mostIncorrectQuestions(1, 2);
+        difficulty.invalidate(1);
+        difficulty.mostIncorrectQuestions(1, 2);
+        verify(jdbcTemplate).update(QuestionDifficulty.DELETE, 1);
+        verify(examQuestionRepository, times(2)).countSubmittedErrorsByExamId(1);
+    }
+}
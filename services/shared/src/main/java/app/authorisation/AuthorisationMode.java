@@ -0,0 +1,16 @@
+package app.authorisation;
+
+/**
+ * Determines how a microservice checks whether a session is allowed to perform an action.
+ */
+public enum AuthorisationMode {
+    /**
+     * Verify the signature of the session token in-process, using the shared secret key.
+     */
+    LOCAL,
+
+    /**
+     * Ask the authorisation microservice over HTTP for every request.
+     */
+    REMOTE
+}
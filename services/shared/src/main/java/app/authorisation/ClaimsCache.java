@@ -0,0 +1,137 @@
+package app.authorisation;
+
+import io.jsonwebtoken.Claims;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of parsed session claims, keyed by the SHA-256 digest of the session token.
+ * Entries expire at the expiration time of the token itself, or after the configured
+ * time-to-live, whichever comes first. When the cache is full the least recently used
+ * entry is evicted.
+ */
+public class ClaimsCache {
+
+    private final transient int capacity;
+    private final transient long timeToLiveMillis;
+    private final transient Map<String, Entry> entries;
+
+    /**
+     * Constructs a ClaimsCache.
+     *
+     * @param capacity         The maximum amount of sessions that is kept in the cache.
+     * @param timeToLiveMillis The maximum time in milliseconds a session is kept in the cache,
+     *                         even if the token itself is valid for longer.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public ClaimsCache(int capacity, long timeToLiveMillis) {
+        this.capacity = capacity;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ClaimsCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Looks up the claims of a session token that has been verified before.
+     *
+     * @param sessionToken The session token as received from the client.
+     * @return The cached claims, or null if the token is not cached or its entry has expired.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public Claims get(String sessionToken) {
+        String key = digest(sessionToken);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.claims;
+        }
+    }
+
+    /**
+     * Stores the claims of a session token whose signature has just been verified.
+     *
+     * @param sessionToken The session token as received from the client.
+     * @param claims       The claims parsed out of the token.
+     */
+    public void put(String sessionToken, Claims claims) {
+        long expiresAt = System.currentTimeMillis() + timeToLiveMillis;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (capacity <= 0 || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        String key = digest(sessionToken);
+        synchronized (entries) {
+            entries.put(key, new Entry(claims, expiresAt));
+        }
+    }
+
+    /**
+     * Removes all cached sessions.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the amount of sessions currently in the cache, including expired entries that
+     * have not been looked up since they expired.
+     *
+     * @return the amount of cached sessions.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Computes the key under which a session token is stored, so that the cache never holds on
+     * to the tokens themselves.
+     *
+     * @param sessionToken The session token.
+     * @return Base64 encoded SHA-256 digest of the token.
+     */
+    static String digest(String sessionToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(
+                messageDigest.digest(sessionToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final transient Claims claims;
+        private final transient long expiresAt;
+
+        Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package app.authorisation;
+
+import app.constants.Constants;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Session token with which a microservice calls another one on its own behalf, for example from
+ * a background task that does not run for a user. The token is signed with the same key as the
+ * sessions issued by the authentication microservice and carries the teacher role. It is renewed
+ * when less than half of its validity is left.
+ */
+public class ServiceToken {
+
+    private static final int TEACHER_ROLE = 1;
+
+    private final transient String netId;
+    private final transient long validityMillis;
+    private transient String token;
+    private transient long renewAt;
+
+    /**
+     * Constructs a ServiceToken.
+     *
+     * @param netId          The name of the microservice, used as netId of the session.
+     * @param validityMillis The time in milliseconds every issued token is valid.
+     */
+    public ServiceToken(String netId, long validityMillis) {
+        this.netId = netId;
+        this.validityMillis = validityMillis;
+    }
+
+    /**
+     * Returns a valid session token for this microservice.
+     *
+     * @return the session token.
+     */
+    public synchronized String get() {
+        long now = System.currentTimeMillis();
+        if (token == null || now >= renewAt) {
+            token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(Constants.SESSIONHEADERKEY)
+                .setExpiration(new Date(now + validityMillis))
+                .claim(Constants.NET_ID_KEY, netId)
+                .claim(Constants.ROLE_KEY, TEACHER_ROLE)
+                .signWith(Constants.SECRET_KEY, SignatureAlgorithm.HS512)
+                .compact();
+            renewAt = now + validityMillis / 2;
+        }
+        return token;
+    }
+}
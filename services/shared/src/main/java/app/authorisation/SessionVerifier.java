@@ -0,0 +1,100 @@
+package app.authorisation;
+
+import app.constants.Constants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Verifies session tokens in-process, so that a microservice does not have to ask the
+ * authorisation microservice whether an action is allowed. The signature of a token is checked
+ * against {@link Constants#SECRET_KEY}; the claims of tokens that have been verified before are
+ * served from a {@link ClaimsCache}.
+ */
+public class SessionVerifier {
+
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final long DEFAULT_CACHE_TTL_MILLIS = 5 * 60 * 1000L;
+
+    private static volatile SessionVerifier instance =
+        new SessionVerifier(new ClaimsCache(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL_MILLIS),
+            AuthorisationMode.LOCAL);
+
+    private final transient JwtParser parser = Jwts.parserBuilder()
+        .requireSubject(Constants.SESSIONHEADERKEY)
+        .setSigningKey(Constants.SECRET_KEY)
+        .build();
+    private final transient ClaimsCache cache;
+    private final transient AuthorisationMode mode;
+
+    /**
+     * Constructs a SessionVerifier.
+     *
+     * @param cache The cache in which verified sessions are kept.
+     * @param mode  Whether the services using this verifier check sessions locally or remotely.
+     */
+    public SessionVerifier(ClaimsCache cache, AuthorisationMode mode) {
+        this.cache = cache;
+        this.mode = mode;
+    }
+
+    /**
+     * Returns the verifier shared by everything running in this microservice.
+     *
+     * @return the shared SessionVerifier.
+     */
+    public static SessionVerifier getInstance() {
+        return instance;
+    }
+
+    /**
+     * Replaces the shared verifier, for example when the configuration has been loaded.
+     *
+     * @param sessionVerifier The verifier to use from now on.
+     */
+    public static void setInstance(SessionVerifier sessionVerifier) {
+        instance = sessionVerifier;
+    }
+
+    public AuthorisationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Parses the session token and verifies its signature, subject and expiration. Tokens that
+     * have been verified before are not parsed again.
+     *
+     * @param sessionToken The session token as received from the client.
+     * @return The claims of the session.
+     * @throws JwtException when the token is malformed, expired or has been tampered with.
+     */
+    public Claims verify(String sessionToken) throws JwtException {
+        if (sessionToken == null || sessionToken.isEmpty()) {
+            throw new JwtException("No session token supplied");
+        }
+        Claims claims = cache.get(sessionToken);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(sessionToken).getBody();
+            cache.put(sessionToken, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Checks whether the session is valid and its role is at least the required role.
+     *
+     * @param sessionToken The session token as received from the client.
+     * @param requiredRole The role that the user should have to perform the action. A 0
+     *                     represents a student and a 1 represents a teacher.
+     * @return true if the action is allowed and false otherwise.
+     */
+    public boolean isAuthorised(String sessionToken, int requiredRole) {
+        try {
+            Integer role = verify(sessionToken).get(Constants.ROLE_KEY, Integer.class);
+            return role != null && role >= requiredRole;
+        } catch (JwtException exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package app.authorisation;
+
+import java.util.Locale;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the shared {@link SessionVerifier} from the application properties.
+ * The following properties are read from the microservice it runs in:
+ * <ul>
+ *     <li>authorisation.mode: "local" (default) or "remote".</li>
+ *     <li>authorisation.cache.size: maximum amount of cached sessions.</li>
+ *     <li>authorisation.cache.ttl: maximum time in milliseconds a session stays cached.</li>
+ * </ul>
+ */
+@Configuration
+public class SessionVerifierConfig {
+
+    @Value("${authorisation.mode:local}")
+    private transient String mode;
+
+    @Value("${authorisation.cache.size:" + SessionVerifier.DEFAULT_CACHE_SIZE + "}")
+    private transient int cacheSize;
+
+    @Value("${authorisation.cache.ttl:" + SessionVerifier.DEFAULT_CACHE_TTL_MILLIS + "}")
+    private transient long cacheTimeToLive;
+
+    /**
+     * Replaces the default verifier by one that uses the configured values.
+     */
+    @PostConstruct
+    public void configure() {
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(cacheSize, cacheTimeToLive),
+            AuthorisationMode.valueOf(mode.trim().toUpperCase(Locale.ROOT))));
+    }
+}
@@ -0,0 +1,168 @@
+package app.communication;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops sending requests to a destination that keeps failing, so that callers fail at once
+ * instead of each waiting for a timeout. After a number of consecutive failures the breaker
+ * opens and rejects every request. Once the open duration has passed it is half-open: a few
+ * probe requests are let through, and the first of them to finish closes the breaker again if
+ * it succeeded, or opens it for another period if it failed.
+ *
+ * <p>A failure is a request that got no response or a 5xx response. Other responses, 4xx
+ * included, show that the destination is up and count as successes.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The state of a breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final transient String destination;
+    private final transient int failureThreshold;
+    private final transient long openNanos;
+    private final transient int halfOpenProbes;
+    private final transient Map<State, LongAdder> transitions = new EnumMap<>(State.class);
+    private final transient LongAdder rejected = new LongAdder();
+    private transient State state = State.CLOSED;
+    private transient int consecutiveFailures;
+    private transient int probes;
+    private transient long openedAt;
+
+    /**
+     * Constructs a CircuitBreaker.
+     *
+     * @param destination      The host and port of the destination, used in logs and errors.
+     * @param failureThreshold The amount of consecutive failures that opens the breaker.
+     * @param openDuration     How long the breaker rejects requests before probing.
+     * @param halfOpenProbes   The amount of probe requests let through at the same time.
+     */
+    public CircuitBreaker(String destination, int failureThreshold, Duration openDuration,
+                          int halfOpenProbes) {
+        this.destination = destination;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        for (State value : State.values()) {
+            transitions.put(value, new LongAdder());
+        }
+    }
+
+    /**
+     * Asks permission to send a request. Every request that got permission has to be reported
+     * with {@link #onSuccess()}, {@link #onFailure()} or {@link #onSkipped()}.
+     *
+     * @throws ServiceUnavailableException when the breaker is open, or half-open with all
+     *                                     probes in flight.
+     */
+    public synchronized void acquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            probes = 0;
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || state == State.HALF_OPEN && probes >= halfOpenProbes) {
+            rejected.increment();
+            long remaining = state == State.OPEN ? openNanos - (System.nanoTime() - openedAt) : 0;
+            throw new ServiceUnavailableException("Circuit breaker of " + destination + " is "
+                + state.name().toLowerCase(Locale.ROOT), Duration.ofNanos(Math.max(0, remaining)));
+        }
+        if (state == State.HALF_OPEN) {
+            probes++;
+        }
+    }
+
+    /**
+     * Reports a request that the destination answered.
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+    }
+
+    /**
+     * Reports a request that failed because of the destination.
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN
+            || state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            openedAt = System.nanoTime();
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * Reports a request that got permission but was not sent, for example because the queue of
+     * its destination was full. It tells nothing about the destination.
+     */
+    public synchronized void onSkipped() {
+        if (state == State.HALF_OPEN && probes > 0) {
+            probes--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the amount of requests rejected by this breaker.
+     *
+     * @return the amount of rejected requests.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns how often the breaker changed to a state.
+     *
+     * @param target The state changed to.
+     * @return the amount of changes to the state.
+     */
+    public long getTransitions(State target) {
+        return transitions.get(target).sum();
+    }
+
+    /**
+     * Returns the state and counters of this breaker.
+     *
+     * @return JSONObject with "state", "consecutiveFailures", "rejected" and "transitions" keys,
+     *     the latter with the amount of changes to every state.
+     */
+    public synchronized JSONObject toJson() {
+        JSONObject changes = new JSONObject();
+        transitions.forEach((target, count) -> changes.put(name(target), count.sum()));
+        return new JSONObject()
+            .put("state", name(state))
+            .put("consecutiveFailures", consecutiveFailures)
+            .put("rejected", getRejected())
+            .put("transitions", changes);
+    }
+
+    private void transition(State target) {
+        if (state != target) {
+            logger.warn("Circuit breaker of {} changed from {} to {}", destination, state, target);
+            state = target;
+            transitions.get(target).increment();
+        }
+    }
+
+    private static String name(State value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
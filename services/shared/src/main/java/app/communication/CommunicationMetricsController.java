@@ -0,0 +1,35 @@
+package app.communication;
+
+import app.constants.Constants;
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes the circuit breakers and limiters of the other microservices that the microservice
+ * it runs in has sent requests to.
+ */
+@RestController
+public class CommunicationMetricsController {
+
+    /**
+     * Returns the current state of the breaker and the limiter of every destination.
+     *
+     * @param sessionToken session token of a teacher.
+     * @return JSONObject with "destinations" key and a JSONArray with the metrics of every
+     *     destination.
+     */
+    @GetMapping("metrics/destinations")
+    public ResponseEntity<String> destinationMetrics(@RequestHeader(Constants.SESSIONHEADERKEY)
+                                                         String sessionToken) {
+        if (!SessionAuthorisation.isAuthorised(sessionToken, 1)) {
+            return new ResponseEntity<>(Constants.NOT_AUTHORIZED_STRING, HttpStatus.FORBIDDEN);
+        }
+        return new ResponseEntity<>(new JSONObject()
+            .put("destinations", ServiceClient.getInstance().destinationMetrics()).toString(),
+            HttpStatus.OK);
+    }
+}
@@ -0,0 +1,141 @@
+package app.communication;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.json.JSONObject;
+
+/**
+ * Limits the amount of requests that are in flight to a single destination at the same time.
+ * Requests above the limit wait in a bounded queue without blocking the calling thread, and are
+ * started as soon as an earlier request completes. When the queue is full as well, the request
+ * fails immediately with a {@link ServiceUnavailableException}, so that a slow destination
+ * takes up a bounded share of the callers and the other destinations keep being served.
+ */
+public class DestinationLimiter {
+
+    private final transient int maxConcurrent;
+    private final transient int maxQueued;
+    private final transient Queue<Runnable> waiting = new ArrayDeque<>();
+    private final transient LongAdder rejected = new LongAdder();
+    private transient int active;
+
+    /**
+     * Constructs a DestinationLimiter.
+     *
+     * @param maxConcurrent The maximum amount of requests in flight at the same time.
+     * @param maxQueued     The maximum amount of requests waiting for a free slot.
+     */
+    public DestinationLimiter(int maxConcurrent, int maxQueued) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Starts the task as soon as there is a free slot for it.
+     *
+     * @param task Starts the request and returns a future that completes with its result.
+     * @param <T>  The type of the result.
+     * @return A future that completes with the result of the task.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (active >= maxConcurrent) {
+                if (waiting.size() >= maxQueued) {
+                    rejected.increment();
+                    result.completeExceptionally(new ServiceUnavailableException(
+                        "Too many requests waiting for the same destination",
+                        Duration.ofSeconds(1)));
+                } else {
+                    waiting.add(() -> start(task, result));
+                }
+                return result;
+            }
+            active++;
+        }
+        start(task, result);
+        return result;
+    }
+
+    /**
+     * Returns the amount of requests currently in flight.
+     *
+     * @return the amount of active requests.
+     */
+    public synchronized int getActive() {
+        return active;
+    }
+
+    /**
+     * Returns the amount of requests waiting for a free slot.
+     *
+     * @return the amount of queued requests.
+     */
+    public synchronized int getQueued() {
+        return waiting.size();
+    }
+
+    /**
+     * Returns the amount of requests rejected because the queue was full.
+     *
+     * @return the amount of rejected requests.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the current load of this limiter.
+     *
+     * @return JSONObject with "active", "queued", "maxConcurrent", "maxQueued" and "rejected"
+     *     keys.
+     */
+    public synchronized JSONObject toJson() {
+        return new JSONObject()
+            .put("active", active)
+            .put("queued", waiting.size())
+            .put("maxConcurrent", maxConcurrent)
+            .put("maxQueued", maxQueued)
+            .put("rejected", getRejected());
+    }
+
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.DataflowAnomalyAnalysis"})
+    private <T> void start(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            // The caller stopped waiting while the request was queued.
+            release();
+            return;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, failure) -> {
+            release();
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        });
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                active--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
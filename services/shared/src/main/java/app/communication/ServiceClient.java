@@ -0,0 +1,488 @@
+package app.communication;
+
+import app.constants.Constants;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client used by every microservice to talk to the others. It keeps a single pooled
+ * {@link HttpClient}, applies connect and read timeouts, retries idempotent requests with
+ * jittered exponential backoff and limits the amount of concurrent requests per destination.
+ * A request that failed on a pooled connection the other side had already closed is sent once
+ * more on a new connection, whatever its method.
+ * Every destination has a {@link CircuitBreaker} as well, so that requests to a microservice
+ * that keeps failing are rejected at once with a {@link ServiceUnavailableException} instead of
+ * holding up their callers until they time out.
+ * The paths it accepts have the form "port/controller/method/pathvariables", where the port is
+ * resolved to the configured base URL of the microservice listening on it.
+ */
+public class ServiceClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceClient.class);
+    private static final int STATUS_OK = 200;
+    private static final int SERVER_ERROR = 500;
+    private static final String NO_BYTES_RECEIVED = "received no bytes";
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+    private static final Set<String> IDEMPOTENT_METHODS =
+        Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
+    private static volatile ServiceClient instance =
+        new ServiceClient(ServiceClientSettings.builder().build());
+
+    private final transient ServiceClientSettings settings;
+    private final transient HttpClient client;
+    private final transient Map<String, DestinationLimiter> limiters = new ConcurrentHashMap<>();
+    private final transient Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a ServiceClient.
+     *
+     * @param settings The timeouts, retry and concurrency settings to use.
+     */
+    public ServiceClient(ServiceClientSettings settings) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(settings.getConnectTimeout())
+            .build();
+    }
+
+    /**
+     * Returns the client shared by everything running in this microservice.
+     *
+     * @return the shared ServiceClient.
+     */
+    public static ServiceClient getInstance() {
+        return instance;
+    }
+
+    /**
+     * Replaces the shared client, for example when the configuration has been loaded.
+     *
+     * @param serviceClient The client to use from now on.
+     */
+    public static void setInstance(ServiceClient serviceClient) {
+        instance = serviceClient;
+    }
+
+    public ServiceClientSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Resolves a path to the URI of the microservice listening on its port.
+     *
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @return The URI of the endpoint.
+     */
+    public URI resolve(String portControllerMethodPathvariables) {
+        int slash = portControllerMethodPathvariables.indexOf('/');
+        String port = slash < 0
+            ? portControllerMethodPathvariables
+            : portControllerMethodPathvariables.substring(0, slash);
+        String path = slash < 0 ? "" : portControllerMethodPathvariables.substring(slash);
+        String baseUrl = settings.getBaseUrls().get(port);
+        if (baseUrl == null) {
+            baseUrl = "http://" + Constants.HOST + ":" + port;
+        }
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Sends a get-request to another microservice.
+     *
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return A future that completes with the body of the response.
+     */
+    public CompletableFuture<String> getAsync(String portControllerMethodPathvariables,
+                                              String sessionToken) {
+        return sendAsync(newRequest(portControllerMethodPathvariables, sessionToken)
+            .GET()
+            .build());
+    }
+
+    /**
+     * Sends a post-request to another microservice.
+     *
+     * @param dataInJson                        The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return A future that completes with the body of the response.
+     */
+    public CompletableFuture<String> postAsync(String dataInJson,
+                                               String portControllerMethodPathvariables,
+                                               String sessionToken) {
+        return sendAsync(newRequest(portControllerMethodPathvariables, sessionToken)
+            .POST(HttpRequest.BodyPublishers.ofString(dataInJson))
+            .build());
+    }
+
+    /**
+     * Sends a post-request to another microservice and completes as soon as the headers of the
+     * response have arrived, so that its body can be passed on while it is still being sent.
+     * The request is not retried, and the concurrency limit of the destination only covers the
+     * time until the headers arrived. The caller has to close the body.
+     *
+     * @param dataInJson                        The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return A future that completes with the response, or exceptionally with a
+     *     {@link ServiceCommunicationException} when the status is not 200 OK.
+     */
+    public CompletableFuture<HttpResponse<InputStream>> postStreamAsync(
+        String dataInJson, String portControllerMethodPathvariables, String sessionToken) {
+        HttpRequest request = newRequest(portControllerMethodPathvariables, sessionToken)
+            .POST(HttpRequest.BodyPublishers.ofString(dataInJson))
+            .build();
+        return streamAsync(request).thenApply(response -> {
+            if (response.statusCode() != STATUS_OK) {
+                closeQuietly(response.body());
+                throw new ServiceCommunicationException(request.uri(), response.statusCode(), "");
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Forwards a post-request to another microservice without reading its body first: the body
+     * is sent while it is being read, and the future completes as soon as the headers of the
+     * response have arrived, whatever its status. The request is not retried, and the
+     * concurrency limit of the destination only covers the time until the headers arrived. The
+     * caller has to close the body of the response.
+     *
+     * @param body                              The body of the request, read by the client.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return A future that completes with the response, or exceptionally with a
+     *     {@link ServiceCommunicationException} when no response was received.
+     */
+    public CompletableFuture<HttpResponse<InputStream>> forwardAsync(
+        InputStream body, String portControllerMethodPathvariables, String sessionToken) {
+        return forwardAsync(body, portControllerMethodPathvariables, sessionToken,
+            settings.getReadTimeout());
+    }
+
+    /**
+     * Forwards a post-request to another microservice like
+     * {@link #forwardAsync(InputStream, String, String)}, waiting at most the given time for the
+     * headers of the response instead of the configured read timeout.
+     *
+     * @param body                              The body of the request, read by the client.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @param timeout                           Maximum time to wait for the response headers.
+     * @return A future that completes with the response, or exceptionally with a
+     *     {@link ServiceCommunicationException} when no response was received.
+     */
+    public CompletableFuture<HttpResponse<InputStream>> forwardAsync(
+        InputStream body, String portControllerMethodPathvariables, String sessionToken,
+        Duration timeout) {
+        return streamAsync(newRequest(portControllerMethodPathvariables, sessionToken)
+            .timeout(timeout)
+            .POST(HttpRequest.BodyPublishers.ofInputStream(() -> body))
+            .build());
+    }
+
+    /**
+     * Forwards a post-request to another microservice and receives the whole body of its
+     * response, whatever its status code. Meant for small responses that are handed to more than
+     * one caller.
+     *
+     * @param body                              The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @param timeout                           Maximum time to wait for the response headers.
+     * @return A future that completes with the response, or exceptionally with a
+     *     {@link ServiceCommunicationException} when no response was received.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> forwardBufferedAsync(
+        byte[] body, String portControllerMethodPathvariables, String sessionToken,
+        Duration timeout) {
+        return exchangeAsync(newRequest(portControllerMethodPathvariables, sessionToken)
+            .timeout(timeout)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Sends a post-request to another microservice and waits for the headers of the response.
+     *
+     * @param dataInJson                        The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return The response, whose body still has to be read and closed, or null if no 200 OK
+     *     response was received.
+     * @throws ServiceUnavailableException when the request was not sent, because its destination
+     *                                     keeps failing or has too many requests waiting.
+     */
+    public HttpResponse<InputStream> postStream(String dataInJson,
+                                                String portControllerMethodPathvariables,
+                                                String sessionToken) {
+        return join(postStreamAsync(dataInJson, portControllerMethodPathvariables,
+            sessionToken));
+    }
+
+    /**
+     * Sends a request to another microservice. The returned future completes exceptionally with
+     * a {@link ServiceCommunicationException} when no 200 OK response was received. Its cause is
+     * a {@link ServiceUnavailableException} when the request was not sent, because the circuit
+     * breaker of the destination is open or too many requests are waiting for it.
+     *
+     * @param request The request to send.
+     * @return A future that completes with the body of the response.
+     */
+    public CompletableFuture<String> sendAsync(HttpRequest request) {
+        int retries = IDEMPOTENT_METHODS.contains(request.method()) ? settings.getMaxRetries() : 0;
+        return attempt(request, 0, retries);
+    }
+
+    /**
+     * Sends a get-request to another microservice and waits for the response.
+     *
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return The body of the response, or null if no 200 OK response was received.
+     * @throws ServiceUnavailableException when the request was not sent, because its destination
+     *                                     keeps failing or has too many requests waiting.
+     */
+    public String get(String portControllerMethodPathvariables, String sessionToken) {
+        return join(getAsync(portControllerMethodPathvariables, sessionToken));
+    }
+
+    /**
+     * Sends a post-request to another microservice and waits for the response.
+     *
+     * @param dataInJson                        The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return The body of the response, or null if no 200 OK response was received.
+     * @throws ServiceUnavailableException when the request was not sent, because its destination
+     *                                     keeps failing or has too many requests waiting.
+     */
+    public String post(String dataInJson, String portControllerMethodPathvariables,
+                       String sessionToken) {
+        return join(postAsync(dataInJson, portControllerMethodPathvariables, sessionToken));
+    }
+
+    /**
+     * Sends a request to another microservice and waits for the response.
+     *
+     * @param request The request to send.
+     * @return The body of the response, or null if no 200 OK response was received.
+     * @throws ServiceUnavailableException when the request was not sent, because its destination
+     *                                     keeps failing or has too many requests waiting.
+     */
+    public String send(HttpRequest request) {
+        return join(sendAsync(request));
+    }
+
+    /**
+     * Returns the limiter of the microservice the URI points to.
+     *
+     * @param uri The URI of an endpoint.
+     * @return The limiter shared by all requests to the same host and port.
+     */
+    public DestinationLimiter limiterFor(URI uri) {
+        return limiters.computeIfAbsent(destinationOf(uri),
+            destination -> new DestinationLimiter(settings.getMaxConcurrentRequests(),
+                settings.getMaxQueuedRequests()));
+    }
+
+    /**
+     * Returns the circuit breaker of the microservice the URI points to.
+     *
+     * @param uri The URI of an endpoint.
+     * @return The breaker shared by all requests to the same host and port.
+     */
+    public CircuitBreaker breakerFor(URI uri) {
+        return breakers.computeIfAbsent(destinationOf(uri),
+            destination -> new CircuitBreaker(destination, settings.getBreakerFailureThreshold(),
+                settings.getBreakerOpenDuration(), settings.getBreakerHalfOpenProbes()));
+    }
+
+    /**
+     * Returns the circuit breaker and the limiter of every destination that has been used.
+     *
+     * @return JSONArray with one JSONObject per destination, with "destination", "breaker" and
+     *     "limiter" keys.
+     */
+    public JSONArray destinationMetrics() {
+        Set<String> destinations = new TreeSet<>(limiters.keySet());
+        destinations.addAll(breakers.keySet());
+        JSONArray metrics = new JSONArray();
+        for (String destination : destinations) {
+            JSONObject json = new JSONObject().put("destination", destination);
+            CircuitBreaker breaker = breakers.get(destination);
+            DestinationLimiter limiter = limiters.get(destination);
+            json.put("breaker", breaker == null ? JSONObject.NULL : breaker.toJson());
+            json.put("limiter", limiter == null ? JSONObject.NULL : limiter.toJson());
+            metrics.put(json);
+        }
+        return metrics;
+    }
+
+    private static String destinationOf(URI uri) {
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static <T> T join(CompletableFuture<T> response) {
+        try {
+            return response.join();
+        } catch (CompletionException | CancellationException e) {
+            ServiceUnavailableException unavailable = ServiceUnavailableException.find(e);
+            if (unavailable != null) {
+                throw unavailable;
+            }
+            logger.warn("Communication with other microservice failed: {}",
+                unwrap(e).getMessage());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException e) {
+            logger.debug("Could not close response body", e);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> streamAsync(HttpRequest request) {
+        return exchangeAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> exchangeAsync(
+        HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        return guarded(request, bodyHandler)
+            .handle((response, failure) -> {
+                if (failure != null) {
+                    throw new ServiceCommunicationException(request.uri(), unwrap(failure));
+                }
+                return response;
+            });
+    }
+
+    private HttpRequest.Builder newRequest(String portControllerMethodPathvariables,
+                                           String sessionToken) {
+        return HttpRequest.newBuilder()
+            .uri(resolve(portControllerMethodPathvariables))
+            .timeout(settings.getReadTimeout())
+            .header(Constants.SESSIONHEADERKEY, sessionToken)
+            .header("Content-Type", "application/json");
+    }
+
+    private CompletableFuture<String> attempt(HttpRequest request, int attempt, int retries) {
+        return guarded(request, HttpResponse.BodyHandlers.ofString())
+            .handle((response, failure) -> {
+                if (failure == null && response.statusCode() == STATUS_OK) {
+                    return CompletableFuture.completedFuture(response.body());
+                }
+                if (attempt < retries && isRetryable(response, failure)
+                    || attempt == 0 && isStaleConnection(failure)) {
+                    return CompletableFuture
+                        .runAsync(() -> { }, CompletableFuture.delayedExecutor(
+                            backoff(attempt), TimeUnit.MILLISECONDS))
+                        .thenCompose(ignored -> attempt(request, attempt + 1, retries));
+                }
+                return CompletableFuture.<String>failedFuture(failure == null
+                    ? new ServiceCommunicationException(request.uri(), response.statusCode(),
+                        response.body())
+                    : new ServiceCommunicationException(request.uri(), unwrap(failure)));
+            })
+            .thenCompose(Function.identity());
+    }
+
+    /**
+     * Sends a request if the circuit breaker of its destination allows it, within the
+     * concurrency limit of the destination, and reports the outcome to the breaker. The slot of
+     * the request is only given back when the exchange itself completed, so that requests whose
+     * caller stopped waiting still count towards the limit. Requests without a timeout of their
+     * own are given up on after the configured read timeout.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> guarded(
+        HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        CircuitBreaker breaker = breakerFor(request.uri());
+        try {
+            breaker.acquire();
+        } catch (ServiceUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<T>> response = limiterFor(request.uri())
+            .submit(() -> client.sendAsync(request, bodyHandler));
+        if (request.timeout().isEmpty()) {
+            response.orTimeout(settings.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return response.whenComplete((result, failure) -> {
+            if (failure != null && ServiceUnavailableException.find(failure) != null) {
+                breaker.onSkipped();
+            } else if (failure != null || result.statusCode() >= SERVER_ERROR) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        });
+    }
+
+    /**
+     * Computes the time to wait before the next attempt: exponential in the amount of attempts
+     * so far, of which a random half is left out so that callers do not retry in lockstep.
+     */
+    private long backoff(int attempt) {
+        long ceiling = Math.min(settings.getMaxBackoff().toMillis(),
+            settings.getInitialBackoff().toMillis() << Math.min(attempt, 30));
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private static boolean isRetryable(HttpResponse<String> response, Throwable failure) {
+        if (failure == null) {
+            return RETRYABLE_STATUSES.contains(response.statusCode());
+        }
+        Throwable cause = unwrap(failure);
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Tells whether a request failed on a pooled connection that the other side had already
+     * closed, before any byte of a response arrived. Such a request can be sent again once on a
+     * new connection, whatever its method.
+     */
+    private static boolean isStaleConnection(Throwable failure) {
+        if (failure == null) {
+            return false;
+        }
+        Throwable cause = unwrap(failure);
+        return cause instanceof ConnectException
+            || cause instanceof IOException && cause.getMessage() != null
+            && cause.getMessage().contains(NO_BYTES_RECEIVED);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
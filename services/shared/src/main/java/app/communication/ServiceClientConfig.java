@@ -0,0 +1,104 @@
+package app.communication;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configures the shared {@link ServiceClient} from the application properties.
+ * The following properties are read from the microservice it runs in:
+ * <ul>
+ *     <li>communication.connect-timeout: milliseconds to wait for a connection.</li>
+ *     <li>communication.read-timeout: milliseconds to wait for a response.</li>
+ *     <li>communication.retries: retries of idempotent requests.</li>
+ *     <li>communication.backoff.initial and communication.backoff.max: milliseconds to wait
+ *     before retrying.</li>
+ *     <li>communication.max-concurrent-requests and communication.max-queued-requests: limits
+ *     per destination.</li>
+ *     <li>communication.breaker.failure-threshold, communication.breaker.open-duration and
+ *     communication.breaker.half-open-probes: consecutive failures that open the circuit
+ *     breaker of a destination, milliseconds it stays open and probes let through afterwards.
+ *     </li>
+ *     <li>communication.base-url.&lt;service&gt;: base URL of every other microservice, for
+ *     example communication.base-url.course-service=http://course-service:8082.</li>
+ * </ul>
+ */
+@Configuration
+public class ServiceClientConfig {
+
+    private static final Map<String, String> SERVICE_PORTS = Map.of(
+        "authentication", "8080",
+        "authorisation", "8081",
+        "course-service", "8082",
+        "exam-service", "8083",
+        "student-service", "8084",
+        "teacher-service", "8085");
+
+    private final transient Environment environment;
+
+    @Value("${communication.connect-timeout:2000}")
+    private transient long connectTimeout;
+
+    @Value("${communication.read-timeout:5000}")
+    private transient long readTimeout;
+
+    @Value("${communication.retries:2}")
+    private transient int retries;
+
+    @Value("${communication.backoff.initial:50}")
+    private transient long initialBackoff;
+
+    @Value("${communication.backoff.max:1000}")
+    private transient long maxBackoff;
+
+    @Value("${communication.max-concurrent-requests:64}")
+    private transient int maxConcurrentRequests;
+
+    @Value("${communication.max-queued-requests:1024}")
+    private transient int maxQueuedRequests;
+
+    @Value("${communication.breaker.failure-threshold:10}")
+    private transient int breakerFailureThreshold;
+
+    @Value("${communication.breaker.open-duration:5000}")
+    private transient long breakerOpenDuration;
+
+    @Value("${communication.breaker.half-open-probes:1}")
+    private transient int breakerHalfOpenProbes;
+
+    public ServiceClientConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Replaces the default client by one that uses the configured values.
+     */
+    @PostConstruct
+    public void configure() {
+        Map<String, String> baseUrls = new HashMap<>();
+        SERVICE_PORTS.forEach((service, port) -> {
+            String baseUrl = environment.getProperty("communication.base-url." + service);
+            if (baseUrl != null) {
+                baseUrls.put(port, baseUrl.replaceAll("/+$", ""));
+            }
+        });
+
+        ServiceClient.setInstance(new ServiceClient(ServiceClientSettings.builder()
+            .connectTimeout(Duration.ofMillis(connectTimeout))
+            .readTimeout(Duration.ofMillis(readTimeout))
+            .maxRetries(retries)
+            .initialBackoff(Duration.ofMillis(initialBackoff))
+            .maxBackoff(Duration.ofMillis(maxBackoff))
+            .maxConcurrentRequests(maxConcurrentRequests)
+            .maxQueuedRequests(maxQueuedRequests)
+            .breakerFailureThreshold(breakerFailureThreshold)
+            .breakerOpenDuration(Duration.ofMillis(breakerOpenDuration))
+            .breakerHalfOpenProbes(breakerHalfOpenProbes)
+            .baseUrls(baseUrls)
+            .build()));
+    }
+}
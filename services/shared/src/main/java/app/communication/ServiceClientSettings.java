@@ -0,0 +1,79 @@
+package app.communication;
+
+import java.time.Duration;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Timeouts, retry and concurrency settings of a {@link ServiceClient}.
+ */
+@Getter
+@Builder
+public class ServiceClientSettings {
+
+    /**
+     * Maximum time to wait for a connection to another microservice.
+     */
+    @Builder.Default
+    private final transient Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time to wait for the response after the request has been sent.
+     */
+    @Builder.Default
+    private final transient Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Amount of times an idempotent request is retried after a connection failure, timeout or
+     * 502/503/504 response.
+     */
+    @Builder.Default
+    private final transient int maxRetries = 2;
+
+    /**
+     * Backoff before the first retry. Every next retry waits twice as long, up to maxBackoff.
+     */
+    @Builder.Default
+    private final transient Duration initialBackoff = Duration.ofMillis(50);
+
+    @Builder.Default
+    private final transient Duration maxBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Maximum amount of requests in flight to a single destination.
+     */
+    @Builder.Default
+    private final transient int maxConcurrentRequests = 64;
+
+    /**
+     * Maximum amount of requests waiting for a free slot per destination.
+     */
+    @Builder.Default
+    private final transient int maxQueuedRequests = 1024;
+
+    /**
+     * Amount of consecutive failures after which requests to a destination are rejected.
+     */
+    @Builder.Default
+    private final transient int breakerFailureThreshold = 10;
+
+    /**
+     * How long requests to a failing destination are rejected before a probe is let through.
+     */
+    @Builder.Default
+    private final transient Duration breakerOpenDuration = Duration.ofSeconds(5);
+
+    /**
+     * Maximum amount of probe requests in flight to a destination that is being probed.
+     */
+    @Builder.Default
+    private final transient int breakerHalfOpenProbes = 1;
+
+    /**
+     * Base URL per port, for example "8082" to "http://course-service:8082". Ports that are not
+     * in this map are resolved to http://localhost:port.
+     */
+    @Builder.Default
+    private final transient Map<String, String> baseUrls = Map.of();
+}
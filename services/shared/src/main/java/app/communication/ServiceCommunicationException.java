@@ -0,0 +1,45 @@
+package app.communication;
+
+import java.net.URI;
+
+/**
+ * Thrown when another microservice could not be reached, or did not answer with 200 OK.
+ */
+public class ServiceCommunicationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient int statusCode;
+
+    /**
+     * Constructs a ServiceCommunicationException for a response with an unexpected status.
+     *
+     * @param uri        The endpoint that was called.
+     * @param statusCode The status code of the response.
+     * @param body       The body of the response.
+     */
+    public ServiceCommunicationException(URI uri, int statusCode, String body) {
+        super("Status " + statusCode + " from " + uri + ": " + body);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Constructs a ServiceCommunicationException for a request that did not get a response.
+     *
+     * @param uri   The endpoint that was called.
+     * @param cause The reason why no response was received.
+     */
+    public ServiceCommunicationException(URI uri, Throwable cause) {
+        super("No response from " + uri + ": " + cause, cause);
+        this.statusCode = -1;
+    }
+
+    /**
+     * Returns the status code of the response, or -1 if no response was received.
+     *
+     * @return the status code.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
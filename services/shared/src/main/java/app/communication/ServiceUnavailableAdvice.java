@@ -0,0 +1,29 @@
+package app.communication;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers a request with 503 Service Unavailable when it needed another microservice that no
+ * requests are sent to at the moment, so that the caller can back off instead of waiting.
+ */
+@RestControllerAdvice
+public class ServiceUnavailableAdvice {
+
+    /**
+     * Returns 503 with a Retry-After header.
+     *
+     * @param exception Why the request to the other microservice was not sent.
+     * @return 503 Service Unavailable.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> serviceUnavailable(ServiceUnavailableException exception) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        return new ResponseEntity<>("Service unavailable", headers,
+            HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
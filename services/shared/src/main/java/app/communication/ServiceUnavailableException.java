@@ -0,0 +1,54 @@
+package app.communication;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown when a request to another microservice is not sent at all, because the circuit breaker
+ * of its destination is open or too many requests are already waiting for it. The caller can
+ * answer 503 Service Unavailable right away instead of waiting for a timeout.
+ */
+public class ServiceUnavailableException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Duration retryAfter;
+
+    /**
+     * Constructs a ServiceUnavailableException.
+     *
+     * @param message    Why the request was not sent.
+     * @param retryAfter How long the caller should wait before trying again.
+     */
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns the time to wait in whole seconds, as sent in a Retry-After header.
+     *
+     * @return the seconds to wait, at least 1.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    /**
+     * Finds the ServiceUnavailableException a request failed with.
+     *
+     * @param failure The exception the request failed with, possibly wrapped.
+     * @return The exception, or null if the request was sent.
+     */
+    public static ServiceUnavailableException find(Throwable failure) {
+        Throwable cause = failure;
+        while (cause != null && !(cause instanceof ServiceUnavailableException)) {
+            cause = cause.getCause();
+        }
+        return (ServiceUnavailableException) cause;
+    }
+}
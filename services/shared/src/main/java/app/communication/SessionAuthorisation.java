@@ -0,0 +1,35 @@
+package app.communication;
+
+import app.authorisation.AuthorisationMode;
+import app.authorisation.SessionVerifier;
+import app.constants.Constants;
+import org.json.JSONObject;
+
+/**
+ * Checks whether a session has a role for the endpoints that every microservice shares. Like the
+ * Authorisation class of each microservice, the session is verified in-process by the shared
+ * {@link SessionVerifier}, unless authorisation.mode is set to "remote", in which case the
+ * authorisation microservice is asked.
+ */
+public class SessionAuthorisation {
+
+    /**
+     * Checks if a session is allowed to do an action.
+     *
+     * @param sessionToken The session token as received from the client.
+     * @param requiredRole The role that the user should have: 0 for a student and 1 for a
+     *                     teacher.
+     * @return true if the action is allowed, false if it is not or the authorisation
+     *     microservice did not answer.
+     */
+    public static boolean isAuthorised(String sessionToken, int requiredRole) {
+        SessionVerifier verifier = SessionVerifier.getInstance();
+        if (verifier.getMode() == AuthorisationMode.LOCAL) {
+            return verifier.isAuthorised(sessionToken, requiredRole);
+        }
+        String response = ServiceClient.getInstance()
+            .get(Constants.PORT8081 + Constants.PATH + requiredRole, sessionToken);
+        return response != null
+            && new JSONObject(response).optBoolean(Constants.AUTHORISEDKEY);
+    }
+}
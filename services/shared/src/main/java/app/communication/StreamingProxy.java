@@ -0,0 +1,161 @@
+package app.communication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Passes requests through to another microservice without holding their bodies in memory. The
+ * body of the request is read by the {@link ServiceClient} while it is being sent, and the body
+ * of the response is copied to the client in chunks of {@value #CHUNK_SIZE} bytes while it is
+ * being received. The status code and headers of the response are kept, apart from the headers
+ * that only apply to a single connection.
+ *
+ * <p>Only a bounded part of the response is held at a time: while the client does not take the
+ * next chunk, no more of the response is read, so a slow client slows down the microservice
+ * sending it instead of filling the heap of the gateway.
+ */
+public final class StreamingProxy {
+
+    static final int CHUNK_SIZE = 8192;
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingProxy.class);
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive",
+        "proxy-authenticate", "proxy-authorization", "te", "trailer", "transfer-encoding",
+        "upgrade");
+
+    private StreamingProxy() {
+    }
+
+    /**
+     * Forwards a post-request to another microservice and passes its response on.
+     *
+     * @param client                            The client to send the request with.
+     * @param body                              The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @return The response of the microservice, 502 Bad Gateway if it did not respond, or 503
+     *     Service Unavailable if the request was not sent.
+     */
+    public static ResponseEntity<StreamingResponseBody> forward(
+        ServiceClient client, InputStream body, String portControllerMethodPathvariables,
+        String sessionToken) {
+        return forward(client, body, portControllerMethodPathvariables, sessionToken,
+            client.getSettings().getReadTimeout());
+    }
+
+    /**
+     * Forwards a post-request to another microservice and passes its response on, waiting at
+     * most the given time for the headers of the response.
+     *
+     * @param client                            The client to send the request with.
+     * @param body                              The body of the request.
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @param sessionToken                      The session of the user doing the request.
+     * @param timeout                           Maximum time to wait for the response headers.
+     * @return The response of the microservice, 502 Bad Gateway if it did not respond, or 503
+     *     Service Unavailable if the request was not sent.
+     */
+    public static ResponseEntity<StreamingResponseBody> forward(
+        ServiceClient client, InputStream body, String portControllerMethodPathvariables,
+        String sessionToken, Duration timeout) {
+        try {
+            return toResponseEntity(client
+                .forwardAsync(body, portControllerMethodPathvariables, sessionToken, timeout)
+                .join());
+        } catch (CompletionException | CancellationException e) {
+            return failure(e);
+        }
+    }
+
+    /**
+     * Logs why another microservice did not respond and answers 502 Bad Gateway, or 503 Service
+     * Unavailable with a Retry-After header if the request was not sent at all because its
+     * destination keeps failing or is overloaded.
+     *
+     * @param failure The exception the request completed with.
+     * @return The response to send to the client.
+     */
+    public static ResponseEntity<StreamingResponseBody> failure(RuntimeException failure) {
+        logger.warn("Communication with other microservice failed: {}", failure.getMessage());
+        ServiceUnavailableException unavailable = ServiceUnavailableException.find(failure);
+        ResponseEntity.BodyBuilder response = unavailable == null
+            ? ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+            : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(unavailable.getRetryAfterSeconds()));
+        return response
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(out -> out.write("Service unavailable".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Turns a response whose body has not been read yet into a response with the same status
+     * and headers, whose body is copied while it is being written. The body is closed once it
+     * has been copied, or when the client went away.
+     *
+     * @param response The response of another microservice.
+     * @return The response to send to the client.
+     */
+    public static ResponseEntity<StreamingResponseBody> toResponseEntity(
+        HttpResponse<InputStream> response) {
+        return ResponseEntity.status(response.statusCode())
+            .headers(passedOnHeaders(response))
+            .body(out -> {
+                try (InputStream in = response.body()) {
+                    copy(in, out);
+                }
+            });
+    }
+
+    /**
+     * Returns the headers of a response that are passed on to the client: all of them, apart
+     * from the headers that only apply to a single connection.
+     *
+     * @param response The response of another microservice.
+     * @return The headers to send to the client.
+     */
+    public static HttpHeaders passedOnHeaders(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!name.startsWith(":") && !HOP_BY_HOP_HEADERS.contains(name)) {
+                headers.addAll(header.getKey(), header.getValue());
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Copies a stream chunk by chunk. The output is flushed whenever the input has nothing left
+     * that can be read without waiting, so that the client receives what has arrived so far.
+     */
+    static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int read = in.read(chunk);
+        while (read >= 0) {
+            out.write(chunk, 0, read);
+            if (in.available() == 0) {
+                out.flush();
+            }
+            read = in.read(chunk);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,153 @@
+package app.database;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Collects the metrics of one connection pool: the current amount of active, idle and waiting
+ * connections, how long threads waited for a connection, how long connections were in use and
+ * how often no connection became available in time. Every pool created by
+ * {@link PooledDataSource} registers its metrics here, so that they can be read by
+ * {@link PoolMetricsController}.
+ */
+public class PoolMetrics implements IMetricsTracker {
+
+    private static final Map<String, PoolMetrics> registry = new ConcurrentHashMap<>();
+
+    private final transient String poolName;
+    private final transient PoolStats poolStats;
+    private final transient AtomicLong acquired = new AtomicLong();
+    private final transient AtomicLong waitNanos = new AtomicLong();
+    private final transient LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final transient AtomicLong usageMillis = new AtomicLong();
+    private final transient LongAccumulator maxUsageMillis = new LongAccumulator(Math::max, 0);
+    private final transient AtomicLong created = new AtomicLong();
+    private final transient AtomicLong creationMillis = new AtomicLong();
+    private final transient AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * Constructs a PoolMetrics.
+     *
+     * @param poolName  The name of the pool.
+     * @param poolStats The statistics that the pool keeps up to date itself.
+     */
+    public PoolMetrics(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+    }
+
+    /**
+     * Returns the factory that the pools use to create their metrics, which also registers
+     * the metrics of every pool.
+     *
+     * @return the factory.
+     */
+    public static MetricsTrackerFactory factory() {
+        return (poolName, poolStats) -> {
+            PoolMetrics metrics = new PoolMetrics(poolName, poolStats);
+            registry.put(poolName, metrics);
+            return metrics;
+        };
+    }
+
+    /**
+     * Returns the metrics of every pool that is currently open.
+     *
+     * @return the metrics.
+     */
+    public static Collection<PoolMetrics> all() {
+        return registry.values();
+    }
+
+    /**
+     * Returns the current values of the metrics of every pool that is currently open.
+     *
+     * @return JSONArray with one JSONObject per pool.
+     */
+    public static JSONArray snapshot() {
+        JSONArray pools = new JSONArray();
+        registry.values().forEach(metrics -> pools.put(metrics.toJson()));
+        return pools;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        created.incrementAndGet();
+        creationMillis.addAndGet(connectionCreatedMillis);
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquired.incrementAndGet();
+        waitNanos.addAndGet(elapsedAcquiredNanos);
+        maxWaitNanos.accumulate(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usageMillis.addAndGet(elapsedBorrowedMillis);
+        maxUsageMillis.accumulate(elapsedBorrowedMillis);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getAcquired() {
+        return acquired.get();
+    }
+
+    /**
+     * Unregisters the metrics when the pool is closed.
+     */
+    @Override
+    public void close() {
+        registry.remove(poolName, this);
+    }
+
+    /**
+     * Returns the current values of all metrics of this pool. Times are in milliseconds.
+     *
+     * @return JSONObject with one key per metric.
+     */
+    public JSONObject toJson() {
+        long acquiredCount = acquired.get();
+        JSONObject json = new JSONObject();
+        json.put("pool", poolName);
+        json.put("active", poolStats.getActiveConnections());
+        json.put("idle", poolStats.getIdleConnections());
+        json.put("total", poolStats.getTotalConnections());
+        json.put("pending", poolStats.getPendingThreads());
+        json.put("max", poolStats.getMaxConnections());
+        json.put("min", poolStats.getMinConnections());
+        json.put("acquired", acquiredCount);
+        json.put("averageWait", acquiredCount == 0 ? 0.0
+            : waitNanos.get() / (double) acquiredCount / TimeUnit.MILLISECONDS.toNanos(1));
+        json.put("maxWait", maxWaitNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        json.put("averageUsage", acquiredCount == 0 ? 0.0
+            : usageMillis.get() / (double) acquiredCount);
+        json.put("maxUsage", maxUsageMillis.get());
+        json.put("created", created.get());
+        json.put("creationTime", creationMillis.get());
+        json.put("timeouts", timeouts.get());
+        return json;
+    }
+}
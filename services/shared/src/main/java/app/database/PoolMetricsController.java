@@ -0,0 +1,34 @@
+package app.database;
+
+import app.communication.SessionAuthorisation;
+import app.constants.Constants;
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes the metrics of the connection pools of the microservice it runs in. Microservices
+ * without a database return an empty list.
+ */
+@RestController
+public class PoolMetricsController {
+
+    /**
+     * Returns the current metrics of every connection pool.
+     *
+     * @param sessionToken session token of a teacher.
+     * @return JSONObject with "pools" key and a JSONArray with the metrics of every pool.
+     */
+    @GetMapping("metrics/dataSource")
+    public ResponseEntity<String> poolMetrics(@RequestHeader(Constants.SESSIONHEADERKEY)
+                                                  String sessionToken) {
+        if (!SessionAuthorisation.isAuthorised(sessionToken, 1)) {
+            return new ResponseEntity<>(Constants.NOT_AUTHORIZED_STRING, HttpStatus.FORBIDDEN);
+        }
+        return new ResponseEntity<>(
+            new JSONObject().put("pools", PoolMetrics.snapshot()).toString(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,82 @@
+package app.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.env.Environment;
+
+/**
+ * Creates the pooled data source that the microservices with a database use, so that a
+ * transaction borrows an open connection instead of opening a new one to MySQL. Besides the
+ * jdbc.driverClassName, jdbc.url, jdbc.user and jdbc.pass properties the following
+ * properties are read:
+ * <ul>
+ *     <li>jdbc.pool.min-idle and jdbc.pool.max-size: the amount of connections kept open.</li>
+ *     <li>jdbc.pool.connection-timeout: milliseconds to wait for a free connection.</li>
+ *     <li>jdbc.pool.validation-timeout: milliseconds to wait for a connection to be validated
+ *     before it is handed out.</li>
+ *     <li>jdbc.pool.validation-query: query used for validation, only needed for drivers that
+ *     do not support {@link java.sql.Connection#isValid(int)}.</li>
+ *     <li>jdbc.pool.idle-timeout and jdbc.pool.max-lifetime: milliseconds after which an idle
+ *     or old connection is replaced.</li>
+ *     <li>jdbc.pool.leak-detection-threshold: milliseconds a connection may be borrowed before
+ *     a possible leak is logged, or 0 to disable leak detection.</li>
+ *     <li>jdbc.pool.statement-cache-size and jdbc.pool.statement-cache-sql-limit: amount and
+ *     maximum length of the prepared statements that MySQL connections cache.</li>
+ * </ul>
+ */
+public final class PooledDataSource {
+
+    private PooledDataSource() {
+    }
+
+    /**
+     * Creates a pool that connects to the configured database. If the database cannot be
+     * reached while the microservice starts, the pool keeps trying in the background.
+     *
+     * @param environment The properties of the microservice.
+     * @param poolName    The name under which the metrics of the pool are published.
+     * @return the data source.
+     */
+    public static HikariDataSource create(Environment environment, String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName(environment.getProperty("jdbc.driverClassName"));
+        config.setJdbcUrl(environment.getProperty("jdbc.url"));
+        config.setUsername(environment.getProperty("jdbc.user"));
+        config.setPassword(environment.getProperty("jdbc.pass"));
+
+        config.setMinimumIdle(environment.getProperty("jdbc.pool.min-idle", Integer.class, 2));
+        config.setMaximumPoolSize(
+            environment.getProperty("jdbc.pool.max-size", Integer.class, 10));
+        config.setConnectionTimeout(
+            environment.getProperty("jdbc.pool.connection-timeout", Long.class, 3000L));
+        config.setValidationTimeout(
+            environment.getProperty("jdbc.pool.validation-timeout", Long.class, 1000L));
+        config.setIdleTimeout(
+            environment.getProperty("jdbc.pool.idle-timeout", Long.class, 600_000L));
+        config.setMaxLifetime(
+            environment.getProperty("jdbc.pool.max-lifetime", Long.class, 1_800_000L));
+        config.setLeakDetectionThreshold(
+            environment.getProperty("jdbc.pool.leak-detection-threshold", Long.class, 10_000L));
+        String validationQuery = environment.getProperty("jdbc.pool.validation-query");
+        if (validationQuery != null && !validationQuery.isBlank()) {
+            config.setConnectionTestQuery(validationQuery);
+        }
+        config.setInitializationFailTimeout(-1);
+
+        String url = config.getJdbcUrl();
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize",
+                environment.getProperty("jdbc.pool.statement-cache-size", "250"));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit",
+                environment.getProperty("jdbc.pool.statement-cache-sql-limit", "2048"));
+            // Sends a JDBC batch as a single multi-row statement instead of one per row
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+
+        config.setMetricsTrackerFactory(PoolMetrics.factory());
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,163 @@
+package app.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Brings the schema of a microservice up to date with its entities. Hibernate does not create
+ * or change any tables, so every change to the schema ships as a script on the classpath named
+ * 'V&lt;version&gt;__&lt;description&gt;.sql'. The scripts that have not been applied to the
+ * database yet are applied in order of their version, and every applied version is recorded in
+ * the schema_version table.
+ *
+ * <p>The version is recorded before its script runs, so that an instance of the microservice
+ * that starts at the same time skips the script instead of applying it twice. If the script
+ * fails, the version is removed again and the microservice does not start.
+ */
+public final class SchemaMigrations {
+
+    /**
+     * Where the scripts of a microservice are found.
+     */
+    public static final String LOCATION = "classpath*:db/migration/V*__*.sql";
+
+    static final String CREATE_VERSION_TABLE = "create table if not exists schema_version ("
+        + "version int not null primary key, description varchar(200) not null, "
+        + "applied_at timestamp not null default current_timestamp)";
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+    private static final Pattern NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Applies the scripts at {@link #LOCATION} that have not been applied yet.
+     *
+     * @param dataSource The database of the microservice.
+     * @return The amount of scripts that were applied.
+     */
+    public static int migrate(DataSource dataSource) {
+        return migrate(dataSource, LOCATION);
+    }
+
+    /**
+     * Applies the scripts at a location that have not been applied yet.
+     *
+     * @param dataSource The database of the microservice.
+     * @param location   Pattern that matches the scripts.
+     * @return The amount of scripts that were applied.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public static int migrate(DataSource dataSource, String location) {
+        List<Migration> migrations = find(location);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_VERSION_TABLE);
+            }
+            Set<Integer> applied = applied(connection);
+            int count = 0;
+            for (Migration migration : migrations) {
+                if (!applied.contains(migration.version) && claim(connection, migration)) {
+                    apply(connection, migration);
+                    count++;
+                }
+            }
+            return count;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not migrate the schema", e);
+        }
+    }
+
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private static List<Migration> find(String location) {
+        List<Migration> migrations = new ArrayList<>();
+        try {
+            for (Resource resource :
+                new PathMatchingResourcePatternResolver().getResources(location)) {
+                Matcher matcher = NAME.matcher(String.valueOf(resource.getFilename()));
+                if (matcher.matches()) {
+                    migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                        matcher.group(2).replace('_', ' '), resource));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+        return migrations;
+    }
+
+    private static Set<Integer> applied(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select version from schema_version")) {
+            while (rows.next()) {
+                versions.add(rows.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Records a version, unless another instance of the microservice recorded it first.
+     */
+    private static boolean claim(Connection connection, Migration migration) {
+        try (PreparedStatement insert = connection.prepareStatement(
+            "insert into schema_version (version, description) values (?, ?)")) {
+            insert.setInt(1, migration.version);
+            insert.setString(2, migration.description);
+            insert.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            logger.info("Version {} of the schema is applied by another instance",
+                migration.version);
+            return false;
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        logger.info("Applying version {} of the schema: {}", migration.version,
+            migration.description);
+        try {
+            ScriptUtils.executeSqlScript(connection, migration.script);
+        } catch (RuntimeException e) {
+            try (PreparedStatement delete = connection.prepareStatement(
+                "delete from schema_version where version = ?")) {
+                delete.setInt(1, migration.version);
+                delete.executeUpdate();
+            }
+            throw e;
+        }
+    }
+
+    private static class Migration {
+        private final transient int version;
+        private final transient String description;
+        private final transient Resource script;
+
+        Migration(int version, String description, Resource script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+        }
+    }
+}
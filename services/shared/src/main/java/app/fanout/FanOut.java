@@ -0,0 +1,232 @@
+package app.fanout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs independent steps of a request concurrently. Every step has its own deadline and a
+ * precondition its result has to meet. As soon as one step fails, the steps that are still
+ * running are cancelled and no new steps are started, so that the request can be answered
+ * without waiting for work whose result is no longer needed.
+ *
+ * <p>A FanOut that is not fail-fast lets every step run until it finishes or its deadline
+ * passes, so that a request can be answered with the results of the steps that did succeed.
+ * Steps can then also be added after {@link #await()}, for work that depends on earlier steps.
+ *
+ * <p>A FanOut is meant for a single request and is not reused.
+ */
+public class FanOut {
+
+    private final transient Executor executor;
+    private final transient boolean failFast;
+    private final transient List<Step<?>> steps = new ArrayList<>();
+    private final transient CompletableFuture<Step<?>> firstFailure = new CompletableFuture<>();
+
+    /**
+     * Constructs a FanOut.
+     *
+     * @param executor The executor the steps are run on.
+     */
+    public FanOut(Executor executor) {
+        this(executor, true);
+    }
+
+    /**
+     * Constructs a FanOut.
+     *
+     * @param executor The executor the steps are run on.
+     * @param failFast Whether the first step that fails cancels the others.
+     */
+    public FanOut(Executor executor, boolean failFast) {
+        this.executor = executor;
+        this.failFast = failFast;
+    }
+
+    /**
+     * Starts a step whose result should not be null.
+     *
+     * @param name           The name of the step, used in its timing.
+     * @param deadlineMillis The maximum time in milliseconds the step may take.
+     * @param task           The work of the step.
+     * @param <T>            The type of the result.
+     * @return The started step.
+     */
+    public <T> Step<T> step(String name, long deadlineMillis, Supplier<T> task) {
+        return step(name, deadlineMillis, task, result -> true);
+    }
+
+    /**
+     * Starts a step, unless an earlier step has already failed and this FanOut is fail-fast.
+     *
+     * @param name           The name of the step, used in its timing.
+     * @param deadlineMillis The maximum time in milliseconds the step may take.
+     * @param task           The work of the step.
+     * @param precondition   Condition the non-null result has to meet for the step to succeed.
+     * @param <T>            The type of the result.
+     * @return The started step, or a cancelled step if an earlier step failed first.
+     */
+    public <T> Step<T> step(String name, long deadlineMillis, Supplier<T> task,
+                            Predicate<T> precondition) {
+        Step<T> step = new Step<>(name);
+        synchronized (steps) {
+            steps.add(step);
+        }
+        if (failFast && firstFailure.isDone()) {
+            step.future.cancel(false);
+            return step;
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture.supplyAsync(task, executor)
+            .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+            .whenComplete((result, failure) -> {
+                step.elapsedNanos = System.nanoTime() - start;
+                if (failure == null && result != null && precondition.test(result)) {
+                    step.future.complete(result);
+                } else {
+                    step.failure = failure == null ? null : unwrap(failure);
+                    step.hasFailed = true;
+                    firstFailure.complete(step);
+                    step.future.completeExceptionally(new StepFailedException(step));
+                }
+            });
+        return step;
+    }
+
+    /**
+     * Waits until all steps have succeeded or one of them has failed. In the latter case the
+     * steps that are still running are cancelled. A FanOut that is not fail-fast waits until
+     * every step has finished or passed its deadline, and cancels nothing.
+     *
+     * @return true if all steps succeeded and false otherwise.
+     */
+    public boolean await() {
+        CompletableFuture<?>[] futures;
+        synchronized (steps) {
+            futures = steps.stream().map(step -> step.future).toArray(CompletableFuture[]::new);
+        }
+        CompletableFuture<?> done = failFast
+            ? CompletableFuture.anyOf(CompletableFuture.allOf(futures), firstFailure)
+            : CompletableFuture.allOf(futures);
+        // A failed step completes firstFailure as well, so its exception is not needed here.
+        done.handle((result, failure) -> result).join();
+        synchronized (steps) {
+            if (steps.stream().allMatch(Step::succeeded)) {
+                return true;
+            }
+            steps.forEach(step -> step.future.cancel(false));
+        }
+        return false;
+    }
+
+    /**
+     * Formats the time every step took as the value of a Server-Timing header, for example
+     * "enrollment;dur=12.3, questions;dur=40.0". Steps that did not finish are left out.
+     *
+     * @return The timings of the steps.
+     */
+    public String serverTiming() {
+        synchronized (steps) {
+            return steps.stream()
+                .filter(step -> step.elapsedNanos >= 0)
+                .map(step -> String.format(Locale.ROOT, "%s;dur=%.1f", step.name,
+                    step.elapsedNanos / 1_000_000.0))
+                .collect(Collectors.joining(", "));
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * A single step of a {@link FanOut}.
+     *
+     * @param <T> The type of the result of the step.
+     */
+    public static class Step<T> {
+        private final transient String name;
+        private final transient CompletableFuture<T> future = new CompletableFuture<>();
+        private transient volatile long elapsedNanos = -1;
+        private transient volatile Throwable failure;
+        private transient volatile boolean hasFailed;
+
+        Step(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns whether the step finished with a result that met its precondition.
+         *
+         * @return true if the step succeeded.
+         */
+        public boolean succeeded() {
+            return future.isDone() && !future.isCompletedExceptionally();
+        }
+
+        /**
+         * Returns whether the step finished without a result that met its precondition. A step
+         * that was cancelled because another step failed first has not failed itself.
+         *
+         * @return true if the step failed.
+         */
+        public boolean failed() {
+            return hasFailed;
+        }
+
+        /**
+         * Returns the result of a step that succeeded.
+         *
+         * @return The result, or null if the step did not succeed.
+         */
+        public T getResult() {
+            return succeeded() ? future.join() : null;
+        }
+
+        /**
+         * Returns the exception that made the step fail, for example a
+         * {@link java.util.concurrent.TimeoutException} when its deadline passed.
+         *
+         * @return The exception, or null if the step did not throw.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Returns the time the step took.
+         *
+         * @return The duration in nanoseconds, or -1 if the step did not finish.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * Completes the future of a step that failed.
+     */
+    static class StepFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StepFailedException(Step<?> step) {
+            super("Step " + step.getName() + " failed", step.getFailure());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package app.gateway;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.json.JSONObject;
+
+/**
+ * Lets concurrent identical requests share one call: the first request with a key starts the
+ * call, and requests with the same key that arrive before it has completed wait for the same
+ * result instead of starting their own. Failures are shared like results. Nothing is kept once
+ * the call has completed, so a request that arrives afterwards starts a new call and never sees
+ * an outdated result.
+ *
+ * @param <T> The type of the result of a call.
+ */
+public class Coalescer<T> {
+
+    private final transient Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final transient LongAdder requests = new LongAdder();
+    private final transient LongAdder calls = new LongAdder();
+
+    /**
+     * Joins the call in flight for the key, or starts it.
+     *
+     * @param key  The key of the request.
+     * @param call Starts the call, if no call for the key is in flight.
+     * @return A future that completes with the result of the call. Cancelling it does not cancel
+     *     the call for the other requests.
+     */
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.DataflowAnomalyAnalysis"})
+    public CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call) {
+        requests.increment();
+        CompletableFuture<T> started = new CompletableFuture<>();
+        CompletableFuture<T> running = inFlight.putIfAbsent(key, started);
+        if (running != null) {
+            return running.copy();
+        }
+        calls.increment();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, failure) -> {
+            // Leave the map first, so that no request joins a call that has already completed.
+            inFlight.remove(key, started);
+            if (failure == null) {
+                started.complete(value);
+            } else {
+                started.completeExceptionally(failure);
+            }
+        });
+        return started.copy();
+    }
+
+    /**
+     * Returns the amount of requests so far.
+     *
+     * @return the amount of requests.
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the amount of calls that were started, one per group of identical requests.
+     *
+     * @return the amount of calls.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Returns the amount of calls currently in flight.
+     *
+     * @return the amount of keys with a call in flight.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns how many requests did not need a call of their own.
+     *
+     * @return JSONObject with "requests", "calls", "collapsed", "collapseRatio" (the share of
+     *     requests that joined a call of another request) and "inFlight" keys.
+     */
+    public JSONObject toJson() {
+        // Calls are counted after their request, so reading them first keeps collapsed >= 0.
+        long callCount = getCalls();
+        long requestCount = getRequests();
+        long collapsed = requestCount - callCount;
+        return new JSONObject()
+            .put("requests", requestCount)
+            .put("calls", callCount)
+            .put("collapsed", collapsed)
+            .put("collapseRatio", requestCount == 0 ? 0.0 : (double) collapsed / requestCount)
+            .put("inFlight", getInFlight());
+    }
+}
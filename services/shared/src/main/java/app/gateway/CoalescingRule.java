@@ -0,0 +1,160 @@
+package app.gateway;
+
+import app.authorisation.AuthorisationMode;
+import app.authorisation.SessionVerifier;
+import app.constants.Constants;
+import io.jsonwebtoken.JwtException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Decides which requests to a route are identical, so that they can share a single call to the
+ * backend. Two requests are identical when they have the same path, the same body after
+ * normalisation and the same authorisation scope. A JSON body is normalised by leaving out
+ * whitespace and the ignored top-level fields and by ordering the fields of every object by name,
+ * so that "{ "id": 1}" and "{"id":1}" are the same request.
+ *
+ * <p>Only routes whose backend merely reads should coalesce, because the backend receives the
+ * request of one of the callers only.
+ */
+public class CoalescingRule {
+
+    /**
+     * Which sessions may share a response.
+     */
+    public enum Scope {
+        /**
+         * Sessions with the same role share responses, so the response may not depend on the
+         * user. Falls back to {@link #SESSION} when the gateway cannot verify the session itself.
+         */
+        ROLE,
+        /**
+         * Only requests of the same session share responses.
+         */
+        SESSION
+    }
+
+    private static final String OFF = "off";
+    private static final String SESSION_PREFIX = "session ";
+
+    private final transient Scope scope;
+    private final transient Set<String> ignoredFields;
+
+    /**
+     * Constructs a CoalescingRule.
+     *
+     * @param scope         Which sessions may share a response.
+     * @param ignoredFields Top-level fields of the body that do not change the response, for
+     *                      example a client timestamp.
+     */
+    public CoalescingRule(Scope scope, Set<String> ignoredFields) {
+        this.scope = scope;
+        this.ignoredFields = new TreeSet<>(ignoredFields);
+    }
+
+    /**
+     * Reads a rule from the value of a 'coalesce' property.
+     *
+     * @param value         "role", "session", or "off".
+     * @param ignoredFields The top-level fields that are left out of the key.
+     * @return the rule, or null if the route does not coalesce.
+     * @throws IllegalArgumentException when the value is none of the above.
+     */
+    public static CoalescingRule parse(String value, Set<String> ignoredFields) {
+        if (value == null || OFF.equalsIgnoreCase(value)) {
+            return null;
+        }
+        return new CoalescingRule(Scope.valueOf(value.toUpperCase(Locale.ROOT)), ignoredFields);
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public Set<String> getIgnoredFields() {
+        return ignoredFields;
+    }
+
+    /**
+     * Computes the key under which identical requests share their backend call.
+     *
+     * @param path         The path of the request.
+     * @param body         The body of the request.
+     * @param sessionToken The session of the user doing the request.
+     * @return the key.
+     */
+    public String keyOf(String path, byte[] body, String sessionToken) {
+        return path + '\n' + scopeOf(sessionToken) + '\n'
+            + normalise(new String(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the role of a session, if this rule allows sharing across sessions and the
+     * session can be verified here, and the session itself otherwise.
+     */
+    private String scopeOf(String sessionToken) {
+        SessionVerifier verifier = SessionVerifier.getInstance();
+        if (scope == Scope.ROLE && verifier.getMode() == AuthorisationMode.LOCAL) {
+            try {
+                return "role " + verifier.verify(sessionToken)
+                    .get(Constants.ROLE_KEY, Integer.class);
+            } catch (JwtException exception) {
+                // An invalid session shares nothing; the backend will reject it.
+                return SESSION_PREFIX + sessionToken;
+            }
+        }
+        return SESSION_PREFIX + sessionToken;
+    }
+
+    /**
+     * Normalises a body. A body that is not a single JSON object or array is only trimmed.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    String normalise(String body) {
+        String text = body.trim();
+        if (!text.startsWith("{") && !text.startsWith("[")) {
+            return text;
+        }
+        try {
+            JSONTokener tokener = new JSONTokener(text);
+            Object value = tokener.nextValue();
+            if (tokener.nextClean() != 0) {
+                return text;
+            }
+            if (value instanceof JSONObject) {
+                ignoredFields.forEach(((JSONObject) value)::remove);
+            }
+            return canonical(value);
+        } catch (JSONException exception) {
+            return text;
+        }
+    }
+
+    private static String canonical(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            return new TreeSet<>(object.keySet()).stream()
+                .map(key -> JSONObject.quote(key) + ':' + canonical(object.get(key)))
+                .collect(Collectors.joining(",", "{", "}"));
+        }
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < array.length(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(canonical(array.get(i)));
+            }
+            return json.append(']').toString();
+        }
+        return JSONObject.valueToString(value);
+    }
+}
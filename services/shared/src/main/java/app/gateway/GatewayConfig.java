@@ -0,0 +1,32 @@
+package app.gateway;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnResource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Loads the route table of a gateway from 'gateway.routes-location', by default routes.properties
+ * on the classpath. Microservices without that file are not gateways and get no route table.
+ * The properties of the file can be overridden like any other property, for example by an
+ * application.properties next to the jar, so routes can be changed without a new build.
+ */
+@Configuration
+@ConditionalOnResource(resources = GatewayConfig.ROUTES_LOCATION)
+@PropertySource(GatewayConfig.ROUTES_LOCATION)
+public class GatewayConfig {
+
+    static final String ROUTES_LOCATION = "${gateway.routes-location:classpath:routes.properties}";
+
+    /**
+     * Compiles the configured routes.
+     *
+     * @param environment The environment of the microservice.
+     * @return the route table.
+     */
+    @Bean
+    public RouteTable routeTable(ConfigurableEnvironment environment) {
+        return RouteTable.fromEnvironment(environment);
+    }
+}
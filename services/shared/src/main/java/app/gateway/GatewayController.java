@@ -0,0 +1,154 @@
+package app.gateway;
+
+import app.authorisation.AuthorisationMode;
+import app.authorisation.SessionVerifier;
+import app.communication.ServiceClient;
+import app.communication.SessionAuthorisation;
+import app.communication.StreamingProxy;
+import app.constants.Constants;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import javax.servlet.http.HttpServletRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Passes every post-request that no other controller handles on according to the
+ * {@link RouteTable}, after checking that the session has the role the route requires, and
+ * records how long it took per route. Identical concurrent requests to a coalescing route share
+ * one backend call, whose response is received completely and then sent to each of them.
+ */
+@RestController
+@ConditionalOnResource(resources = GatewayConfig.ROUTES_LOCATION)
+public class GatewayController {
+
+    private final transient RouteTable routes;
+
+    @Autowired
+    public GatewayController(RouteTable routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Passes a request on to the backend of its route. The response of the backend is passed
+     * on while it is being received, with its status and headers.
+     *
+     * @param request      The request.
+     * @param sessionToken A valid token received from the authorization service.
+     * @return The response of the backend, 404 if no route matches the path, 403 if the session
+     *     does not have the role of the route, 502 if the backend did not respond, or 503 if
+     *     the request was not sent because the backend keeps failing or is overloaded.
+     * @throws IOException when the body of the request cannot be read.
+     */
+    @PostMapping("/**")
+    public ResponseEntity<StreamingResponseBody> route(HttpServletRequest request,
+                                                       @RequestHeader(Constants.SESSIONHEADERKEY)
+                                                           String sessionToken)
+        throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Route route = routes.match(path);
+        if (route == null) {
+            return text(HttpStatus.NOT_FOUND, "No route for " + path);
+        }
+        long start = System.nanoTime();
+        ResponseEntity<StreamingResponseBody> response;
+        if (!isAllowed(route, sessionToken)) {
+            response = text(HttpStatus.FORBIDDEN, Constants.NOT_AUTHORIZED_STRING);
+        } else if (route.getCoalescer() != null) {
+            response = coalesced(route, path, request.getInputStream().readAllBytes(),
+                sessionToken);
+        } else {
+            response = StreamingProxy.forward(ServiceClient.getInstance(),
+                request.getInputStream(), route.backendFor(path), sessionToken,
+                route.getTimeout());
+        }
+        return measured(route, response, start);
+    }
+
+    /**
+     * Returns the definition and the latency and error histograms of every route.
+     *
+     * @param sessionToken session token of a teacher.
+     * @return JSONObject with "routes" key and a JSONArray with one JSONObject per route.
+     */
+    @GetMapping("metrics/routes")
+    public ResponseEntity<String> routeMetrics(@RequestHeader(Constants.SESSIONHEADERKEY)
+                                                   String sessionToken) {
+        if (!SessionAuthorisation.isAuthorised(sessionToken, 1)) {
+            return new ResponseEntity<>(Constants.NOT_AUTHORIZED_STRING, HttpStatus.FORBIDDEN);
+        }
+        JSONArray json = new JSONArray();
+        routes.getRoutes().forEach(route -> json.put(route.toJson()));
+        return new ResponseEntity<>(new JSONObject().put("routes", json).toString(),
+            HttpStatus.OK);
+    }
+
+    /**
+     * Checks the role of the session. In remote mode the backends ask the authorisation
+     * microservice themselves, so the gateway leaves the check to them.
+     */
+    private static boolean isAllowed(Route route, String sessionToken) {
+        SessionVerifier verifier = SessionVerifier.getInstance();
+        return route.getRole() < 0 || verifier.getMode() != AuthorisationMode.LOCAL
+            || verifier.isAuthorised(sessionToken, route.getRole());
+    }
+
+    /**
+     * Joins the backend call of an identical request in flight, or starts it.
+     */
+    private static ResponseEntity<StreamingResponseBody> coalesced(
+        Route route, String path, byte[] body, String sessionToken) {
+        String key = route.getCoalescing().keyOf(path, body, sessionToken);
+        try {
+            HttpResponse<byte[]> response = route.getCoalescer()
+                .execute(key, () -> ServiceClient.getInstance().forwardBufferedAsync(
+                    body, route.backendFor(path), sessionToken, route.getTimeout()))
+                .join();
+            return ResponseEntity.status(response.statusCode())
+                .headers(StreamingProxy.passedOnHeaders(response))
+                .body(out -> out.write(response.body()));
+        } catch (CompletionException | CancellationException e) {
+            return StreamingProxy.failure(e);
+        }
+    }
+
+    /**
+     * Records the request in the metrics of its route once its response has been written.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private static ResponseEntity<StreamingResponseBody> measured(
+        Route route, ResponseEntity<StreamingResponseBody> response, long start) {
+        StreamingResponseBody body = response.getBody();
+        int status = response.getStatusCodeValue();
+        return ResponseEntity.status(status)
+            .headers(response.getHeaders())
+            .body(out -> {
+                try {
+                    if (body != null) {
+                        body.writeTo(out);
+                    }
+                } finally {
+                    route.getMetrics().record(status, System.nanoTime() - start);
+                }
+            });
+    }
+
+    private static ResponseEntity<StreamingResponseBody> text(HttpStatus status, String text) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(out -> out.write(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,146 @@
+package app.gateway;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import org.json.JSONObject;
+
+/**
+ * A public path of a gateway and the backend endpoint that requests to it are passed on to.
+ * A path ending in "/**" matches every path below it, and what follows the prefix is appended
+ * to the backend path. A route with a {@link CoalescingRule} lets identical concurrent requests
+ * share one call to the backend.
+ */
+public class Route {
+
+    private static final String WILDCARD = "/**";
+
+    private final transient String name;
+    private final transient String path;
+    private final transient String backend;
+    private final transient int role;
+    private final transient Duration timeout;
+    private final transient boolean prefix;
+    private final transient RouteMetrics metrics = new RouteMetrics();
+    private final transient CoalescingRule coalescing;
+    private final transient Coalescer<HttpResponse<byte[]>> coalescer;
+
+    /**
+     * Constructs a Route.
+     *
+     * @param name    The name of the route, used in the metrics.
+     * @param path    The public path, for example "/student_service/examById".
+     * @param backend The backend path, for example "8083/exam_service/examById".
+     * @param role    The role the session needs: 0 for a student, 1 for a teacher, or a
+     *                negative number if the gateway does not check the session.
+     * @param timeout The time to wait for the headers of the response of the backend.
+     */
+    public Route(String name, String path, String backend, int role, Duration timeout) {
+        this(name, path, backend, role, timeout, null);
+    }
+
+    /**
+     * Constructs a Route whose identical concurrent requests may share one backend call.
+     *
+     * @param name       The name of the route, used in the metrics.
+     * @param path       The public path, for example "/student_service/examById".
+     * @param backend    The backend path, for example "8083/exam_service/examById".
+     * @param role       The role the session needs: 0 for a student, 1 for a teacher, or a
+     *                   negative number if the gateway does not check the session.
+     * @param timeout    The time to wait for the headers of the response of the backend.
+     * @param coalescing Which requests are identical, or null if every request gets its own
+     *                   backend call.
+     */
+    public Route(String name, String path, String backend, int role, Duration timeout,
+                 CoalescingRule coalescing) {
+        if (path == null || !path.startsWith("/")) {
+            throw new IllegalArgumentException("Route " + name + " needs a path starting with /");
+        }
+        if (backend == null || backend.isEmpty()) {
+            throw new IllegalArgumentException("Route " + name + " needs a backend");
+        }
+        this.name = name;
+        this.prefix = path.endsWith(WILDCARD);
+        this.path = prefix ? path.substring(0, path.length() - WILDCARD.length()) : path;
+        this.backend = backend;
+        this.role = role;
+        this.timeout = timeout;
+        this.coalescing = coalescing;
+        this.coalescer = coalescing == null ? null : new Coalescer<>();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the public path, without the "/**" of a prefix route.
+     *
+     * @return the path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isPrefix() {
+        return prefix;
+    }
+
+    public int getRole() {
+        return role;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public RouteMetrics getMetrics() {
+        return metrics;
+    }
+
+    public CoalescingRule getCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Returns the calls in flight of a coalescing route.
+     *
+     * @return the coalescer, or null if the route does not coalesce.
+     */
+    public Coalescer<HttpResponse<byte[]>> getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * Returns the backend path a request to a path matched by this route is passed on to.
+     *
+     * @param requestPath A path matched by this route.
+     * @return the backend path.
+     */
+    public String backendFor(String requestPath) {
+        return prefix ? backend + requestPath.substring(path.length()) : backend;
+    }
+
+    /**
+     * Returns the definition and the metrics of this route.
+     *
+     * @return JSONObject with "name", "path", "backend", "role", "timeout" (milliseconds) and
+     *     "metrics" keys, and a "coalescing" key with the scope, ignored fields and collapse
+     *     statistics if the route coalesces.
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject()
+            .put("name", name)
+            .put("path", prefix ? path + WILDCARD : path)
+            .put("backend", backend)
+            .put("role", role)
+            .put("timeout", timeout.toMillis())
+            .put("metrics", metrics.toJson());
+        if (coalescing != null) {
+            json.put("coalescing", coalescer.toJson()
+                .put("scope", coalescing.getScope().name().toLowerCase(Locale.ROOT))
+                .put("ignore", coalescing.getIgnoredFields()));
+        }
+        return json;
+    }
+}
@@ -0,0 +1,107 @@
+package app.gateway;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Counts the requests of one route: how long they took, in a histogram with fixed buckets, and
+ * how they ended, by status class. Requests that ended with a 5xx status, including those the
+ * backend did not answer, are errors and are also counted in a separate latency histogram, so
+ * that slow failures can be told apart from slow successes.
+ */
+public class RouteMetrics {
+
+    /**
+     * Upper bounds of the latency buckets in milliseconds. The last bucket counts everything
+     * slower than the last bound.
+     */
+    static final long[] BOUNDS_MILLIS =
+        {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10_000};
+
+    private static final int ERROR_STATUS = 500;
+
+    private final transient AtomicLongArray latency = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final transient AtomicLongArray errorLatency =
+        new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    // Index 1 to 5 count 1xx to 5xx
+    private final transient AtomicLongArray statuses = new AtomicLongArray(6);
+
+    /**
+     * Records a finished request.
+     *
+     * @param status       The status code sent to the client.
+     * @param elapsedNanos The time from receiving the request until its response was sent.
+     */
+    public void record(int status, long elapsedNanos) {
+        int bucket = bucket(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        latency.incrementAndGet(bucket);
+        if (status >= ERROR_STATUS) {
+            errorLatency.incrementAndGet(bucket);
+        }
+        statuses.incrementAndGet(Math.max(1, Math.min(5, status / 100)));
+    }
+
+    /**
+     * Returns the amount of recorded requests.
+     *
+     * @return the amount of requests.
+     */
+    public long getRequests() {
+        return sum(latency);
+    }
+
+    /**
+     * Returns the amount of recorded requests that ended with a 5xx status.
+     *
+     * @return the amount of errors.
+     */
+    public long getErrors() {
+        return statuses.get(5);
+    }
+
+    /**
+     * Returns the current values of the histograms and status counts.
+     *
+     * @return JSONObject with "requests", "errors", "statuses", "latency" and "errorLatency"
+     *     keys. Each histogram has the bucket bounds in milliseconds under "bounds" and the
+     *     amount of requests per bucket under "counts", with one more count than bounds.
+     */
+    public JSONObject toJson() {
+        JSONObject statusCounts = new JSONObject();
+        for (int i = 1; i < statuses.length(); i++) {
+            statusCounts.put(i + "xx", statuses.get(i));
+        }
+        return new JSONObject()
+            .put("requests", getRequests())
+            .put("errors", getErrors())
+            .put("statuses", statusCounts)
+            .put("latency", histogram(latency))
+            .put("errorLatency", histogram(errorLatency));
+    }
+
+    static int bucket(long millis) {
+        int index = Arrays.binarySearch(BOUNDS_MILLIS, millis);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static JSONObject histogram(AtomicLongArray counts) {
+        JSONArray values = new JSONArray();
+        for (int i = 0; i < counts.length(); i++) {
+            values.put(counts.get(i));
+        }
+        return new JSONObject()
+            .put("bounds", new JSONArray(BOUNDS_MILLIS))
+            .put("counts", values);
+    }
+
+    private static long sum(AtomicLongArray counts) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,134 @@
+package app.gateway;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * The routes of a gateway, compiled for lookup: exact paths are found with a single hash lookup,
+ * and only paths that are not configured exactly are compared with the prefix routes, longest
+ * prefix first.
+ *
+ * <p>Routes are read from properties of the form
+ * <pre>
+ * gateway.routes.&lt;name&gt;.path=/student_service/examById
+ * gateway.routes.&lt;name&gt;.backend=8083/exam_service/examById
+ * gateway.routes.&lt;name&gt;.role=0
+ * gateway.routes.&lt;name&gt;.timeout=5000
+ * gateway.routes.&lt;name&gt;.coalesce=role
+ * gateway.routes.&lt;name&gt;.coalesce-ignore=requestedAt
+ * </pre>
+ * where role and timeout (milliseconds) are optional and default to gateway.default-role (no
+ * check) and communication.read-timeout. Coalesce is "role", "session" or "off" (the default),
+ * see {@link CoalescingRule}, and coalesce-ignore lists the body fields left out of its key.
+ */
+public class RouteTable {
+
+    static final String PREFIX = "gateway.routes.";
+    private static final String PATH = ".path";
+
+    private final transient Map<String, Route> exact = new HashMap<>();
+    private final transient List<Route> prefixes = new ArrayList<>();
+    private final transient List<Route> routes;
+
+    /**
+     * Constructs a RouteTable.
+     *
+     * @param routes The routes. No two routes may have the same path.
+     */
+    public RouteTable(Collection<Route> routes) {
+        for (Route route : routes) {
+            boolean duplicate = route.isPrefix()
+                ? prefixes.stream().anyMatch(other -> other.getPath().equals(route.getPath()))
+                : exact.putIfAbsent(route.getPath(), route) != null;
+            if (duplicate) {
+                throw new IllegalArgumentException("Two routes for " + route.getPath());
+            }
+            if (route.isPrefix()) {
+                prefixes.add(route);
+            }
+        }
+        prefixes.sort(Comparator.comparingInt((Route route) -> route.getPath().length())
+            .reversed());
+        this.routes = List.copyOf(routes);
+    }
+
+    /**
+     * Reads the routes from the properties of a microservice.
+     *
+     * @param environment The environment of the microservice.
+     * @return the routes.
+     * @throws IllegalArgumentException when a route has no backend, an invalid path or an
+     *     unknown coalesce value.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public static RouteTable fromEnvironment(ConfigurableEnvironment environment) {
+        int defaultRole = environment.getProperty("gateway.default-role", Integer.class, -1);
+        long defaultTimeout = environment.getProperty("gateway.default-timeout", Long.class,
+            environment.getProperty("communication.read-timeout", Long.class, 5000L));
+        Set<String> names = new TreeSet<>();
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (source instanceof EnumerablePropertySource) {
+                for (String key : ((EnumerablePropertySource<?>) source).getPropertyNames()) {
+                    if (key.startsWith(PREFIX) && key.endsWith(PATH)) {
+                        names.add(key.substring(PREFIX.length(), key.length() - PATH.length()));
+                    }
+                }
+            }
+        }
+        List<Route> routes = new ArrayList<>(names.size());
+        for (String name : names) {
+            String property = PREFIX + name;
+            routes.add(new Route(name,
+                environment.getProperty(property + PATH),
+                environment.getProperty(property + ".backend"),
+                environment.getProperty(property + ".role", Integer.class, defaultRole),
+                Duration.ofMillis(environment.getProperty(property + ".timeout", Long.class,
+                    defaultTimeout)),
+                CoalescingRule.parse(environment.getProperty(property + ".coalesce"),
+                    Set.of(environment.getProperty(property + ".coalesce-ignore",
+                        String[].class, new String[0])))));
+        }
+        return new RouteTable(routes);
+    }
+
+    /**
+     * Finds the route of a path.
+     *
+     * @param path The path of a request, without context path.
+     * @return the route, or null if no route matches the path.
+     */
+    public Route match(String path) {
+        Route route = exact.get(path);
+        if (route != null) {
+            return route;
+        }
+        for (Route prefix : prefixes) {
+            String prefixPath = prefix.getPath();
+            if (path.startsWith(prefixPath) && (path.length() == prefixPath.length()
+                || path.charAt(prefixPath.length()) == '/')) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all routes, in the order they were configured.
+     *
+     * @return the routes.
+     */
+    public List<Route> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+}
@@ -0,0 +1,89 @@
+package app.grading;
+
+import app.models.Answer;
+import app.models.Question;
+import app.models.StudentAnswer;
+import java.util.List;
+
+/**
+ * Compact answer key of a single question: which of its answers are correct, stored as a bitset
+ * indexed by the position of the answer within the question. Grading against an AnswerKey does
+ * not allocate any objects.
+ */
+public final class AnswerKey {
+
+    private final transient int questionId;
+    private final transient long version;
+    private final transient int answerCount;
+    private final transient long[] correct;
+
+    private AnswerKey(int questionId, long version, int answerCount, long[] correct) {
+        this.questionId = questionId;
+        this.version = version;
+        this.answerCount = answerCount;
+        this.correct = correct;
+    }
+
+    /**
+     * Builds the answer key of a question.
+     *
+     * @param question The question with all its answers.
+     * @param version  The version of the answer keys at the moment the question was loaded.
+     * @return The answer key.
+     */
+    public static AnswerKey of(Question question, long version) {
+        List<Answer> answers = question.getAnswers();
+        long[] correct = new long[(answers.size() + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < answers.size(); i++) {
+            if (Boolean.TRUE.equals(answers.get(i).getCorrect())) {
+                correct[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        int id = question.getId() == null ? -1 : question.getId();
+        return new AnswerKey(id, version, answers.size(), correct);
+    }
+
+    public int getQuestionId() {
+        return questionId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    /**
+     * Returns whether the answer at the given position is correct.
+     *
+     * @param index The position of the answer within the question.
+     * @return true if the answer is correct.
+     */
+    public boolean isCorrect(int index) {
+        return index < answerCount
+            && (correct[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    /**
+     * Checks whether a student selected exactly the correct answers. The student answers are
+     * matched to the answers of the question by position.
+     *
+     * @param studentAnswers The answers of the student, in the order of the question.
+     * @return true if every student answer is selected if and only if it is correct.
+     */
+    public boolean matches(List<StudentAnswer> studentAnswers) {
+        int size = studentAnswers.size();
+        if (size > answerCount) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            Boolean selected = studentAnswers.get(i).getSelected();
+            if (selected == null || selected != isCorrect(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package app.json;
+
+/**
+ * Writes values of one type to JSON and reads them back, streaming through a {@link JsonWriter}
+ * and {@link JsonReader}.
+ *
+ * @param <T> The type of the values.
+ */
+interface JsonCodec<T> {
+
+    /**
+     * Writes a value that is not null.
+     *
+     * @param value  The value.
+     * @param writer The writer to write to.
+     */
+    void write(T value, JsonWriter writer);
+
+    /**
+     * Reads a value that is not null.
+     *
+     * @param reader The reader to read from.
+     * @return The value.
+     */
+    T read(JsonReader reader);
+}
@@ -0,0 +1,359 @@
+package app.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import org.json.JSONException;
+
+/**
+ * Reads JSON text token by token, without building a tree of JSONObjects. Like
+ * {@link org.json.JSONTokener} it also accepts single quoted strings and unquoted names and
+ * values, so that everything the previous parser understood can still be read.
+ */
+@SuppressWarnings({"PMD.AvoidLiteralsInIfCondition", "PMD.DataflowAnomalyAnalysis"})
+final class JsonReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final transient Reader in;
+    private final transient char[] buffer;
+    private final transient StringBuilder scratch = new StringBuilder();
+    private transient int position;
+    private transient int limit;
+
+    /**
+     * Reads from a string that is already in memory.
+     *
+     * @param json The JSON text.
+     */
+    JsonReader(String json) {
+        this(null, json.toCharArray());
+        this.limit = buffer.length;
+    }
+
+    /**
+     * Reads from a stream of characters, buffering at most a few kilobytes at a time.
+     *
+     * @param in The JSON text.
+     */
+    JsonReader(Reader in) {
+        this(in, new char[BUFFER_SIZE]);
+    }
+
+    private JsonReader(Reader in, char[] buffer) {
+        this.in = in;
+        this.buffer = buffer;
+    }
+
+    void beginObject() {
+        expect('{');
+    }
+
+    void endObject() {
+        expect('}');
+    }
+
+    void beginArray() {
+        expect('[');
+    }
+
+    void endArray() {
+        expect(']');
+    }
+
+    /**
+     * Returns whether the current object or array has another element, skipping the separator
+     * in front of it.
+     *
+     * @return false if the next token closes the current object or array.
+     */
+    boolean hasNext() {
+        int c = peek();
+        if (c == ',') {
+            position++;
+            c = peek();
+        }
+        if (c == -1) {
+            throw syntaxError("Unterminated object or array");
+        }
+        return c != '}' && c != ']';
+    }
+
+    /**
+     * Reads the name of the next field, including the separator after it.
+     *
+     * @return The name.
+     */
+    String nextName() {
+        String name = nextString();
+        int c = peek();
+        if (c == ':') {
+            position++;
+        } else if (c == '=') {
+            position++;
+            if (peek() == '>') {
+                position++;
+            }
+        } else {
+            throw syntaxError("Expected a ':' after a key");
+        }
+        return name;
+    }
+
+    /**
+     * Returns whether the next value is a quoted string.
+     *
+     * @return true if the next value is a string.
+     */
+    boolean peekString() {
+        int c = peek();
+        return c == '"' || c == '\'';
+    }
+
+    /**
+     * Consumes the next value if it is null.
+     *
+     * @return true if the next value was null.
+     */
+    boolean nextNull() {
+        if (peekString() || peek() != 'n') {
+            return false;
+        }
+        nextLiteral();
+        if (!"null".contentEquals(scratch)) {
+            throw syntaxError("Unexpected value " + scratch);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a string, or the text of an unquoted value.
+     *
+     * @return The string.
+     */
+    String nextString() {
+        int quote = peek();
+        if (quote != '"' && quote != '\'') {
+            nextLiteral();
+            return scratch.toString();
+        }
+        position++;
+        scratch.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1 || c == '\n' || c == '\r') {
+                throw syntaxError("Unterminated string");
+            }
+            if (c == quote) {
+                return scratch.toString();
+            }
+            if (c == '\\') {
+                scratch.append(unescape());
+            } else {
+                scratch.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Reads an integer, which may also be written as a string.
+     *
+     * @return The integer.
+     */
+    int nextInt() {
+        if (peekString()) {
+            return parseInt(nextString().trim());
+        }
+        long value = 0;
+        boolean negative = false;
+        int digits = 0;
+        int c = peek();
+        if (c == '-') {
+            negative = true;
+            position++;
+            c = peekRaw();
+        }
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            digits++;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw syntaxError("Integer out of range");
+            }
+            position++;
+            c = peekRaw();
+        }
+        if (digits == 0 || !isDelimiter(c)) {
+            throw syntaxError("Expected an integer");
+        }
+        long result = negative ? -value : value;
+        if (result > Integer.MAX_VALUE) {
+            throw syntaxError("Integer out of range");
+        }
+        return (int) result;
+    }
+
+    /**
+     * Reads a boolean, which may also be written as a string.
+     *
+     * @return The boolean.
+     */
+    boolean nextBoolean() {
+        String value = nextString();
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw syntaxError("Expected a boolean");
+    }
+
+    /**
+     * Reads a float, which may also be written as a string.
+     *
+     * @return The float.
+     */
+    float nextFloat() {
+        try {
+            return Float.parseFloat(nextString());
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number");
+        }
+    }
+
+    /**
+     * Skips the next value, including everything nested inside it.
+     */
+    void skipValue() {
+        int c = peek();
+        if (c == '{') {
+            beginObject();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endObject();
+        } else if (c == '[') {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+            endArray();
+        } else {
+            nextString();
+        }
+    }
+
+    private int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected an integer");
+        }
+    }
+
+    private void nextLiteral() {
+        scratch.setLength(0);
+        int c = peek();
+        while (!isDelimiter(c)) {
+            scratch.append((char) c);
+            position++;
+            c = peekRaw();
+        }
+        if (scratch.length() == 0) {
+            throw syntaxError("Missing value");
+        }
+    }
+
+    private char unescape() {
+        int c = read();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'f':
+                return '\f';
+            case 'r':
+                return '\r';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Illegal escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            case '"':
+            case '\'':
+            case '\\':
+            case '/':
+                return (char) c;
+            default:
+                throw syntaxError("Illegal escape");
+        }
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == -1 || c <= ' ' || ",:]}/\\\"[{;=#".indexOf(c) >= 0;
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw syntaxError("Expected a '" + expected + "'");
+        }
+        position++;
+    }
+
+    /**
+     * Returns the next character that is not whitespace, without consuming it.
+     */
+    private int peek() {
+        int c = peekRaw();
+        while (c != -1 && c <= ' ') {
+            position++;
+            c = peekRaw();
+        }
+        return c;
+    }
+
+    private int peekRaw() {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() {
+        int c = peekRaw();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private boolean fill() {
+        if (in == null) {
+            return false;
+        }
+        try {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + position);
+    }
+}
@@ -3,6 +3,11 @@ package app.json;
 import app.serializerfactory.Serializer;
 import java.lang.reflect.Method;
 
+/**
+ * The original serializer, which builds JSONObjects through {@link ObjectToJson} and
+ * {@link JsonToObject}. Services use {@link StreamingJsonSerializer}, which produces the same
+ * JSON; this implementation is kept as the reference for that format.
+ */
 public class JsonSerializer implements Serializer {
 
     /**
@@ -6,6 +6,6 @@ import app.serializerfactory.SerializerFactory;
 public class JsonSerializerFactory extends SerializerFactory {
     @Override
     public Serializer createSerializer() {
-        return new JsonSerializer();
+        return new StreamingJsonSerializer();
     }
 }
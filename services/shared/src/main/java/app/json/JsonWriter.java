@@ -0,0 +1,235 @@
+package app.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Writes JSON text directly to an {@link Appendable}, without building a tree of JSONObjects.
+ *
+ * <p>The wire format of this project embeds nested objects as JSON strings, for example
+ * {@code {"answers":["{\"id\":1}"]}}. Instead of rendering a child to a temporary string and
+ * quoting it afterwards, the writer opens a string with {@link #beginString()} and escapes the
+ * child while it is being written. Every open string adds one level of escaping, which is
+ * applied in the same way as {@link org.json.JSONObject#quote(String)} does.
+ */
+@SuppressWarnings({"PMD.AvoidLiteralsInIfCondition", "PMD.DataflowAnomalyAnalysis"})
+final class JsonWriter {
+
+    private final transient Appendable out;
+    private transient int depth;
+    private transient char[] previous = new char[8];
+    private transient boolean[] inArray = new boolean[8];
+    private transient boolean[] hasElements = new boolean[8];
+    private transient int containers;
+
+    JsonWriter(Appendable out) {
+        this.out = out;
+    }
+
+    void beginObject() {
+        beforeValue();
+        emit('{', depth);
+        push(false);
+    }
+
+    void endObject() {
+        containers--;
+        emit('}', depth);
+    }
+
+    void beginArray() {
+        beforeValue();
+        emit('[', depth);
+        push(true);
+    }
+
+    void endArray() {
+        containers--;
+        emit(']', depth);
+    }
+
+    /**
+     * Writes the name of the next field of the current object.
+     *
+     * @param name The name of the field, which must not need escaping.
+     */
+    void name(String name) {
+        if (hasElements[containers - 1]) {
+            emit(',', depth);
+        }
+        hasElements[containers - 1] = true;
+        emit('"', depth);
+        for (int i = 0; i < name.length(); i++) {
+            emit(name.charAt(i), depth);
+        }
+        emit('"', depth);
+        emit(':', depth);
+    }
+
+    void value(int value) {
+        beforeValue();
+        if (value == Integer.MIN_VALUE) {
+            raw(Integer.toString(value));
+            return;
+        }
+        int remaining = value;
+        if (remaining < 0) {
+            emit('-', depth);
+            remaining = -remaining;
+        }
+        int divisor = 1;
+        while (remaining / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            emit((char) ('0' + remaining / divisor % 10), depth);
+            divisor /= 10;
+        }
+    }
+
+    void value(boolean value) {
+        beforeValue();
+        raw(value ? "true" : "false");
+    }
+
+    /**
+     * Writes a float the way org.json does: trailing zeros and a trailing decimal point are
+     * removed from the decimal representation.
+     *
+     * @param value The value, which must be finite.
+     */
+    void value(float value) {
+        beforeValue();
+        String string = Float.toString(value);
+        int end = string.length();
+        if (string.indexOf('.') > 0 && string.indexOf('E') < 0) {
+            while (string.charAt(end - 1) == '0') {
+                end--;
+            }
+            if (string.charAt(end - 1) == '.') {
+                end--;
+            }
+        }
+        for (int i = 0; i < end; i++) {
+            emit(string.charAt(i), depth);
+        }
+    }
+
+    void value(String value) {
+        beginString();
+        for (int i = 0; i < value.length(); i++) {
+            emit(value.charAt(i), depth);
+        }
+        endString();
+    }
+
+    /**
+     * Opens a JSON string. Everything written until the matching {@link #endString()} ends up
+     * escaped inside that string, including complete objects.
+     */
+    void beginString() {
+        beforeValue();
+        emit('"', depth);
+        depth++;
+        if (depth == previous.length) {
+            previous = Arrays.copyOf(previous, depth * 2);
+        }
+        previous[depth] = 0;
+        push(false);
+    }
+
+    void endString() {
+        containers--;
+        depth--;
+        emit('"', depth);
+    }
+
+    private void raw(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            emit(string.charAt(i), depth);
+        }
+    }
+
+    private void push(boolean array) {
+        if (containers == inArray.length) {
+            inArray = Arrays.copyOf(inArray, containers * 2);
+            hasElements = Arrays.copyOf(hasElements, containers * 2);
+        }
+        inArray[containers] = array;
+        hasElements[containers] = false;
+        containers++;
+    }
+
+    private void beforeValue() {
+        if (containers > 0 && inArray[containers - 1]) {
+            if (hasElements[containers - 1]) {
+                emit(',', depth);
+            }
+            hasElements[containers - 1] = true;
+        }
+    }
+
+    /**
+     * Writes a character that is inside the given amount of open strings, escaping it once for
+     * every string.
+     */
+    private void emit(char c, int level) {
+        if (level == 0) {
+            try {
+                out.append(c);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        final char before = previous[level];
+        previous[level] = c;
+        final int outer = level - 1;
+        switch (c) {
+            case '\\':
+            case '"':
+                emit('\\', outer);
+                emit(c, outer);
+                break;
+            case '/':
+                if (before == '<') {
+                    emit('\\', outer);
+                }
+                emit(c, outer);
+                break;
+            case '\b':
+                escape('b', outer);
+                break;
+            case '\t':
+                escape('t', outer);
+                break;
+            case '\n':
+                escape('n', outer);
+                break;
+            case '\f':
+                escape('f', outer);
+                break;
+            case '\r':
+                escape('r', outer);
+                break;
+            default:
+                if (c < ' ' || (c >= '\u0080' && c < '\u00a0')
+                    || (c >= '\u2000' && c < '\u2100')) {
+                    emit('\\', outer);
+                    emit('u', outer);
+                    for (int shift = 12; shift >= 0; shift -= 4) {
+                        emit(Character.forDigit((c >> shift) & 0xF, 16), outer);
+                    }
+                } else {
+                    emit(c, outer);
+                }
+                break;
+        }
+    }
+
+    private void escape(char c, int level) {
+        emit('\\', level);
+        emit(c, level);
+    }
+}
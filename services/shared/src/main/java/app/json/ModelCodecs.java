@@ -0,0 +1,240 @@
+package app.json;
+
+import app.constants.Constants;
+import app.models.Answer;
+import app.models.Course;
+import app.models.Enrollment;
+import app.models.Exam;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.models.Topic;
+import app.models.User;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONException;
+
+/**
+ * The codecs of all models, created once when the class is loaded. Field names, and which field
+ * is written and read under which name, are the same as in {@link ObjectToJson} and
+ * {@link JsonToObject}.
+ */
+final class ModelCodecs {
+
+    static final JsonCodec<Integer> INTEGER = new JsonCodec<>() {
+        @Override
+        public void write(Integer value, JsonWriter writer) {
+            writer.value(value.intValue());
+        }
+
+        @Override
+        public Integer read(JsonReader reader) {
+            return reader.nextInt();
+        }
+    };
+
+    static final JsonCodec<String> STRING = new JsonCodec<>() {
+        @Override
+        public void write(String value, JsonWriter writer) {
+            writer.value(value);
+        }
+
+        @Override
+        public String read(JsonReader reader) {
+            if (!reader.peekString()) {
+                throw new JSONException("Expected a string");
+            }
+            return reader.nextString();
+        }
+    };
+
+    static final JsonCodec<Boolean> BOOLEAN = new JsonCodec<>() {
+        @Override
+        public void write(Boolean value, JsonWriter writer) {
+            writer.value(value.booleanValue());
+        }
+
+        @Override
+        public Boolean read(JsonReader reader) {
+            return reader.nextBoolean();
+        }
+    };
+
+    static final JsonCodec<Float> FLOAT = new JsonCodec<>() {
+        @Override
+        public void write(Float value, JsonWriter writer) {
+            if (value.isNaN() || value.isInfinite()) {
+                throw new JSONException("JSON does not allow non-finite numbers.");
+            }
+            writer.value(value.floatValue());
+        }
+
+        @Override
+        public Float read(JsonReader reader) {
+            return reader.nextFloat();
+        }
+    };
+
+    static final JsonCodec<Timestamp> TIMESTAMP = new JsonCodec<>() {
+        @Override
+        public void write(Timestamp value, JsonWriter writer) {
+            writer.value(value.toString());
+        }
+
+        @Override
+        public Timestamp read(JsonReader reader) {
+            return Timestamp.valueOf(STRING.read(reader));
+        }
+    };
+
+    static final JsonCodec<Answer> ANSWER = ObjectCodec.builder(Answer::new)
+        .field("id", INTEGER, Answer::getId, Answer::setId)
+        .field("questionId", INTEGER, Answer::getQuestionId, Answer::setQuestionId)
+        .field(Constants.ORDER_STRING, INTEGER, Answer::getOrder, Answer::setOrder)
+        .field(Constants.DESCRIPTION_STRING, STRING, Answer::getDescription,
+            Answer::setDescription)
+        .field(Constants.CORRECT_STRING, BOOLEAN, Answer::getCorrect, Answer::setCorrect)
+        .build();
+
+    static final JsonCodec<Question> QUESTION = ObjectCodec.builder(Question::new)
+        .field("id", INTEGER, Question::getId, Question::setId)
+        .field("topicId", INTEGER, Question::getTopicId, Question::setTopicId)
+        .field(Constants.TITLE_STRING, STRING, Question::getTitle, Question::setTitle)
+        .field(Constants.DESCRIPTION_STRING, STRING, Question::getDescription,
+            Question::setDescription)
+        .field("answers", listOf(ANSWER), Question::getAnswers, Question::setAnswers)
+        .build();
+
+    static final JsonCodec<Topic> TOPIC = ObjectCodec.builder(Topic::new)
+        .field("id", INTEGER, Topic::getId, Topic::setId)
+        .field(Constants.NAME_STRING, STRING, Topic::getName, Topic::setName)
+        .field(Constants.COURSE_ID, INTEGER, Topic::getCourseId, Topic::setCourseId)
+        .field("questions", listOf(QUESTION), Topic::getQuestions, Topic::setQuestions)
+        .build();
+
+    static final JsonCodec<Enrollment> ENROLLMENT = ObjectCodec.builder(Enrollment::new)
+        .field("id", INTEGER, Enrollment::getId, Enrollment::setId)
+        .field(Constants.USER_ID_STRING, STRING, Enrollment::getUserId, Enrollment::setUserId)
+        .field(Constants.COURSE_ID, INTEGER, Enrollment::getCourseId, Enrollment::setCourseId)
+        .build();
+
+    static final JsonCodec<Course> COURSE = ObjectCodec.builder(Course::new)
+        .field("id", INTEGER, Course::getId, Course::setId)
+        .field("courseCode", STRING, Course::getCourseCode, Course::setCourseCode)
+        .field(Constants.NAME_STRING, STRING, Course::getName, Course::setName)
+        .field(Constants.YEAR_STRING, STRING, Course::getYear, Course::setYear)
+        .field("topicList", listOf(TOPIC), Course::getTopicList, Course::setTopicList)
+        .field("enrollmentList", listOf(ENROLLMENT), Course::getEnrollmentList,
+            Course::setEnrollmentList)
+        .build();
+
+    static final JsonCodec<StudentAnswer> STUDENT_ANSWER =
+        ObjectCodec.builder(StudentAnswer::new)
+            .field("id", INTEGER, StudentAnswer::getId, StudentAnswer::setId)
+            .field("examQuestionId", INTEGER, StudentAnswer::getExamQuestionId,
+                StudentAnswer::setExamQuestionId)
+            .field(Constants.ANSWER_STRING, INTEGER, StudentAnswer::getAnswer,
+                StudentAnswer::setAnswer)
+            .field(Constants.SELECTED_STRING, BOOLEAN, StudentAnswer::getSelected,
+                StudentAnswer::setSelected)
+            .build();
+
+    static final JsonCodec<ExamQuestion> EXAM_QUESTION = ObjectCodec.builder(ExamQuestion::new)
+        .field("id", INTEGER, ExamQuestion::getId, ExamQuestion::setId)
+        .field("studentExamId", INTEGER, ExamQuestion::getStudentExamId,
+            ExamQuestion::setStudentExamId)
+        .field(Constants.QUESTION_STRING_FACTORY, INTEGER, ExamQuestion::getQuestion,
+            ExamQuestion::setQuestion)
+        .field(Constants.CORRECT_STRING, BOOLEAN, ExamQuestion::getCorrect,
+            ExamQuestion::setCorrect)
+        .field("studentAnswers", listOf(STUDENT_ANSWER), ExamQuestion::getStudentAnswers,
+            ExamQuestion::setStudentAnswers)
+        .build();
+
+    static final JsonCodec<StudentExam> STUDENT_EXAM = ObjectCodec.builder(StudentExam::new)
+        .field("id", INTEGER, StudentExam::getId, StudentExam::setId)
+        .field("correctQuestions", INTEGER, StudentExam::getCorrectQuestions,
+            StudentExam::setCorrectQuestions)
+        .field(Constants.GRADE_STRING, FLOAT, StudentExam::getGrade, StudentExam::setGrade)
+        .field(Constants.EXTRA_TIME, INTEGER, StudentExam::getExtraTime,
+            StudentExam::setExtraTime)
+        .field(Constants.USER_ID_STRING, STRING, StudentExam::getUser, StudentExam::setUser)
+        .field("examId", INTEGER, StudentExam::getExamId, StudentExam::setExamId)
+        .field("startingTime", TIMESTAMP, StudentExam::getStartingTime,
+            StudentExam::setStartingTime)
+        .field("examQuestions", listOf(EXAM_QUESTION), StudentExam::getExamQuestions,
+            StudentExam::setExamQuestions)
+        .build();
+
+    static final JsonCodec<Exam> EXAM = ObjectCodec.builder(Exam::new)
+        .field("id", INTEGER, Exam::getId, Exam::setId)
+        .field(Constants.COURSE_ID, INTEGER, Exam::getCourseId, Exam::setCourseId)
+        .field(Constants.START_STRING, TIMESTAMP, Exam::getStart, Exam::setStart)
+        .field(Constants.END_STRING, TIMESTAMP, Exam::getEnd, Exam::setEnd)
+        .field("studentExamList", listOf(STUDENT_EXAM), Exam::getStudentExamList,
+            Exam::setStudentExamList)
+        .build();
+
+    static final JsonCodec<User> USER = ObjectCodec.builder(User::new)
+        .field("netId", STRING, User::getNetId, User::setNetId)
+        .field(Constants.ROLE_STRING, INTEGER, User::getRole, User::setRole)
+        .field(Constants.PASSWORD_STRING, STRING, User::getPassword, User::setPassword)
+        .field(Constants.EXTRA_TIME, INTEGER, User::getExtraTime, User::setExtraTime)
+        .build();
+
+    static final Map<Class<?>, JsonCodec<?>> BY_CLASS = Map.of(
+        Answer.class, ANSWER,
+        Course.class, COURSE,
+        Enrollment.class, ENROLLMENT,
+        Exam.class, EXAM,
+        ExamQuestion.class, EXAM_QUESTION,
+        Question.class, QUESTION,
+        StudentAnswer.class, STUDENT_ANSWER,
+        StudentExam.class, STUDENT_EXAM,
+        Topic.class, TOPIC,
+        User.class, USER);
+
+    private ModelCodecs() {
+    }
+
+    /**
+     * Creates the codec of a list of models. As before, every element is written as a string
+     * containing the JSON of the model. Both such strings and plain objects are read.
+     *
+     * @param elementCodec The codec of the elements.
+     * @param <E>          The type of the elements.
+     * @return The codec of the list.
+     */
+    static <E> JsonCodec<List<E>> listOf(JsonCodec<E> elementCodec) {
+        return new JsonCodec<>() {
+            @Override
+            public void write(List<E> value, JsonWriter writer) {
+                writer.beginArray();
+                for (E element : value) {
+                    writer.beginString();
+                    elementCodec.write(element, writer);
+                    writer.endString();
+                }
+                writer.endArray();
+            }
+
+            @Override
+            public List<E> read(JsonReader reader) {
+                List<E> result = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peekString()) {
+                        result.add(elementCodec.read(new JsonReader(reader.nextString())));
+                    } else {
+                        result.add(elementCodec.read(reader));
+                    }
+                }
+                reader.endArray();
+                return result;
+            }
+        };
+    }
+}
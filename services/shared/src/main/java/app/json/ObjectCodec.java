@@ -0,0 +1,131 @@
+package app.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Codec of a model class, built from one entry per JSON field. Fields that are null are left
+ * out when writing, and fields that are missing or null are left unset when reading.
+ *
+ * <p>The fields are written in the iteration order of a {@link HashMap} holding their names,
+ * which is the order in which {@link org.json.JSONObject} wrote them before, so the output is
+ * identical to that of {@link JsonSerializer}. The order is computed once, when the codec is
+ * built.
+ *
+ * @param <T> The model class.
+ */
+final class ObjectCodec<T> implements JsonCodec<T> {
+
+    private final transient Supplier<T> factory;
+    private final transient List<Field<T, ?>> writeOrder;
+    private final transient Map<String, Field<T, ?>> fieldsByName;
+
+    private ObjectCodec(Supplier<T> factory, Map<String, Field<T, ?>> fieldsByName) {
+        this.factory = factory;
+        this.fieldsByName = fieldsByName;
+        this.writeOrder = new ArrayList<>(fieldsByName.values());
+    }
+
+    /**
+     * Starts building the codec of a model class.
+     *
+     * @param factory Creates an empty instance of the model class.
+     * @param <T>     The model class.
+     * @return A builder to which the fields can be added.
+     */
+    static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    @Override
+    public void write(T value, JsonWriter writer) {
+        writer.beginObject();
+        for (Field<T, ?> field : writeOrder) {
+            field.write(value, writer);
+        }
+        writer.endObject();
+    }
+
+    @Override
+    public T read(JsonReader reader) {
+        T value = factory.get();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Field<T, ?> field = fieldsByName.get(reader.nextName());
+            if (field == null) {
+                reader.skipValue();
+            } else {
+                field.read(value, reader);
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    /**
+     * Collects the fields of an {@link ObjectCodec}.
+     *
+     * @param <T> The model class.
+     */
+    static final class Builder<T> {
+        private final transient Supplier<T> factory;
+        private final transient Map<String, Field<T, ?>> fields = new HashMap<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Adds a field.
+         *
+         * @param name   The name of the field in JSON.
+         * @param codec  The codec of the value of the field.
+         * @param getter Gets the value of the field out of the model.
+         * @param setter Sets the value of the field on the model.
+         * @param <V>    The type of the value.
+         * @return this builder.
+         */
+        <V> Builder<T> field(String name, JsonCodec<V> codec, Function<T, V> getter,
+                             BiConsumer<T, V> setter) {
+            fields.put(name, new Field<>(name, codec, getter, setter));
+            return this;
+        }
+
+        ObjectCodec<T> build() {
+            return new ObjectCodec<>(factory, fields);
+        }
+    }
+
+    private static final class Field<T, V> {
+        private final transient String name;
+        private final transient JsonCodec<V> codec;
+        private final transient Function<T, V> getter;
+        private final transient BiConsumer<T, V> setter;
+
+        Field(String name, JsonCodec<V> codec, Function<T, V> getter, BiConsumer<T, V> setter) {
+            this.name = name;
+            this.codec = codec;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        void write(T object, JsonWriter writer) {
+            V value = getter.apply(object);
+            if (value != null) {
+                writer.name(name);
+                codec.write(value, writer);
+            }
+        }
+
+        void read(T object, JsonReader reader) {
+            if (!reader.nextNull()) {
+                setter.accept(object, codec.read(reader));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package app.json;
+
+import app.serializerfactory.Serializer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.json.JSONException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes the models with one codec per type, which writes the JSON text directly instead of
+ * building JSONObjects and reads it back without parsing nested objects more than once. The
+ * output is identical to that of {@link JsonSerializer}: the same field names, in the same
+ * order, with null fields left out and nested models embedded as strings.
+ */
+public class StreamingJsonSerializer implements Serializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingJsonSerializer.class);
+    private static final String INVALID_CLASS = "Classtype not valid.";
+
+    private static final Map<Class<?>, JsonCodec<?>> codecs =
+        new ConcurrentHashMap<>(ModelCodecs.BY_CLASS);
+
+    @Override
+    public String serialize(Object object) {
+        StringBuilder json = new StringBuilder(256);
+        return write(object, json) ? json.toString() : null;
+    }
+
+    @Override
+    public void serialize(Object object, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (!write(object, writer)) {
+            throw new IOException("Could not serialize " + object);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public Object deserialize(String string, Class<?> classT) {
+        if (string == null) {
+            return INVALID_CLASS;
+        }
+        return read(() -> new JsonReader(string), classT);
+    }
+
+    @Override
+    public Object deserialize(InputStream in, Class<?> classT) {
+        return read(() -> new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+            classT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean write(Object object, Appendable out) {
+        try {
+            JsonCodec<Object> codec = (JsonCodec<Object>) codecFor(object.getClass());
+            if (codec == null) {
+                logger.warn("No codec for {}", object.getClass().getName());
+                return false;
+            }
+            codec.write(object, new JsonWriter(out));
+            return true;
+        } catch (JSONException | UncheckedIOException | ClassCastException e) {
+            logger.warn("Could not serialize object", e);
+            return false;
+        }
+    }
+
+    private Object read(Supplier<JsonReader> readerFactory, Class<?> classT) {
+        JsonCodec<?> codec = codecFor(classT);
+        if (codec == null) {
+            logger.warn("No codec for {}", classT.getName());
+            return INVALID_CLASS;
+        }
+        try {
+            return codec.read(readerFactory.get());
+        } catch (JSONException | UncheckedIOException | IllegalArgumentException e) {
+            logger.warn("Could not deserialize " + classT.getSimpleName(), e);
+            return INVALID_CLASS;
+        }
+    }
+
+    /**
+     * Looks up the codec of a class. Subclasses of the models, such as proxies created by
+     * Hibernate, use the codec of the model they extend.
+     */
+    private static JsonCodec<?> codecFor(Class<?> type) {
+        JsonCodec<?> codec = codecs.get(type);
+        if (codec != null) {
+            return codec;
+        }
+        for (Class<?> c = type.getSuperclass(); c != null; c = c.getSuperclass()) {
+            codec = codecs.get(c);
+            if (codec != null) {
+                codecs.put(type, codec);
+                return codec;
+            }
+        }
+        return null;
+    }
+}
@@ -7,6 +7,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -22,7 +23,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "enrollment")
+@Table(name = "enrollment", indexes = {
+    @Index(name = "idx_enrollment_course", columnList = "course"),
+    @Index(name = "idx_enrollment_user_course", columnList = "user, course")})
 public class Enrollment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
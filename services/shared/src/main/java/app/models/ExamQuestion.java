@@ -9,9 +9,11 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -25,15 +27,19 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "exam_questions")
+@Table(name = "exam_questions", indexes = {
+    @Index(name = "idx_exam_questions_student_exam", columnList = "student_exam")})
 public class ExamQuestion {
 
     private static final transient String questionStr = "question";
     private static final transient String correctStr = "correct";
     private static final transient String nullStr = "null";
 
+    // Ids are taken from a sequence in blocks of 50, so that inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_question_ids")
+    @SequenceGenerator(name = "exam_question_ids", sequenceName = "exam_questions_seq",
+        allocationSize = 50)
     @Column(name = "id")
     private Integer id;
 
@@ -48,7 +54,7 @@ public class ExamQuestion {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_exam", insertable = false, updatable = false)
-    private ExamQuestion studentExam;
+    private StudentExam studentExam;
 
     @OneToMany(mappedBy = "examQuestion", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<StudentAnswer> studentAnswers;
@@ -9,6 +9,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -29,8 +30,11 @@ public class StudentAnswer {
     private static final transient String selectedStr = "selected";
     private static final transient String nullStr = "null";
 
+    // Ids are taken from a sequence in blocks of 50, so that inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_answer_ids")
+    @SequenceGenerator(name = "student_answer_ids", sequenceName = "student_answers_seq",
+        allocationSize = 50)
     @Column(name = "id")
     private Integer id;
 
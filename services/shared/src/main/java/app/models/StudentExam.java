@@ -10,9 +10,11 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -26,13 +28,17 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "student_exam")
+@Table(name = "student_exam", indexes = {
+    @Index(name = "idx_student_exam_exam_grade", columnList = "exam, grade")})
 public class StudentExam {
 
     private static final transient String gradeStr = "grade";
     private static final transient String nullStr = "null";
+    // Ids are taken from a sequence in blocks of 50, so that inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_exam_ids")
+    @SequenceGenerator(name = "student_exam_ids", sequenceName = "student_exam_seq",
+        allocationSize = 50)
     @Column(name = "id")
     private Integer id;
 
@@ -1,7 +1,40 @@
 package app.serializerfactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface Serializer {
     String serialize(Object object);
 
+    /**
+     * Serializes an object and writes it to a stream as UTF-8.
+     *
+     * @param object The object to serialize.
+     * @param out    The stream to write to, which is flushed but not closed.
+     * @throws IOException if the object could not be serialized or written.
+     */
+    default void serialize(Object object, OutputStream out) throws IOException {
+        String string = serialize(object);
+        if (string == null) {
+            throw new IOException("Could not serialize " + object);
+        }
+        out.write(string.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
     Object deserialize(String string, Class<?> classT);
+
+    /**
+     * Reads an object from a stream of UTF-8 text.
+     *
+     * @param in     The stream to read from, which is not closed.
+     * @param classT The class of the object to deserialize.
+     * @return The object parsed from the stream.
+     * @throws IOException if the stream could not be read.
+     */
+    default Object deserialize(InputStream in, Class<?> classT) throws IOException {
+        return deserialize(new String(in.readAllBytes(), StandardCharsets.UTF_8), classT);
+    }
 }
@@ -0,0 +1,90 @@
+package app.authorisation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import app.constants.Constants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SessionVerifierTest {
+
+    private transient ClaimsCache cache;
+    private transient SessionVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ClaimsCache(2, 60_000L);
+        verifier = new SessionVerifier(cache, AuthorisationMode.LOCAL);
+    }
+
+    @Test
+    void verifyValidSessionTest() {
+        Claims claims = verifier.verify(Constants.SESSION_ID_STUDENT);
+
+        assertEquals(Constants.NET_ID_STUDENT, claims.get(Constants.NET_ID_KEY, String.class));
+        assertEquals(1, cache.size());
+        assertSame(claims, verifier.verify(Constants.SESSION_ID_STUDENT));
+    }
+
+    @Test
+    void verifyInvalidSessionTest() {
+        assertThrows(JwtException.class, () -> verifier.verify(Constants.TEST_SESSION_TOKEN));
+        assertThrows(JwtException.class, () -> verifier.verify(Constants.SESSION_EXPIRED));
+        assertThrows(JwtException.class,
+            () -> verifier.verify(Constants.SESSION_ID_WRONG_SUBJECT));
+        assertThrows(JwtException.class, () -> verifier.verify(""));
+        assertThrows(JwtException.class, () -> verifier.verify(null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void isAuthorisedTest() {
+        assertTrue(verifier.isAuthorised(Constants.SESSION_ID_STUDENT, 0));
+        assertFalse(verifier.isAuthorised(Constants.SESSION_ID_STUDENT, 1));
+        assertTrue(verifier.isAuthorised(Constants.SESSION_ID_TEACHER, 0));
+        assertTrue(verifier.isAuthorised(Constants.SESSION_ID_TEACHER, 1));
+        assertFalse(verifier.isAuthorised(Constants.SESSION_EXPIRED, 0));
+        assertFalse(verifier.isAuthorised(Constants.SESSION_ID_MISSING_SUBJECT, 0));
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsedTest() {
+        verifier.verify(Constants.SESSION_ID_STUDENT);
+        verifier.verify(Constants.SESSION_ID_TEACHER);
+        cache.get(Constants.SESSION_ID_STUDENT);
+        cache.put(Constants.SESSION_ID_EMPTY, verifier.verify(Constants.SESSION_ID_STUDENT));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(Constants.SESSION_ID_STUDENT));
+        assertNull(cache.get(Constants.SESSION_ID_TEACHER));
+    }
+
+    @Test
+    void cacheExpiresEntriesTest() {
+        ClaimsCache expiringCache = new ClaimsCache(2, 0L);
+        new SessionVerifier(expiringCache, AuthorisationMode.LOCAL)
+            .verify(Constants.SESSION_ID_STUDENT);
+
+        assertNull(expiringCache.get(Constants.SESSION_ID_STUDENT));
+        assertEquals(0, expiringCache.size());
+    }
+
+    @Test
+    void serviceTokenTest() {
+        ServiceToken serviceToken = new ServiceToken("exam-service", 60_000L);
+        String token = serviceToken.get();
+
+        assertSame(token, serviceToken.get());
+        assertTrue(verifier.isAuthorised(token, 1));
+        assertEquals("exam-service",
+            verifier.verify(token).get(Constants.NET_ID_KEY, String.class));
+    }
+}
@@ -0,0 +1,108 @@
+package app.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final String DESTINATION = "localhost:8083";
+
+    private static CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker(DESTINATION, 2, openDuration, 1);
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        breaker.acquire();
+        breaker.onFailure();
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresTest() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        fail(breaker);
+        breaker.acquire();
+        breaker.onSuccess();
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        ServiceUnavailableException exception =
+            assertThrows(ServiceUnavailableException.class, breaker::acquire);
+        assertTrue(exception.getMessage().contains(DESTINATION));
+        assertTrue(exception.getRetryAfterSeconds() > 1);
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @Test
+    void successfulProbeClosesTest() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        fail(breaker);
+        fail(breaker);
+
+        breaker.acquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(ServiceUnavailableException.class, breaker::acquire);
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, breaker.getTransitions(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void failedProbeOpensAgainTest() {
+        CircuitBreaker breaker = breaker(Duration.ofMillis(50));
+        fail(breaker);
+        fail(breaker);
+        assertThrows(ServiceUnavailableException.class, breaker::acquire);
+
+        await(Duration.ofMillis(100));
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTransitions(CircuitBreaker.State.OPEN));
+        assertThrows(ServiceUnavailableException.class, breaker::acquire);
+    }
+
+    @Test
+    void skippedProbeFreesItsPlaceTest() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        fail(breaker);
+        fail(breaker);
+        breaker.acquire();
+
+        breaker.onSkipped();
+        breaker.acquire();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void toJsonTest() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        fail(breaker);
+        fail(breaker);
+        assertThrows(ServiceUnavailableException.class, breaker::acquire);
+
+        JSONObject json = breaker.toJson();
+        assertEquals("open", json.getString("state"));
+        assertEquals(2, json.getInt("consecutiveFailures"));
+        assertEquals(1, json.getLong("rejected"));
+        assertEquals(1, json.getJSONObject("transitions").getLong("open"));
+        assertEquals(0, json.getJSONObject("transitions").getLong("half_open"));
+    }
+
+    private static void await(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
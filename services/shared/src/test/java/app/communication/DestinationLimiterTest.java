@@ -0,0 +1,68 @@
+package app.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class DestinationLimiterTest {
+
+    @Test
+    void queuesAboveLimitTest() {
+        DestinationLimiter limiter = new DestinationLimiter(1, 1);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        final CompletableFuture<String> firstResult = limiter.submit(() -> {
+            started.incrementAndGet();
+            return first;
+        });
+        final CompletableFuture<String> secondResult = limiter.submit(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(1, limiter.getActive());
+        assertEquals(1, limiter.getQueued());
+        assertFalse(secondResult.isDone());
+
+        first.complete("first");
+
+        assertEquals("first", firstResult.join());
+        assertEquals("second", secondResult.join());
+        assertEquals(0, limiter.getActive());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void rejectsWhenQueueFullTest() {
+        DestinationLimiter limiter = new DestinationLimiter(1, 0);
+        limiter.submit(CompletableFuture::new);
+
+        CompletableFuture<Object> rejected = limiter.submit(CompletableFuture::new);
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, limiter.getRejected());
+        assertEquals(1, limiter.toJson().getLong("rejected"));
+    }
+
+    @Test
+    void releasesOnFailureTest() {
+        DestinationLimiter limiter = new DestinationLimiter(1, 0);
+
+        CompletableFuture<Object> failed = limiter.submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, limiter.getActive());
+    }
+}
@@ -0,0 +1,246 @@
+package app.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import app.constants.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the client against a local HTTP server whose responses are scripted per test.
+ */
+class ServiceClientTest {
+
+    private transient HttpServer server;
+    private transient String port;
+    private transient ServiceClient client;
+    private final transient AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(Constants.HOST, 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        port = String.valueOf(server.getAddress().getPort());
+        client = new ServiceClient(ServiceClientSettings.builder()
+            .readTimeout(Duration.ofMillis(300))
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(5))
+            .maxRetries(2)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(String path, int... statuses) {
+        server.createContext(path, exchange -> {
+            int call = calls.getAndIncrement();
+            write(exchange, statuses[Math.min(call, statuses.length - 1)],
+                exchange.getRequestHeaders().getFirst(Constants.SESSIONHEADERKEY));
+        });
+    }
+
+    private static void write(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void getSuccessTest() {
+        respond("/test", 200);
+
+        assertEquals("token", client.get(port + "/test", "token"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void getRetriedOnUnavailableTest() {
+        respond("/test", 503, 503, 200);
+
+        assertEquals("token", client.get(port + "/test", "token"));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void getGivesUpAfterRetriesTest() {
+        respond("/test", 503);
+
+        assertNull(client.get(port + "/test", "token"));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void postNotRetriedTest() {
+        respond("/test", 503, 200);
+
+        assertNull(client.post("{}", port + "/test", "token"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void postRetriedOnClosedConnectionTest() {
+        server.createContext("/test", exchange -> {
+            if (calls.getAndIncrement() == 0) {
+                // Closes the connection without answering, like a server that restarted.
+                exchange.close();
+                return;
+            }
+            write(exchange, 200, "token");
+        });
+
+        assertEquals("token", client.post("{}", port + "/test", "token"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void timedOutRequestKeepsItsSlotTest() {
+        CountDownLatch release = new CountDownLatch(1);
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            write(exchange, 200, "late");
+        });
+        HttpRequest request = HttpRequest.newBuilder(client.resolve(port + "/slow"))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+
+        assertThrows(CompletionException.class, () -> client.sendAsync(request).join());
+        DestinationLimiter limiter = client.limiterFor(request.uri());
+        assertEquals(1, limiter.getActive());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getActive() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, limiter.getActive());
+    }
+
+    @Test
+    void wrongStatusNotRetriedTest() {
+        respond("/test", 418, 200);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> client.getAsync(port + "/test", "token").join());
+        assertEquals(418, ((ServiceCommunicationException) exception.getCause())
+            .getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void readTimeoutTest() {
+        server.createContext("/slow", exchange -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            write(exchange, 200, "late");
+        });
+
+        long start = System.nanoTime();
+        assertNull(client.post("{}", port + "/slow", "token"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    void postStreamTest() throws IOException {
+        respond("/stream", 200);
+
+        HttpResponse<InputStream> response = client.postStream("{}", port + "/stream", "token");
+        try (InputStream body = response.body()) {
+            assertEquals("token", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void postStreamWrongStatusTest() {
+        respond("/stream", 503, 200);
+
+        assertNull(client.postStream("{}", port + "/stream", "token"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failingDestinationIsRejectedTest() {
+        respond("/test", 500);
+        ServiceClient breaking = new ServiceClient(ServiceClientSettings.builder()
+            .breakerFailureThreshold(2)
+            .breakerOpenDuration(Duration.ofMinutes(1))
+            .build());
+
+        assertNull(breaking.post("{}", port + "/test", "token"));
+        assertNull(breaking.post("{}", port + "/test", "token"));
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+            () -> breaking.post("{}", port + "/test", "token"));
+
+        assertEquals(2, calls.get());
+        assertTrue(exception.getRetryAfterSeconds() > 1);
+        CompletionException async = assertThrows(CompletionException.class,
+            () -> breaking.postAsync("{}", port + "/test", "token").join());
+        assertTrue(async.getCause().getCause() instanceof ServiceUnavailableException);
+
+        JSONObject metrics = breaking.destinationMetrics().getJSONObject(0);
+        assertEquals(Constants.HOST + ":" + port, metrics.getString("destination"));
+        assertEquals("open", metrics.getJSONObject("breaker").getString("state"));
+        assertEquals(2, metrics.getJSONObject("breaker").getLong("rejected"));
+        assertEquals(0, metrics.getJSONObject("limiter").getInt("active"));
+    }
+
+    @Test
+    void clientErrorsDoNotOpenBreakerTest() {
+        respond("/test", 404);
+        ServiceClient breaking = new ServiceClient(ServiceClientSettings.builder()
+            .breakerFailureThreshold(1)
+            .build());
+
+        assertNull(breaking.post("{}", port + "/test", "token"));
+        assertNull(breaking.post("{}", port + "/test", "token"));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void resolveTest() {
+        ServiceClient configured = new ServiceClient(ServiceClientSettings.builder()
+            .baseUrls(Map.of("8082", "http://course-service:9000"))
+            .build());
+
+        assertEquals(URI.create("http://course-service:9000/course_service/x/1"),
+            configured.resolve("8082/course_service/x/1"));
+        assertEquals(URI.create("http://localhost:8083/exam_service/x"),
+            configured.resolve("8083/exam_service/x"));
+    }
+}
@@ -0,0 +1,124 @@
+package app.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import app.constants.Constants;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Passes requests through the proxy to a local HTTP server that echoes their body.
+ */
+class StreamingProxyTest {
+
+    private transient HttpServer server;
+    private transient String port;
+    private transient ServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(Constants.HOST, 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.getResponseHeaders().add("X-Session",
+                exchange.getRequestHeaders().getFirst(Constants.SESSIONHEADERKEY));
+            // Length 0 makes the server send the body in chunks
+            exchange.sendResponseHeaders(404, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        port = String.valueOf(server.getAddress().getPort());
+        client = new ServiceClient(ServiceClientSettings.builder()
+            .readTimeout(Duration.ofSeconds(5))
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static String read(ResponseEntity<StreamingResponseBody> response)
+        throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void statusHeadersAndBodyArePassedOn() throws IOException {
+        byte[] body = new byte[StreamingProxy.CHUNK_SIZE * 5 + 7];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) ('a' + i % 26);
+        }
+        ResponseEntity<StreamingResponseBody> response = StreamingProxy.forward(client,
+            new ByteArrayInputStream(body), port + "/echo", "token");
+
+        assertEquals(404, response.getStatusCodeValue());
+        assertEquals("application/x-ndjson", response.getHeaders().getFirst("Content-Type"));
+        assertEquals("token", response.getHeaders().getFirst("X-Session"));
+        assertFalse(response.getHeaders().containsKey("Transfer-Encoding"));
+        assertEquals(new String(body, StandardCharsets.US_ASCII), read(response));
+    }
+
+    @Test
+    void missingServiceIsBadGateway() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        ResponseEntity<StreamingResponseBody> response = StreamingProxy.forward(client,
+            new ByteArrayInputStream(new byte[0]), closedPort + "/echo", "token");
+
+        assertEquals(502, response.getStatusCodeValue());
+        assertTrue(read(response).contains("unavailable"));
+    }
+
+    @Test
+    void openBreakerIsServiceUnavailable() throws IOException {
+        ServiceClient breaking = new ServiceClient(ServiceClientSettings.builder()
+            .breakerFailureThreshold(1)
+            .breakerOpenDuration(Duration.ofMinutes(1))
+            .build());
+        breaking.breakerFor(breaking.resolve(port + "/echo")).onFailure();
+
+        ResponseEntity<StreamingResponseBody> response = StreamingProxy.forward(breaking,
+            new ByteArrayInputStream(new byte[0]), port + "/echo", "token");
+
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("60", response.getHeaders().getFirst("Retry-After"));
+        assertTrue(read(response).contains("unavailable"));
+    }
+
+    @Test
+    void copyKeepsEveryByte() throws IOException {
+        byte[] data = new byte[StreamingProxy.CHUNK_SIZE * 3 + 1];
+        data[data.length - 1] = 1;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new ByteArrayInputStream(data)) {
+            StreamingProxy.copy(in, out);
+        }
+        assertEquals(data.length, out.size());
+        assertEquals(1, out.toByteArray()[data.length - 1]);
+    }
+}
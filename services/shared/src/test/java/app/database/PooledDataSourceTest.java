@@ -0,0 +1,71 @@
+package app.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class PooledDataSourceTest {
+
+    private static MockEnvironment environment(String database) {
+        return new MockEnvironment()
+            .withProperty("jdbc.driverClassName", "org.h2.Driver")
+            .withProperty("jdbc.url", "jdbc:h2:mem:" + database)
+            .withProperty("jdbc.user", "sa")
+            .withProperty("jdbc.pass", "")
+            .withProperty("jdbc.pool.validation-query", "SELECT 1")
+            .withProperty("jdbc.pool.min-idle", "0")
+            .withProperty("jdbc.pool.max-size", "1")
+            .withProperty("jdbc.pool.connection-timeout", "1000");
+    }
+
+    private static PoolMetrics metricsOf(String poolName) {
+        return PoolMetrics.all().stream()
+            .filter(metrics -> metrics.getPoolName().equals(poolName))
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Test
+    void reusesConnectionsTest() throws SQLException {
+        try (HikariDataSource dataSource =
+                 PooledDataSource.create(environment("reuse"), "reuse-pool")) {
+            assertEquals(1, dataSource.getMaximumPoolSize());
+            assertEquals(1000, dataSource.getConnectionTimeout());
+            for (int i = 0; i < 3; i++) {
+                try (Connection connection = dataSource.getConnection()) {
+                    assertTrue(connection.createStatement().execute("SELECT 1"));
+                }
+            }
+
+            PoolMetrics metrics = metricsOf("reuse-pool");
+            assertEquals(3, metrics.getAcquired());
+            JSONObject json = metrics.toJson();
+            assertEquals(1, json.getInt("total"));
+            assertEquals(0, json.getInt("active"));
+            assertEquals(1, json.getInt("created"));
+        }
+        assertEquals(null, metricsOf("reuse-pool"));
+    }
+
+    @Test
+    void countsTimeoutsTest() throws SQLException {
+        try (HikariDataSource dataSource =
+                 PooledDataSource.create(environment("timeout"), "timeout-pool");
+             Connection borrowed = dataSource.getConnection()) {
+            assertFalse(borrowed.isClosed());
+            assertThrows(SQLException.class, dataSource::getConnection);
+
+            PoolMetrics metrics = metricsOf("timeout-pool");
+            assertEquals(1, metrics.getTimeouts());
+            assertEquals(1, metrics.toJson().getInt("active"));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package app.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class SchemaMigrationsTest {
+
+    private static HikariDataSource dataSource(String database) {
+        return PooledDataSource.create(new MockEnvironment()
+            .withProperty("jdbc.driverClassName", "org.h2.Driver")
+            .withProperty("jdbc.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1")
+            .withProperty("jdbc.user", "sa")
+            .withProperty("jdbc.pass", "")
+            .withProperty("jdbc.pool.min-idle", "0")
+            .withProperty("jdbc.pool.max-size", "1"), database + "-pool");
+    }
+
+    private static long queryLong(HikariDataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    @Test
+    void appliesScriptsInOrderOnceTest() throws SQLException {
+        try (HikariDataSource dataSource = dataSource("migrate")) {
+            assertEquals(2, SchemaMigrations.migrate(dataSource,
+                "classpath*:db/test-migration/V*__*.sql"));
+            assertEquals(52, queryLong(dataSource, "select next_val from item_seq"));
+            assertEquals(2, queryLong(dataSource, "select count(*) from schema_version"));
+
+            assertEquals(0, SchemaMigrations.migrate(dataSource,
+                "classpath*:db/test-migration/V*__*.sql"));
+            assertEquals(1, queryLong(dataSource, "select count(*) from item_seq"));
+        }
+    }
+
+    @Test
+    void failedScriptIsNotRecordedTest() throws SQLException {
+        try (HikariDataSource dataSource = dataSource("broken")) {
+            assertThrows(RuntimeException.class, () -> SchemaMigrations.migrate(dataSource,
+                "classpath*:db/broken-migration/V*__*.sql"));
+            assertEquals(0, queryLong(dataSource, "select count(*) from schema_version"));
+        }
+    }
+
+    @Test
+    void noScriptsTest() throws SQLException {
+        try (HikariDataSource dataSource = dataSource("empty")) {
+            assertEquals(0, SchemaMigrations.migrate(dataSource,
+                "classpath*:db/missing/V*__*.sql"));
+            assertFalse(queryLong(dataSource, "select count(*) from schema_version") > 0);
+        }
+    }
+}
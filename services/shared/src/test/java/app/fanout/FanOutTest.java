@@ -0,0 +1,132 @@
+package app.fanout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutTest {
+
+    private transient ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void allStepsSucceedTest() {
+        FanOut fanOut = new FanOut(executor);
+        FanOut.Step<String> first = fanOut.step("first", 1000, () -> "a");
+        FanOut.Step<Integer> second = fanOut.step("second", 1000, () -> 2, value -> value > 1);
+
+        assertTrue(fanOut.await());
+        assertEquals("a", first.getResult());
+        assertEquals(2, second.getResult());
+        assertTrue(fanOut.serverTiming().startsWith("first;dur="));
+        assertTrue(fanOut.serverTiming().contains(", second;dur="));
+    }
+
+    @Test
+    void failedPreconditionCancelsOthersTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        FanOut fanOut = new FanOut(executor);
+        final FanOut.Step<String> slow = fanOut.step("slow", 5000, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+        FanOut.Step<Boolean> check = fanOut.step("check", 1000, () -> false, value -> value);
+
+        long start = System.nanoTime();
+        assertFalse(fanOut.await());
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertTrue(check.failed());
+        assertFalse(slow.failed());
+        assertFalse(slow.succeeded());
+        assertNull(slow.getResult());
+        release.countDown();
+    }
+
+    @Test
+    void noStepsStartedAfterFailureTest() {
+        AtomicBoolean started = new AtomicBoolean();
+        FanOut fanOut = new FanOut(Runnable::run);
+        FanOut.Step<String> missing = fanOut.step("missing", 1000, () -> null);
+        FanOut.Step<String> later = fanOut.step("later", 1000, () -> {
+            started.set(true);
+            return "later";
+        });
+
+        assertFalse(fanOut.await());
+        assertTrue(missing.failed());
+        assertFalse(later.failed());
+        assertFalse(started.get());
+    }
+
+    @Test
+    void deadlineTest() {
+        FanOut fanOut = new FanOut(executor);
+        FanOut.Step<String> stuck = fanOut.step("stuck", 50, () -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        });
+
+        assertFalse(fanOut.await());
+        assertTrue(stuck.failed());
+        assertTrue(stuck.getFailure() instanceof TimeoutException);
+    }
+
+    @Test
+    void partialFanOutKeepsResultsOfOtherStepsTest() {
+        FanOut fanOut = new FanOut(executor, false);
+        FanOut.Step<String> missing = fanOut.step("missing", 1000, () -> null);
+        FanOut.Step<String> stuck = fanOut.step("stuck", 50, () -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        });
+        final FanOut.Step<String> slow = fanOut.step("slow", 1000, () -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+
+        assertFalse(fanOut.await());
+        assertTrue(missing.failed());
+        assertTrue(stuck.getFailure() instanceof TimeoutException);
+        assertEquals("slow", slow.getResult());
+
+        FanOut.Step<String> later = fanOut.step("later", 1000, () -> "later");
+        fanOut.await();
+        assertEquals("later", later.getResult());
+        assertTrue(fanOut.serverTiming().contains("later;dur="));
+    }
+}
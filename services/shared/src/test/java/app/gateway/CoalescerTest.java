@@ -0,0 +1,103 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class CoalescerTest {
+
+    private static final String KEY = "examById";
+
+    private final transient Coalescer<String> coalescer = new Coalescer<>();
+    private final transient AtomicInteger calls = new AtomicInteger();
+
+    private CompletableFuture<String> call(CompletableFuture<String> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+
+    @Test
+    void identicalRequestsShareOneCall() {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        final CompletableFuture<String> first = coalescer.execute(KEY, () -> call(result));
+        final CompletableFuture<String> second = coalescer.execute(KEY, () -> call(result));
+        final CompletableFuture<String> other = coalescer.execute("other",
+            () -> call(CompletableFuture.completedFuture("other")));
+
+        assertEquals(2, calls.get());
+        assertEquals(1, coalescer.getInFlight());
+        result.complete("exam");
+        assertEquals("exam", first.join());
+        assertEquals("exam", second.join());
+        assertEquals("other", other.join());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void completedCallsAreNotReused() {
+        coalescer.execute(KEY, () -> call(CompletableFuture.completedFuture("old"))).join();
+        String result =
+            coalescer.execute(KEY, () -> call(CompletableFuture.completedFuture("new"))).join();
+
+        assertEquals("new", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failuresAreShared() {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        final CompletableFuture<String> first = coalescer.execute(KEY, () -> call(result));
+        final CompletableFuture<String> second = coalescer.execute(KEY, () -> call(result));
+        IllegalStateException failure = new IllegalStateException("down");
+        result.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void thrownFailuresAreShared() {
+        CompletableFuture<String> failed = coalescer.execute(KEY, () -> {
+            throw new IllegalStateException("down");
+        });
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void cancellingOneRequestDoesNotCancelTheOthers() {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        final CompletableFuture<String> first = coalescer.execute(KEY, () -> call(result));
+        final CompletableFuture<String> second = coalescer.execute(KEY, () -> call(result));
+        first.cancel(false);
+        result.complete("exam");
+
+        assertTrue(first.isCancelled());
+        assertEquals("exam", second.join());
+    }
+
+    @Test
+    void collapseRatioIsReported() {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        for (int i = 0; i < 4; i++) {
+            coalescer.execute(KEY, () -> call(result));
+        }
+        result.complete("exam");
+
+        JSONObject json = coalescer.toJson();
+        assertEquals(4, json.getLong("requests"));
+        assertEquals(1, json.getLong("calls"));
+        assertEquals(3, json.getLong("collapsed"));
+        assertEquals(0.75, json.getDouble("collapseRatio"));
+        assertEquals(0, json.getInt("inFlight"));
+    }
+}
@@ -0,0 +1,89 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import app.constants.Constants;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CoalescingRuleTest {
+
+    private static final String PATH = "/student_service/examById";
+
+    /**
+     * A second student, with a session of its own.
+     */
+    private static final String OTHER_STUDENT = Jwts.builder()
+        .setSubject(Constants.SESSIONHEADERKEY)
+        .claim(Constants.NET_ID_KEY, "otherStudent")
+        .claim(Constants.ROLE_KEY, 0)
+        .signWith(Constants.SECRET_KEY, SignatureAlgorithm.HS512)
+        .compact();
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void bodiesAreNormalised() {
+        CoalescingRule rule = new CoalescingRule(CoalescingRule.Scope.SESSION, Set.of("sentAt"));
+
+        assertEquals("{\"id\":1}", rule.normalise(Constants.ID_1));
+        assertEquals(rule.normalise("{\"b\": [1, {\"d\":2, \"c\":3}], \"a\":\"x\"}"),
+            rule.normalise("{\"a\":\"x\",\"b\":[1,{\"c\":3,\"d\":2}]}"));
+        assertEquals("{\"id\":1}", rule.normalise("{\"id\":1, \"sentAt\": 123}"));
+        assertEquals("1", rule.normalise(" 1 "));
+        assertEquals("not json", rule.normalise(" not json "));
+        assertEquals("{\"id\":1} {", rule.normalise("{\"id\":1} {"));
+    }
+
+    @Test
+    void roleScopeIsSharedBetweenSessionsOfTheSameRole() {
+        CoalescingRule rule = new CoalescingRule(CoalescingRule.Scope.ROLE, Set.of());
+
+        assertEquals(rule.keyOf(PATH, bytes(Constants.ID_1), Constants.SESSION_ID_STUDENT),
+            rule.keyOf(PATH, bytes("{\"id\":1}"), OTHER_STUDENT));
+        assertNotEquals(rule.keyOf(PATH, bytes(Constants.ID_1), Constants.SESSION_ID_STUDENT),
+            rule.keyOf(PATH, bytes(Constants.ID_1), Constants.SESSION_ID_TEACHER));
+        assertNotEquals(rule.keyOf(PATH, bytes(Constants.ID_1), Constants.SESSION_ID_STUDENT),
+            rule.keyOf(PATH, bytes("{\"id\":2}"), Constants.SESSION_ID_STUDENT));
+        assertNotEquals(rule.keyOf(PATH, bytes(Constants.ID_1), Constants.SESSION_ID_STUDENT),
+            rule.keyOf("/student_service/courseById", bytes(Constants.ID_1),
+                Constants.SESSION_ID_STUDENT));
+    }
+
+    @Test
+    void invalidSessionsAreNotSharedWithOtherSessions() {
+        CoalescingRule role = new CoalescingRule(CoalescingRule.Scope.ROLE, Set.of());
+        CoalescingRule session = new CoalescingRule(CoalescingRule.Scope.SESSION, Set.of());
+
+        assertEquals(session.keyOf(PATH, bytes(Constants.ID_1), Constants.TEST_SESSION_TOKEN),
+            role.keyOf(PATH, bytes(Constants.ID_1), Constants.TEST_SESSION_TOKEN));
+    }
+
+    @Test
+    void sessionScopeIsNotShared() {
+        CoalescingRule rule = new CoalescingRule(CoalescingRule.Scope.SESSION, Set.of());
+
+        assertNotEquals(rule.keyOf(PATH, bytes(Constants.ID_1), Constants.SESSION_ID_STUDENT),
+            rule.keyOf(PATH, bytes(Constants.ID_1), OTHER_STUDENT));
+        assertEquals(rule.keyOf(PATH, bytes(Constants.ID_1), OTHER_STUDENT),
+            rule.keyOf(PATH, bytes("{\"id\" : 1}"), OTHER_STUDENT));
+    }
+
+    @Test
+    void rulesAreParsed() {
+        assertNull(CoalescingRule.parse(null, Set.of()));
+        assertNull(CoalescingRule.parse("off", Set.of()));
+        assertEquals(CoalescingRule.Scope.ROLE, CoalescingRule.parse("role", Set.of()).getScope());
+        assertEquals(CoalescingRule.Scope.SESSION,
+            CoalescingRule.parse("Session", Set.of()).getScope());
+        assertThrows(IllegalArgumentException.class, () -> CoalescingRule.parse("user", Set.of()));
+    }
+}
@@ -0,0 +1,235 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import app.authorisation.AuthorisationMode;
+import app.authorisation.ClaimsCache;
+import app.authorisation.SessionVerifier;
+import app.communication.ServiceClient;
+import app.communication.ServiceClientSettings;
+import app.constants.Constants;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Routes requests through the controller to a local HTTP server that echoes their body.
+ */
+class GatewayControllerTest {
+
+    private static final String STUDENT_PATH = "/student_service/echo";
+    private static final String TEACHER_PATH = "/teacher_service/echo";
+    private static final String SHARED_PATH = "/student_service/shared";
+    private static final int REQUESTS = 5;
+
+    private transient HttpServer server;
+    private transient RouteTable routes;
+    private transient MockMvc mockMvc;
+    private final transient AtomicInteger sharedCalls = new AtomicInteger();
+    private final transient CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(Constants.HOST, 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(201, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/shared", exchange -> {
+            sharedCalls.incrementAndGet();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext(Constants.PATH, exchange -> {
+            // Only the test session is authorised by the authorisation microservice
+            boolean authorised = Constants.TEST_SESSION_TOKEN
+                .equals(exchange.getRequestHeaders().getFirst(Constants.SESSIONHEADERKEY));
+            byte[] body = new JSONObject().put(Constants.AUTHORISEDKEY, authorised).toString()
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String port = String.valueOf(server.getAddress().getPort());
+        String backend = port + "/echo";
+        routes = new RouteTable(List.of(
+            new Route("student", STUDENT_PATH, backend, 0, Duration.ofSeconds(5)),
+            new Route("teacher", TEACHER_PATH, backend, 1, Duration.ofSeconds(5)),
+            new Route("shared", SHARED_PATH, port + "/shared", 0, Duration.ofSeconds(5),
+                new CoalescingRule(CoalescingRule.Scope.ROLE, Set.of()))));
+        mockMvc = MockMvcBuilders.standaloneSetup(new GatewayController(routes)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(10, 60_000L), AuthorisationMode.LOCAL));
+        ServiceClient.setInstance(new ServiceClient(ServiceClientSettings.builder().build()));
+    }
+
+    private ResultActions route(String path, String sessionToken) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(Constants.SESSIONHEADERKEY, sessionToken)
+            .content(Constants.ID_1))
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    @Test
+    void requestIsPassedOn() throws Exception {
+        route(STUDENT_PATH, Constants.SESSION_ID_STUDENT)
+            .andExpect(status().is(201))
+            .andExpect(header().string("Content-Type", "application/json"))
+            .andExpect(content().string(Constants.ID_1));
+
+        RouteMetrics metrics = routes.match(STUDENT_PATH).getMetrics();
+        assertEquals(1, metrics.getRequests());
+        assertEquals(0, metrics.getErrors());
+    }
+
+    @Test
+    void roleOfTheRouteIsRequired() throws Exception {
+        route(TEACHER_PATH, Constants.SESSION_ID_STUDENT)
+            .andExpect(status().isForbidden())
+            .andExpect(content().string(Constants.NOT_AUTHORIZED_STRING));
+        route(TEACHER_PATH, Constants.SESSION_EXPIRED)
+            .andExpect(status().isForbidden());
+        route(TEACHER_PATH, Constants.SESSION_ID_TEACHER)
+            .andExpect(status().is(201));
+
+        assertEquals(3, routes.match(TEACHER_PATH).getMetrics().getRequests());
+    }
+
+    @Test
+    void unknownPathIsNotFound() throws Exception {
+        route("/student_service/unknown", Constants.SESSION_ID_STUDENT)
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unreachableBackendIsBadGateway() throws Exception {
+        server.stop(0);
+        route(STUDENT_PATH, Constants.SESSION_ID_STUDENT)
+            .andExpect(status().isBadGateway());
+
+        assertEquals(1, routes.match(STUDENT_PATH).getMetrics().getErrors());
+    }
+
+    @Test
+    void identicalRequestsShareOneBackendCall() throws Exception {
+        Coalescer<?> coalescer = routes.match(SHARED_PATH).getCoalescer();
+        ExecutorService clients = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(clients.submit(() ->
+                    route(SHARED_PATH, Constants.SESSION_ID_STUDENT)
+                        .andReturn().getResponse().getContentAsString()));
+            }
+            while (coalescer.getRequests() < REQUESTS) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<String> response : responses) {
+                assertEquals(Constants.ID_1, response.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(1, sharedCalls.get());
+        JSONObject coalescing = routes.match(SHARED_PATH).toJson().getJSONObject("coalescing");
+        assertEquals(REQUESTS - 1, coalescing.getLong("collapsed"));
+        assertEquals("role", coalescing.getString("scope"));
+        assertEquals(REQUESTS, routes.match(SHARED_PATH).getMetrics().getRequests());
+    }
+
+    @Test
+    void laterRequestsStartTheirOwnBackendCall() throws Exception {
+        release.countDown();
+        route(SHARED_PATH, Constants.SESSION_ID_STUDENT)
+            .andExpect(content().string(Constants.ID_1));
+        route(SHARED_PATH, Constants.SESSION_ID_STUDENT)
+            .andExpect(content().string(Constants.ID_1));
+
+        assertEquals(2, sharedCalls.get());
+    }
+
+    @Test
+    void metricsAreOnlyShownToTeachers() throws Exception {
+        route(STUDENT_PATH, Constants.SESSION_ID_STUDENT);
+
+        mockMvc.perform(get("/metrics/routes")
+            .header(Constants.SESSIONHEADERKEY, Constants.SESSION_ID_STUDENT))
+            .andExpect(status().isForbidden());
+        String json = mockMvc.perform(get("/metrics/routes")
+            .header(Constants.SESSIONHEADERKEY, Constants.SESSION_ID_TEACHER))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        JSONObject student = new JSONObject(json).getJSONArray("routes").getJSONObject(0);
+        assertEquals(STUDENT_PATH, student.getString("path"));
+        assertEquals(1, student.getJSONObject("metrics").getLong("requests"));
+    }
+
+    @Test
+    void metricsAskTheAuthorisationServiceInRemoteMode() throws Exception {
+        SessionVerifier.setInstance(new SessionVerifier(
+            new ClaimsCache(10, 60_000L), AuthorisationMode.REMOTE));
+        ServiceClient.setInstance(new ServiceClient(ServiceClientSettings.builder()
+            .baseUrls(Map.of(String.valueOf(Constants.PORT8081),
+                "http://" + Constants.HOST + ":" + server.getAddress().getPort()))
+            .build()));
+
+        mockMvc.perform(get("/metrics/routes")
+            .header(Constants.SESSIONHEADERKEY, Constants.SESSION_ID_TEACHER))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/metrics/routes")
+            .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,47 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class RouteMetricsTest {
+
+    private static final String COUNTS = "counts";
+
+    @Test
+    void bucketsIncludeTheirUpperBound() {
+        assertEquals(0, RouteMetrics.bucket(0));
+        assertEquals(0, RouteMetrics.bucket(1));
+        assertEquals(1, RouteMetrics.bucket(2));
+        assertEquals(2, RouteMetrics.bucket(3));
+        assertEquals(RouteMetrics.BOUNDS_MILLIS.length - 1, RouteMetrics.bucket(10_000));
+        assertEquals(RouteMetrics.BOUNDS_MILLIS.length, RouteMetrics.bucket(10_001));
+    }
+
+    @Test
+    void requestsAreCountedPerStatusAndLatency() {
+        RouteMetrics metrics = new RouteMetrics();
+        metrics.record(200, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.record(200, TimeUnit.MILLISECONDS.toNanos(4));
+        metrics.record(404, TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.record(502, TimeUnit.SECONDS.toNanos(20));
+
+        assertEquals(4, metrics.getRequests());
+        assertEquals(1, metrics.getErrors());
+        JSONObject json = metrics.toJson();
+        assertEquals(2, json.getJSONObject("statuses").getLong("2xx"));
+        assertEquals(1, json.getJSONObject("statuses").getLong("4xx"));
+        assertEquals(1, json.getJSONObject("statuses").getLong("5xx"));
+        JSONArray latency = json.getJSONObject("latency").getJSONArray(COUNTS);
+        assertEquals(RouteMetrics.BOUNDS_MILLIS.length + 1, latency.length());
+        assertEquals(2, latency.getLong(2));
+        assertEquals(1, latency.getLong(5));
+        assertEquals(1, latency.getLong(RouteMetrics.BOUNDS_MILLIS.length));
+        JSONArray errors = json.getJSONObject("errorLatency").getJSONArray(COUNTS);
+        assertEquals(1, errors.getLong(RouteMetrics.BOUNDS_MILLIS.length));
+        assertEquals(0, errors.getLong(2));
+    }
+}
@@ -0,0 +1,104 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class RouteTableTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+    private static final String EXAM_BY_ID = "/student_service/examById";
+
+    @Test
+    void exactPathsAreMatched() {
+        Route route = new Route("examById", EXAM_BY_ID, "8083/exam_service/examById", 0, TIMEOUT);
+        RouteTable table = new RouteTable(List.of(route));
+
+        assertSame(route, table.match(EXAM_BY_ID));
+        assertEquals("8083/exam_service/examById", route.backendFor(EXAM_BY_ID));
+        assertNull(table.match("/student_service/examById/1"));
+        assertNull(table.match("/student_service/other"));
+    }
+
+    @Test
+    void longestPrefixIsMatched() {
+        Route all = new Route("all", "/student_service/**", "8083/exam_service", 0, TIMEOUT);
+        Route exams = new Route("exams", "/student_service/exams/**", "8083/exams", 0, TIMEOUT);
+        Route exact = new Route("one", "/student_service/exams/one", "8083/one", 0, TIMEOUT);
+        RouteTable table = new RouteTable(List.of(all, exams, exact));
+
+        assertSame(exact, table.match("/student_service/exams/one"));
+        assertSame(exams, table.match("/student_service/exams/two"));
+        assertEquals("8083/exams/two/3", exams.backendFor("/student_service/exams/two/3"));
+        assertSame(exams, table.match("/student_service/exams"));
+        assertSame(all, table.match("/student_service/examsByUser"));
+        assertNull(table.match("/teacher_service/exams"));
+    }
+
+    @Test
+    void duplicatePathsAreRejected() {
+        Route route = new Route("a", EXAM_BY_ID, "8083/a", 0, TIMEOUT);
+        Route duplicate = new Route("b", EXAM_BY_ID, "8083/b", 0, TIMEOUT);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new RouteTable(List.of(route, duplicate)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new Route("c", "student_service/examById", "8083/c", 0, TIMEOUT));
+    }
+
+    @Test
+    void routesAreReadFromProperties() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.default-role", "1")
+            .withProperty("communication.read-timeout", "2000")
+            .withProperty("gateway.routes.examById.path", EXAM_BY_ID)
+            .withProperty("gateway.routes.examById.backend", "8083/exam_service/examById")
+            .withProperty("gateway.routes.export.path", "/teacher_service/export")
+            .withProperty("gateway.routes.export.backend", "8083/exam_service/export")
+            .withProperty("gateway.routes.export.role", "-1")
+            .withProperty("gateway.routes.export.timeout", "30000")
+            .withProperty("gateway.routes.examById.coalesce", "role")
+            .withProperty("gateway.routes.examById.coalesce-ignore", "sentAt,clientId");
+        RouteTable table = RouteTable.fromEnvironment(environment);
+
+        assertEquals(2, table.getRoutes().size());
+        Route examById = table.match(EXAM_BY_ID);
+        assertEquals("examById", examById.getName());
+        assertEquals(1, examById.getRole());
+        assertEquals(Duration.ofSeconds(2), examById.getTimeout());
+        Route export = table.match("/teacher_service/export");
+        assertEquals(-1, export.getRole());
+        assertEquals(Duration.ofSeconds(30), export.getTimeout());
+        assertEquals(CoalescingRule.Scope.ROLE, examById.getCoalescing().getScope());
+        assertEquals(Set.of("sentAt", "clientId"), examById.getCoalescing().getIgnoredFields());
+        assertNull(export.getCoalescing());
+        assertNull(export.getCoalescer());
+    }
+
+    @Test
+    void routeWithoutBackendIsRejected() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.routes.examById.path", EXAM_BY_ID);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> RouteTable.fromEnvironment(environment));
+    }
+
+    @Test
+    void unknownCoalescingIsRejected() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.routes.examById.path", EXAM_BY_ID)
+            .withProperty("gateway.routes.examById.backend", "8083/exam_service/examById")
+            .withProperty("gateway.routes.examById.coalesce", "always");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> RouteTable.fromEnvironment(environment));
+    }
+}
@@ -0,0 +1,74 @@
+package app.grading;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import app.models.Answer;
+import app.models.Question;
+import app.models.StudentAnswer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AnswerKeyTest {
+
+    private static Question question(int id, boolean... correct) {
+        List<Answer> answers = new ArrayList<>();
+        for (boolean c : correct) {
+            Answer answer = new Answer();
+            answer.setCorrect(c);
+            answers.add(answer);
+        }
+        Question question = new Question();
+        question.setId(id);
+        question.setAnswers(answers);
+        return question;
+    }
+
+    private static List<StudentAnswer> selected(Boolean... selected) {
+        List<StudentAnswer> studentAnswers = new ArrayList<>();
+        for (Boolean s : selected) {
+            StudentAnswer studentAnswer = new StudentAnswer();
+            studentAnswer.setSelected(s);
+            studentAnswers.add(studentAnswer);
+        }
+        return studentAnswers;
+    }
+
+    @Test
+    void ofTest() {
+        AnswerKey key = AnswerKey.of(question(7, true, false, true), 3);
+        assertEquals(7, key.getQuestionId());
+        assertEquals(3, key.getVersion());
+        assertEquals(3, key.getAnswerCount());
+        assertTrue(key.isCorrect(0));
+        assertFalse(key.isCorrect(1));
+        assertTrue(key.isCorrect(2));
+        assertFalse(key.isCorrect(3));
+    }
+
+    @Test
+    void matchesTest() {
+        AnswerKey key = AnswerKey.of(question(1, true, false, true), 0);
+        assertTrue(key.matches(selected(true, false, true)));
+        assertFalse(key.matches(selected(true, false, false)));
+        assertFalse(key.matches(selected(true, null, true)));
+        assertFalse(key.matches(selected(true, false, true, false)));
+    }
+
+    @Test
+    void matchesManyAnswersTest() {
+        boolean[] correct = new boolean[70];
+        Boolean[] selected = new Boolean[70];
+        for (int i = 0; i < correct.length; i++) {
+            correct[i] = i % 3 == 0;
+            selected[i] = correct[i];
+        }
+        AnswerKey key = AnswerKey.of(question(1, correct), 0);
+        assertTrue(key.isCorrect(66));
+        assertTrue(key.matches(selected(selected)));
+        selected[65] = true;
+        assertFalse(key.matches(selected(selected)));
+    }
+}
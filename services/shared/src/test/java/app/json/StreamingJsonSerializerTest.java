@@ -0,0 +1,180 @@
+package app.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import app.models.Answer;
+import app.models.Course;
+import app.models.Enrollment;
+import app.models.Exam;
+import app.models.ExamQuestion;
+import app.models.Question;
+import app.models.StudentAnswer;
+import app.models.StudentExam;
+import app.models.Topic;
+import app.models.User;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class StreamingJsonSerializerTest {
+
+    private static final String TRICKY = "a\"b\\c</d\n\t\u0001\u0085 é €";
+
+    private final transient JsonSerializer reference = new JsonSerializer();
+    private final transient StreamingJsonSerializer serializer = new StreamingJsonSerializer();
+    private final transient Random random = new Random(42);
+
+    private <T> T maybe(T value) {
+        return random.nextInt(4) == 0 ? null : value;
+    }
+
+    private String text() {
+        int start = random.nextInt(TRICKY.length());
+        return TRICKY.substring(start) + random.nextInt(1000);
+    }
+
+    private Answer answer() {
+        return new Answer(maybe(random.nextInt()), null, maybe(random.nextInt(100)),
+            maybe(random.nextInt(5)), maybe(text()), maybe(random.nextBoolean()));
+    }
+
+    private Question question() {
+        Question question = new Question();
+        question.setId(maybe(random.nextInt(1000)));
+        question.setTopicId(maybe(-random.nextInt(1000)));
+        question.setTitle(maybe(text()));
+        question.setDescription(maybe(text()));
+        List<Answer> answers = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            answers.add(answer());
+        }
+        question.setAnswers(maybe(answers));
+        return question;
+    }
+
+    private Course course() {
+        Course course = new Course();
+        course.setId(maybe(random.nextInt(1000)));
+        course.setCourseCode(maybe(text()));
+        course.setName(maybe(text()));
+        course.setYear(maybe("2020"));
+        List<Topic> topics = new ArrayList<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            Topic topic = new Topic();
+            topic.setId(maybe(i));
+            topic.setName(maybe(text()));
+            topic.setCourseId(maybe(course.getId()));
+            topic.setQuestions(maybe(List.of(question(), question())));
+            topics.add(topic);
+        }
+        course.setTopicList(maybe(topics));
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(maybe(3));
+        enrollment.setUserId(maybe(text()));
+        enrollment.setCourseId(maybe(course.getId()));
+        course.setEnrollmentList(maybe(List.of(enrollment)));
+        return course;
+    }
+
+    private StudentExam studentExam() {
+        StudentExam studentExam = new StudentExam();
+        studentExam.setId(maybe(random.nextInt(1000)));
+        studentExam.setCorrectQuestions(maybe(random.nextInt(10)));
+        studentExam.setGrade(maybe(random.nextBoolean()
+            ? 1 + random.nextInt(10) : random.nextFloat() * 9 + 1));
+        studentExam.setExtraTime(maybe(random.nextInt(60)));
+        studentExam.setUser(maybe(text()));
+        studentExam.setExamId(maybe(random.nextInt(10)));
+        studentExam.setStartingTime(maybe(new Timestamp(random.nextInt() * 1000L)));
+        List<ExamQuestion> examQuestions = new ArrayList<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            ExamQuestion examQuestion = new ExamQuestion();
+            examQuestion.setId(maybe(i));
+            examQuestion.setStudentExamId(maybe(studentExam.getId()));
+            examQuestion.setQuestion(maybe(random.nextInt(100)));
+            examQuestion.setCorrect(maybe(random.nextBoolean()));
+            StudentAnswer studentAnswer = new StudentAnswer();
+            studentAnswer.setId(maybe(i));
+            studentAnswer.setExamQuestionId(maybe(i));
+            studentAnswer.setAnswer(maybe(random.nextInt(4)));
+            studentAnswer.setSelected(maybe(random.nextBoolean()));
+            examQuestion.setStudentAnswers(maybe(List.of(studentAnswer)));
+            examQuestions.add(examQuestion);
+        }
+        studentExam.setExamQuestions(maybe(examQuestions));
+        return studentExam;
+    }
+
+    private Exam exam() {
+        Exam exam = new Exam();
+        exam.setId(maybe(random.nextInt(1000)));
+        exam.setCourseId(maybe(random.nextInt(1000)));
+        exam.setStart(maybe(new Timestamp(random.nextInt() * 1000L)));
+        exam.setEnd(maybe(new Timestamp(random.nextInt() * 1000L + 123)));
+        exam.setStudentExamList(maybe(List.of(studentExam(), studentExam())));
+        return exam;
+    }
+
+    private User user() {
+        return new User(maybe(text()), maybe(text()), maybe(random.nextInt(2)),
+            maybe(random.nextInt(30)));
+    }
+
+    private void assertCompatible(Object object) {
+        String json = serializer.serialize(object);
+        assertEquals(reference.serialize(object), json);
+        Object read = serializer.deserialize(json, object.getClass());
+        assertEquals(reference.deserialize(json, object.getClass()), read);
+        assertEquals(json, serializer.serialize(read));
+    }
+
+    @Test
+    void sameOutputAsReferenceTest() {
+        for (int i = 0; i < 200; i++) {
+            assertCompatible(answer());
+            assertCompatible(question());
+            assertCompatible(course());
+            assertCompatible(studentExam());
+            assertCompatible(exam());
+            assertCompatible(user());
+        }
+    }
+
+    @Test
+    void nestedObjectsTest() {
+        Question question = (Question) serializer.deserialize(
+            "{'id': \"4\", answers: [{\"id\":1,\"correct\":\"true\"}, \"{\\\"id\\\":2}\"],"
+                + " \"title\": null, \"unknown\": {\"a\": [1, {}]}}", Question.class);
+        assertEquals(4, question.getId());
+        assertNull(question.getTitle());
+        assertEquals(2, question.getAnswers().size());
+        assertEquals(true, question.getAnswers().get(0).getCorrect());
+        assertEquals(2, question.getAnswers().get(1).getId());
+    }
+
+    @Test
+    void streamTest() throws Exception {
+        Course course = course();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(course, out);
+        assertEquals(reference.serialize(course), out.toString(StandardCharsets.UTF_8));
+        Object read = serializer.deserialize(new ByteArrayInputStream(out.toByteArray()),
+            Course.class);
+        assertEquals(reference.deserialize(out.toString(StandardCharsets.UTF_8), Course.class),
+            read);
+    }
+
+    @Test
+    void invalidInputTest() {
+        assertEquals("Classtype not valid.", serializer.deserialize("{\"id\":", Answer.class));
+        assertEquals("Classtype not valid.", serializer.deserialize("{\"id\":1.5}", Answer.class));
+        assertEquals("Classtype not valid.", serializer.deserialize("{}", String.class));
+        assertNull(serializer.serialize("not a model"));
+    }
+}
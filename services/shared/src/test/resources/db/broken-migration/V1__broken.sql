@@ -0,0 +1,2 @@
+create table broken (id int not null primary key);
+insert into missing_table (id) values (1);
@@ -0,0 +1,2 @@
+create table items (id int not null primary key, name varchar(20));
+insert into items (id, name) values (1, 'first');
@@ -0,0 +1,2 @@
+create table item_seq (next_val bigint);
+insert into item_seq (next_val) select coalesce(max(id), 0) + 51 from items;
@@ -1,14 +1,14 @@
 package app.communication;
 
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Sends requests to the other microservices through the shared {@link ServiceClient}, which
+ * applies the configured timeouts, retries, concurrency limits and base URLs.
+ */
 public class StudentServiceCommunication {
 
-    private static HttpClient client = HttpClient.newBuilder().build();
-
     /**
      * creates and sends an http get-request to the desired endpoint.
      *
@@ -16,29 +16,32 @@ public class StudentServiceCommunication {
      * @return returns null if there has been an error. Else, returns the response in JSON format.
      */
     public static String getRequest(String portControllerMethodPathvariables, String sessionToken) {
-        HttpRequest request = HttpRequest.newBuilder()
-            .GET()
-            .uri(URI.create("http://localhost:" + portControllerMethodPathvariables))
-            .header("session", sessionToken)
-            .build();
-
-        return serverRequest(request);
+        return ServiceClient.getInstance().get(portControllerMethodPathvariables, sessionToken);
     }
 
     /**
-     * creates and sends an http get-request to the desired endpoint.
+     * creates and sends an http post-request to the desired endpoint.
      *
      * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
      * @return returns null if there has been an error. Else, returns the response in JSON format.
      */
     public static String postRequest(String dataInJson, String portControllerMethodPathvariables,
                                      String sessionToken) {
-        HttpRequest request = HttpRequest.newBuilder()
-            .POST(HttpRequest.BodyPublishers.ofString(dataInJson))
-            .uri(URI.create("http://localhost:" + portControllerMethodPathvariables))
-            .header("Session", sessionToken)
-            .build();
-        return serverRequest(request);
+        return ServiceClient.getInstance()
+            .post(dataInJson, portControllerMethodPathvariables, sessionToken);
+    }
+
+    /**
+     * Sends an http post-request to the desired endpoint without waiting for the response.
+     *
+     * @param portControllerMethodPathvariables for example: "8083/exam_service/examById/21"
+     * @return A future that completes with the response in JSON format, or exceptionally with a
+     *     {@link ServiceCommunicationException} that has the status code of the response.
+     */
+    public static CompletableFuture<String> postRequestAsync(
+        String dataInJson, String portControllerMethodPathvariables, String sessionToken) {
+        return ServiceClient.getInstance()
+            .postAsync(dataInJson, portControllerMethodPathvariables, sessionToken);
     }
 
     /**
@@ -48,19 +51,6 @@ public class StudentServiceCommunication {
      * @return The body of the server response.
      */
     static String serverRequest(HttpRequest request) {
-        try {
-            int desiredStatusCode = 200;
-            HttpResponse<String> response =
-                client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != desiredStatusCode) {
-                System.out.println("Status: " + response.statusCode());
-                return null;
-            }
-            return response.body();
-        } catch (Exception e) {
-            System.out.println("Communication with other microservice failed");
-            return null;
-        }
+        return ServiceClient.getInstance().send(request);
     }
 }
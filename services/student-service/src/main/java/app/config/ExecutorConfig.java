@@ -0,0 +1,39 @@
+package app.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${dashboard.fan-out.threads:16}")
+    private transient int threads;
+
+    @Value("${dashboard.fan-out.queue:128}")
+    private transient int queue;
+
+    /**
+     * Thread pool on which the requests of a dashboard are sent concurrently. It bounds how many
+     * requests all dashboards together have in flight; when the pool and its queue are full, the
+     * request thread sends the request itself.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+            60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queue), runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
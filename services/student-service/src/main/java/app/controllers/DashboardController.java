@@ -0,0 +1,188 @@
+package app.controllers;
+
+import app.authorisation.SessionVerifier;
+import app.communication.ServiceCommunicationException;
+import app.communication.StudentServiceCommunication;
+import app.constants.Constants;
+import app.fanout.FanOut;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Composes the home page of a student in one request, instead of one request per enrollment,
+ * course, attempt and exam.
+ */
+@RestController
+@RequestMapping("student_service")
+public class DashboardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String EXAM_ID = "examId";
+    private static final int NOT_FOUND = 404;
+
+    private final transient Executor dashboardExecutor;
+
+    @Value("${dashboard.deadline:2000}")
+    private transient long deadline;
+
+    /**
+     * Autowired constructor.
+     *
+     * @param dashboardExecutor Executor on which the requests of a dashboard are sent.
+     */
+    @Autowired
+    public DashboardController(@Qualifier("dashboardExecutor") Executor dashboardExecutor) {
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    /**
+     * Returns the enrollments of the student with their courses and the attempts of the student
+     * with their exams. The enrollments and the attempts are requested at the same time, and
+     * once they have arrived every course and every exam is requested at the same time, each
+     * exam only once. A request that fails or takes longer than 'dashboard.deadline'
+     * milliseconds is left out, so that one slow microservice does not hold up the rest of the
+     * page. The time every request took is returned in the Server-Timing header.
+     *
+     * @param sessionToken A valid token received from the authorization service.
+     * @return JSONObject with "enrollments", each with its "course", and "studentExams", each
+     *     with its "exam". What could not be retrieved is null, or an empty list, and named in
+     *     "missing"; "complete" is true if nothing is missing. 502 if neither the enrollments
+     *     nor the attempts could be retrieved.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    @PostMapping("dashboard")
+    public ResponseEntity<String> dashboard(@RequestHeader(Constants.SESSIONHEADERKEY)
+                                                String sessionToken) {
+        SessionVerifier verifier = SessionVerifier.getInstance();
+        if (!verifier.isAuthorised(sessionToken, 0)) {
+            return new ResponseEntity<>(Constants.NOT_AUTHORIZED_STRING, HttpStatus.FORBIDDEN);
+        }
+        String netId = verifier.verify(sessionToken).get(Constants.NET_ID_KEY, String.class);
+
+        FanOut fanOut = new FanOut(dashboardExecutor, false);
+        FanOut.Step<JSONArray> enrollments = fanOut.step("enrollments", deadline,
+            () -> list(new JSONObject().put("net_id", netId),
+                "8082/courseService/enrollment/getEnrollmentByUser", "enrollments",
+                sessionToken));
+        FanOut.Step<JSONArray> studentExams = fanOut.step("studentExams", deadline,
+            () -> list(new JSONObject().put(Constants.USER_ID_STRING, netId),
+                "8083/exam_service/studentExamByUserId", "studentExamList", sessionToken));
+        fanOut.await();
+
+        Map<Integer, FanOut.Step<JSONObject>> courses = details(fanOut, "course", enrollments,
+            Constants.COURSE_ID, "8082/courseService/course/courseById", sessionToken);
+        Map<Integer, FanOut.Step<JSONObject>> exams = details(fanOut, "exam", studentExams,
+            EXAM_ID, "8083/exam_service/examById", sessionToken);
+        fanOut.await();
+
+        JSONArray missing = new JSONArray();
+        JSONObject dashboard = new JSONObject()
+            .put("enrollments", compose(enrollments, Constants.COURSE_ID, "course", courses,
+                missing))
+            .put("studentExams", compose(studentExams, EXAM_ID, "exam", exams, missing));
+        dashboard.put("missing", missing).put("complete", missing.isEmpty());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(SERVER_TIMING, fanOut.serverTiming());
+        logger.debug("dashboard timings: {}", fanOut.serverTiming());
+        HttpStatus status = enrollments.succeeded() || studentExams.succeeded()
+            ? HttpStatus.OK : HttpStatus.BAD_GATEWAY;
+        return new ResponseEntity<>(dashboard.toString(), headers, status);
+    }
+
+    /**
+     * Requests a list. A 404 response means that the list is empty. The backends serialize
+     * every item separately, so items that arrive as JSON strings are parsed.
+     */
+    private JSONArray list(JSONObject request, String path, String key, String sessionToken) {
+        try {
+            JSONArray items = new JSONObject(StudentServiceCommunication
+                .postRequestAsync(request.toString(), path, sessionToken)
+                // Frees the thread when the deadline has passed, even if no response came yet.
+                .orTimeout(deadline, TimeUnit.MILLISECONDS)
+                .join())
+                .getJSONArray(key);
+            JSONArray parsed = new JSONArray();
+            for (int i = 0; i < items.length(); i++) {
+                Object item = items.get(i);
+                parsed.put(item instanceof String ? new JSONObject((String) item) : item);
+            }
+            return parsed;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ServiceCommunicationException
+                && ((ServiceCommunicationException) e.getCause()).getStatusCode() == NOT_FOUND) {
+                return new JSONArray();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts one step per distinct id in the items of a list that was retrieved.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private Map<Integer, FanOut.Step<JSONObject>> details(FanOut fanOut, String name,
+                                                          FanOut.Step<JSONArray> list,
+                                                          String idKey, String path,
+                                                          String sessionToken) {
+        Map<Integer, FanOut.Step<JSONObject>> steps = new LinkedHashMap<>();
+        if (!list.succeeded()) {
+            return steps;
+        }
+        JSONArray items = list.getResult();
+        for (int i = 0; i < items.length(); i++) {
+            int id = items.getJSONObject(i).getInt(idKey);
+            if (!steps.containsKey(id)) {
+                String request = new JSONObject().put("id", id).toString();
+                steps.put(id, fanOut.step(name + "-" + id, deadline,
+                    () -> new JSONObject(StudentServiceCommunication
+                        .postRequestAsync(request, path, sessionToken)
+                        .orTimeout(deadline, TimeUnit.MILLISECONDS)
+                        .join())));
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Adds the details to the items of a list, and names what is missing.
+     */
+    private static JSONArray compose(FanOut.Step<JSONArray> list, String idKey, String name,
+                                     Map<Integer, FanOut.Step<JSONObject>> details,
+                                     JSONArray missing) {
+        if (!list.succeeded()) {
+            missing.put(list.getName());
+            return new JSONArray();
+        }
+        JSONArray items = list.getResult();
+        for (int i = 0; i < items.length(); i++) {
+            JSONObject item = items.getJSONObject(i);
+            JSONObject detail = details.get(item.getInt(idKey)).getResult();
+            item.put(name, detail == null ? JSONObject.NULL : detail);
+        }
+        details.forEach((id, step) -> {
+            if (!step.succeeded()) {
+                missing.put(step.getName());
+            }
+        });
+        return items;
+    }
+}
@@ -0,0 +1,210 @@
+package app.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import app.communication.ServiceClient;
+import app.communication.ServiceClientSettings;
+import app.constants.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.Matchers;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Composes dashboards from a local HTTP server that plays both the course and the exam
+ * microservice.
+ */
+class DashboardControllerTest {
+
+    // The backends serialize every item of a list separately, as a JSON string
+    private static final String ENROLLMENT_RESPONSE = new JSONObject().put("enrollments",
+        new JSONArray()
+            .put("{\"id\":1,\"userId\":\"netIdStudent\",\"courseId\":1}")
+            .put("{\"id\":2,\"userId\":\"netIdStudent\",\"courseId\":2}")).toString();
+    private static final String STUDENT_EXAM_RESPONSE = new JSONObject().put("studentExamList",
+        new JSONArray()
+            .put("{\"id\":5,\"examId\":7}")
+            .put("{\"id\":6,\"examId\":7}")).toString();
+    private static final String DASHBOARD = "/student_service/dashboard";
+    private static final String MISSING = "missing";
+    private static final String COMPLETE = "complete";
+    private static final String ENROLLMENTS = "enrollments";
+    private static final String STUDENT_EXAMS = "studentExams";
+
+    private transient HttpServer server;
+    private transient ExecutorService executor;
+    private transient MockMvc mockMvc;
+    private final transient AtomicInteger examRequests = new AtomicInteger();
+    private final transient CountDownLatch release = new CountDownLatch(1);
+    private transient volatile int enrollmentStatus = 200;
+    private transient volatile int slowCourse = -1;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(Constants.HOST, 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/courseService/enrollment/getEnrollmentByUser",
+            exchange -> respond(exchange, enrollmentStatus,
+                enrollmentStatus == 200 ? ENROLLMENT_RESPONSE : "There exist no enrollments"));
+        server.createContext("/courseService/course/courseById", exchange -> {
+            int id = new JSONObject(read(exchange)).getInt("id");
+            if (id == slowCourse) {
+                await();
+            }
+            respond(exchange, 200, "{\"id\":" + id + ",\"courseCode\":\"CSE" + id + "\"}");
+        });
+        server.createContext("/exam_service/studentExamByUserId",
+            exchange -> respond(exchange, 200, STUDENT_EXAM_RESPONSE));
+        server.createContext("/exam_service/examById", exchange -> {
+            examRequests.incrementAndGet();
+            int id = new JSONObject(read(exchange)).getInt("id");
+            respond(exchange, 200, "{\"id\":" + id + ",\"name\":\"Final\"}");
+        });
+        server.start();
+        String baseUrl = "http://" + Constants.HOST + ":" + server.getAddress().getPort();
+        ServiceClient.setInstance(new ServiceClient(ServiceClientSettings.builder()
+            .baseUrls(Map.of("8082", baseUrl, "8083", baseUrl))
+            .build()));
+
+        executor = Executors.newFixedThreadPool(4);
+        DashboardController controller = new DashboardController(executor);
+        ReflectionTestUtils.setField(controller, "deadline", 500L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+        ServiceClient.setInstance(new ServiceClient(ServiceClientSettings.builder().build()));
+    }
+
+    private static String read(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+        throws IOException {
+        read(exchange);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResultActions dashboard(String sessionToken) throws Exception {
+        return mockMvc.perform(post(DASHBOARD).header(Constants.SESSIONHEADERKEY, sessionToken));
+    }
+
+    private JSONObject dashboard() throws Exception {
+        return new JSONObject(dashboard(Constants.SESSION_ID_STUDENT)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+
+    @Test
+    void dashboardIsComposed() throws Exception {
+        JSONObject dashboard = new JSONObject(dashboard(Constants.SESSION_ID_STUDENT)
+            .andExpect(status().isOk())
+            .andExpect(header().string("Server-Timing", Matchers.containsString("exam-7;dur=")))
+            .andReturn().getResponse().getContentAsString());
+
+        assertTrue(dashboard.getBoolean(COMPLETE));
+        assertTrue(dashboard.getJSONArray(MISSING).isEmpty());
+        JSONArray enrollments = dashboard.getJSONArray(ENROLLMENTS);
+        assertEquals(2, enrollments.length());
+        assertEquals("CSE2",
+            enrollments.getJSONObject(1).getJSONObject("course").getString("courseCode"));
+        JSONArray studentExams = dashboard.getJSONArray(STUDENT_EXAMS);
+        assertEquals(2, studentExams.length());
+        assertEquals("Final",
+            studentExams.getJSONObject(1).getJSONObject("exam").getString("name"));
+        // Both attempts are at exam 7, which is requested once.
+        assertEquals(1, examRequests.get());
+    }
+
+    @Test
+    void slowBranchIsLeftOut() throws Exception {
+        slowCourse = 2;
+        long start = System.nanoTime();
+        JSONObject dashboard = dashboard();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(dashboard.getBoolean(COMPLETE));
+        assertEquals("course-2", dashboard.getJSONArray(MISSING).getString(0));
+        JSONArray enrollments = dashboard.getJSONArray(ENROLLMENTS);
+        assertEquals("CSE1",
+            enrollments.getJSONObject(0).getJSONObject("course").getString("courseCode"));
+        assertTrue(enrollments.getJSONObject(1).isNull("course"));
+        assertEquals("Final", dashboard.getJSONArray(STUDENT_EXAMS).getJSONObject(0)
+            .getJSONObject("exam").getString("name"));
+    }
+
+    @Test
+    void noEnrollmentsIsAnEmptyList() throws Exception {
+        enrollmentStatus = 404;
+        JSONObject dashboard = dashboard();
+
+        assertTrue(dashboard.getBoolean(COMPLETE));
+        assertTrue(dashboard.getJSONArray(ENROLLMENTS).isEmpty());
+        assertEquals(2, dashboard.getJSONArray(STUDENT_EXAMS).length());
+    }
+
+    @Test
+    void failedListIsMissing() throws Exception {
+        enrollmentStatus = 500;
+        JSONObject dashboard = dashboard();
+
+        assertFalse(dashboard.getBoolean(COMPLETE));
+        assertEquals(ENROLLMENTS, dashboard.getJSONArray(MISSING).getString(0));
+        assertTrue(dashboard.getJSONArray(ENROLLMENTS).isEmpty());
+    }
+
+    @Test
+    void unreachableServicesAreBadGateway() throws Exception {
+        server.stop(0);
+        dashboard(Constants.SESSION_ID_STUDENT)
+            .andExpect(status().isBadGateway());
+    }
+
+    @Test
+    void sessionIsRequired() throws Exception {
+        dashboard(Constants.SESSION_EXPIRED)
+            .andExpect(status().isForbidden())
+            .andExpect(content().string(Constants.NOT_AUTHORIZED_STRING));
+    }
+}
@@ -0,0 +1,74 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+/**
+ * Checks that routes.properties passes every public path of the student gateway on to the right
+ * backend endpoint.
+ */
+class RoutesTest {
+
+    private static final Map<String, String> BACKENDS = Map.ofEntries(
+        Map.entry("/student_service/courseById", "8082/courseService/course/courseById"),
+        Map.entry("/student_service/enroll", "8082/courseService/enrollment/addEnrollment"),
+        Map.entry("/student_service/getEnrollment",
+            "8082/courseService/enrollment/getEnrollmentByUser"),
+        Map.entry("/student_service/examById", "8083/exam_service/examById"),
+        Map.entry("/student_service/getExamQuestions",
+            "8083/exam_service/examQuestionsByStudentExamId"),
+        Map.entry("/student_service/getStudentAnswer", "8083/exam_service/studentAnswerById"),
+        Map.entry("/student_service/getStudentAnswersByExamQuestionId",
+            "8083/exam_service/studentAnswerByExamQuestionId"),
+        Map.entry("/student_service/updateStudentAnswer", "8083/exam_service/updateStudentAnswer"),
+        Map.entry("/student_service/updateStudentAnswers",
+            "8083/exam_service/updateStudentAnswers"),
+        Map.entry("/student_service/studentExamById", "8083/exam_service/studentExamById"),
+        Map.entry("/student_service/studentExamByUserId", "8083/exam_service/studentExamByUserId"),
+        Map.entry("/student_service/createStudentExam", "8083/exam_service/createStudentExam"),
+        Map.entry("/student_service/submitStudentExam", "8083/exam_service/submitStudentExam"));
+
+    private static RouteTable routes() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+            .addLast(new ResourcePropertySource("classpath:routes.properties"));
+        return RouteTable.fromEnvironment(environment);
+    }
+
+    @Test
+    void everyPathHasItsBackend() throws IOException {
+        RouteTable routes = routes();
+        assertEquals(BACKENDS.size(), routes.getRoutes().size());
+        BACKENDS.forEach((path, backend) -> {
+            Route route = routes.match(path);
+            assertNotNull(route, path);
+            assertEquals(backend, route.backendFor(path), path);
+        });
+    }
+
+    @Test
+    void sessionNeedsStudentRole() throws IOException {
+        routes().getRoutes()
+            .forEach(route -> assertEquals(0, route.getRole(), route.getName()));
+    }
+
+    @Test
+    void onlyReadsWhoseResponseIsTheSameForEveryUserCoalesce() throws IOException {
+        Set<String> coalescing = new TreeSet<>();
+        routes().getRoutes().stream()
+            .filter(route -> route.getCoalescing() != null)
+            .forEach(route -> {
+                assertEquals(CoalescingRule.Scope.ROLE, route.getCoalescing().getScope());
+                coalescing.add(route.getName());
+            });
+        assertEquals(Set.of("courseById", "examById"), coalescing);
+    }
+}
@@ -24,120 +24,6 @@ class ExamControllerTest {
     @Autowired
     private transient MockMvc mockMvc;
 
-    @Test
-    void examByIdNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/examById",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/examById")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString(Constants.ENTITY_NOT_FOUND)));
-        }
-    }
-
-    @Test
-    void examByIdSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/examById",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_FINAL);
-
-            mockMvc.perform(post("/teacher_service/examById")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_FINAL)));
-        }
-    }
-
-    @Test
-    void createExamNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                Constants.UPDATE_EXAM,
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/createExam")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString("Failed to create")));
-        }
-    }
-
-    @Test
-    void createExamSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                Constants.UPDATE_EXAM,
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_FINAL);
-
-            mockMvc.perform(post("/teacher_service/createExam")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_FINAL)));
-        }
-    }
-
-    @Test
-    void updateExamNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/updateExam",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/updateExam")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString("Failed to update")));
-        }
-    }
-
-    @Test
-    void updateExamSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/updateExam",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_FINAL);
-
-            mockMvc.perform(post("/teacher_service/updateExam")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_FINAL)));
-        }
-    }
-
     @Test
     void deleteExamNull() throws Exception {
         try (MockedStatic<TeacherServiceCommunication> mockedStatic
@@ -175,118 +61,4 @@ class ExamControllerTest {
                 .andExpect(content().string(containsString("Success")));
         }
     }
-
-    @Test
-    void studentExamsByExamIdNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/studentExamsByExamId",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/studentExamsByExamId")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString("Exam not found")));
-        }
-    }
-
-    @Test
-    void studentExamsByExamIdSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/studentExamsByExamId",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_FINAL);
-
-            mockMvc.perform(post("/teacher_service/studentExamsByExamId")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_FINAL)));
-        }
-    }
-
-    @Test
-    void getAmountOfStudentsNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/getAmountOfStudents",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/getAmountOfStudents")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString("Exam not found")));
-        }
-    }
-
-    @Test
-    void getAmountOfStudentsSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/getAmountOfStudents",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_FINAL);
-
-            mockMvc.perform(post("/teacher_service/getAmountOfStudents")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_FINAL)));
-        }
-    }
-
-    @Test
-    void getAverageGradeNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/getAverageGrade",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/getAverageGrade")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString(Constants.ENTITY_NOT_FOUND)));
-        }
-    }
-
-    @Test
-    void getAverageGradeSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8083/exam_service/getAverageGrade",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_FINAL);
-
-            mockMvc.perform(post("/teacher_service/getAverageGrade")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_FINAL)));
-        }
-    }
 }
\ No newline at end of file
@@ -23,44 +23,6 @@ class TopicControllerTest {
     @Autowired
     private transient MockMvc mockMvc;
 
-    @Test
-    void topicByIdNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8082/courseService/topic/getTopic",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/topicById")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString(Constants.TOPIC_NOT_FOUND)));
-        }
-    }
-
-    @Test
-    void topicByIdSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8082/courseService/topic/getTopic",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_SEM);
-
-            mockMvc.perform(post("/teacher_service/topicById")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_SEM)));
-        }
-    }
-
     @Test
     void deleteTopicNull() throws Exception {
         try (MockedStatic<TeacherServiceCommunication> mockedStatic
@@ -99,81 +61,5 @@ class TopicControllerTest {
         }
     }
 
-    @Test
-    void createTopicNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8082/courseService/topic/createTopic",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/createTopic")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString("Failed to create topic")));
-        }
-    }
-
-    @Test
-    void createTopicSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8082/courseService/topic/createTopic",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_SEM);
-
-            mockMvc.perform(post("/teacher_service/createTopic")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_SEM)));
-        }
-    }
-
-    @Test
-    void updateTopicNull() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8082/courseService/topic/updateTopic",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(null);
-
-            mockMvc.perform(post("/teacher_service/updateTopic")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(404)))
-                .andExpect(content().string(containsString("Failed to update topic")));
-        }
-    }
-
-    @Test
-    void updateTopicSuccess() throws Exception {
-        try (MockedStatic<TeacherServiceCommunication> mockedStatic
-                 = Mockito.mockStatic(TeacherServiceCommunication.class)) {
-            mockedStatic.when(() -> TeacherServiceCommunication.postRequest(Constants.ID_1,
-                "8082/courseService/topic/updateTopic",
-                Constants.TEST_SESSION_TOKEN))
-                .thenReturn(Constants.NAME_SEM);
-
-            mockMvc.perform(post("/teacher_service/updateTopic")
-                .contentType(MediaType.APPLICATION_JSON)
-                .header(Constants.SESSIONHEADERKEY, Constants.TEST_SESSION_TOKEN)
-                .content(Constants.ID_1)
-                .accept(MediaType.APPLICATION_JSON))
-                .andExpect((status().is(200)))
-                .andExpect(content().string(containsString(Constants.NAME_SEM)));
-        }
-    }
-
 
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package app.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+/**
+ * Checks that routes.properties passes every public path of the teacher gateway on to the right
+ * backend endpoint.
+ */
+class RoutesTest {
+
+    private static final Map<String, String> BACKENDS = Map.ofEntries(
+        Map.entry("/teacher_service/answerById", "8082/courseService/answer/getAnswer"),
+        Map.entry("/teacher_service/getAnswerByQuestionId",
+            "8082/courseService/answer/getAnswerByQuestionId"),
+        Map.entry("/teacher_service/updateAnswer", "8082/courseService/answer/updateAnswer"),
+        Map.entry("/teacher_service/createAnswer", "8082/courseService/answer/createAnswer"),
+        Map.entry("/teacher_service/createCourse", "8082/courseService/course/createCourse"),
+        Map.entry("/teacher_service/updateCourse", "8082/courseService/course/updateCourse"),
+        Map.entry("/teacher_service/courseById", "8082/courseService/course/courseById"),
+        Map.entry("/teacher_service/examById", "8083/exam_service/examById"),
+        Map.entry("/teacher_service/updateExam", "8083/exam_service/updateExam"),
+        Map.entry("/teacher_service/createExam", "8083/exam_service/updateExam"),
+        Map.entry("/teacher_service/studentExamsByExamId", "8083/exam_service/exportStudentExams"),
+        Map.entry("/teacher_service/getAmountOfStudents", "8083/exam_service/getAmountOfStudents"),
+        Map.entry("/teacher_service/getAverageGrade", "8083/exam_service/getAverageGrade"),
+        Map.entry("/teacher_service/questionById", "8082/courseService/question/getQuestion"),
+        Map.entry("/teacher_service/updateQuestion", "8082/courseService/question/updateQuestion"),
+        Map.entry("/teacher_service/createQuestion", "8082/courseService/question/createQuestion"),
+        Map.entry("/teacher_service/createTopic", "8082/courseService/topic/createTopic"),
+        Map.entry("/teacher_service/updateTopic", "8082/courseService/topic/updateTopic"),
+        Map.entry("/teacher_service/topicById", "8082/courseService/topic/getTopic"));
+
+    private static RouteTable routes() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+            .addLast(new ResourcePropertySource("classpath:routes.properties"));
+        return RouteTable.fromEnvironment(environment);
+    }
+
+    @Test
+    void everyPathHasItsBackend() throws IOException {
+        RouteTable routes = routes();
+        assertEquals(BACKENDS.size(), routes.getRoutes().size());
+        BACKENDS.forEach((path, backend) -> {
+            Route route = routes.match(path);
+            assertNotNull(route, path);
+            assertEquals(backend, route.backendFor(path), path);
+        });
+    }
+
+    @Test
+    void sessionNeedsTeacherRole() throws IOException {
+        routes().getRoutes()
+            .forEach(route -> assertEquals(1, route.getRole(), route.getName()));
+    }
+
+    @Test
+    void onlyReadsWhoseResponseIsTheSameForEveryUserCoalesce() throws IOException {
+        Set<String> coalescing = new TreeSet<>();
+        routes().getRoutes().stream()
+            .filter(route -> route.getCoalescing() != null)
+            .forEach(route -> {
+                assertEquals(CoalescingRule.Scope.ROLE, route.getCoalescing().getScope());
+                coalescing.add(route.getName());
+            });
+        assertEquals(Set.of("examById", "getAmountOfStudents", "getAverageGrade"), coalescing);
+    }
+}